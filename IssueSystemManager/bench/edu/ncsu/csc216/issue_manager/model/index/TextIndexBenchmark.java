@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import java.util.Random;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueList;
+
+/**
+ * TextIndexBenchmark fills an IssueList with generated issues and times AND and OR queries
+ * against its TextIndex, including looking up the matching issues. Common words appear in many issues and rare words in few, so both
+ * long and short postings lists are exercised.
+ *
+ * Arguments, all optional: the number of issues (default 1000000) and the vocabulary size
+ * (default 20000).
+ *
+ * @author michaelabrams
+ *
+ */
+public class TextIndexBenchmark {
+
+	/** QUERIES are the queries which are timed */
+	private static final String[] QUERIES = {"w1 w2", "w1 w5000", "w3 OR w4", "w10 w20 w30", "w100 OR w7000 w2"};
+
+	/** RUNS is the number of times each query is timed */
+	private static final int RUNS = 50;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+
+		int issues = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int vocabulary = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+		Random random = new Random(42);
+		IssueList list = new IssueList();
+
+		long start = System.nanoTime();
+		for(int i = 0; i < issues; i++) {
+			list.addIssue(i % 3 == 0 ? IssueType.ENHANCEMENT : IssueType.BUG, words(random, vocabulary, 6),
+					words(random, vocabulary, 12));
+		}
+		System.out.printf("indexed %d issues in %d ms%n", issues, (System.nanoTime() - start) / 1_000_000);
+
+		for(String query : QUERIES) {
+			int matches = 0;
+			long best = Long.MAX_VALUE;
+			for(int run = 0; run < RUNS; run++) {
+				long t = System.nanoTime();
+				matches = list.searchIssues(query).size();
+				best = Math.min(best, System.nanoTime() - t);
+			}
+			System.out.printf("%-20s %8d matches %8.3f ms%n", query, matches, best / 1e6);
+		}
+	}
+
+	/**
+	 * Generates text from words named w1, w2, and so on, where small numbers are far more common.
+	 *
+	 * @param random is the random source
+	 * @param vocabulary is the number of distinct words
+	 * @param count is the number of words to generate
+	 *
+	 * @return the text
+	 */
+	private static String words(Random random, int vocabulary, int count) {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < count; i++) {
+			double u = random.nextDouble();
+			sb.append(" w").append(1 + (int) (vocabulary * u * u * u));
+		}
+		return sb.toString();
+	}
+}
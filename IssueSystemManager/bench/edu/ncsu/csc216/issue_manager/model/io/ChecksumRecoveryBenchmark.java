@@ -0,0 +1,92 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * ChecksumRecoveryBenchmark writes issues with checksums, damages the file by changing random bytes,
+ * and loads it, reporting how many issues were recovered and how many were quarantined. It also
+ * times loading the undamaged file with and without checksums, so the cost of checking them shows.
+ *
+ * Arguments, all optional: the number of issues (default 1000000), the number of damaged bytes
+ * (default 50), and the number of timed loads, of which the best is reported (default 3).
+ *
+ * @author michaelabrams
+ *
+ */
+public class ChecksumRecoveryBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the temporary files can not be created or damaged
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int damage = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		List<Issue> issues = new ArrayList<Issue>(count);
+		for(int i = 1; i <= count; i++) {
+			issues.add(new Issue(i, i % 3 == 0 ? IssueType.ENHANCEMENT : IssueType.BUG, "Summary " + i, "note " + i));
+		}
+
+		File directory = Files.createTempDirectory("checksums").toFile();
+		File plain = new File(directory, "plain.txt");
+		File checked = new File(directory, "checked.txt");
+
+		IssueWriter.writeIssuesToFile(plain.getPath(), issues, false);
+		IssueWriter.writeIssuesToFile(checked.getPath(), issues, true);
+		issues = null;
+
+		for(File file : new File[] {plain, checked}) {
+			long best = Long.MAX_VALUE;
+			for(int round = 0; round < rounds; round++) {
+				long t = System.nanoTime();
+				IssueReader.readIssuesFromFile(file.getPath());
+				best = Math.min(best, System.nanoTime() - t);
+			}
+			System.out.printf("%-12s %6.1f MB  load %7.1f ms%n", file.getName(), file.length() / 1e6, best / 1e6);
+		}
+
+		Random random = new Random(42);
+		try (RandomAccessFile out = new RandomAccessFile(checked, "rw")) {
+			for(int i = 0; i < damage; i++) {
+				long offset = (long) (random.nextDouble() * out.length());
+				out.seek(offset);
+				int b = out.read();
+				out.seek(offset);
+				out.write(b ^ (1 << random.nextInt(8)));
+			}
+		}
+
+		long t = System.nanoTime();
+		int recovered = IssueReader.readIssuesFromFile(checked.getPath()).size();
+		long elapsed = System.nanoTime() - t;
+
+		File quarantine = new File(checked.getPath() + IssueReader.QUARANTINE_SUFFIX);
+		//Damaged records need not be valid UTF-8, so the quarantine file is read a byte to a character
+		long quarantined = Files.lines(quarantine.toPath(), StandardCharsets.ISO_8859_1)
+				.filter(line -> line.startsWith("# offset")).count();
+
+		System.out.printf("%d damaged bytes: %d of %d issues recovered (%.4f%%), %d records quarantined, load %.1f ms%n",
+				damage, recovered, count, 100.0 * recovered / count, quarantined, elapsed / 1e6);
+
+		for(File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+}
@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * CompressedIssueFileBenchmark writes the same issues as a plain issue file and as a GZIP compressed
+ * one, then times saving and loading each. Throughput is given in megabytes of issue text per second,
+ * so the two formats are compared on the same work, along with the size of each file on disk.
+ *
+ * Arguments, all optional: the number of issues (default 200000) and the number of rounds, of which
+ * the best is reported (default 5).
+ *
+ * @author michaelabrams
+ *
+ */
+public class CompressedIssueFileBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the temporary directory can not be created
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		List<Issue> issues = new ArrayList<Issue>(count);
+		for(int i = 1; i <= count; i++) {
+			Issue issue = new Issue(i, IssueType.BUG, "Crash when saving report " + i, "Seen on build " + (i % 97));
+			issue.update(new Command(CommandValue.CONFIRM, null, null, "Reproduced on the latest build"));
+			if(i % 2 == 0) {
+				issue.update(new Command(CommandValue.ASSIGN, "owner" + (i % 13), null, "Taking a look"));
+			}
+			if(i % 4 == 0) {
+				issue.update(new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed null check in the writer"));
+			}
+			issues.add(issue);
+		}
+
+		File directory = Files.createTempDirectory("compressed").toFile();
+		File plain = new File(directory, "issues.txt");
+		File compressed = new File(directory, "issues.txt" + IssueWriter.COMPRESSED_SUFFIX);
+
+		IssueWriter.writeIssuesToFile(plain.getPath(), issues);
+		double megabytes = plain.length() / 1e6;
+
+		for(File file : new File[] {plain, compressed}) {
+
+			long bestWrite = Long.MAX_VALUE;
+			long bestRead = Long.MAX_VALUE;
+
+			for(int round = 0; round < rounds; round++) {
+
+				long t = System.nanoTime();
+				IssueWriter.writeIssuesToFile(file.getPath(), issues);
+				bestWrite = Math.min(bestWrite, System.nanoTime() - t);
+
+				t = System.nanoTime();
+				IssueReader.readIssuesFromFile(file.getPath());
+				bestRead = Math.min(bestRead, System.nanoTime() - t);
+			}
+
+			System.out.printf("%-16s %8.1f MB on disk  save %7.1f ms %6.1f MB/s  load %7.1f ms %6.1f MB/s%n",
+					file.getName(), file.length() / 1e6, bestWrite / 1e6, megabytes / (bestWrite / 1e9),
+					bestRead / 1e6, megabytes / (bestRead / 1e9));
+		}
+
+		System.out.printf("%d issues, %.1f MB of text, compressed to %.1f%%%n", count, megabytes,
+				100.0 * compressed.length() / plain.length());
+
+		plain.delete();
+		compressed.delete();
+		directory.delete();
+	}
+}
@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.issue_manager.model.issue;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+
+/**
+ * IssueUpdateBenchmark times Issue.update on a mix of accepted and rejected commands. Bugs start
+ * out verifying and are reopened and resolved as fixed in turn, which exercises the working and
+ * verifying states, and every third command is a confirm which those states reject. Fresh issues
+ * are created each round so their notes do not grow without bound.
+ *
+ * Arguments, all optional: the number of issues per round (default 10000), the number of commands
+ * per issue per round (default 100), and the number of rounds (default 20).
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueUpdateBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+
+		int issues = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		int commands = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		Command reopen = new Command(CommandValue.REOPEN, null, null, "reopened");
+		Command resolve = new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "fixed");
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, "confirmed");
+
+		long best = Long.MAX_VALUE;
+		long rejected = 0;
+
+		for(int round = 0; round < rounds; round++) {
+
+			Issue[] batch = new Issue[issues];
+			for(int i = 0; i < issues; i++) {
+				ArrayList<String> notes = new ArrayList<String>();
+				notes.add("[New] note");
+				batch[i] = new Issue(i + 1, Issue.VERIFYING_NAME, Issue.I_BUG, "Summary", "owner", true, Command.R_FIXED, notes);
+			}
+
+			long t = System.nanoTime();
+			for(int c = 0; c < commands; c++) {
+				Command command = c % 3 == 0 ? reopen : c % 3 == 1 ? resolve : confirm;
+				for(Issue issue : batch) {
+					try {
+						issue.update(command);
+					} catch (UnsupportedOperationException e) {
+						rejected++;
+					}
+				}
+			}
+			best = Math.min(best, System.nanoTime() - t);
+		}
+
+		long updates = (long) issues * commands;
+		System.out.printf("%d updates per round, %d rejected in total%n", updates, rejected);
+		System.out.printf("best round: %.1f ms, %.0f updates/sec, %.0f ns/update%n", best / 1e6,
+				updates / (best / 1e9), best / (double) updates);
+	}
+}
@@ -0,0 +1,90 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogReader;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogWriter;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * CommandReplayBenchmark writes a command log which walks bugs through their life cycle, then
+ * times replaying it onto an IssueList. Each bug is confirmed, assigned, and then resolved as fixed
+ * and reopened in turn, and one command in ten is a second confirm, which is rejected.
+ *
+ * Arguments, all optional: the number of issues (default 100000), the number of commands in the
+ * log (default 5000000), and the number of replays (default 5).
+ *
+ * @author michaelabrams
+ *
+ */
+public class CommandReplayBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the log's temporary file can not be created
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int issues = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int commands = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+		int replays = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		File file = File.createTempFile("commands", ".log");
+		file.deleteOnExit();
+
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, "Reproduced");
+		Command assign = new Command(CommandValue.ASSIGN, "owner", null, "Taking it");
+		Command resolve = new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed in the latest build");
+		Command reopen = new Command(CommandValue.REOPEN, null, null, "Still happens");
+		boolean[] fixed = new boolean[issues];
+
+		try (CommandLogWriter writer = new CommandLogWriter(file.getPath())) {
+			for(int c = 0; c < commands; c++) {
+				int issue = c % issues;
+				int step = c / issues;
+				Command command;
+				if(step == 0 || step % 10 == 9) {
+					command = confirm;
+				}
+				else if(step == 1) {
+					command = assign;
+				}
+				else {
+					command = fixed[issue] ? reopen : resolve;
+					fixed[issue] = !fixed[issue];
+				}
+				writer.append(issue + 1, command);
+			}
+		}
+
+		System.out.printf("log of %d commands, %.1f MB%n", commands, file.length() / 1e6);
+
+		long best = Long.MAX_VALUE;
+		ReplayReport report = null;
+
+		for(int replay = 0; replay < replays; replay++) {
+
+			IssueList list = new IssueList();
+			for(int i = 0; i < issues; i++) {
+				list.addIssue(IssueType.BUG, "Summary " + i, "note");
+			}
+
+			long t = System.nanoTime();
+			try (CommandLogReader log = new CommandLogReader(file.getPath())) {
+				report = list.replayCommands(log, problem -> { });
+			}
+			best = Math.min(best, System.nanoTime() - t);
+		}
+
+		System.out.println(report);
+		System.out.printf("best replay: %.1f ms, %.0f commands/sec, %.1f M commands/min%n", best / 1e6,
+				commands / (best / 1e9), commands / (best / 1e9) * 60 / 1e6);
+	}
+}
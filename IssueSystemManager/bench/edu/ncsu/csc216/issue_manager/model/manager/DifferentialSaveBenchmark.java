@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * DifferentialSaveBenchmark saves a large tracker once in full, then changes a few issues and saves
+ * again, timing the second save against a full save of the same list.
+ *
+ * Arguments, all optional: the number of issues (default 500000) and the number of issues changed
+ * between saves (default 1).
+ *
+ * @author michaelabrams
+ *
+ */
+public class DifferentialSaveBenchmark {
+
+	/** ROUNDS is the number of times each save is timed */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the temporary files can not be created
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+		int changes = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+		File file = File.createTempFile("differential", ".txt");
+		File full = File.createTempFile("full", ".txt");
+
+		IssueManager manager = IssueManager.getInstance();
+		manager.createNewIssueList();
+		for(int i = 1; i <= count; i++) {
+			manager.addIssueToList(i % 3 == 0 ? IssueType.ENHANCEMENT : IssueType.BUG, "Summary " + i, "note " + i);
+		}
+		manager.saveIssuesToFile(file.getPath(), true);
+
+		for(int round = 0; round < ROUNDS; round++) {
+
+			for(int i = 0; i < changes; i++) {
+				//Each round assigns new enhancements, which every third id is
+				int id = 3 * ((int) ((long) count * (2 * i + 1) / (6 * changes)) + round);
+				manager.executeCommand(id, new Command(Command.CommandValue.ASSIGN, "owner" + round, null, "round " + round));
+			}
+
+			long t = System.nanoTime();
+			manager.saveIssuesToFile(file.getPath(), true);
+			double differential = (System.nanoTime() - t) / 1e6;
+
+			//Saving to another file has no index to copy from, so it is written in full
+			t = System.nanoTime();
+			manager.saveIssuesToFile(full.getPath(), true);
+			double fullSave = (System.nanoTime() - t) / 1e6;
+
+			System.out.printf("round %d: %d of %d issues changed, differential save %.1f ms, full save %.1f ms%n", round,
+					changes, count, differential, fullSave);
+
+			//Brings the index back to the file which is saved differentially
+			manager.saveIssuesToFile(file.getPath(), true);
+		}
+
+		file.delete();
+		full.delete();
+	}
+}
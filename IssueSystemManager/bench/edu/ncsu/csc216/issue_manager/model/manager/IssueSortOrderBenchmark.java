@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * IssueSortOrderBenchmark generates issues in mixed states and times sorting them by each table
+ * column, then times moving single changed issues to their new rows.
+ *
+ * Arguments, all optional: the number of issues (default 500000).
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueSortOrderBenchmark {
+
+	/** COLUMN_NAMES are the names of the IssueManager row columns */
+	private static final String[] COLUMN_NAMES = {"id", "state", "type", "summary"};
+
+	/** RUNS is the number of times each sort is timed */
+	private static final int RUNS = 10;
+
+	/** UPDATES is the number of single issue updates which are timed */
+	private static final int UPDATES = 1000;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+		Random random = new Random(42);
+		List<Issue> issues = new ArrayList<Issue>(count);
+
+		for(int i = 1; i <= count; i++) {
+			Issue issue = new Issue(i, i % 3 == 0 ? IssueType.ENHANCEMENT : IssueType.BUG,
+					"Summary " + Integer.toString(random.nextInt(1 << 30), 36), "note");
+			if(i % 2 == 0) {
+				issue.update(new Command(i % 3 == 0 ? CommandValue.ASSIGN : CommandValue.CONFIRM, "owner", null, "note"));
+			}
+			issues.add(issue);
+		}
+
+		IssueSortOrder order = null;
+
+		for(int column = 0; column < IssueManager.COLUMNS; column++) {
+			long best = Long.MAX_VALUE;
+			for(int run = 0; run < RUNS; run++) {
+				long t = System.nanoTime();
+				order = new IssueSortOrder(issues, column, run % 2 == 0);
+				best = Math.min(best, System.nanoTime() - t);
+			}
+			System.out.printf("sort %d by %-8s %8.1f ms%n", count, COLUMN_NAMES[column], best / 1e6);
+		}
+
+		order = new IssueSortOrder(issues, IssueManager.STATE_POS, true);
+
+		long t = System.nanoTime();
+		for(int i = 0; i < UPDATES; i++) {
+			Issue issue = issues.get(random.nextInt(count));
+			if(Issue.NEW_NAME.equals(issue.getStateName()) && Issue.I_BUG.equals(issue.getIssueType())) {
+				issue.update(new Command(CommandValue.CONFIRM, null, null, "note"));
+			}
+			order.update(issue);
+		}
+		System.out.printf("update one row    %8.3f ms each%n", (System.nanoTime() - t) / 1e6 / UPDATES);
+	}
+}
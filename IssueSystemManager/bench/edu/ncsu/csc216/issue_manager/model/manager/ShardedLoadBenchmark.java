@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.issue_manager.model.io.ShardManifest;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * ShardedLoadBenchmark writes a tracker as shards and times what a user waits for: opening the
+ * manifest and showing the first page of the table, then looking up random ids, then loading every
+ * shard as a search or save would.
+ *
+ * Arguments, all optional: the number of issues (default 1000000), the number of issues per shard
+ * (default ShardManifest.DEFAULT_SHARD_SIZE), and the number of random lookups (default 20).
+ *
+ * @author michaelabrams
+ *
+ */
+public class ShardedLoadBenchmark {
+
+	/** PAGE is the number of rows on the first page of the table */
+	private static final int PAGE = 50;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the temporary directory can not be created
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int shardSize = args.length > 1 ? Integer.parseInt(args[1]) : ShardManifest.DEFAULT_SHARD_SIZE;
+		int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		File directory = Files.createTempDirectory("shards").toFile();
+		String manifestFile = new File(directory, "issues.manifest").getPath();
+
+		List<Issue> issues = new ArrayList<Issue>(count);
+		for(int i = 1; i <= count; i++) {
+			issues.add(new Issue(i, i % 3 == 0 ? IssueType.ENHANCEMENT : IssueType.BUG, "Summary " + i, "note " + i));
+		}
+
+		long t = System.nanoTime();
+		ShardManifest manifest = ShardManifest.write(manifestFile, issues, shardSize);
+		System.out.printf("wrote %d issues as %d shards in %.1f ms%n", count, manifest.getShardCount(),
+				(System.nanoTime() - t) / 1e6);
+		issues = null;
+
+		IssueManager manager = IssueManager.getInstance();
+
+		t = System.nanoTime();
+		manager.loadIssuesFromFile(manifestFile);
+		int rows = manager.getIssueCount();
+		for(int row = 0; row < PAGE; row++) {
+			manager.getIssueRowAt(row);
+		}
+		System.out.printf("open manifest and first page of %d rows: %.1f ms, %d of %d shards loaded%n", rows,
+				(System.nanoTime() - t) / 1e6, manager.getLoadedShardCount(), manifest.getShardCount());
+
+		Random random = new Random(42);
+		t = System.nanoTime();
+		for(int i = 0; i < lookups; i++) {
+			manager.getIssueById(1 + random.nextInt(count));
+		}
+		System.out.printf("%d random lookups: %.1f ms, %d shards loaded%n", lookups, (System.nanoTime() - t) / 1e6,
+				manager.getLoadedShardCount());
+
+		t = System.nanoTime();
+		manager.getIssueListSnapshot();
+		System.out.printf("load remaining shards: %.1f ms%n", (System.nanoTime() - t) / 1e6);
+
+		for(File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+}
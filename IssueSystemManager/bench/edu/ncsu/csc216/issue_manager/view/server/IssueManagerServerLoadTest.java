@@ -0,0 +1,259 @@
+package edu.ncsu.csc216.issue_manager.view.server;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+
+/**
+ * IssueManagerServerLoadTest starts an IssueManagerServer on localhost, seeds it with issues, and
+ * drives it from many keep alive connections at once. Each connection repeatedly fetches a random
+ * issue by id, and every tenth request lists the bugs. Requests per second and latency percentiles
+ * are printed when the run finishes.
+ *
+ * Arguments, all optional: connections (default 1000), seconds to measure (default 10), and the
+ * number of issues to seed (default 1000).
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueManagerServerLoadTest {
+
+	/** WARMUP_MILLIS is how long connections send requests before latencies are recorded */
+	private static final long WARMUP_MILLIS = 3000;
+
+	/**
+	 * Runs the load test.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws Exception if the server can not be started or the run is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int issues = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+		IssueManager manager = IssueManager.getInstance();
+		manager.createNewIssueList();
+		for(int i = 0; i < issues; i++) {
+			manager.addIssueToList(i % 2 == 0 ? IssueType.BUG : IssueType.ENHANCEMENT, "Summary " + i, "Note " + i);
+		}
+
+		IssueManagerServer.raiseIdleConnectionLimit();
+		IssueManagerServer server = new IssueManagerServer(0);
+		server.start();
+
+		long start = System.nanoTime();
+		long recordFrom = start + WARMUP_MILLIS * 1_000_000L;
+		long end = recordFrom + seconds * 1_000_000_000L;
+
+		Client[] clients = new Client[connections];
+		CountDownLatch done = new CountDownLatch(connections);
+
+		for(int i = 0; i < connections; i++) {
+			clients[i] = new Client(server.getPort(), issues, recordFrom, end, done);
+			Thread t = new Thread(clients[i], "load-" + i);
+			t.setDaemon(true);
+			t.start();
+		}
+
+		done.await();
+		server.stop();
+
+		int total = 0;
+		int errors = 0;
+		for(Client c : clients) {
+			total += c.count;
+			errors += c.errors;
+		}
+
+		long[] latencies = new long[total];
+		int pos = 0;
+		for(Client c : clients) {
+			System.arraycopy(c.latencies, 0, latencies, pos, c.count);
+			pos += c.count;
+		}
+		Arrays.sort(latencies);
+
+		System.out.println("connections:  " + connections);
+		System.out.println("requests:     " + total + " (" + errors + " errors)");
+		System.out.printf("requests/sec: %.0f%n", total / (double) seconds);
+		if(total > 0) {
+			System.out.printf("p50 latency:  %.2f ms%n", percentile(latencies, 0.50));
+			System.out.printf("p99 latency:  %.2f ms%n", percentile(latencies, 0.99));
+			System.out.printf("max latency:  %.2f ms%n", latencies[total - 1] / 1e6);
+		}
+	}
+
+	/**
+	 * Gets a percentile of the sorted latencies in milliseconds.
+	 *
+	 * @param sorted are the latencies in nanoseconds in ascending order
+	 * @param p is the percentile between 0 and 1
+	 *
+	 * @return the latency at the percentile in milliseconds
+	 */
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	/**
+	 * Client keeps a single keep alive connection open and sends requests on it until the run ends.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static class Client implements Runnable {
+
+		/** port is the server's port */
+		private final int port;
+		/** issues is the number of seeded issues, which are numbered from one */
+		private final int issues;
+		/** recordFrom is the nano time latencies are recorded from */
+		private final long recordFrom;
+		/** end is the nano time the run ends */
+		private final long end;
+		/** done is counted down when the client finishes */
+		private final CountDownLatch done;
+		/** latencies are the recorded latencies in nanoseconds */
+		private long[] latencies = new long[1024];
+		/** count is the number of recorded latencies */
+		private int count;
+		/** errors is the number of failed requests */
+		private int errors;
+
+		/**
+		 * Constructs a client.
+		 *
+		 * @param port is the server's port
+		 * @param issues is the number of seeded issues
+		 * @param recordFrom is the nano time latencies are recorded from
+		 * @param end is the nano time the run ends
+		 * @param done is counted down when the client finishes
+		 */
+		Client(int port, int issues, long recordFrom, long end, CountDownLatch done) {
+			this.port = port;
+			this.issues = issues;
+			this.recordFrom = recordFrom;
+			this.end = end;
+			this.done = done;
+		}
+
+		/**
+		 * Sends requests until the run ends, reconnecting after any failure.
+		 */
+		@Override
+		public void run() {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			long requests = 0;
+			try {
+				while(System.nanoTime() < end) {
+					try (Socket socket = new Socket("localhost", port)) {
+						socket.setTcpNoDelay(true);
+						OutputStream out = socket.getOutputStream();
+						InputStream in = new BufferedInputStream(socket.getInputStream());
+
+						while(true) {
+							String path = requests++ % 10 == 0 ? "/issues?type=Bug" : "/issues/" + (1 + random.nextInt(issues));
+							byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+									.getBytes(StandardCharsets.US_ASCII);
+
+							long sent = System.nanoTime();
+							if(sent >= end) {
+								return;
+							}
+							out.write(request);
+							out.flush();
+							int status = readResponse(in);
+							long received = System.nanoTime();
+
+							if(sent >= recordFrom) {
+								if(status != 200) {
+									errors++;
+								}
+								record(received - sent);
+							}
+						}
+					} catch (IOException e) {
+						errors++;
+					}
+				}
+			} finally {
+				done.countDown();
+			}
+		}
+
+		/**
+		 * Records a latency.
+		 *
+		 * @param nanos is the latency in nanoseconds
+		 */
+		private void record(long nanos) {
+			if(count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+		}
+
+		/**
+		 * Reads a response with a Content-Length body and returns its status.
+		 *
+		 * @param in is the connection's input
+		 *
+		 * @return the response status
+		 *
+		 * @throws IOException if the connection fails or the response is malformed
+		 */
+		private int readResponse(InputStream in) throws IOException {
+			String statusLine = readLine(in);
+			int status = Integer.parseInt(statusLine.substring(9, 12));
+			int length = 0;
+			String line;
+			while(!(line = readLine(in)).isEmpty()) {
+				if(line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+					length = Integer.parseInt(line.substring(15).trim());
+				}
+			}
+			for(int i = 0; i < length; i++) {
+				if(in.read() < 0) {
+					throw new IOException("Connection closed");
+				}
+			}
+			return status;
+		}
+
+		/**
+		 * Reads a CRLF terminated header line.
+		 *
+		 * @param in is the connection's input
+		 *
+		 * @return the line without its terminator
+		 *
+		 * @throws IOException if the connection closes before the line ends
+		 */
+		private String readLine(InputStream in) throws IOException {
+			StringBuilder sb = new StringBuilder();
+			int b;
+			while((b = in.read()) != '\n') {
+				if(b < 0) {
+					throw new IOException("Connection closed");
+				}
+				if(b != '\r') {
+					sb.append((char) b);
+				}
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,309 @@
+package edu.ncsu.csc216.issue_manager.model.analytics;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.TransitionLog;
+
+/**
+ * GroupStats accumulates the analytics of a group of issues, such as the issues of one owner. Its
+ * size depends only on the number of states and resolutions, so any number of issues can be added.
+ *
+ * The states an issue passed through are read from its notes, each of which starts with the name of
+ * the state the issue was in after the command that added it. Every change of state in the notes is
+ * a visit to the new state, a visit to the closed state is a close, and leaving the closed state is a
+ * reopen. Issue files do not record when commands were given, so time in each state is measured only
+ * from the transition logs of issues which have them, with the stay in an issue's current state
+ * running until the time the analytics are taken as of.
+ *
+ * @author michaelabrams
+ *
+ */
+public class GroupStats {
+
+	/** STATE_NAMES are the names of the states by ordinal */
+	private static final String[] STATE_NAMES = stateNames();
+
+	/** CLOSED is the ordinal of the closed state */
+	private static final int CLOSED = Issue.getStateOrdinal(Issue.CLOSED_NAME);
+
+	/** issues is the number of issues */
+	private long issues;
+
+	/** open is the number of issues not in the closed state */
+	private long open;
+
+	/** closes is the number of times an issue entered the closed state */
+	private long closes;
+
+	/** closedIssues is the number of issues which were ever closed */
+	private long closedIssues;
+
+	/** reopens is the number of times an issue left the closed state */
+	private long reopens;
+
+	/** reopenedIssues is the number of issues which were ever reopened */
+	private long reopenedIssues;
+
+	/** resolutions are the number of issues with each resolution by ordinal plus one, with unresolved issues first */
+	private final long[] resolutions = new long[Issue.getResolutionCount()];
+
+	/** visits are the number of times an issue entered each state, by ordinal */
+	private final long[] visits = new long[STATE_NAMES.length];
+
+	/** stays are the number of timed stays in each state, by ordinal */
+	private final long[] stays = new long[STATE_NAMES.length];
+
+	/** millis are the total milliseconds of the timed stays in each state, by ordinal */
+	private final long[] millis = new long[STATE_NAMES.length];
+
+	/**
+	 * Constructs empty stats
+	 */
+	GroupStats() {
+		//Empty constructor
+	}
+
+	/**
+	 * Adds an issue to the stats.
+	 *
+	 * @param issue is the issue
+	 * @param asOf is the time, in milliseconds since the epoch, stays in an issue's current state run until
+	 */
+	void add(Issue issue, long asOf) {
+
+		issues++;
+
+		if(!Issue.CLOSED_NAME.equals(issue.getStateName())) {
+			open++;
+		}
+
+		resolutions[Issue.getResolutionOrdinal(issue.getResolution())]++;
+
+		int previous = -1;
+		boolean closed = false;
+		boolean reopened = false;
+
+		for(String note : issue.getNotes()) {
+
+			int state = noteState(note);
+
+			if(state < 0 || state == previous) {
+				continue;
+			}
+
+			visits[state]++;
+
+			if(state == CLOSED) {
+				closes++;
+				closed = true;
+			}
+			if(previous == CLOSED) {
+				reopens++;
+				reopened = true;
+			}
+
+			previous = state;
+		}
+
+		if(closed) {
+			closedIssues++;
+		}
+		if(reopened) {
+			reopenedIssues++;
+		}
+
+		if(issue.hasTransitions()) {
+			TransitionLog log = issue.getTransitionLog();
+
+			for(int i = 0; i < log.size(); i++) {
+				long start = log.getTime(i);
+				long end = i + 1 < log.size() ? log.getTime(i + 1) : asOf;
+
+				if(end >= start) {
+					stays[log.getToStateOrdinal(i)]++;
+					millis[log.getToStateOrdinal(i)] += end - start;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds another group's stats to these.
+	 *
+	 * @param other is the other group's stats
+	 */
+	void merge(GroupStats other) {
+
+		issues += other.issues;
+		open += other.open;
+		closes += other.closes;
+		closedIssues += other.closedIssues;
+		reopens += other.reopens;
+		reopenedIssues += other.reopenedIssues;
+
+		for(int i = 0; i < resolutions.length; i++) {
+			resolutions[i] += other.resolutions[i];
+		}
+		for(int i = 0; i < visits.length; i++) {
+			visits[i] += other.visits[i];
+			stays[i] += other.stays[i];
+			millis[i] += other.millis[i];
+		}
+	}
+
+	/**
+	 * Gets the number of issues
+	 *
+	 * @return the number of issues
+	 */
+	public long getIssueCount() {
+		return issues;
+	}
+
+	/**
+	 * Gets the number of issues which are not closed
+	 *
+	 * @return the number of open issues
+	 */
+	public long getOpenCount() {
+		return open;
+	}
+
+	/**
+	 * Gets the throughput, which is the number of times an issue was closed
+	 *
+	 * @return the number of closes
+	 */
+	public long getCloseCount() {
+		return closes;
+	}
+
+	/**
+	 * Gets the number of issues which were ever closed
+	 *
+	 * @return the number of closed issues
+	 */
+	public long getClosedIssueCount() {
+		return closedIssues;
+	}
+
+	/**
+	 * Gets the number of times an issue was reopened after being closed
+	 *
+	 * @return the number of reopens
+	 */
+	public long getReopenCount() {
+		return reopens;
+	}
+
+	/**
+	 * Gets the number of issues which were reopened after being closed
+	 *
+	 * @return the number of reopened issues
+	 */
+	public long getReopenedIssueCount() {
+		return reopenedIssues;
+	}
+
+	/**
+	 * Gets the reopen rate, which is the fraction of the issues ever closed which were later reopened
+	 *
+	 * @return the reopen rate, or 0 if no issue was closed
+	 */
+	public double getReopenRate() {
+		return closedIssues == 0 ? 0 : (double) reopenedIssues / closedIssues;
+	}
+
+	/**
+	 * Gets the number of issues with a resolution
+	 *
+	 * @param resolution is the resolution, or null for issues without one
+	 *
+	 * @return the number of issues with the resolution
+	 */
+	public long getResolutionCount(Resolution resolution) {
+		return resolutions[Issue.getResolutionOrdinal(resolution)];
+	}
+
+	/**
+	 * Gets the number of times an issue entered a state, counting the state it was created in
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the number of visits
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public long getVisitCount(String state) {
+		return visits[Issue.getStateOrdinal(state)];
+	}
+
+	/**
+	 * Gets the total time issues spent in a state, over the stays with a recorded transition
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the total time in milliseconds
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public long getTimeInState(String state) {
+		return millis[Issue.getStateOrdinal(state)];
+	}
+
+	/**
+	 * Gets the mean time of a stay in a state, over the stays with a recorded transition
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the mean time in milliseconds, or 0 if no stay was timed
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public double getMeanTimeInState(String state) {
+
+		int ordinal = Issue.getStateOrdinal(state);
+
+		return stays[ordinal] == 0 ? 0 : (double) millis[ordinal] / stays[ordinal];
+	}
+
+	/**
+	 * Finds the state a note is prefixed with
+	 *
+	 * @param note is the note
+	 *
+	 * @return the ordinal of the state, or -1 if the note does not start with a state in brackets
+	 */
+	private static int noteState(String note) {
+
+		if(note.isEmpty() || note.charAt(0) != '[') {
+			return -1;
+		}
+
+		for(int i = 0; i < STATE_NAMES.length; i++) {
+			int end = STATE_NAMES[i].length() + 1;
+			if(note.startsWith(STATE_NAMES[i], 1) && note.length() > end && note.charAt(end) == ']') {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the names of the states by ordinal
+	 *
+	 * @return the names
+	 */
+	private static String[] stateNames() {
+
+		String[] names = new String[Issue.getStateCount()];
+
+		for(String name : new String[] {Issue.NEW_NAME, Issue.WORKING_NAME, Issue.CONFIRMED_NAME,
+				Issue.VERIFYING_NAME, Issue.CLOSED_NAME}) {
+			names[Issue.getStateOrdinal(name)] = name;
+		}
+
+		return names;
+	}
+}
@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.issue_manager.model.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * IssueAnalytics computes time in state, reopen rate, and throughput for every issue and for each
+ * owner's issues, in one pass over an issue file or a list of issues. The pass is split into chunks
+ * which are analyzed in parallel, each into its own IssueAnalytics, and the chunks' analytics are
+ * then merged, so the memory used grows with the number of owners and never with the number of
+ * issues. Issues are grouped by their current owner.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueAnalytics {
+
+	/** MIN_CHUNK_ISSUES is the fewest issues of a list analyzed in one chunk */
+	private static final int MIN_CHUNK_ISSUES = 4096;
+
+	/** asOf is the time stays in an issue's current state run until */
+	private final long asOf;
+
+	/** total are the stats of every issue */
+	private final GroupStats total = new GroupStats();
+
+	/** unowned are the stats of the issues without an owner */
+	private final GroupStats unowned = new GroupStats();
+
+	/** owners are the stats of each owner's issues, by owner id */
+	private final Map<String, GroupStats> owners = new HashMap<String, GroupStats>();
+
+	/**
+	 * Constructs empty analytics
+	 *
+	 * @param asOf is the time, in milliseconds since the epoch, stays in an issue's current state run until
+	 */
+	IssueAnalytics(long asOf) {
+		this.asOf = asOf;
+	}
+
+	/**
+	 * Analyzes every issue in an issue file without loading it, reading the file's chunks in parallel.
+	 *
+	 * @param file is the issue file
+	 * @param asOf is the time, in milliseconds since the epoch, stays in an issue's current state run until
+	 *
+	 * @return the analytics
+	 *
+	 * @throws IllegalArgumentException if the file can not be read, or a record is not a valid issue
+	 */
+	public static IssueAnalytics analyzeFile(String file, long asOf) {
+		return IssueReader.readIssuesInParallel(file, () -> new IssueAnalytics(asOf), IssueAnalytics::add,
+				IssueAnalytics::merge);
+	}
+
+	/**
+	 * Analyzes a list of issues, in parallel chunks if the list is large. The issues must not change
+	 * while they are analyzed.
+	 *
+	 * @param issues are the issues
+	 * @param asOf is the time, in milliseconds since the epoch, stays in an issue's current state run until
+	 *
+	 * @return the analytics
+	 */
+	public static IssueAnalytics analyzeIssues(List<Issue> issues, long asOf) {
+
+		int size = issues.size();
+		int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, size / MIN_CHUNK_ISSUES));
+
+		return IntStream.range(0, chunks).parallel().mapToObj(c -> {
+			IssueAnalytics analytics = new IssueAnalytics(asOf);
+			for(Issue issue : issues.subList((int) ((long) size * c / chunks), (int) ((long) size * (c + 1) / chunks))) {
+				analytics.add(issue);
+			}
+			return analytics;
+		}).reduce(IssueAnalytics::merge).orElseGet(() -> new IssueAnalytics(asOf));
+	}
+
+	/**
+	 * Adds an issue to the analytics
+	 *
+	 * @param issue is the issue
+	 */
+	void add(Issue issue) {
+
+		total.add(issue, asOf);
+
+		String owner = issue.getOwner();
+
+		if(owner == null) {
+			unowned.add(issue, asOf);
+		}
+		else {
+			owners.computeIfAbsent(owner, o -> new GroupStats()).add(issue, asOf);
+		}
+	}
+
+	/**
+	 * Adds another chunk's analytics to these
+	 *
+	 * @param other is the other chunk's analytics
+	 *
+	 * @return these analytics
+	 */
+	IssueAnalytics merge(IssueAnalytics other) {
+
+		total.merge(other.total);
+		unowned.merge(other.unowned);
+
+		for(Map.Entry<String, GroupStats> entry : other.owners.entrySet()) {
+			owners.computeIfAbsent(entry.getKey(), o -> new GroupStats()).merge(entry.getValue());
+		}
+
+		return this;
+	}
+
+	/**
+	 * Gets the time stays in an issue's current state run until
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getAsOf() {
+		return asOf;
+	}
+
+	/**
+	 * Gets the stats of every issue
+	 *
+	 * @return the stats
+	 */
+	public GroupStats getTotal() {
+		return total;
+	}
+
+	/**
+	 * Gets the stats of an owner's issues
+	 *
+	 * @param owner is the owner id, or null for the issues without an owner
+	 *
+	 * @return the stats, which are empty if the owner has no issues
+	 */
+	public GroupStats getOwner(String owner) {
+
+		if(owner == null) {
+			return unowned;
+		}
+
+		GroupStats stats = owners.get(owner);
+
+		return stats == null ? new GroupStats() : stats;
+	}
+
+	/**
+	 * Gets the owners who have issues
+	 *
+	 * @return the owner ids in alphabetical order
+	 */
+	public List<String> getOwners() {
+
+		List<String> names = new ArrayList<String>(owners.keySet());
+		names.sort(null);
+
+		return names;
+	}
+}
@@ -0,0 +1,220 @@
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+
+/**
+ * AttributeIndex keeps an IdBitmap of the issue ids with each value of the attributes which have only
+ * a few values: state, type, confirmed flag, and resolution. The bitmaps of one attribute never share
+ * an id, so the issues with any of some values of an attribute are the OR of their bitmaps, and the
+ * issues matching conditions on several attributes are the AND of those. The index listens to an issue
+ * list and moves an issue's id between bitmaps as commands change it.
+ *
+ * Values are given as bit masks. A state's bit is its ordinal, a type's bit is its ordinal, and a
+ * resolution's bit is its ordinal plus one, with bit 0 for issues without a resolution.
+ *
+ * @author michaelabrams
+ *
+ */
+public class AttributeIndex implements IssueListener {
+
+	/** states hold the ids of the issues in each state, by state ordinal */
+	private final IdBitmap[] states = newBitmaps(Issue.getStateCount());
+
+	/** types hold the ids of the issues of each type, by type ordinal */
+	private final IdBitmap[] types = newBitmaps(IssueType.values().length);
+
+	/** confirmed hold the ids of the unconfirmed issues, then of the confirmed issues */
+	private final IdBitmap[] confirmed = newBitmaps(2);
+
+	/** resolutions hold the ids of the issues without a resolution, then with each resolution by ordinal */
+	private final IdBitmap[] resolutions = newBitmaps(Issue.getResolutionCount());
+
+	/**
+	 * Constructs an empty AttributeIndex
+	 */
+	public AttributeIndex() {
+		//Empty constructor
+	}
+
+	/**
+	 * Adds the issue's id to the bitmap of each of its values.
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+		index(issue);
+	}
+
+	/**
+	 * Removes the issue's id from every bitmap.
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		for(IdBitmap[] group : new IdBitmap[][] {states, types, confirmed, resolutions}) {
+			for(IdBitmap bitmap : group) {
+				bitmap.remove(id);
+			}
+		}
+	}
+
+	/**
+	 * Moves the issue's id to the bitmaps of the values it has now.
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated the issue
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+		index(issue);
+	}
+
+	/**
+	 * Empties the index.
+	 */
+	@Override
+	public void issuesCleared() {
+
+		for(IdBitmap[] group : new IdBitmap[][] {states, types, confirmed, resolutions}) {
+			for(IdBitmap bitmap : group) {
+				bitmap.clear();
+			}
+		}
+	}
+
+	/**
+	 * Finds the issues with any of some values of each attribute.
+	 *
+	 * @param stateMask has a bit set for each state an issue may be in
+	 * @param typeMask has a bit set for each type an issue may have
+	 * @param resolutionMask has a bit set for each resolution an issue may have
+	 * @param confirmedFlag is the confirmed flag an issue must have, or null for either
+	 *
+	 * @return a new bitmap of the matching ids, or null if no condition leaves out any value
+	 */
+	public IdBitmap select(int stateMask, int typeMask, int resolutionMask, Boolean confirmedFlag) {
+
+		IdBitmap result = select(null, types, typeMask);
+		result = select(result, confirmed, confirmedFlag == null ? 3 : 1 << (confirmedFlag ? 1 : 0));
+		result = select(result, states, stateMask);
+
+		return select(result, resolutions, resolutionMask);
+	}
+
+	/**
+	 * Gets the number of issues in a state
+	 *
+	 * @param stateName is the name of a state
+	 *
+	 * @return the number of issues in the state
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public int getStateCount(String stateName) {
+		return states[Issue.getStateOrdinal(stateName)].cardinality();
+	}
+
+	/**
+	 * Gets about how many bytes the index's bitmaps hold
+	 *
+	 * @return the number of bytes
+	 */
+	public long getSizeInBytes() {
+
+		long bytes = 0;
+
+		for(IdBitmap[] group : new IdBitmap[][] {states, types, confirmed, resolutions}) {
+			for(IdBitmap bitmap : group) {
+				bytes += bitmap.getSizeInBytes();
+			}
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Narrows a selection to the ids in the bitmaps of some values of one attribute
+	 *
+	 * @param result is the selection so far, or null for every id
+	 * @param group are the attribute's bitmaps
+	 * @param mask has a bit set for each value to keep
+	 *
+	 * @return the narrowed selection, or result if the mask keeps every value
+	 */
+	private static IdBitmap select(IdBitmap result, IdBitmap[] group, int mask) {
+
+		if((mask & (1 << group.length) - 1) == (1 << group.length) - 1) {
+			return result;
+		}
+
+		IdBitmap union = new IdBitmap();
+
+		for(int i = 0; i < group.length; i++) {
+			if((mask & 1 << i) != 0) {
+				union = IdBitmap.or(union, group[i]);
+			}
+		}
+
+		return result == null ? union : IdBitmap.and(result, union);
+	}
+
+	/**
+	 * Moves an issue's id to the bitmap of each of its values
+	 *
+	 * @param issue is the issue
+	 */
+	private void index(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		move(states, Issue.getStateOrdinal(issue.getStateName()), id);
+		move(types, Issue.getTypeOrdinal(issue.getIssueType()), id);
+		move(confirmed, issue.isConfirmed() ? 1 : 0, id);
+		move(resolutions, Issue.getResolutionOrdinal(issue.getResolution()), id);
+	}
+
+	/**
+	 * Adds an id to one bitmap of an attribute and removes it from the others
+	 *
+	 * @param group are the attribute's bitmaps
+	 * @param value is the position of the bitmap to add the id to
+	 * @param id is the id
+	 */
+	private static void move(IdBitmap[] group, int value, int id) {
+
+		for(int i = 0; i < group.length; i++) {
+			if(i == value) {
+				group[i].add(id);
+			}
+			else {
+				group[i].remove(id);
+			}
+		}
+	}
+
+	/**
+	 * Creates empty bitmaps
+	 *
+	 * @param count is the number of bitmaps
+	 *
+	 * @return the bitmaps
+	 */
+	private static IdBitmap[] newBitmaps(int count) {
+
+		IdBitmap[] bitmaps = new IdBitmap[count];
+
+		for(int i = 0; i < count; i++) {
+			bitmaps[i] = new IdBitmap();
+		}
+
+		return bitmaps;
+	}
+}
@@ -0,0 +1,162 @@
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * BloomFilter is a compact set of issue ids which can answer "definitely not present" without
+ * holding the ids themselves. A lookup which says an id might be present is wrong about one time
+ * in a hundred when the filter holds the number of ids it was sized for; a lookup which says an id
+ * is not present is never wrong. Filters are written as text so they can be kept in a manifest.
+ *
+ * @author michaelabrams
+ *
+ */
+public class BloomFilter {
+
+	/** BITS_PER_ID is the number of bits kept for each expected id, for about a 1% false positive rate */
+	private static final int BITS_PER_ID = 10;
+
+	/** HASHES is the number of bits set for each id */
+	private static final int HASHES = 7;
+
+	/** bits are the filter's bits, 64 to a word */
+	private final long[] bits;
+
+	/** hashes is the number of bits set for each id */
+	private final int hashes;
+
+	/**
+	 * Constructs an empty filter sized for a number of ids.
+	 *
+	 * @param expectedIds is the number of ids the filter will hold
+	 */
+	public BloomFilter(int expectedIds) {
+		this(new long[Math.max(1, (int) (((long) Math.max(expectedIds, 1) * BITS_PER_ID + 63) / 64))], HASHES);
+	}
+
+	/**
+	 * Constructs a filter from its bits.
+	 *
+	 * @param bits are the filter's bits
+	 * @param hashes is the number of bits set for each id
+	 */
+	private BloomFilter(long[] bits, int hashes) {
+		this.bits = bits;
+		this.hashes = hashes;
+	}
+
+	/**
+	 * Adds an id to the filter.
+	 *
+	 * @param id is the id to add
+	 */
+	public void add(int id) {
+
+		long hash = mix(id);
+		long bitCount = (long) bits.length * 64;
+
+		for(int i = 0; i < hashes; i++) {
+			long bit = bitIndex(hash, i, bitCount);
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Checks if an id might have been added to the filter.
+	 *
+	 * @param id is the id to check
+	 *
+	 * @return false if the id was definitely never added, or true if it might have been
+	 */
+	public boolean mightContain(int id) {
+
+		long hash = mix(id);
+		long bitCount = (long) bits.length * 64;
+
+		for(int i = 0; i < hashes; i++) {
+			long bit = bitIndex(hash, i, bitCount);
+			if((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the bit for one of an id's hashes, combining the two halves of the mixed id.
+	 *
+	 * @param hash is the mixed id
+	 * @param i is which of the id's hashes to get
+	 * @param bitCount is the number of bits in the filter
+	 *
+	 * @return the index of the bit
+	 */
+	private static long bitIndex(long hash, int i, long bitCount) {
+
+		int combined = (int) hash + i * (int) (hash >>> 32);
+
+		return (combined & Integer.MAX_VALUE) % bitCount;
+	}
+
+	/**
+	 * Spreads the bits of an id over a long, so neighbouring ids set unrelated bits.
+	 *
+	 * @param id is the id
+	 *
+	 * @return the mixed id
+	 */
+	private static long mix(int id) {
+
+		long z = id * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Returns the filter as text, which is the number of hashes, a colon, and the bits in Base64.
+	 *
+	 * @return the filter in a string representation
+	 */
+	@Override
+	public String toString() {
+
+		ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+		buffer.asLongBuffer().put(bits);
+
+		return hashes + ":" + Base64.getEncoder().encodeToString(buffer.array());
+	}
+
+	/**
+	 * Reads a filter from the text toString returns.
+	 *
+	 * @param text is the filter in a string representation
+	 *
+	 * @return the filter
+	 *
+	 * @throws IllegalArgumentException if the text is not a filter
+	 */
+	public static BloomFilter valueOf(String text) {
+
+		int colon = text.indexOf(':');
+
+		if(colon < 0) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		int hashes = Integer.parseInt(text.substring(0, colon));
+		byte[] bytes = Base64.getDecoder().decode(text.substring(colon + 1));
+
+		if(hashes < 1 || bytes.length == 0 || bytes.length % Long.BYTES != 0) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		long[] bits = new long[bytes.length / Long.BYTES];
+		ByteBuffer.wrap(bytes).asLongBuffer().get(bits);
+
+		return new BloomFilter(bits, hashes);
+	}
+}
@@ -0,0 +1,684 @@
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import java.util.Arrays;
+
+/**
+ * IdBitmap is a compressed set of issue ids. Ids are split into blocks of 65536 by their high 16 bits,
+ * and each block holding any ids keeps its low 16 bits in one of two containers: a sorted char array
+ * while the block holds at most 4096 ids, and a 1024 word bitmap once it holds more. Sparse blocks
+ * cost two bytes an id and dense blocks at most one bit an id, and no block costs anything while it
+ * is empty. Intersections and unions go block by block, as word operations between bitmaps and as
+ * merges or lookups otherwise.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IdBitmap {
+
+	/** ARRAY_MAX is the most ids a block holds before its array container becomes a bitmap */
+	private static final int ARRAY_MAX = 4096;
+
+	/** WORDS is the number of words in a bitmap container */
+	private static final int WORDS = 1024;
+
+	/** keys are the high 16 bits of the ids in each block, in ascending order */
+	private char[] keys;
+
+	/** containers hold the low 16 bits of the ids in each block, matching keys */
+	private Container[] containers;
+
+	/** size is the number of blocks holding ids */
+	private int size;
+
+	/**
+	 * Constructs an empty bitmap
+	 */
+	public IdBitmap() {
+		keys = new char[4];
+		containers = new Container[4];
+	}
+
+	/**
+	 * Adds an id to the bitmap.
+	 *
+	 * @param id is the id to add, which must not be negative
+	 */
+	public void add(int id) {
+
+		char key = (char) (id >>> 16);
+		int index = indexOfKey(key);
+
+		if(index < 0) {
+			index = -index - 1;
+			insert(index, key, new ArrayContainer());
+		}
+
+		containers[index] = containers[index].add((char) id);
+	}
+
+	/**
+	 * Removes an id from the bitmap.
+	 *
+	 * @param id is the id to remove
+	 */
+	public void remove(int id) {
+
+		int index = indexOfKey((char) (id >>> 16));
+
+		if(id < 0 || index < 0) {
+			return;
+		}
+
+		containers[index] = containers[index].remove((char) id);
+
+		if(containers[index].cardinality() == 0) {
+			System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+			System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+			containers[--size] = null;
+		}
+	}
+
+	/**
+	 * Checks if the bitmap holds an id.
+	 *
+	 * @param id is the id to check
+	 *
+	 * @return true if the id was added and not removed since
+	 */
+	public boolean contains(int id) {
+
+		int index = indexOfKey((char) (id >>> 16));
+
+		return id >= 0 && index >= 0 && containers[index].contains((char) id);
+	}
+
+	/**
+	 * Removes every id from the bitmap.
+	 */
+	public void clear() {
+		Arrays.fill(containers, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of ids in the bitmap
+	 *
+	 * @return the number of ids
+	 */
+	public int cardinality() {
+
+		int cardinality = 0;
+
+		for(int i = 0; i < size; i++) {
+			cardinality += containers[i].cardinality();
+		}
+
+		return cardinality;
+	}
+
+	/**
+	 * Gets the ids in the bitmap between two ids.
+	 *
+	 * @param min is the smallest id to get
+	 * @param max is the largest id to get
+	 *
+	 * @return the ids from min to max in ascending order
+	 */
+	public int[] toArray(int min, int max) {
+
+		int count = 0;
+
+		for(int i = 0; i < size; i++) {
+			if(keys[i] >= min >>> 16 && keys[i] <= max >>> 16) {
+				count += containers[i].cardinality();
+			}
+		}
+
+		int[] ids = new int[count];
+		count = 0;
+
+		for(int i = 0; i < size; i++) {
+			if(keys[i] >= min >>> 16 && keys[i] <= max >>> 16) {
+				count = containers[i].fill(ids, count, keys[i] << 16, min, max);
+			}
+		}
+
+		return count == ids.length ? ids : Arrays.copyOf(ids, count);
+	}
+
+	/**
+	 * Gets the ids in both of two bitmaps.
+	 *
+	 * @param a is one bitmap
+	 * @param b is the other bitmap
+	 *
+	 * @return a new bitmap holding the intersection
+	 */
+	public static IdBitmap and(IdBitmap a, IdBitmap b) {
+
+		IdBitmap result = new IdBitmap();
+		int i = 0;
+		int j = 0;
+
+		while(i < a.size && j < b.size) {
+			if(a.keys[i] < b.keys[j]) {
+				i++;
+			}
+			else if(a.keys[i] > b.keys[j]) {
+				j++;
+			}
+			else {
+				Container container = a.containers[i].and(b.containers[j]);
+				if(container.cardinality() > 0) {
+					result.insert(result.size, a.keys[i], container);
+				}
+				i++;
+				j++;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets the ids in either of two bitmaps.
+	 *
+	 * @param a is one bitmap
+	 * @param b is the other bitmap
+	 *
+	 * @return a new bitmap holding the union
+	 */
+	public static IdBitmap or(IdBitmap a, IdBitmap b) {
+
+		IdBitmap result = new IdBitmap();
+		int i = 0;
+		int j = 0;
+
+		while(i < a.size || j < b.size) {
+			if(j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+				result.insert(result.size, a.keys[i], a.containers[i].copy());
+				i++;
+			}
+			else if(i >= a.size || a.keys[i] > b.keys[j]) {
+				result.insert(result.size, b.keys[j], b.containers[j].copy());
+				j++;
+			}
+			else {
+				result.insert(result.size, a.keys[i], a.containers[i].or(b.containers[j]));
+				i++;
+				j++;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets about how many bytes the bitmap's containers hold
+	 *
+	 * @return the number of bytes
+	 */
+	public long getSizeInBytes() {
+
+		long bytes = 0;
+
+		for(int i = 0; i < size; i++) {
+			bytes += containers[i].sizeInBytes();
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Finds the position of a block with a binary search
+	 *
+	 * @param key is the high 16 bits of the block's ids
+	 *
+	 * @return the position of the block, or (-(insertion point) - 1) if there is none
+	 */
+	private int indexOfKey(char key) {
+
+		//Ids are usually added in ascending order, so check the last block first
+		if(size > 0 && keys[size - 1] == key) {
+			return size - 1;
+		}
+
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	/**
+	 * Inserts a block at a position
+	 *
+	 * @param index is the position
+	 * @param key is the high 16 bits of the block's ids
+	 * @param container holds the low 16 bits of the block's ids
+	 */
+	private void insert(int index, char key, Container container) {
+
+		if(size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			containers = Arrays.copyOf(containers, size * 2);
+		}
+
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	/**
+	 * Container holds the low 16 bits of the ids in one block. Adding to or removing from a container
+	 * may return a container of the other kind, which replaces it.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private abstract static class Container {
+
+		/**
+		 * Adds an id
+		 *
+		 * @param low is the id's low 16 bits
+		 *
+		 * @return the container now holding the id
+		 */
+		abstract Container add(char low);
+
+		/**
+		 * Removes an id
+		 *
+		 * @param low is the id's low 16 bits
+		 *
+		 * @return the container no longer holding the id
+		 */
+		abstract Container remove(char low);
+
+		/**
+		 * Checks if the container holds an id
+		 *
+		 * @param low is the id's low 16 bits
+		 *
+		 * @return true if the container holds it
+		 */
+		abstract boolean contains(char low);
+
+		/**
+		 * Gets the number of ids in the container
+		 *
+		 * @return the number of ids
+		 */
+		abstract int cardinality();
+
+		/**
+		 * Copies the container's ids between two ids into an array, in ascending order
+		 *
+		 * @param ids is the array
+		 * @param count is the position to copy the first id to
+		 * @param base is the block's high 16 bits, shifted into place
+		 * @param min is the smallest id to copy
+		 * @param max is the largest id to copy
+		 *
+		 * @return the position after the last id copied
+		 */
+		abstract int fill(int[] ids, int count, int base, int min, int max);
+
+		/**
+		 * Gets the ids in both this container and another
+		 *
+		 * @param other is the other container
+		 *
+		 * @return a new container holding the intersection
+		 */
+		abstract Container and(Container other);
+
+		/**
+		 * Gets the ids in either this container or another
+		 *
+		 * @param other is the other container
+		 *
+		 * @return a new container holding the union
+		 */
+		abstract Container or(Container other);
+
+		/**
+		 * Copies the container
+		 *
+		 * @return a new container holding the same ids
+		 */
+		abstract Container copy();
+
+		/**
+		 * Gets about how many bytes the container holds
+		 *
+		 * @return the number of bytes
+		 */
+		abstract int sizeInBytes();
+	}
+
+	/**
+	 * ArrayContainer holds a sparse block as a sorted array of low 16 bits.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static final class ArrayContainer extends Container {
+
+		/** values are the low 16 bits of the ids, in ascending order */
+		private char[] values;
+
+		/** cardinality is the number of ids */
+		private int cardinality;
+
+		/**
+		 * Constructs an empty container
+		 */
+		ArrayContainer() {
+			this(new char[4], 0);
+		}
+
+		/**
+		 * Constructs a container holding some ids
+		 *
+		 * @param values are the low 16 bits of the ids, in ascending order
+		 * @param cardinality is the number of ids
+		 */
+		ArrayContainer(char[] values, int cardinality) {
+			this.values = values;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		Container add(char low) {
+
+			int index = Arrays.binarySearch(values, 0, cardinality, low);
+
+			if(index >= 0) {
+				return this;
+			}
+			if(cardinality == ARRAY_MAX) {
+				return toBitmap().add(low);
+			}
+
+			index = -index - 1;
+
+			if(cardinality == values.length) {
+				values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+			}
+
+			System.arraycopy(values, index, values, index + 1, cardinality - index);
+			values[index] = low;
+			cardinality++;
+
+			return this;
+		}
+
+		@Override
+		Container remove(char low) {
+
+			int index = Arrays.binarySearch(values, 0, cardinality, low);
+
+			if(index >= 0) {
+				System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+				cardinality--;
+			}
+
+			return this;
+		}
+
+		@Override
+		boolean contains(char low) {
+			return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		int fill(int[] ids, int count, int base, int min, int max) {
+
+			for(int i = 0; i < cardinality; i++) {
+				int id = base | values[i];
+				if(id >= min && id <= max) {
+					ids[count++] = id;
+				}
+			}
+
+			return count;
+		}
+
+		@Override
+		Container and(Container other) {
+
+			char[] result = new char[cardinality];
+			int count = 0;
+
+			for(int i = 0; i < cardinality; i++) {
+				if(other.contains(values[i])) {
+					result[count++] = values[i];
+				}
+			}
+
+			return new ArrayContainer(result, count);
+		}
+
+		@Override
+		Container or(Container other) {
+
+			if(other instanceof BitmapContainer) {
+				return other.or(this);
+			}
+
+			ArrayContainer array = (ArrayContainer) other;
+
+			if(cardinality + array.cardinality > ARRAY_MAX) {
+				return toBitmap().or(other);
+			}
+
+			char[] result = new char[cardinality + array.cardinality];
+			int count = 0;
+			int i = 0;
+			int j = 0;
+
+			while(i < cardinality || j < array.cardinality) {
+				if(j >= array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+					result[count++] = values[i++];
+				}
+				else if(i >= cardinality || values[i] > array.values[j]) {
+					result[count++] = array.values[j++];
+				}
+				else {
+					result[count++] = values[i++];
+					j++;
+				}
+			}
+
+			return new ArrayContainer(result, count);
+		}
+
+		@Override
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+		}
+
+		@Override
+		int sizeInBytes() {
+			return values.length * Character.BYTES;
+		}
+
+		/**
+		 * Converts the container to a bitmap
+		 *
+		 * @return a bitmap container holding the same ids
+		 */
+		private BitmapContainer toBitmap() {
+
+			long[] words = new long[WORDS];
+
+			for(int i = 0; i < cardinality; i++) {
+				words[values[i] >>> 6] |= 1L << values[i];
+			}
+
+			return new BitmapContainer(words, cardinality);
+		}
+	}
+
+	/**
+	 * BitmapContainer holds a dense block as one bit for each of its 65536 ids.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static final class BitmapContainer extends Container {
+
+		/** words are the block's bits, 64 to a word */
+		private final long[] words;
+
+		/** cardinality is the number of bits set */
+		private int cardinality;
+
+		/**
+		 * Constructs a container from its bits
+		 *
+		 * @param words are the bits
+		 * @param cardinality is the number of bits set
+		 */
+		BitmapContainer(long[] words, int cardinality) {
+			this.words = words;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		Container add(char low) {
+
+			long bit = 1L << low;
+
+			if((words[low >>> 6] & bit) == 0) {
+				words[low >>> 6] |= bit;
+				cardinality++;
+			}
+
+			return this;
+		}
+
+		@Override
+		Container remove(char low) {
+
+			long bit = 1L << low;
+
+			if((words[low >>> 6] & bit) != 0) {
+				words[low >>> 6] &= ~bit;
+				cardinality--;
+			}
+
+			return cardinality > ARRAY_MAX ? this : toArray();
+		}
+
+		@Override
+		boolean contains(char low) {
+			return (words[low >>> 6] & 1L << low) != 0;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		int fill(int[] ids, int count, int base, int min, int max) {
+
+			for(int i = 0; i < WORDS; i++) {
+				long word = words[i];
+				while(word != 0) {
+					int id = base | i << 6 | Long.numberOfTrailingZeros(word);
+					if(id >= min && id <= max) {
+						ids[count++] = id;
+					}
+					word &= word - 1;
+				}
+			}
+
+			return count;
+		}
+
+		@Override
+		Container and(Container other) {
+
+			if(other instanceof ArrayContainer) {
+				return other.and(this);
+			}
+
+			long[] otherWords = ((BitmapContainer) other).words;
+			long[] result = new long[WORDS];
+			int count = 0;
+
+			for(int i = 0; i < WORDS; i++) {
+				result[i] = words[i] & otherWords[i];
+				count += Long.bitCount(result[i]);
+			}
+
+			BitmapContainer bitmap = new BitmapContainer(result, count);
+
+			return count > ARRAY_MAX ? bitmap : bitmap.toArray();
+		}
+
+		@Override
+		Container or(Container other) {
+
+			long[] result = Arrays.copyOf(words, WORDS);
+
+			if(other instanceof ArrayContainer) {
+				ArrayContainer array = (ArrayContainer) other;
+				for(int i = 0; i < array.cardinality; i++) {
+					result[array.values[i] >>> 6] |= 1L << array.values[i];
+				}
+			}
+			else {
+				long[] otherWords = ((BitmapContainer) other).words;
+				for(int i = 0; i < WORDS; i++) {
+					result[i] |= otherWords[i];
+				}
+			}
+
+			int count = 0;
+			for(long word : result) {
+				count += Long.bitCount(word);
+			}
+
+			return new BitmapContainer(result, count);
+		}
+
+		@Override
+		Container copy() {
+			return new BitmapContainer(Arrays.copyOf(words, WORDS), cardinality);
+		}
+
+		@Override
+		int sizeInBytes() {
+			return WORDS * Long.BYTES;
+		}
+
+		/**
+		 * Converts the container to a sorted array
+		 *
+		 * @return an array container holding the same ids
+		 */
+		private ArrayContainer toArray() {
+
+			char[] values = new char[Math.max(4, cardinality)];
+			int count = 0;
+
+			for(int i = 0; i < WORDS; i++) {
+				long word = words[i];
+				while(word != 0) {
+					values[count++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+
+			return new ArrayContainer(values, count);
+		}
+	}
+}
@@ -0,0 +1,508 @@
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+
+/**
+ * TextIndex is an inverted index from the words in issue summaries and notes to the ids of the
+ * issues containing them. Each word's postings are kept as a sorted array of primitive ids, so
+ * AND queries are intersections and OR queries are merges of int arrays. The index listens to an
+ * issue list and is updated as issues are added, updated with a new note, and removed.
+ *
+ * Words are runs of letters and digits and are matched ignoring case, the same way in every default
+ * locale. The [State] prefix added to every note is not indexed.
+ *
+ * @author michaelabrams
+ *
+ */
+public class TextIndex implements IssueListener {
+
+	/** OR is the query operator separating alternatives */
+	private static final String OR = "OR";
+
+	/** AND is the query operator joining words, which is also implied between words */
+	private static final String AND = "AND";
+
+	/** EMPTY is returned by queries with no matches */
+	private static final int[] EMPTY = new int[0];
+
+	/** postings maps each word to the ids of the issues containing it */
+	private final Map<String, Postings> postings = new HashMap<String, Postings>();
+
+	/**
+	 * Constructs an empty TextIndex
+	 */
+	public TextIndex() {
+		//Empty constructor
+	}
+
+	/**
+	 * Indexes every word in the issue's summary and notes.
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		indexText(issue.getSummary(), id);
+
+		for(String note : issue.getNotes()) {
+			indexText(stripStatePrefix(note), id);
+		}
+	}
+
+	/**
+	 * Removes the issue's id from the postings of every word in its summary and notes.
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		unindexText(issue.getSummary(), id);
+
+		for(String note : issue.getNotes()) {
+			unindexText(stripStatePrefix(note), id);
+		}
+	}
+
+	/**
+	 * Indexes the note the command appended to the issue.
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated the issue
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+
+		List<String> notes = issue.getNotes();
+
+		indexText(stripStatePrefix(notes.get(notes.size() - 1)), issue.getIssueId());
+	}
+
+	/**
+	 * Empties the index.
+	 */
+	@Override
+	public void issuesCleared() {
+		postings.clear();
+	}
+
+	/**
+	 * Gets the number of distinct words in the index
+	 *
+	 * @return the number of words
+	 */
+	public int getWordCount() {
+		return postings.size();
+	}
+
+	/**
+	 * Searches the index with a boolean query. Words next to each other, or joined by AND, must
+	 * all appear in an issue. Groups of words separated by OR are alternatives, so
+	 * "crash load OR freeze" finds issues with both crash and load, or with freeze.
+	 *
+	 * @param query is the query
+	 *
+	 * @return the ids of the matching issues in ascending order
+	 */
+	public int[] search(String query) {
+
+		if(query == null) {
+			return EMPTY;
+		}
+
+		int[] result = EMPTY;
+
+		List<String> clause = new ArrayList<String>();
+
+		for(String part : query.trim().split("\\s+")) {
+			if(OR.equals(part)) {
+				result = union(result, allOf(clause.toArray(new String[0])));
+				clause.clear();
+			}
+			else if(!AND.equals(part)) {
+				clause.add(part);
+			}
+		}
+
+		return union(result, allOf(clause.toArray(new String[0])));
+	}
+
+	/**
+	 * Estimates how many issues a query matches without running it. Each group of words is counted
+	 * as the postings of its rarest word, which is the most the group can match, so the estimate is
+	 * never less than the number of matches.
+	 *
+	 * @param query is the query, in the form search takes
+	 *
+	 * @return the largest number of issues the query can match
+	 */
+	public long estimate(String query) {
+
+		if(query == null) {
+			return 0;
+		}
+
+		long estimate = 0;
+		long group = Long.MAX_VALUE;
+
+		for(String part : query.trim().split("\\s+")) {
+			if(OR.equals(part)) {
+				estimate += group == Long.MAX_VALUE ? 0 : group;
+				group = Long.MAX_VALUE;
+			}
+			else if(!AND.equals(part)) {
+				for(String token : tokenize(part)) {
+					Postings p = postings.get(token);
+					group = Math.min(group, p == null ? 0 : p.size);
+				}
+			}
+		}
+
+		return estimate + (group == Long.MAX_VALUE ? 0 : group);
+	}
+
+	/**
+	 * Checks if an issue matches a query by reading its summary and notes, giving the same answer
+	 * search would for an index holding the issue.
+	 *
+	 * @param issue is the issue
+	 * @param query is the query, in the form search takes
+	 *
+	 * @return true if the issue matches the query
+	 */
+	public static boolean matches(Issue issue, String query) {
+
+		if(query == null) {
+			return false;
+		}
+
+		Set<String> words = new HashSet<String>(tokenize(issue.getSummary()));
+
+		for(String note : issue.getNotes()) {
+			words.addAll(tokenize(stripStatePrefix(note)));
+		}
+
+		boolean group = false;
+		boolean all = true;
+
+		for(String part : query.trim().split("\\s+")) {
+			if(OR.equals(part)) {
+				if(group && all) {
+					return true;
+				}
+				group = false;
+				all = true;
+			}
+			else if(!AND.equals(part)) {
+				for(String token : tokenize(part)) {
+					group = true;
+					all &= words.contains(token);
+				}
+			}
+		}
+
+		return group && all;
+	}
+
+	/**
+	 * Finds the issues containing every one of the given words.
+	 *
+	 * @param words are the words
+	 *
+	 * @return the ids of the matching issues in ascending order
+	 */
+	public int[] allOf(String... words) {
+
+		List<Postings> lists = new ArrayList<Postings>();
+
+		for(String word : words) {
+			for(String token : tokenize(word)) {
+				Postings p = postings.get(token);
+				if(p == null) {
+					return EMPTY;
+				}
+				lists.add(p);
+			}
+		}
+
+		if(lists.isEmpty()) {
+			return EMPTY;
+		}
+
+		//Intersecting from the shortest list keeps every intermediate result small
+		lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+		int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+
+		for(int i = 1; i < lists.size() && result.length > 0; i++) {
+			result = intersect(result, lists.get(i));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Finds the issues containing any of the given words.
+	 *
+	 * @param words are the words
+	 *
+	 * @return the ids of the matching issues in ascending order
+	 */
+	public int[] anyOf(String... words) {
+
+		int[] result = EMPTY;
+
+		for(String word : words) {
+			for(String token : tokenize(word)) {
+				Postings p = postings.get(token);
+				if(p != null) {
+					result = union(result, Arrays.copyOf(p.ids, p.size));
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Splits text into lower case words made of letters and digits.
+	 *
+	 * @param text is the text to split
+	 *
+	 * @return the words in the order they appear
+	 */
+	static List<String> tokenize(String text) {
+
+		List<String> tokens = new ArrayList<String>();
+
+		int start = -1;
+
+		for(int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+			if(wordChar && start < 0) {
+				start = i;
+			}
+			else if(!wordChar && start >= 0) {
+				tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+
+		return tokens;
+	}
+
+	/**
+	 * Adds an issue's id to the postings of every word in the text.
+	 *
+	 * @param text is the text to index
+	 * @param id is the id of the issue the text belongs to
+	 */
+	private void indexText(String text, int id) {
+		for(String token : tokenize(text)) {
+			postings.computeIfAbsent(token, k -> new Postings()).add(id);
+		}
+	}
+
+	/**
+	 * Removes an issue's id from the postings of every word in the text.
+	 *
+	 * @param text is the text which was indexed
+	 * @param id is the id of the issue the text belongs to
+	 */
+	private void unindexText(String text, int id) {
+		for(String token : tokenize(text)) {
+			Postings p = postings.get(token);
+			if(p != null) {
+				p.remove(id);
+				if(p.size == 0) {
+					postings.remove(token);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the [State] prefix the issue adds to each note.
+	 *
+	 * @param note is the note
+	 *
+	 * @return the note's text without its prefix
+	 */
+	private static String stripStatePrefix(String note) {
+
+		if(note.startsWith("[")) {
+			int close = note.indexOf(']');
+			if(close > 0) {
+				return note.substring(close + 1);
+			}
+		}
+
+		return note;
+	}
+
+	/**
+	 * Intersects sorted ids with a postings list. Each id is found by galloping forward through the
+	 * postings, which is fast when the ids are much fewer than the postings.
+	 *
+	 * @param ids are sorted ids
+	 * @param p is the postings list
+	 *
+	 * @return the ids which are also in the postings
+	 */
+	private static int[] intersect(int[] ids, Postings p) {
+
+		int[] result = new int[ids.length];
+		int count = 0;
+		int low = 0;
+
+		for(int id : ids) {
+			int step = 1;
+			int high = low;
+
+			//Gallop until the postings pass the id, then binary search the last step
+			while(high < p.size && p.ids[high] < id) {
+				low = high + 1;
+				high += step;
+				step <<= 1;
+			}
+
+			int pos = Arrays.binarySearch(p.ids, low, Math.min(high + 1, p.size), id);
+
+			if(pos >= 0) {
+				result[count++] = id;
+				low = pos + 1;
+			}
+			else {
+				low = -pos - 1;
+			}
+
+			if(low >= p.size) {
+				break;
+			}
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Merges two sorted id arrays without duplicates.
+	 *
+	 * @param a are sorted ids
+	 * @param b are sorted ids
+	 *
+	 * @return the ids in either array
+	 */
+	private static int[] union(int[] a, int[] b) {
+
+		if(a.length == 0) {
+			return b;
+		}
+		if(b.length == 0) {
+			return a;
+		}
+
+		int[] result = new int[a.length + b.length];
+		int i = 0;
+		int j = 0;
+		int count = 0;
+
+		while(i < a.length && j < b.length) {
+			if(a[i] < b[j]) {
+				result[count++] = a[i++];
+			}
+			else if(a[i] > b[j]) {
+				result[count++] = b[j++];
+			}
+			else {
+				result[count++] = a[i++];
+				j++;
+			}
+		}
+
+		while(i < a.length) {
+			result[count++] = a[i++];
+		}
+		while(j < b.length) {
+			result[count++] = b[j++];
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Postings is the sorted list of ids of the issues containing a single word.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static class Postings {
+
+		/** ids are the issue ids in ascending order, with unused capacity at the end */
+		private int[] ids = new int[2];
+
+		/** size is the number of ids in use */
+		private int size;
+
+		/**
+		 * Adds an id if it is not already present. Ids usually arrive in ascending order, so they
+		 * are appended without a search.
+		 *
+		 * @param id is the id to add
+		 */
+		void add(int id) {
+
+			int pos;
+
+			if(size == 0 || ids[size - 1] < id) {
+				pos = size;
+			}
+			else {
+				pos = Arrays.binarySearch(ids, 0, size, id);
+				if(pos >= 0) {
+					return;
+				}
+				pos = -pos - 1;
+			}
+
+			if(size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+
+			System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+			ids[pos] = id;
+			size++;
+		}
+
+		/**
+		 * Removes an id if it is present.
+		 *
+		 * @param id is the id to remove
+		 */
+		void remove(int id) {
+
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+
+			if(pos >= 0) {
+				System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+				size--;
+			}
+		}
+	}
+}
@@ -0,0 +1,272 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+
+/**
+ * CommandLogReader streams the entries of a command log one at a time, so a log of any length can be
+ * replayed without holding it in memory. Each line of a command log is id,COMMAND,owner,resolution,note,
+ * where the command and resolution are enum names in any case, the owner and resolution may be empty,
+ * and the note is the rest of the line. Blank lines and lines starting with # are skipped.
+ *
+ * A malformed line does not stop the log. It is returned as an entry without a command, and getError
+ * describes what was wrong with it.
+ *
+ * @author michaelabrams
+ *
+ */
+public class CommandLogReader implements Closeable {
+
+	/** COMMAND_VALUES are the command values which can be named in a log */
+	private static final CommandValue[] COMMAND_VALUES = CommandValue.values();
+
+	/** RESOLUTIONS are the resolutions which can be named in a log */
+	private static final Resolution[] RESOLUTIONS = Resolution.values();
+
+	/** name is the name of the log used in error messages */
+	private final String name;
+
+	/** reader reads the log's lines */
+	private final BufferedReader reader;
+
+	/** lineNumber is the line number of the current entry */
+	private int lineNumber;
+
+	/** issueId is the issue id of the current entry */
+	private int issueId;
+
+	/** command is the command of the current entry, or null if its line is malformed */
+	private Command command;
+
+	/** error describes what is wrong with the current entry's line, or is null if it is valid */
+	private String error;
+
+	/**
+	 * Opens a command log file.
+	 *
+	 * @param file is the command log file
+	 *
+	 * @throws IllegalArgumentException if the file can not be opened
+	 */
+	public CommandLogReader(String file) {
+
+		this.name = file;
+
+		try {
+			this.reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8),
+					1 << 16);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+	}
+
+	/**
+	 * Reads a command log from a character stream, such as the body of a request.
+	 *
+	 * @param reader is the stream the log is read from
+	 * @param name is the name of the log used in error messages
+	 */
+	public CommandLogReader(Reader reader, String name) {
+		this.name = name;
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+	}
+
+	/**
+	 * Moves to the next entry in the log.
+	 *
+	 * @return true if there is another entry, or false at the end of the log
+	 *
+	 * @throws IllegalArgumentException if the log can not be read
+	 */
+	public boolean next() {
+
+		String line;
+
+		try {
+			do {
+				line = reader.readLine();
+				lineNumber++;
+			} while(line != null && (line.isBlank() || line.startsWith("#")));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		if(line == null) {
+			command = null;
+			error = null;
+			return false;
+		}
+
+		parseEntry(line);
+		return true;
+	}
+
+	/**
+	 * Parses a line into the current entry.
+	 *
+	 * @param line is the line of the entry
+	 */
+	private void parseEntry(String line) {
+
+		command = null;
+		error = null;
+		issueId = -1;
+
+		int idEnd = line.indexOf(',');
+		int commandEnd = idEnd < 0 ? -1 : line.indexOf(',', idEnd + 1);
+		int ownerEnd = commandEnd < 0 ? -1 : line.indexOf(',', commandEnd + 1);
+		int resolutionEnd = ownerEnd < 0 ? -1 : line.indexOf(',', ownerEnd + 1);
+
+		if(resolutionEnd < 0) {
+			error = name + ":" + lineNumber + ": invalid command.";
+			return;
+		}
+
+		try {
+			issueId = Integer.parseInt(line, skipSpaces(line, 0, idEnd), trimEnd(line, 0, idEnd), 10);
+
+			CommandValue commandValue = parseName(COMMAND_VALUES, line, idEnd + 1, commandEnd);
+			Resolution resolution = parseName(RESOLUTIONS, line, ownerEnd + 1, resolutionEnd);
+			String owner = line.substring(skipSpaces(line, commandEnd + 1, ownerEnd), trimEnd(line, commandEnd + 1, ownerEnd));
+
+			command = new Command(commandValue, owner, resolution, line.substring(resolutionEnd + 1));
+		} catch (IllegalArgumentException e) {
+			error = name + ":" + lineNumber + ": invalid command.";
+		}
+	}
+
+	/**
+	 * Finds the enum constant named by a field of a line, ignoring case and surrounding spaces.
+	 *
+	 * @param <E> is the type of enum
+	 * @param values are the enum's constants
+	 * @param line is the line
+	 * @param start is the index of the field
+	 * @param end is the index just past the field
+	 *
+	 * @return the constant, or null if the field is empty
+	 *
+	 * @throws IllegalArgumentException if the field does not name a constant
+	 */
+	private static <E extends Enum<E>> E parseName(E[] values, String line, int start, int end) {
+
+		int from = skipSpaces(line, start, end);
+		int length = trimEnd(line, start, end) - from;
+
+		if(length <= 0) {
+			return null;
+		}
+
+		for(E value : values) {
+			String valueName = value.name();
+			if(valueName.length() == length && line.regionMatches(true, from, valueName, 0, length)) {
+				return value;
+			}
+		}
+
+		throw new IllegalArgumentException("Invalid information.");
+	}
+
+	/**
+	 * Skips the spaces at the start of a field.
+	 *
+	 * @param line is the line
+	 * @param start is the index of the field
+	 * @param end is the index just past the field
+	 *
+	 * @return the index of the field's first character which is not a space
+	 */
+	private static int skipSpaces(String line, int start, int end) {
+
+		while(start < end && line.charAt(start) <= ' ') {
+			start++;
+		}
+
+		return start;
+	}
+
+	/**
+	 * Skips the spaces at the end of a field.
+	 *
+	 * @param line is the line
+	 * @param start is the index of the field
+	 * @param end is the index just past the field
+	 *
+	 * @return the index just past the field's last character which is not a space
+	 */
+	private static int trimEnd(String line, int start, int end) {
+
+		while(end > start && line.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Gets the issue id of the current entry
+	 *
+	 * @return the issue id, or -1 if it could not be read
+	 */
+	public int getIssueId() {
+		return issueId;
+	}
+
+	/**
+	 * Gets the command of the current entry
+	 *
+	 * @return the command, or null if the entry's line is malformed
+	 */
+	public Command getCommand() {
+		return command;
+	}
+
+	/**
+	 * Gets what is wrong with the current entry's line
+	 *
+	 * @return a message naming the log and line, or null if the entry is valid
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * Gets the line number of the current entry
+	 *
+	 * @return the line number, starting at 1
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the name of the log
+	 *
+	 * @return the file name or the name the log was given
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Closes the log.
+	 */
+	@Override
+	public void close() {
+
+		try {
+			reader.close();
+		} catch (IOException e) {
+			//Nothing was written, so there is nothing to lose
+		}
+	}
+}
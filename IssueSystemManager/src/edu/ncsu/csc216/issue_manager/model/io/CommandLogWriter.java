@@ -0,0 +1,94 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+
+/**
+ * CommandLogWriter appends commands to a command log in the format CommandLogReader reads, one
+ * id,COMMAND,owner,resolution,note line per command.
+ *
+ * @author michaelabrams
+ *
+ */
+public class CommandLogWriter implements Closeable {
+
+	/** writer writes the log's lines */
+	private final Writer writer;
+
+	/**
+	 * Creates a command log file, replacing its contents.
+	 *
+	 * @param file is the command log file
+	 *
+	 * @throws IllegalArgumentException if the file can not be created
+	 */
+	public CommandLogWriter(String file) {
+
+		try {
+			this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+					1 << 16);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Appends a command to the log.
+	 *
+	 * @param id is the id of the issue the command is for
+	 * @param command is the command
+	 *
+	 * @throws IllegalArgumentException if the owner has a comma or the note has a line break, which
+	 * would split the entry, or the log can not be written
+	 */
+	public void append(int id, Command command) {
+
+		String owner = command.getOwnerId();
+		String note = command.getNote();
+
+		if((owner != null && owner.indexOf(',') >= 0) || note.indexOf('\n') >= 0 || note.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		try {
+			writer.write(Integer.toString(id));
+			writer.write(',');
+			writer.write(command.getCommand().name());
+			writer.write(',');
+			if(owner != null) {
+				writer.write(owner);
+			}
+			writer.write(',');
+			if(command.getResolution() != null) {
+				writer.write(command.getResolution().name());
+			}
+			writer.write(',');
+			writer.write(note);
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Flushes and closes the log.
+	 *
+	 * @throws IllegalArgumentException if the log can not be written
+	 */
+	@Override
+	public void close() {
+
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+}
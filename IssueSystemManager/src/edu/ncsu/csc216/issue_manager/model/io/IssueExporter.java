@@ -0,0 +1,289 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+
+/**
+ * IssueExporter writes issues as JSON Lines or as RFC 4180 CSV for other tools to read. Each issue
+ * is written field by field into one fixed size buffer as it is reached, with text escaped as it is
+ * copied, so exporting any number of issues takes the same memory and builds no string per issue.
+ * Issues can come from a list or stream, or straight from an issue file without loading it. A file
+ * whose name ends in .gz is written compressed, as IssueWriter does.
+ *
+ * A JSON line is an issue object as JsonWriter writes it, the same object the server sends. A CSV
+ * file starts with a header row naming the same columns as the object's members, leaves a missing owner or resolution empty, and
+ * puts every note in one quoted cell, one note to a line. CSV rows end with CRLF.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueExporter {
+
+	/**
+	 * Format is a format issues can be exported in.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	public enum Format {
+
+		/** One JSON object per line */
+		JSON_LINES,
+
+		/** Comma separated values with a header row */
+		CSV
+	}
+
+	/** CSV_HEADER is the header row of a CSV export */
+	private static final String CSV_HEADER = "id,state,type,summary,owner,confirmed,resolution,notes\r\n";
+
+	/** BUFFER_SIZE is the size of the write buffer */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** ISSUES_EXPORTED counts issues exported, by format */
+	private static final MetricFamily<Counter> ISSUES_EXPORTED = MetricsRegistry.getDefault().counter(
+			"issue_exporter_issues_total", "Issues exported, by format.", "format");
+
+	/**
+	 * Constructs an IssueExporter object with no parameters
+	 */
+	public IssueExporter() {
+		//Empty constructor
+	}
+
+	/**
+	 * Exports issues to a file as the stream produces them.
+	 *
+	 * @param file is the file the issues are exported to
+	 * @param issues are the issues
+	 * @param format is the format to export them in
+	 *
+	 * @return the number of issues exported
+	 *
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public static int exportIssues(String file, Stream<Issue> issues, Format format) {
+
+		try (Writer out = openWriter(file)) {
+			return exportIssues(out, issues.iterator(), format);
+		} catch (IOException | UncheckedIOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Exports the issues in an issue file to another file, reading and writing one issue at a time.
+	 * A record whose checksum does not match is left out, as a load would quarantine it.
+	 *
+	 * @param issueFile is the issue file to read
+	 * @param file is the file the issues are exported to
+	 * @param format is the format to export them in
+	 *
+	 * @return the number of issues exported
+	 *
+	 * @throws IllegalArgumentException if the issue file can not be read or holds an invalid issue, or
+	 * the file can not be written
+	 */
+	public static int exportIssueFile(String issueFile, String file, Format format) {
+
+		try (Writer out = openWriter(file)) {
+
+			if(format == Format.CSV) {
+				out.write(CSV_HEADER);
+			}
+
+			//A single chunk is read on this thread in file order
+			int[] count = IssueReader.readIssuesInParallel(issueFile, 1, () -> new int[1], (exported, issue) -> {
+				try {
+					write(out, issue, format);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				exported[0]++;
+			}, (a, b) -> a);
+
+			ISSUES_EXPORTED.labels(format.name()).add(count[0]);
+
+			return count[0];
+
+		} catch (IOException | UncheckedIOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Exports issues to a writer, starting with a header row for CSV. The writer is not closed, so an
+	 * export can be sent on a connection which stays open.
+	 *
+	 * @param out is the writer
+	 * @param issues are the issues
+	 * @param format is the format to export them in
+	 *
+	 * @return the number of issues exported
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	public static int exportIssues(Writer out, Iterator<Issue> issues, Format format) throws IOException {
+
+		int count = 0;
+
+		if(format == Format.CSV) {
+			out.write(CSV_HEADER);
+		}
+
+		while(issues.hasNext()) {
+			write(out, issues.next(), format);
+			count++;
+		}
+
+		out.flush();
+		ISSUES_EXPORTED.labels(format.name()).add(count);
+
+		return count;
+	}
+
+	/**
+	 * Writes one issue in a format
+	 *
+	 * @param out is the writer
+	 * @param issue is the issue
+	 * @param format is the format
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	private static void write(Writer out, Issue issue, Format format) throws IOException {
+
+		if(format == Format.CSV) {
+			writeCsv(out, issue);
+		}
+		else {
+			writeJson(out, issue);
+		}
+	}
+
+	/**
+	 * Writes an issue as a JSON line
+	 *
+	 * @param out is the writer
+	 * @param issue is the issue
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	private static void writeJson(Writer out, Issue issue) throws IOException {
+		JsonWriter.writeIssue(out, issue);
+		out.write('\n');
+	}
+
+	/**
+	 * Writes an issue as a CSV row
+	 *
+	 * @param out is the writer
+	 * @param issue is the issue
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	private static void writeCsv(Writer out, Issue issue) throws IOException {
+
+		out.write(Integer.toString(issue.getIssueId()));
+		out.write(',');
+		writeCsvField(out, issue.getStateName());
+		out.write(',');
+		writeCsvField(out, issue.getIssueType());
+		out.write(',');
+		writeCsvField(out, issue.getSummary());
+		out.write(',');
+		writeCsvField(out, issue.getOwner());
+		out.write(',');
+		out.write(issue.isConfirmed() ? "true" : "false");
+		out.write(',');
+		writeCsvField(out, issue.getResolution());
+		out.write(',');
+
+		//Notes share one quoted cell, which may hold line breaks
+		List<String> notes = issue.getNotes();
+		out.write('"');
+		for(int i = 0; i < notes.size(); i++) {
+			if(i > 0) {
+				out.write('\n');
+			}
+			writeCsvQuoted(out, notes.get(i));
+		}
+		out.write('"');
+
+		out.write("\r\n");
+	}
+
+	/**
+	 * Writes a CSV field, quoting it only if it holds a comma, quote, or line break
+	 *
+	 * @param out is the writer
+	 * @param value is the field, or null to leave it empty
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	private static void writeCsvField(Writer out, String value) throws IOException {
+
+		if(value == null) {
+			return;
+		}
+
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == ',' || c == '"' || c == '\n' || c == '\r') {
+				out.write('"');
+				writeCsvQuoted(out, value);
+				out.write('"');
+				return;
+			}
+		}
+
+		out.write(value);
+	}
+
+	/**
+	 * Writes the inside of a quoted CSV field, doubling every quote
+	 *
+	 * @param out is the writer
+	 * @param value is the field
+	 *
+	 * @throws IOException if the writer can not be written
+	 */
+	private static void writeCsvQuoted(Writer out, String value) throws IOException {
+
+		int run = 0;
+
+		for(int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', i + 1)) {
+			out.write(value, run, i + 1 - run);
+			out.write('"');
+			run = i + 1;
+		}
+
+		out.write(value, run, value.length() - run);
+	}
+
+	/**
+	 * Opens a file for writing text through a fixed size buffer, compressing it if its name ends in .gz
+	 *
+	 * @param file is the file
+	 *
+	 * @return the writer
+	 *
+	 * @throws IOException if the file can not be opened
+	 */
+	private static Writer openWriter(String file) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(IssueWriter.openOutput(file), StandardCharsets.UTF_8),
+				BUFFER_SIZE);
+	}
+}
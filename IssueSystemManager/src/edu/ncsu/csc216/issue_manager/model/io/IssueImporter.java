@@ -0,0 +1,342 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+
+/**
+ * IssueImporter reads new issues in bulk from a CSV or TSV file, such as an export from another
+ * tracker. The first row names the columns, and every later row is a new issue taking its type,
+ * summary, and first note from the type, summary, and note columns, which may be in any order among
+ * other columns. Column names and types are matched ignoring case.
+ *
+ * The file is split into rows in one pass over its bytes, honouring quoted CSV fields which hold
+ * line breaks. A block of ids with one id for every row is then reserved at once, and the rows are
+ * parsed and made into issues in parallel, each issue taking the id of its row within the block so
+ * the issues keep the order of the file. Each issue is checked by the Issue constructor, so a row is
+ * accepted or rejected exactly as adding the issue by hand would be. A rejected row is reported with
+ * its line number and byte offset and leaves its id unused.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueImporter {
+
+	/**
+	 * Format is a format issues can be imported from.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	public enum Format {
+
+		/** Comma separated values, as in RFC 4180, where a field in quotes may hold commas, quotes, and line breaks */
+		CSV(','),
+
+		/** Tab separated values, where no field holds a tab or a line break */
+		TSV('\t');
+
+		/** delimiter separates the fields of a row */
+		private final char delimiter;
+
+		/**
+		 * Constructs a format
+		 *
+		 * @param delimiter separates the fields of a row
+		 */
+		Format(char delimiter) {
+			this.delimiter = delimiter;
+		}
+	}
+
+	/** TYPE_COLUMN is the name of the column holding each issue's type */
+	public static final String TYPE_COLUMN = "type";
+
+	/** SUMMARY_COLUMN is the name of the column holding each issue's summary */
+	public static final String SUMMARY_COLUMN = "summary";
+
+	/** NOTE_COLUMN is the name of the column holding each issue's first note */
+	public static final String NOTE_COLUMN = "note";
+
+	/** ISSUES_IMPORTED counts imported rows by whether they became issues or were rejected */
+	private static final MetricFamily<Counter> ISSUES_IMPORTED = MetricsRegistry.getDefault().counter(
+			"issue_importer_rows_total", "Rows imported as new issues, by result.", "result");
+
+	/**
+	 * Constructs an IssueImporter object with no parameters
+	 */
+	public IssueImporter() {
+		//Empty constructor
+	}
+
+	/**
+	 * Reads new issues from a CSV or TSV file.
+	 *
+	 * @param file is the file which is read for issues
+	 * @param format is the file's format
+	 * @param reserveIds reserves a block of as many ids as it is given, returning the block's first id
+	 *
+	 * @return the issues in id order and the rows which were rejected
+	 *
+	 * @throws IllegalArgumentException if the file can not be read from/found or has no type, summary,
+	 * or note column
+	 */
+	public static IssueLoadReport readIssues(String file, Format format, IntUnaryOperator reserveIds) {
+
+		byte[] bytes;
+
+		try {
+			bytes = Files.readAllBytes(Paths.get(file));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		int[] rows = findRows(bytes, format);
+
+		List<String> header;
+
+		try {
+			header = parseRow(bytes, rows[0], rows[1], format.delimiter);
+		} catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		int typeColumn = indexOfColumn(header, TYPE_COLUMN);
+		int summaryColumn = indexOfColumn(header, SUMMARY_COLUMN);
+		int noteColumn = indexOfColumn(header, NOTE_COLUMN);
+
+		int count = rows.length / 2 - 1;
+		int firstId = reserveIds.applyAsInt(count);
+
+		Issue[] issues = new Issue[count];
+		String[] reasons = new String[count];
+
+		IntStream.range(0, count).parallel().forEach(i -> {
+			try {
+				List<String> fields = parseRow(bytes, rows[2 * i + 2], rows[2 * i + 3], format.delimiter);
+
+				if(fields.size() <= Math.max(typeColumn, Math.max(summaryColumn, noteColumn))) {
+					throw new IllegalArgumentException("Missing column");
+				}
+
+				issues[i] = new Issue(firstId + i, parseType(fields.get(typeColumn)), fields.get(summaryColumn),
+						fields.get(noteColumn));
+			} catch (IllegalArgumentException e) {
+				reasons[i] = e.getMessage();
+			}
+		});
+
+		ArrayList<Issue> imported = new ArrayList<Issue>(count);
+		List<IssueLoadError> errors = new ArrayList<IssueLoadError>();
+
+		//Line numbers are counted forward from the previous rejected row
+		long line = 1;
+		int counted = 0;
+
+		for(int i = 0; i < count; i++) {
+			if(issues[i] != null) {
+				imported.add(issues[i]);
+			}
+			else {
+				int start = rows[2 * i + 2];
+				line += countLines(bytes, counted, start);
+				counted = start;
+				errors.add(new IssueLoadError(line, start, reasons[i]));
+			}
+		}
+
+		ISSUES_IMPORTED.labels("ok").add(imported.size());
+		ISSUES_IMPORTED.labels("rejected").add(errors.size());
+
+		return new IssueLoadReport(imported, errors, null);
+	}
+
+	/**
+	 * Splits a file into rows. A row ends at a line feed outside quotes, with a carriage return before
+	 * it left out of the row, and blank rows are skipped.
+	 *
+	 * @param bytes are the file's bytes
+	 * @param format is the file's format
+	 *
+	 * @return the offset each row starts at followed by the offset it ends at, for every row in turn
+	 */
+	private static int[] findRows(byte[] bytes, Format format) {
+
+		int[] rows = new int[64];
+		int count = 0;
+		boolean quoted = false;
+		boolean quotes = format == Format.CSV;
+
+		//Skip a byte order mark
+		int start = bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB
+				&& (bytes[2] & 0xFF) == 0xBF ? 3 : 0;
+
+		for(int i = start; i <= bytes.length; i++) {
+
+			if(i < bytes.length) {
+				if(quotes && bytes[i] == '"') {
+					quoted = !quoted;
+					continue;
+				}
+				if(quoted || bytes[i] != '\n') {
+					continue;
+				}
+			}
+
+			int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+
+			if(end > start) {
+				if(count == rows.length) {
+					rows = Arrays.copyOf(rows, count * 2);
+				}
+				rows[count++] = start;
+				rows[count++] = end;
+			}
+
+			start = i + 1;
+		}
+
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * Splits a row into its fields. In CSV a field starting with a quote runs to the next quote which
+	 * is not doubled, and each doubled quote inside it stands for one quote.
+	 *
+	 * @param bytes are the file's bytes
+	 * @param start is the offset the row starts at
+	 * @param end is the offset the row ends at
+	 * @param delimiter separates the fields
+	 *
+	 * @return the fields
+	 *
+	 * @throws IllegalArgumentException if a quoted field is not closed or is followed by more than a delimiter
+	 */
+	private static List<String> parseRow(byte[] bytes, int start, int end, char delimiter) {
+
+		List<String> fields = new ArrayList<String>();
+		int i = start;
+
+		while(true) {
+
+			if(delimiter == ',' && i < end && bytes[i] == '"') {
+
+				StringBuilder field = new StringBuilder();
+				int run = ++i;
+
+				while(true) {
+					if(i >= end) {
+						throw new IllegalArgumentException("Unclosed quote");
+					}
+					if(bytes[i] == '"') {
+						field.append(new String(bytes, run, i - run, StandardCharsets.UTF_8));
+						if(i + 1 < end && bytes[i + 1] == '"') {
+							field.append('"');
+							i += 2;
+							run = i;
+							continue;
+						}
+						i++;
+						break;
+					}
+					i++;
+				}
+
+				fields.add(field.toString());
+
+				if(i < end && bytes[i] != delimiter) {
+					throw new IllegalArgumentException("Text after quote");
+				}
+			}
+			else {
+				int fieldStart = i;
+				while(i < end && bytes[i] != delimiter) {
+					i++;
+				}
+				fields.add(new String(bytes, fieldStart, i - fieldStart, StandardCharsets.UTF_8));
+			}
+
+			if(i >= end) {
+				return fields;
+			}
+
+			i++;
+		}
+	}
+
+	/**
+	 * Finds a column by its name in the header row, ignoring case and surrounding spaces
+	 *
+	 * @param header are the names of the columns
+	 * @param name is the name to find
+	 *
+	 * @return the column's position
+	 *
+	 * @throws IllegalArgumentException if there is no column with the name
+	 */
+	private static int indexOfColumn(List<String> header, String name) {
+
+		for(int i = 0; i < header.size(); i++) {
+			if(header.get(i).trim().equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+
+		throw new IllegalArgumentException("Unable to load file.");
+	}
+
+	/**
+	 * Parses an issue type from its string representation, ignoring case and surrounding spaces
+	 *
+	 * @param type is Issue.I_BUG or Issue.I_ENHANCEMENT
+	 *
+	 * @return the issue type
+	 *
+	 * @throws IllegalArgumentException if the string is neither type
+	 */
+	private static IssueType parseType(String type) {
+
+		if(Issue.I_BUG.equalsIgnoreCase(type.trim())) {
+			return IssueType.BUG;
+		}
+		if(Issue.I_ENHANCEMENT.equalsIgnoreCase(type.trim())) {
+			return IssueType.ENHANCEMENT;
+		}
+
+		throw new IllegalArgumentException("Invalid issue type");
+	}
+
+	/**
+	 * Counts the line feeds between two offsets
+	 *
+	 * @param bytes are the file's bytes
+	 * @param from is the first offset
+	 * @param to is the offset after the last
+	 *
+	 * @return the number of line feeds
+	 */
+	private static int countLines(byte[] bytes, int from, int to) {
+
+		int lines = 0;
+
+		for(int i = from; i < to; i++) {
+			if(bytes[i] == '\n') {
+				lines++;
+			}
+		}
+
+		return lines;
+	}
+}
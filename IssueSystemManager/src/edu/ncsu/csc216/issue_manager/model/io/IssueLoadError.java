@@ -0,0 +1,71 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+/**
+ * IssueLoadError describes a record of an issue file which could not be loaded: where the record
+ * starts, by line number and byte offset, and why it was rejected. Offsets in a compressed file are
+ * offsets in its uncompressed text.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueLoadError {
+
+	/** lineNumber is the line number of the record's first line, counting from 1 */
+	private final long lineNumber;
+
+	/** offset is the byte offset of the record's first byte */
+	private final long offset;
+
+	/** reason is why the record was rejected */
+	private final String reason;
+
+	/**
+	 * Constructs an error for a rejected record
+	 *
+	 * @param lineNumber is the line number of the record's first line
+	 * @param offset is the byte offset of the record's first byte
+	 * @param reason is why the record was rejected
+	 */
+	IssueLoadError(long lineNumber, long offset, String reason) {
+		this.lineNumber = lineNumber;
+		this.offset = offset;
+		this.reason = reason;
+	}
+
+	/**
+	 * Gets the line number of the record's first line
+	 *
+	 * @return the line number, counting from 1
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the byte offset of the record's first byte
+	 *
+	 * @return the offset
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Gets why the record was rejected
+	 *
+	 * @return the reason
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * Returns the error as a single line
+	 *
+	 * @return the error in a string representation
+	 */
+	@Override
+	public String toString() {
+		return "line " + lineNumber + ", offset " + offset + ": " + reason;
+	}
+}
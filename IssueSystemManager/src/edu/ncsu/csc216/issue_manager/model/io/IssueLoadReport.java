@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * IssueLoadReport is the result of reading an issue file leniently: every issue which could be
+ * loaded, in file order, and an IssueLoadError for every record which could not.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueLoadReport {
+
+	/** issues are the issues which were loaded */
+	private final ArrayList<Issue> issues;
+
+	/** errors are the records which were rejected, in file order */
+	private final List<IssueLoadError> errors;
+
+	/** recordIndex is where each loaded issue's record is in the file, or null if it was not indexed */
+	private final RecordIndex recordIndex;
+
+	/**
+	 * Constructs a report of a read
+	 *
+	 * @param issues are the issues which were loaded
+	 * @param errors are the records which were rejected
+	 * @param recordIndex is where each loaded issue's record is in the file, or null
+	 */
+	IssueLoadReport(ArrayList<Issue> issues, List<IssueLoadError> errors, RecordIndex recordIndex) {
+		this.issues = issues;
+		this.errors = Collections.unmodifiableList(errors);
+		this.recordIndex = recordIndex;
+	}
+
+	/**
+	 * Gets the issues which were loaded
+	 *
+	 * @return the issues in file order
+	 */
+	public ArrayList<Issue> getIssues() {
+		return issues;
+	}
+
+	/**
+	 * Gets the records which were rejected
+	 *
+	 * @return the errors in file order
+	 */
+	public List<IssueLoadError> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Gets where each loaded issue's record is in the file
+	 *
+	 * @return the record index, or null if the file is compressed or its ids are not in ascending order
+	 */
+	public RecordIndex getRecordIndex() {
+		return recordIndex;
+	}
+
+	/**
+	 * Checks if any record was rejected
+	 *
+	 * @return true if there is at least one error
+	 */
+	public boolean hasErrors() {
+		return !errors.isEmpty();
+	}
+
+	/**
+	 * Returns the counts as a single line
+	 *
+	 * @return the report in a string representation
+	 */
+	@Override
+	public String toString() {
+		return issues.size() + " loaded, " + errors.size() + " rejected";
+	}
+}
@@ -1,21 +1,83 @@
 package edu.ncsu.csc216.issue_manager.model.io;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
+import edu.ncsu.csc216.issue_manager.model.command.Command;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.jfr.IssueLoadEvent;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
 
 /**
  * IssueReader is used for reading issues from a file. IssueReader contains
- * only static methods, which are used by the IssueManager class.
+ * only static methods, which are used by the IssueManager class. Files which start
+ * with the GZIP magic bytes, such as those IssueWriter writes to a .gz name, are
+ * decompressed as they are read, whatever their name.
+ * 
+ * Files written with checksums can be loaded even when some of their records are damaged: the
+ * damaged records are copied to a quarantine file beside the issue file, named after it with
+ * .quarantine added, and every other issue is loaded. A lenient read goes further and loads every
+ * valid issue of any file, reporting each record it rejects instead of failing.
+ * 
+ * A file can also be streamed through accumulators instead of loaded, in chunks which are read and
+ * parsed in parallel, so a pass over every issue needs memory for one record per chunk rather than
+ * for the whole list, or read as a lazy stream which parses one record each time it is advanced.
  * 
  * @author michaelabrams
  *
  */
 public class IssueReader {
 	
+	/** BUFFER_SIZE is the size of the read and decompression buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/** MIN_CHUNK_BYTES is the smallest chunk a file is split into for a parallel read */
+	private static final long MIN_CHUNK_BYTES = 1 << 20;
+	
+	/** QUARANTINE_SUFFIX is added to an issue file's name to name its quarantine file */
+	public static final String QUARANTINE_SUFFIX = ".quarantine";
+	
+	/** FILES_READ counts issue files by whether they were read or rejected */
+	private static final MetricFamily<Counter> FILES_READ = MetricsRegistry.getDefault().counter(
+			"issue_reader_files_total", "Issue files read, by result.", "result");
+	
+	/** ISSUES_READ counts issues read from files */
+	private static final Counter ISSUES_READ = MetricsRegistry.getDefault().counter(
+			"issue_reader_issues_total", "Issues read from files.").labels();
+	
+	/** BYTES_READ counts the bytes of the issue files read */
+	private static final Counter BYTES_READ = MetricsRegistry.getDefault().counter(
+			"issue_reader_bytes_total", "Bytes of issue files read.").labels();
+	
+	/** ISSUES_QUARANTINED counts damaged records copied to quarantine files */
+	private static final Counter ISSUES_QUARANTINED = MetricsRegistry.getDefault().counter(
+			"issue_reader_quarantined_total", "Damaged issue records quarantined.").labels();
+	
 	/**
 	 * Constructs an IssueReader object with no parameters
 	 */
@@ -35,123 +97,827 @@ public class IssueReader {
 	 */
 	public static ArrayList<Issue> readIssuesFromFile(String file) {
 		
-		ArrayList<Issue> issues = new ArrayList<Issue>();
+		return read(file, false).getIssues();
+	}
+	
+	/**
+	 * Reads every valid issue from a file, carrying on past invalid records instead of stopping at
+	 * the first one. Each rejected record is reported with its line number, byte offset, and the
+	 * reason it was rejected, so a file can be fixed in one go.
+	 * 
+	 * @param file is the file which is read for issues
+	 * 
+	 * @return the issues which were read and the records which were rejected
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found
+	 */
+	public static IssueLoadReport readIssuesLeniently(String file) {
 		
-		String fileText = "";
+		return read(file, true);
+	}
+	
+	/**
+	 * Reads from a file like readIssuesFromFile, and also indexes where each issue's record is in
+	 * the file, so the file can be saved again by rewriting only the issues which change.
+	 * 
+	 * @param file is the file which is read for issues
+	 * 
+	 * @return the issues which were read and the file's record index, which is null if the file is
+	 * compressed, its ids are not in ascending order, or a record was quarantined
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found, if an issue has too many items, 
+	 * to little items, or unexpected format of an issue object.
+	 */
+	public static IssueLoadReport readIssuesWithIndex(String file) {
 		
-		try {
-			Scanner fileReader = new Scanner(new FileInputStream(file));
-			
-			while(fileReader.hasNextLine()) {
-				fileText += fileReader.nextLine();
-				fileText += "\n";
-			}
-			
-			Scanner fileTextParser = new Scanner(fileText);
-		    fileTextParser.useDelimiter("\\r?\\n?[*]");
-		    
-		    while(fileTextParser.hasNext()) {
-		    	
-		    	Issue issue = processIssue(fileTextParser.next());
-		    	
-		    	issues.add(issue);
-		    	
-		    }
-		    
-		    fileTextParser.close();
-		    return issues;
-			
-		} catch (FileNotFoundException e) {
-			throw new IllegalArgumentException("Unable to load file.");
-		}
+		return read(file, false);
 	}
 	
 	/**
-	 * Helper method for readIssuesFromFile. Takes an issue from a line and parses the
-	 * information into an issue object which is returned.
+	 * Streams every issue in a file through accumulators without holding the issues. An uncompressed
+	 * file is split at record starts into chunks of at least a megabyte, about one for each processor,
+	 * and each chunk is read and parsed on its own thread into its own result from the supplier. The
+	 * results are then combined in file order. A compressed file is read as a single chunk.
 	 * 
-	 * @param issue is the string representation of an issue which needs to be parsed
+	 * A record whose checksum does not match is skipped, as a load would quarantine it, and any other
+	 * record which is not a valid issue fails the read.
 	 * 
-	 * @return an issue object created from the issue string representation.
+	 * @param <T> is the type of result
+	 * @param file is the file which is read for issues
+	 * @param supplier creates an empty result for each chunk
+	 * @param accumulator adds an issue to a chunk's result
+	 * @param combiner combines the results of two chunks, the earlier first
+	 * 
+	 * @return the combined result
 	 * 
-	 * @throws IllegalArgumentException if an issue has too many items, to little items, or unexpected
-	 * format of an issue object.
+	 * @throws IllegalArgumentException if the file can not be read from/found, or a record is not a
+	 * valid issue
 	 */
-	private static Issue processIssue(String issue) {
+	public static <T> T readIssuesInParallel(String file, Supplier<T> supplier, BiConsumer<T, Issue> accumulator,
+			BinaryOperator<T> combiner) {
 		
-		ArrayList<String> notes = new ArrayList<String>();
+		long chunks = Math.min(Runtime.getRuntime().availableProcessors(), new File(file).length() / MIN_CHUNK_BYTES);
 		
-		Scanner issueNoteReader = new Scanner(issue);
+		return readIssuesInParallel(file, (int) Math.max(1, chunks), supplier, accumulator, combiner);
+	}
+	
+	/**
+	 * Streams every issue in a file through accumulators, splitting an uncompressed file into at most
+	 * a given number of chunks.
+	 * 
+	 * @param <T> is the type of result
+	 * @param file is the file which is read for issues
+	 * @param chunks is the most chunks to split the file into
+	 * @param supplier creates an empty result for each chunk
+	 * @param accumulator adds an issue to a chunk's result
+	 * @param combiner combines the results of two chunks, the earlier first
+	 * 
+	 * @return the combined result
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found, or a record is not a
+	 * valid issue
+	 */
+	static <T> T readIssuesInParallel(String file, int chunks, Supplier<T> supplier, BiConsumer<T, Issue> accumulator,
+			BinaryOperator<T> combiner) {
+		
+		long[] starts;
 		
-		issueNoteReader.useDelimiter("\\r?\\n?[*]");
+		try {
+			starts = findChunks(file, chunks);
+		} catch (IOException e) {
+			FILES_READ.labels("error").increment();
+			throw new IllegalArgumentException("Unable to load file.");
+		}
 		
-		Scanner issueReader = new Scanner(issueNoteReader.nextLine());
+		T result;
 		
-		issueNoteReader.useDelimiter("\r?\n?[-]");
+		try {
+			result = IntStream.range(0, starts.length - 1).parallel()
+					.mapToObj(i -> readChunk(file, starts[i], starts[i + 1], supplier, accumulator))
+					.reduce(combiner).orElseGet(supplier);
+		} catch (IllegalArgumentException e) {
+			FILES_READ.labels("error").increment();
+			throw e;
+		}
+		
+		FILES_READ.labels("ok").increment();
+		BYTES_READ.add(new File(file).length());
+		
+		return result;
+	}
 	
+	/**
+	 * Reads a file as a stream of issues in file order. Each record is read and parsed only when the
+	 * stream reaches it, so a pipeline over the stream holds one issue at a time. A record whose
+	 * checksum does not match is skipped, as readIssuesInParallel does. The file is opened at once
+	 * and closed when the stream is closed.
+	 * 
+	 * @param file is the file which is read for issues
+	 * 
+	 * @return the issues in the file
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found, or, as the stream
+	 * reaches it, a record is not a valid issue
+	 */
+	public static Stream<Issue> streamIssues(String file) {
 		
-		issueReader.useDelimiter(",");
+		IssueRecordReader records;
 		
 		try {
-			int id = issueReader.nextInt();
-			String state = issueReader.next();
-			String type = issueReader.next();
-			String summary = issueReader.next();
-			String owner = issueReader.next();
-			boolean confirmed = issueReader.nextBoolean();
-			
-			if(issueReader.hasNext()) {
-				String resolution = issueReader.next();
-				
+			records = new IssueRecordReader(openInput(file));
+		} catch (IOException e) {
+			FILES_READ.labels("error").increment();
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		
+		Spliterator<Issue> issues = new Spliterators.AbstractSpliterator<Issue>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+			
+			@Override
+			public boolean tryAdvance(Consumer<? super Issue> action) {
 				
+				Issue issue;
 				
-				//Checks for extra items
-				if(issueReader.hasNext()) {
-					issueNoteReader.close();
-					issueReader.close();
+				try {
+					issue = nextIssue(records);
+				} catch (IOException | IllegalArgumentException e) {
+					FILES_READ.labels("error").increment();
 					throw new IllegalArgumentException("Unable to load file.");
 				}
 				
+				if(issue == null) {
+					return false;
+				}
+				
+				action.accept(issue);
+				return true;
+			}
+		};
+		
+		return StreamSupport.stream(issues, false).onClose(() -> {
+			try {
+				records.close();
+			} catch (IOException e) {
+				//Every record was already read
+			}
+		});
+	}
+	
+	/**
+	 * Splits a file into chunks which each start at the start of a record. A chunk boundary is placed
+	 * at the first line starting with * at or after each evenly spaced offset, so every chunk but the
+	 * first starts with a record's header. Boundaries which would leave a chunk empty are dropped.
+	 * 
+	 * @param file is the file to split
+	 * @param chunks is the most chunks to split it into
+	 * 
+	 * @return the offset each chunk starts at followed by the length of the file, or 0 and -1 if the
+	 * file is compressed and must be read as one chunk
+	 * 
+	 * @throws IOException if the file can not be read
+	 */
+	private static long[] findChunks(String file, int chunks) throws IOException {
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(file))) {
+			
+			long length = channel.size();
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			
+			channel.read(buffer, 0);
+			if(buffer.position() >= 2 && ((buffer.get(0) & 0xFF) | (buffer.get(1) & 0xFF) << 8) == GZIPInputStream.GZIP_MAGIC) {
+				return new long[] {0, -1};
+			}
+			
+			long[] starts = new long[chunks + 1];
+			int count = 1;
+			
+			for(int i = 1; i < chunks; i++) {
+				long start = findRecordStart(channel, buffer, Math.max(length * i / chunks, starts[count - 1] + 1), length);
+				if(start < length) {
+					starts[count++] = start;
+				}
+			}
 			
-				while(issueNoteReader.hasNext()) {
-					String note = issueNoteReader.next().stripTrailing();
-					notes.add(note);
+			starts[count++] = length;
+			
+			return Arrays.copyOf(starts, count);
+		}
+	}
+	
+	/**
+	 * Finds the first record start at or after an offset, which is a * just after a line break.
+	 * 
+	 * @param channel is the file
+	 * @param buffer is a buffer to read the file through
+	 * @param offset is the offset to search from, which is at least 1
+	 * @param length is the length of the file
+	 * 
+	 * @return the offset of the record start, or the length of the file if there is none
+	 * 
+	 * @throws IOException if the file can not be read
+	 */
+	private static long findRecordStart(FileChannel channel, ByteBuffer buffer, long offset, long length) throws IOException {
+		
+		//Starts on the byte before the offset so a record starting exactly at the offset is found
+		long position = offset - 1;
+		byte previous = 0;
+		
+		while(position < length) {
+			
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			
+			if(read <= 0) {
+				break;
+			}
+			
+			for(int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if(previous == '\n' && b == '*' && position + i >= offset) {
+					return position + i;
 				}
+				previous = b;
+			}
+			
+			position += read;
+		}
+		
+		return length;
+	}
+	
+	/**
+	 * Reads one chunk of a file into a new result.
+	 * 
+	 * @param <T> is the type of result
+	 * @param file is the file
+	 * @param start is the offset of the chunk's first record
+	 * @param end is the offset after the chunk, or -1 to read the whole file, decompressing it
+	 * @param supplier creates the result
+	 * @param accumulator adds an issue to the result
+	 * 
+	 * @return the chunk's result
+	 * 
+	 * @throws IllegalArgumentException if the chunk can not be read, or a record is not a valid issue
+	 */
+	private static <T> T readChunk(String file, long start, long end, Supplier<T> supplier, BiConsumer<T, Issue> accumulator) {
+		
+		T result = supplier.get();
+		
+		try (IssueRecordReader records = new IssueRecordReader(end < 0 ? openInput(file) : new ChunkInputStream(file, start, end))) {
+			
+			for(Issue issue = nextIssue(records); issue != null; issue = nextIssue(records)) {
+				accumulator.accept(result, issue);
+			}
+			
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Parses the next record whose checksum, if it has one, matches its bytes.
+	 * 
+	 * @param records are the records being read
+	 * 
+	 * @return the next issue, or null if there are no more records
+	 * 
+	 * @throws IOException if the records can not be read
+	 * @throws IllegalArgumentException if the record is not a valid issue
+	 */
+	private static Issue nextIssue(IssueRecordReader records) throws IOException {
+		
+		while(records.next()) {
+			if(!records.hasChecksum() || records.isChecksumValid()) {
+				return processRecord(records, false, null);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Reads from a file, recording metrics and a load event.
+	 * 
+	 * @param file is the file which is read for issues
+	 * @param lenient is true if invalid records should be reported rather than fail the read
+	 * 
+	 * @return the issues which were read and the records which were rejected
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found, or an issue is invalid
+	 * and the read is not lenient
+	 */
+	private static IssueLoadReport read(String file, boolean lenient) {
+		
+		IssueLoadReport report;
+		
+		IssueLoadEvent event = new IssueLoadEvent();
+		event.begin();
+		
+		try {
+			report = readIssues(file, lenient, event);
+		} catch (IllegalArgumentException e) {
+			FILES_READ.labels("error").increment();
+			throw e;
+		}
+		
+		long bytes = new File(file).length();
+		int issueCount = report.getIssues().size();
+		
+		FILES_READ.labels(report.hasErrors() ? "partial" : "ok").increment();
+		ISSUES_READ.add(issueCount);
+		BYTES_READ.add(bytes);
+		
+		event.end();
+		
+		if(event.shouldCommit()) {
+			event.path = file;
+			event.bytes = bytes;
+			event.issueCount = issueCount;
+			event.rejectedCount = report.getErrors().size();
+			event.commit();
+		}
+		
+		return report;
+	}
+	
+	/**
+	 * Reads from a file without recording metrics. The file is read a record at a time and each
+	 * issue is parsed as soon as its last note has been read, so the file's text is never held in
+	 * memory.
+	 * 
+	 * If the file has checksum trailers, a record whose checksum does not match, which has lost its
+	 * trailer, or which does not hold a valid issue is copied to the file's quarantine file and skipped.
+	 * A file without trailers can not tell a damaged record from the rest, so unless the read is
+	 * lenient any invalid record fails the whole read.
+	 * 
+	 * @param file is the file which is read for issues
+	 * @param lenient is true if invalid records should be reported rather than fail the read
+	 * @param event is the load event the parse time is recorded in
+	 * 
+	 * @return the issues which were read and the records which were rejected
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found, or an issue is invalid,
+	 * the file has no checksums, and the read is not lenient
+	 */
+	private static IssueLoadReport readIssues(String file, boolean lenient, IssueLoadEvent event) {
+		
+		ArrayList<Issue> issues = new ArrayList<Issue>();
+		List<IssueLoadError> errors = new ArrayList<IssueLoadError>();
+		List<QuarantinedRecord> quarantined = new ArrayList<QuarantinedRecord>();
+		boolean timed = event.isEnabled();
+		boolean checked = false;
+		QuarantinedRecord unchecked = null;
+		RecordIndex index = null;
+		boolean indexable;
+		
+		try (IssueRecordReader records = new IssueRecordReader(openInput(file))) {
+			
+			//Only the records of an uncompressed file can be copied out of it
+			indexable = !records.isCompressed();
+			
+			while(records.next()) {
 				
-				issueNoteReader.close();
-				issueReader.close();
+				String reason = null;
 				
-				Issue issue1 = new Issue(id, state, type, summary, owner, confirmed, resolution, notes);
-				return issue1;
+				if(records.hasChecksum()) {
+					checked = true;
+					reason = records.isChecksumValid() ? null : "checksum mismatch";
+				}
+				else if(checked) {
+					reason = "missing checksum";
+				}
 				
-			}
-			else {
-				String resolution = "";
+				//An invalid record just before the first trailer may be one whose own trailer was damaged
+				if(unchecked != null) {
+					if(checked) {
+						quarantined.add(unchecked);
+					}
+					else if(!lenient) {
+						throw new IllegalArgumentException("Unable to load file.");
+					}
+					unchecked = null;
+				}
 				
-				//Checks for extra items
-				if(issueReader.hasNext()) {
-					issueNoteReader.close();
-					issueReader.close();
-					throw new IllegalArgumentException("Unable to load file.");
+				if(reason == null) {
+					try {
+						Issue issue = processRecord(records, timed, event);
+						issues.add(issue);
+						
+						if(indexable) {
+							if(index == null) {
+								index = new RecordIndex(records.hasChecksum());
+							}
+							indexable = index.hasChecksums() == records.hasChecksum() && records.endsWithLineBreak()
+									&& index.add(issue.getIssueId(), records.getOffset(), records.getLength());
+						}
+						continue;
+					} catch (IllegalArgumentException e) {
+						reason = e.getMessage();
+					}
 				}
 				
+				QuarantinedRecord record = new QuarantinedRecord(records, reason);
+				errors.add(record.error);
 				
-				while(issueNoteReader.hasNext()) {
-					String note = issueNoteReader.next().stripTrailing();
-					notes.add(note);
+				if(checked) {
+					quarantined.add(record);
+				}
+				else {
+					unchecked = record;
 				}
-				
-				issueNoteReader.close();
-				issueReader.close();
-				return new Issue(id, state, type, summary, owner, confirmed, resolution, notes);
-
 			}
 			
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
 		}
-		catch (Exception e) {
-			issueReader.close();
+		
+		if(unchecked != null && !lenient) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		
+		if(!quarantined.isEmpty()) {
+			quarantine(file + QUARANTINE_SUFFIX, quarantined);
+			ISSUES_QUARANTINED.add(quarantined.size());
+			event.quarantinedCount = quarantined.size();
+		}
+		
+		//Records which were not loaded would be copied back by a save which trusted the index
+		indexable = indexable && errors.isEmpty();
+		
+		if(indexable && index != null) {
+			index.attach(file);
+		}
+		
+		return new IssueLoadReport(issues, errors, indexable ? index : null);
+	}
+	
+	/**
+	 * Writes quarantined records to a file, each after a comment line giving its byte offset and
+	 * line number in the issue file and why it was quarantined. Offsets in a compressed file are
+	 * offsets in its uncompressed text.
+	 * 
+	 * @param file is the quarantine file, which is replaced
+	 * @param records are the quarantined records
+	 * 
+	 * @throws IllegalArgumentException if the quarantine file can not be written
+	 */
+	private static void quarantine(String file, List<QuarantinedRecord> records) {
+		
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			
+			for(QuarantinedRecord record : records) {
+				
+				IssueLoadError error = record.error;
+				
+				out.write(("# offset " + error.getOffset() + ", line " + error.getLineNumber() + ": " + error.getReason() + "\n")
+						.getBytes(StandardCharsets.UTF_8));
+				out.write(record.bytes);
+				
+				if(record.bytes.length > 0 && record.bytes[record.bytes.length - 1] != '\n') {
+					out.write('\n');
+				}
+			}
+			
+		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to load file.");
 		}
+	}
+	
+	/**
+	 * Parses the record a record reader is on into an issue. The first line is the issue's header.
+	 * Each line starting with - starts a note, and any other line continues the note before it.
+	 * 
+	 * @param records is the record reader
+	 * @param timed is true if the time taken should be added to the event's parse time
+	 * @param event is the load event the parse time is recorded in
+	 * 
+	 * @return the issue
+	 * 
+	 * @throws IllegalArgumentException if the record is not a valid issue
+	 */
+	private static Issue processRecord(IssueRecordReader records, boolean timed, IssueLoadEvent event) {
+		
+		String header = records.getLine(0);
+		
+		if(!header.startsWith("*")) {
+			throw new IllegalArgumentException("record does not start with *");
+		}
+		
+		ArrayList<String> notes = new ArrayList<String>();
+		StringBuilder note = null;
+		
+		for(int i = 1; i < records.getLineCount(); i++) {
+			
+			String line = records.getLine(i);
+			
+			if(line.startsWith("-")) {
+				addNote(notes, note);
+				note = new StringBuilder(line.length()).append(line, 1, line.length());
+			}
+			else if(note != null) {
+				//A line which does not start a note continues the one before it
+				note.append('\n').append(line);
+			}
+			else if(!line.isBlank()) {
+				note = new StringBuilder(line);
+			}
+		}
+		
+		addNote(notes, note);
+		
+		return processIssue(header, notes, timed, event);
+	}
+	
+	/**
+	 * Opens a file for reading, decompressing it if it starts with the GZIP magic bytes.
+	 * 
+	 * @param file is the file to open
+	 * 
+	 * @return a buffered stream of the file's uncompressed bytes
+	 * 
+	 * @throws IOException if the file can not be opened or its GZIP header is invalid
+	 */
+	private static InputStream openInput(String file) throws IOException {
+		
+		BufferedInputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+		
+		try {
+			in.mark(2);
+			int magic = in.read() | (in.read() << 8);
+			in.reset();
+			
+			if(magic == GZIPInputStream.GZIP_MAGIC) {
+				return new GZIPInputStream(in, BUFFER_SIZE);
+			}
+			
+			return in;
+			
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Adds a finished note onto an issue's notes, without its trailing whitespace.
+	 * 
+	 * @param notes are the issue's notes
+	 * @param note is the note, or null if there is none
+	 */
+	private static void addNote(ArrayList<String> notes, StringBuilder note) {
+		
+		if(note != null) {
+			notes.add(note.toString().stripTrailing());
+		}
+	}
+	
+	/**
+	 * Helper method for readIssuesFromFile. Parses an issue's header line, which is
+	 * *id,state,type,summary,owner,confirmed,resolution, and its notes into an issue object.
+	 * 
+	 * @param header is the issue's first line
+	 * @param notes are the issue's notes
+	 * @param timed is true if the time taken should be added to the event's parse time
+	 * @param event is the load event the parse time is recorded in
+	 * 
+	 * @return an issue object created from the issue string representation.
+	 * 
+	 * @throws IllegalArgumentException with the reason as its message if an issue has too many items,
+	 * to little items, or unexpected format of an issue object.
+	 */
+	private static Issue processIssue(String header, ArrayList<String> notes, boolean timed, IssueLoadEvent event) {
+		
+		long start = timed ? System.nanoTime() : 0;
+		
+		String[] fields = header.substring(1).split(",", -1);
+		
+		//The resolution and the comma before it may be left off
+		if(fields.length < 6 || fields.length > 7) {
+			throw new IllegalArgumentException("expected 6 or 7 fields but found " + fields.length);
+		}
 		
+		int id = parseId(fields[0]);
+		String state = fields[1];
+		String type = fields[2];
+		String owner = fields[4];
+		boolean confirmed = parseBoolean(fields[5]);
+		String resolution = fields.length == 7 ? fields[6] : "";
+		
+		if(!isStateName(state)) {
+			throw new IllegalArgumentException("invalid state " + state);
+		}
+		if(!Issue.I_BUG.equals(type) && !Issue.I_ENHANCEMENT.equals(type)) {
+			throw new IllegalArgumentException("invalid type " + type);
+		}
+		if(fields[3].isEmpty()) {
+			throw new IllegalArgumentException("missing summary");
+		}
+		if(!resolution.isEmpty() && !isResolutionName(resolution)) {
+			throw new IllegalArgumentException("invalid resolution " + resolution);
+		}
+		if(notes.isEmpty()) {
+			throw new IllegalArgumentException("missing notes");
+		}
+		
+		//IssueWriter writes a missing owner as null, so it is read back as no owner
+		if("null".equals(owner)) {
+			owner = "";
+		}
+		
+		Issue issue;
+		
+		try {
+			issue = new Issue(id, state, type, fields[3], owner, confirmed, resolution, notes);
+		}
+		catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("fields are not valid together for " + type + " in state " + state);
+		}
+		
+		if(timed) {
+			event.parseTime += System.nanoTime() - start;
+		}
+		
+		return issue;
+	}
+	
+	/**
+	 * Parses an issue id.
+	 * 
+	 * @param value is the text to parse
+	 * 
+	 * @return the id
+	 * 
+	 * @throws IllegalArgumentException if the text is not a number of at least one
+	 */
+	private static int parseId(String value) {
+		
+		try {
+			int id = Integer.parseInt(value);
+			if(id >= 1) {
+				return id;
+			}
+		} catch (NumberFormatException e) {
+			//Reported below
+		}
+		
+		throw new IllegalArgumentException("invalid id " + value);
+	}
+	
+	/**
+	 * Checks if a name is the name of an issue state.
+	 * 
+	 * @param state is the name to check
+	 * 
+	 * @return true if an issue can be in a state of that name
+	 */
+	private static boolean isStateName(String state) {
+		return Issue.NEW_NAME.equals(state) || Issue.WORKING_NAME.equals(state) || Issue.CONFIRMED_NAME.equals(state)
+				|| Issue.VERIFYING_NAME.equals(state) || Issue.CLOSED_NAME.equals(state);
+	}
+	
+	/**
+	 * Checks if a name is the name of a resolution.
+	 * 
+	 * @param resolution is the name to check
+	 * 
+	 * @return true if an issue can be resolved with that name
+	 */
+	private static boolean isResolutionName(String resolution) {
+		return Command.R_FIXED.equals(resolution) || Command.R_DUPLICATE.equals(resolution)
+				|| Command.R_WONTFIX.equals(resolution) || Command.R_WORKSFORME.equals(resolution);
+	}
+	
+	/**
+	 * Parses true or false, ignoring case.
+	 * 
+	 * @param value is the text to parse
+	 * 
+	 * @return the boolean value
+	 * 
+	 * @throws IllegalArgumentException if the text is neither true nor false
+	 */
+	private static boolean parseBoolean(String value) {
+		
+		if("true".equalsIgnoreCase(value)) {
+			return true;
+		}
+		if("false".equalsIgnoreCase(value)) {
+			return false;
+		}
+		
+		throw new IllegalArgumentException("invalid confirmed value " + value);
+	}
+	
+	/**
+	 * QuarantinedRecord is a copy of a record which could not be loaded, with where it was and why.
+	 * 
+	 * @author michaelabrams
+	 *
+	 */
+	private static class QuarantinedRecord {
+		
+		/** error is where the record was and why it was quarantined */
+		private final IssueLoadError error;
+		
+		/** bytes are the record's bytes as they were read */
+		private final byte[] bytes;
+		
+		/**
+		 * Copies the record a record reader is on.
+		 * 
+		 * @param records is the record reader
+		 * @param reason is why the record was quarantined
+		 */
+		private QuarantinedRecord(IssueRecordReader records, String reason) {
+			this.error = new IssueLoadError(records.getLineNumber(), records.getOffset(), reason);
+			this.bytes = Arrays.copyOf(records.getBytes(), records.getLength());
+		}
+	}
+	
+	/**
+	 * ChunkInputStream reads the bytes of a file between two offsets.
+	 * 
+	 * @author michaelabrams
+	 *
+	 */
+	private static class ChunkInputStream extends InputStream {
+		
+		/** channel is the file */
+		private final FileChannel channel;
+		
+		/** position is the offset of the next byte to read */
+		private long position;
+		
+		/** end is the offset after the last byte to read */
+		private final long end;
+		
+		/**
+		 * Opens a file to read between two offsets.
+		 * 
+		 * @param file is the file
+		 * @param start is the offset of the first byte
+		 * @param end is the offset after the last byte
+		 * 
+		 * @throws IOException if the file can not be opened
+		 */
+		private ChunkInputStream(String file, long start, long end) throws IOException {
+			this.channel = FileChannel.open(Paths.get(file));
+			this.position = start;
+			this.end = end;
+		}
+		
+		/**
+		 * Reads one byte.
+		 * 
+		 * @return the byte, or -1 at the end of the chunk
+		 * 
+		 * @throws IOException if the file can not be read
+		 */
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+		}
+		
+		/**
+		 * Reads bytes into an array.
+		 * 
+		 * @param b is the array
+		 * @param off is where in the array to start
+		 * @param len is the most bytes to read
+		 * 
+		 * @return the number of bytes read, or -1 at the end of the chunk
+		 * 
+		 * @throws IOException if the file can not be read
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			
+			if(position >= end) {
+				return -1;
+			}
+			
+			int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+			
+			if(read < 0) {
+				return -1;
+			}
+			
+			position += read;
+			
+			return read;
+		}
+		
+		/**
+		 * Closes the file.
+		 * 
+		 * @throws IOException if the file can not be closed
+		 */
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
 	}
 }
@@ -0,0 +1,436 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * IssueRecordReader splits an issue file into records without parsing them. A record starts at a
+ * line beginning with *, and runs until the next such line or until a checksum trailer, whichever
+ * comes first. Each record's raw bytes, byte offset, and first line number are kept, so a record
+ * which can not be used can be copied out exactly as it was written.
+ *
+ * A checksum trailer is a line of the form #CRC32C 1a2b3c4d, written by IssueWriter after an issue's
+ * notes. It holds the CRC32C of every byte of the record before it, so a record whose bytes have
+ * changed since it was written can be told apart from a valid one.
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueRecordReader implements Closeable {
+
+	/** TRAILER starts every checksum trailer line */
+	static final String TRAILER = "#CRC32C ";
+
+	/** TRAILER_BYTES are the bytes of TRAILER */
+	private static final byte[] TRAILER_BYTES = TRAILER.getBytes(StandardCharsets.US_ASCII);
+
+	/** BUFFER_SIZE is the number of bytes read from the stream at a time */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** in is the stream records are read from */
+	private final InputStream in;
+
+	/** buffer holds bytes read from the stream but not yet split into lines */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** position is the index of the next unread byte in buffer */
+	private int position;
+
+	/** limit is the number of bytes in buffer */
+	private int limit;
+
+	/** bytes are the current record's bytes, followed by the next record's first line if it has been read */
+	private byte[] bytes = new byte[1024];
+
+	/** lineStarts are the offsets in bytes where each of the current record's lines begins */
+	private int[] lineStarts = new int[16];
+
+	/** lineCount is the number of lines in the current record */
+	private int lineCount;
+
+	/** length is the number of bytes in the current record */
+	private int length;
+
+	/** contentLength is the number of bytes in the current record before its trailer */
+	private int contentLength;
+
+	/** hasChecksum is true if the current record ends in a trailer */
+	private boolean hasChecksum;
+
+	/** checksumValid is true if the current record's trailer matches its bytes */
+	private boolean checksumValid;
+
+	/** offset is the byte offset in the stream of the current record */
+	private long offset;
+
+	/** lineNumber is the line number in the stream of the current record's first line */
+	private long lineNumber;
+
+	/** nextOffset is the byte offset in the stream of the first byte not in the current record */
+	private long nextOffset;
+
+	/** nextLineNumber is the line number in the stream of the first line not in the current record */
+	private long nextLineNumber = 1;
+
+	/** pending is the length of the next record's first line, which sits after the current record in bytes, or 0 */
+	private int pending;
+
+	/** crc computes the checksums of records */
+	private final CRC32C crc = new CRC32C();
+
+	/**
+	 * Constructs a reader of the records in a stream.
+	 *
+	 * @param in is the stream to read, which is closed when the reader is
+	 */
+	IssueRecordReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Checks if the stream is decompressed as it is read, so offsets are not offsets in a file
+	 *
+	 * @return true if the stream is a GZIP stream
+	 */
+	boolean isCompressed() {
+		return in instanceof GZIPInputStream;
+	}
+
+	/**
+	 * Reads the next record. Blank lines before a record are skipped.
+	 *
+	 * @return true if a record was read, or false at the end of the stream
+	 *
+	 * @throws IOException if the stream can not be read
+	 */
+	boolean next() throws IOException {
+
+		offset = nextOffset;
+		lineNumber = nextLineNumber;
+		lineCount = 0;
+		hasChecksum = false;
+		checksumValid = false;
+
+		if(pending > 0) {
+			//Moves the line which ended the last record to the front
+			System.arraycopy(bytes, length, bytes, 0, pending);
+			length = pending;
+			pending = 0;
+			addLine(0);
+		}
+		else {
+			length = 0;
+
+			//Skips blank lines until the first line of a record
+			while(true) {
+				int lineLength = readLine(0);
+				if(lineLength == 0) {
+					return false;
+				}
+				if(!isBlank(0, lineLength)) {
+					length = lineLength;
+					addLine(0);
+					break;
+				}
+				offset += lineLength;
+				lineNumber++;
+			}
+		}
+
+		while(true) {
+			int start = length;
+			int lineLength = readLine(start);
+
+			if(lineLength == 0) {
+				break;
+			}
+
+			if(bytes[start] == '*') {
+				pending = lineLength;
+				break;
+			}
+
+			length += lineLength;
+			addLine(start);
+
+			if(startsWithTrailer(start, lineLength)) {
+				hasChecksum = true;
+				contentLength = start;
+				checksumValid = checksumMatches(start, lineLength);
+				break;
+			}
+		}
+
+		if(!hasChecksum) {
+			contentLength = length;
+		}
+
+		nextOffset = offset + length;
+		nextLineNumber = lineNumber + lineCount;
+
+		return true;
+	}
+
+	/**
+	 * Gets the byte offset in the stream of the current record
+	 *
+	 * @return the offset of the record's first byte
+	 */
+	long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Gets the line number in the stream of the current record's first line
+	 *
+	 * @return the line number, counting from 1
+	 */
+	long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the number of bytes in the current record, including its trailer
+	 *
+	 * @return the record's length
+	 */
+	int getLength() {
+		return length;
+	}
+
+	/**
+	 * Gets the current record's bytes, including its trailer. Only the first getLength() bytes belong
+	 * to the record, and the array is reused by the next record.
+	 *
+	 * @return the record's bytes
+	 */
+	byte[] getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Checks if the current record's last line ends in a line break, which only the last record of
+	 * a stream may not
+	 *
+	 * @return true if the record ends in a line break
+	 */
+	boolean endsWithLineBreak() {
+		return length > 0 && bytes[length - 1] == '\n';
+	}
+
+	/**
+	 * Checks if the current record ends in a checksum trailer
+	 *
+	 * @return true if the record has a trailer
+	 */
+	boolean hasChecksum() {
+		return hasChecksum;
+	}
+
+	/**
+	 * Checks if the current record's trailer holds the checksum of its bytes
+	 *
+	 * @return true if the record has a trailer which matches
+	 */
+	boolean isChecksumValid() {
+		return checksumValid;
+	}
+
+	/**
+	 * Gets the number of lines in the current record, not counting its trailer
+	 *
+	 * @return the number of lines
+	 */
+	int getLineCount() {
+		return hasChecksum ? lineCount - 1 : lineCount;
+	}
+
+	/**
+	 * Gets a line of the current record without its line break
+	 *
+	 * @param line is the index of the line in the record
+	 *
+	 * @return the line's text
+	 */
+	String getLine(int line) {
+
+		int start = lineStarts[line];
+		int end = line + 1 < lineCount ? lineStarts[line + 1] : length;
+
+		if(end > start && bytes[end - 1] == '\n') {
+			end--;
+		}
+		if(end > start && bytes[end - 1] == '\r') {
+			end--;
+		}
+
+		return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Closes the stream
+	 *
+	 * @throws IOException if the stream can not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Computes the checksum trailer of a record's bytes.
+	 *
+	 * @param crc is the checksum to use, which is reset first
+	 * @param record holds the record
+	 * @param offset is the index of the record's first byte
+	 * @param length is the number of bytes in the record
+	 *
+	 * @return the trailer line, ending in a line break
+	 */
+	static byte[] trailer(CRC32C crc, byte[] record, int offset, int length) {
+
+		crc.reset();
+		crc.update(record, offset, length);
+
+		long value = crc.getValue();
+		byte[] line = Arrays.copyOf(TRAILER_BYTES, TRAILER_BYTES.length + 9);
+
+		for(int i = 0; i < 8; i++) {
+			line[TRAILER_BYTES.length + i] = (byte) Character.forDigit((int) (value >>> (28 - 4 * i)) & 0xF, 16);
+		}
+		line[line.length - 1] = '\n';
+
+		return line;
+	}
+
+	/**
+	 * Reads a line, including its line break, onto the end of bytes.
+	 *
+	 * @param start is the index in bytes to read the line into
+	 *
+	 * @return the number of bytes in the line, or 0 at the end of the stream
+	 *
+	 * @throws IOException if the stream can not be read
+	 */
+	private int readLine(int start) throws IOException {
+
+		int end = start;
+
+		while(true) {
+			if(position == limit) {
+				limit = in.read(buffer, 0, buffer.length);
+				position = 0;
+				if(limit <= 0) {
+					limit = 0;
+					return end - start;
+				}
+			}
+
+			int lineEnd = position;
+			while(lineEnd < limit && buffer[lineEnd] != '\n') {
+				lineEnd++;
+			}
+
+			boolean found = lineEnd < limit;
+			if(found) {
+				lineEnd++;
+			}
+
+			int count = lineEnd - position;
+			if(end + count > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, end + count));
+			}
+			System.arraycopy(buffer, position, bytes, end, count);
+			end += count;
+			position = lineEnd;
+
+			if(found) {
+				return end - start;
+			}
+		}
+	}
+
+	/**
+	 * Records that a line of the current record starts at an index in bytes
+	 *
+	 * @param start is the index of the line's first byte
+	 */
+	private void addLine(int start) {
+
+		if(lineCount == lineStarts.length) {
+			lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+		}
+
+		lineStarts[lineCount++] = start;
+	}
+
+	/**
+	 * Checks if a line holds nothing but whitespace
+	 *
+	 * @param start is the index of the line's first byte
+	 * @param lineLength is the number of bytes in the line
+	 *
+	 * @return true if the line is blank
+	 */
+	private boolean isBlank(int start, int lineLength) {
+
+		for(int i = start; i < start + lineLength; i++) {
+			if(bytes[i] != ' ' && bytes[i] != '\t' && bytes[i] != '\r' && bytes[i] != '\n') {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if a line starts with TRAILER
+	 *
+	 * @param start is the index of the line's first byte
+	 * @param lineLength is the number of bytes in the line
+	 *
+	 * @return true if the line is a trailer
+	 */
+	private boolean startsWithTrailer(int start, int lineLength) {
+
+		if(lineLength < TRAILER_BYTES.length) {
+			return false;
+		}
+
+		for(int i = 0; i < TRAILER_BYTES.length; i++) {
+			if(bytes[start + i] != TRAILER_BYTES[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if a trailer line holds the checksum of the record's bytes before it
+	 *
+	 * @param start is the index of the trailer's first byte
+	 * @param lineLength is the number of bytes in the trailer
+	 *
+	 * @return true if the checksum matches
+	 */
+	private boolean checksumMatches(int start, int lineLength) {
+
+		byte[] expected = trailer(crc, bytes, 0, start);
+		int end = start + lineLength;
+
+		if(end > start && bytes[end - 1] == '\n') {
+			end--;
+		}
+		if(end > start && bytes[end - 1] == '\r') {
+			end--;
+		}
+
+		return end - start == expected.length - 1 && Arrays.equals(bytes, start, end, expected, 0, expected.length - 1);
+	}
+}
@@ -1,21 +1,62 @@
 package edu.ncsu.csc216.issue_manager.model.io;
 
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.PrintStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.jfr.IssueSaveEvent;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
 
 
 /**
  * IssueWriter is the class used to write issues to an output file. All the methods
- * are static and is used by the IssueManager class.
+ * are static and is used by the IssueManager class. A file whose name ends in .gz is
+ * written compressed with GZIP as the issues stream out, and IssueReader recognizes it
+ * by its first bytes. Issues may be written with checksums, so a damaged record can
+ * be found and set aside when the file is read. A file which was indexed when it was last
+ * read or saved can be saved again by rewriting only the issues which changed.
  * 
  * @author michaelabrams
  *
  */
 public class IssueWriter {
+	
+	/** COMPRESSED_SUFFIX ends the name of every file which is written compressed */
+	public static final String COMPRESSED_SUFFIX = ".gz";
+	
+	/** BUFFER_SIZE is the size of the write and compression buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/** FILES_WRITTEN counts issue files by whether they were written or failed */
+	private static final MetricFamily<Counter> FILES_WRITTEN = MetricsRegistry.getDefault().counter(
+			"issue_writer_files_total", "Issue files written, by result.", "result");
+	
+	/** ISSUES_WRITTEN counts issues written to files */
+	private static final Counter ISSUES_WRITTEN = MetricsRegistry.getDefault().counter(
+			"issue_writer_issues_total", "Issues written to files.").labels();
 
 	/**
 	 * Constructs an IssueWriter object with no parameters
@@ -35,18 +76,480 @@ public class IssueWriter {
 	 */
 	public static void writeIssuesToFile(String file, List<Issue> issues) {
 		
+		writeIssuesToFile(file, issues.stream(), false);
+		
+	}
+	
+	/**
+	 * Parses issue objects into an output file, following each issue with a checksum trailer if
+	 * checksums are wanted.
+	 * 
+	 * @param file is the file which issues are written to
+	 * @param issues are the issues which are written in the output file
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * 
+	 * @throws IllegalArgumentException if the file is not able to be saved.
+	 */
+	public static void writeIssuesToFile(String file, List<Issue> issues, boolean checksums) {
+		
+		writeIssuesToFile(file, issues.stream(), checksums);
+		
+	}
+	
+	/**
+	 * Parses a stream of issue objects into an output file. Issues are written as the stream
+	 * produces them, so the stream does not need to be held in memory.
+	 * 
+	 * @param file is the file which issues are written to
+	 * @param issues are the issues which are written in the output file
+	 * 
+	 * @return the number of issues written
+	 * 
+	 * @throws IllegalArgumentException if the file is not able to be saved.
+	 */
+	public static int writeIssuesToFile(String file, Stream<Issue> issues) {
+		
+		return writeIssuesToFile(file, issues, false);
+	}
+	
+	/**
+	 * Parses a stream of issue objects into an output file. Issues are written as the stream
+	 * produces them, so the stream does not need to be held in memory. With checksums, each issue
+	 * is followed by a trailer line holding the CRC32C of its bytes, which lets IssueReader load
+	 * every undamaged issue of a file which is later damaged.
+	 * 
+	 * @param file is the file which issues are written to
+	 * @param issues are the issues which are written in the output file
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * 
+	 * @return the number of issues written
+	 * 
+	 * @throws IllegalArgumentException if the file is not able to be saved.
+	 */
+	public static int writeIssuesToFile(String file, Stream<Issue> issues, boolean checksums) {
+		
+		int count;
+		
+		IssueSaveEvent event = new IssueSaveEvent();
+		event.begin();
+		
+		try (OutputStream fileWriter = new BufferedOutputStream(openOutput(file), BUFFER_SIZE)) {
+			count = writeRecords(fileWriter, issues.iterator(), checksums, null);
+		}
+		catch (Exception e) {
+			FILES_WRITTEN.labels("error").increment();
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		
+		recordSave(event, file, count, 0);
+		
+		return count;
+	}
+	
+	/**
+	 * Saves issues to a file, rewriting only the issues which changed since the file was last read
+	 * or saved. If the previous index still matches the file, the records before the first changed
+	 * id and the records of later issues which are not dirty are copied from the old file byte for
+	 * byte into a new file which then replaces it, and only dirty issues are turned back into text. Otherwise, such as for
+	 * a compressed file, a different file, or a change of checksums, every issue is written.
+	 * 
+	 * @param file is the file which issues are written to
+	 * @param issues are the issues to write in ascending id order
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * @param previous is the index of the file as it was last read or saved, or null if there is none
+	 * @param dirty has a bit set for every id which was added, updated, or removed since then
+	 * 
+	 * @return the index of the file as it is now, or null if the file is compressed
+	 * 
+	 * @throws IllegalArgumentException if the file is not able to be saved.
+	 */
+	public static RecordIndex writeChangedIssuesToFile(String file, List<Issue> issues, boolean checksums,
+			RecordIndex previous, BitSet dirty) {
+		
+		RecordIndex index = new RecordIndex(checksums);
+		long copied = 0;
+		boolean compressed = isCompressed(file);
+		
+		IssueSaveEvent event = new IssueSaveEvent();
+		event.begin();
+		
 		try {
-			PrintStream fileWriter = new PrintStream(new File(file));
-			
-			for (Issue i : issues) {
-				fileWriter.print(i.toString());
+			if(compressed || previous == null || previous.hasChecksums() != checksums || !previous.matches(file)) {
+				try (OutputStream fileWriter = new BufferedOutputStream(openOutput(file), BUFFER_SIZE)) {
+					writeRecords(fileWriter, issues.iterator(), checksums, index);
+				}
+			}
+			else {
+				copied = rewriteRecords(file, issues, checksums, previous, dirty, index);
 			}
 		}
 		catch (Exception e) {
+			FILES_WRITTEN.labels("error").increment();
 			throw new IllegalArgumentException("Unable to load file.");
 		}
- 
 		
+		recordSave(event, file, issues.size(), copied);
+		
+		if(compressed) {
+			return null;
+		}
+		
+		index.attach(file);
+		
+		return index;
+	}
+	
+	/**
+	 * Writes issues to a stream, indexing where each one's record is written.
+	 * 
+	 * @param out is the stream to write to
+	 * @param issues are the issues to write
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * @param index is the index to add each record to, or null if none is kept
+	 * 
+	 * @return the number of issues written
+	 * 
+	 * @throws IOException if the stream can not be written
+	 */
+	private static int writeRecords(OutputStream out, Iterator<Issue> issues, boolean checksums, RecordIndex index)
+			throws IOException {
+		
+		int count = 0;
+		long position = 0;
+		CRC32C crc = new CRC32C();
+		
+		while (issues.hasNext()) {
+			Issue issue = issues.next();
+			byte[] record = toRecord(issue, checksums, crc);
+			out.write(record);
+			
+			if(index != null) {
+				index.add(issue.getIssueId(), position, record.length);
+			}
+			position += record.length;
+			count++;
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Rewrites a file from its previous index. The records of ids below the first dirty id are copied
+	 * as they are in a single transfer, followed by the rest of the issues. The new file is written
+	 * beside the old one and moved over it, so the old file is never written to and a save which fails
+	 * partway leaves it whole.
+	 * 
+	 * @param file is the old file
+	 * @param issues are the issues to write in ascending id order
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * @param previous is the index of the old file
+	 * @param dirty has a bit set for every id which changed since the old file was written
+	 * @param index is the index to add each record of the new file to
+	 * 
+	 * @return the number of bytes kept or copied from the old file
+	 * 
+	 * @throws IOException if either file can not be read or written, or the issues before the first
+	 * dirty id are not the ones in the index
+	 */
+	private static long rewriteRecords(String file, List<Issue> issues, boolean checksums, RecordIndex previous,
+			BitSet dirty, RecordIndex index) throws IOException {
+		
+		Path target = Paths.get(file).toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		
+		int firstDirty = dirty.nextSetBit(0);
+		if(firstDirty < 0) {
+			firstDirty = Integer.MAX_VALUE;
+		}
+		
+		int first = indexOfFirstId(issues, firstDirty);
+		int kept = previous.find(firstDirty);
+		if(kept < 0) {
+			kept = -kept - 1;
+		}
+		
+		if(first != kept) {
+			throw new IOException("Issues do not match the index.");
+		}
+		
+		index.addAll(previous, kept);
+		
+		long prefix = kept < previous.size() ? previous.getOffset(kept)
+				: kept == 0 ? 0 : previous.getOffset(kept - 1) + previous.getLength(kept - 1);
+		long fileLength = Files.size(target);
+		
+		if(first == issues.size() && prefix == fileLength) {
+			return prefix;
+		}
+		
+		List<Issue> rest = issues.subList(first, issues.size());
+		long copied;
+		
+		try (FileChannel in = FileChannel.open(target, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			
+			copied = transfer(in, 0, prefix, out)
+					+ copyRecords(in, out, rest, prefix, checksums, previous, kept, dirty, index);
+			
+			//The new file must be on disk before it replaces the old one
+			out.force(true);
+			
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		
+		try {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		
+		return copied;
+	}
+	
+	/**
+	 * Writes issues to the end of a channel, copying the old file's records of issues which are not
+	 * dirty with FileChannel.transferTo. Runs of records which lie next to each other in the old file
+	 * are copied in a single transfer. The issues and the index are both in id order, so they are
+	 * walked together.
+	 * 
+	 * @param in is the old file
+	 * @param out is the channel to write to
+	 * @param issues are the issues to write in ascending id order
+	 * @param position is where the first issue will be in the new file
+	 * @param checksums is true if each issue should be followed by its checksum
+	 * @param previous is the index of the old file
+	 * @param record is the first record of the index which might belong to one of the issues
+	 * @param dirty has a bit set for every id which changed since the old file was written
+	 * @param index is the index to add each record of the new file to
+	 * 
+	 * @return the number of bytes copied from the old file
+	 * 
+	 * @throws IOException if either channel fails
+	 */
+	private static long copyRecords(FileChannel in, FileChannel out, List<Issue> issues, long position,
+			boolean checksums, RecordIndex previous, int record, BitSet dirty, RecordIndex index) throws IOException {
+		
+		CRC32C crc = new CRC32C();
+		ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+		long copied = 0;
+		long rangeStart = 0;
+		long rangeLength = 0;
+		
+		for(Issue issue : issues) {
+			
+			int id = issue.getIssueId();
+			
+			while(record < previous.size() && previous.getId(record) < id) {
+				record++;
+			}
+			
+			if(!dirty.get(id) && record < previous.size() && previous.getId(record) == id) {
+				long offset = previous.getOffset(record);
+				int length = previous.getLength(record);
+				
+				drain(pending, out);
+				
+				if(rangeLength > 0 && rangeStart + rangeLength != offset) {
+					copied += transfer(in, rangeStart, rangeLength, out);
+					rangeLength = 0;
+				}
+				if(rangeLength == 0) {
+					rangeStart = offset;
+				}
+				rangeLength += length;
+				
+				index.add(id, position, length);
+				position += length;
+			}
+			else {
+				copied += transfer(in, rangeStart, rangeLength, out);
+				rangeLength = 0;
+				
+				byte[] bytes = toRecord(issue, checksums, crc);
+				
+				if(bytes.length > pending.remaining()) {
+					drain(pending, out);
+				}
+				if(bytes.length > pending.remaining()) {
+					drain(ByteBuffer.wrap(bytes).position(bytes.length), out);
+				}
+				else {
+					pending.put(bytes);
+				}
+				
+				index.add(id, position, bytes.length);
+				position += bytes.length;
+			}
+		}
+		
+		copied += transfer(in, rangeStart, rangeLength, out);
+		drain(pending, out);
+		
+		return copied;
+	}
+	
+	/**
+	 * Finds where an id is, or would be, in a list of issues in ascending id order.
+	 * 
+	 * @param issues are the issues
+	 * @param id is the id to find
+	 * 
+	 * @return the index of the first issue whose id is not below the id
+	 */
+	private static int indexOfFirstId(List<Issue> issues, int id) {
+		
+		int low = 0;
+		int high = issues.size();
+		
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(issues.get(mid).getIssueId() < id) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Turns an issue into the bytes of its record, followed by its trailer if checksums are wanted.
+	 * 
+	 * @param issue is the issue
+	 * @param checksums is true if the record should end in its checksum
+	 * @param crc is the checksum to use
+	 * 
+	 * @return the record's bytes
+	 */
+	private static byte[] toRecord(Issue issue, boolean checksums, CRC32C crc) {
+		
+		byte[] record = issue.toString().getBytes(StandardCharsets.UTF_8);
+		
+		if(!checksums) {
+			return record;
+		}
+		
+		byte[] trailer = IssueRecordReader.trailer(crc, record, 0, record.length);
+		byte[] bytes = Arrays.copyOf(record, record.length + trailer.length);
+		System.arraycopy(trailer, 0, bytes, record.length, trailer.length);
+		
+		return bytes;
+	}
+	
+	/**
+	 * Writes the bytes put into a buffer to a channel and empties the buffer.
+	 * 
+	 * @param buffer is the buffer, whose position is the number of bytes put into it
+	 * @param out is the channel
+	 * 
+	 * @throws IOException if the channel can not be written
+	 */
+	private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+		
+		buffer.flip();
+		
+		while(buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+		
+		buffer.clear();
+	}
+	
+	/**
+	 * Copies a range of bytes from one channel to the end of another.
+	 * 
+	 * @param in is the channel to copy from
+	 * @param start is the offset of the first byte to copy
+	 * @param length is the number of bytes to copy
+	 * @param out is the channel to copy to
+	 * 
+	 * @return the number of bytes copied
+	 * 
+	 * @throws IOException if either channel fails
+	 */
+	private static long transfer(FileChannel in, long start, long length, FileChannel out) throws IOException {
+		
+		long done = 0;
+		
+		while(done < length) {
+			long n = in.transferTo(start + done, length - done, out);
+			if(n <= 0) {
+				throw new IOException("File changed while it was copied.");
+			}
+			done += n;
+		}
+		
+		return done;
+	}
+	
+	/**
+	 * Counts a saved file in the metrics and commits its flight recorder event if a recording wants it.
+	 * 
+	 * @param event is the event begun before the save
+	 * @param file is the file which was saved
+	 * @param count is the number of issues saved
+	 * @param copied is the number of bytes kept or copied from the file's previous version
+	 */
+	private static void recordSave(IssueSaveEvent event, String file, int count, long copied) {
+		
+		FILES_WRITTEN.labels("ok").increment();
+		ISSUES_WRITTEN.add(count);
+		
+		event.end();
+		
+		if(event.shouldCommit()) {
+			event.path = file;
+			event.bytes = new File(file).length();
+			event.issueCount = count;
+			event.copiedBytes = copied;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Checks if a file is written compressed.
+	 * 
+	 * @param file is the file name
+	 * 
+	 * @return true if the name ends in .gz
+	 */
+	public static boolean isCompressed(String file) {
+		return file != null && file.endsWith(COMPRESSED_SUFFIX);
+	}
+	
+	/**
+	 * Opens a file for writing, compressing what is written if the file's name ends in .gz.
+	 * 
+	 * @param file is the file to open
+	 * 
+	 * @return a stream of the file's uncompressed bytes
+	 * 
+	 * @throws IOException if the file can not be opened
+	 */
+	static OutputStream openOutput(String file) throws IOException {
+		
+		FileOutputStream out = new FileOutputStream(file);
+		
+		if(!isCompressed(file)) {
+			return out;
+		}
+		
+		//The fastest level still shrinks issue files to under a tenth, since notes repeat so much
+		try {
+			return new GZIPOutputStream(out, BUFFER_SIZE) {
+				{
+					def.setLevel(Deflater.BEST_SPEED);
+				}
+			};
+		} catch (IOException e) {
+			out.close();
+			throw e;
+		}
 	}
 	
 }
@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * JsonWriter writes issues and strings as JSON, for the exporter's JSON Lines files and the server's
+ * response bodies alike, so both give the same object for an issue. An issue is an object with id,
+ * state, type, summary, owner, confirmed, resolution, and notes members, with null for a missing
+ * owner or resolution and notes as an array of strings. Quotes, backslashes, and control characters
+ * are escaped, and every other character is written as it is.
+ *
+ * Text is copied straight into the output in runs between escapes. When the output is a Writer the
+ * runs are written from the string itself, so writing an issue builds no string for it.
+ *
+ * @author michaelabrams
+ *
+ */
+public class JsonWriter {
+
+	/** HEX are the digits of a JSON unicode escape */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Constructs a JsonWriter object with no parameters
+	 */
+	public JsonWriter() {
+		//Empty constructor
+	}
+
+	/**
+	 * Writes every field of an issue, including its notes, as a JSON object.
+	 *
+	 * @param out is where the JSON is written
+	 * @param issue is the issue which is written
+	 *
+	 * @throws IOException if the output can not be written
+	 */
+	public static void writeIssue(Appendable out, Issue issue) throws IOException {
+
+		out.append("{\"id\":");
+		out.append(Integer.toString(issue.getIssueId()));
+		out.append(",\"state\":");
+		writeString(out, issue.getStateName());
+		out.append(",\"type\":");
+		writeString(out, issue.getIssueType());
+		out.append(",\"summary\":");
+		writeString(out, issue.getSummary());
+		out.append(",\"owner\":");
+		writeString(out, issue.getOwner());
+		out.append(",\"confirmed\":");
+		out.append(issue.isConfirmed() ? "true" : "false");
+		out.append(",\"resolution\":");
+		writeString(out, issue.getResolution());
+		out.append(",\"notes\":[");
+
+		List<String> notes = issue.getNotes();
+
+		for(int i = 0; i < notes.size(); i++) {
+			if(i > 0) {
+				out.append(',');
+			}
+			writeString(out, notes.get(i));
+		}
+
+		out.append("]}");
+	}
+
+	/**
+	 * Writes a quoted and escaped JSON string, or the JSON null literal if the value is null.
+	 *
+	 * @param out is where the string is written
+	 * @param value is the string, or null to write null
+	 *
+	 * @throws IOException if the output can not be written
+	 */
+	public static void writeString(Appendable out, String value) throws IOException {
+
+		if(value == null) {
+			out.append("null");
+			return;
+		}
+
+		out.append('"');
+
+		int run = 0;
+
+		for(int i = 0; i < value.length(); i++) {
+
+			char c = value.charAt(i);
+
+			if(c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+
+			writeRun(out, value, run, i);
+			run = i + 1;
+
+			switch(c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			default:
+				out.append("\\u00");
+				out.append(HEX[c >> 4]);
+				out.append(HEX[c & 0xF]);
+			}
+		}
+
+		writeRun(out, value, run, value.length());
+		out.append('"');
+	}
+
+	/**
+	 * Writes part of a string which needs no escapes
+	 *
+	 * @param out is where the part is written
+	 * @param value is the string
+	 * @param start is the index of the part's first character
+	 * @param end is the index after the part's last character
+	 *
+	 * @throws IOException if the output can not be written
+	 */
+	private static void writeRun(Appendable out, String value, int start, int end) throws IOException {
+
+		//Writer.append would copy the part into a new string first
+		if(out instanceof Writer) {
+			((Writer) out).write(value, start, end - start);
+		}
+		else {
+			out.append(value, start, end);
+		}
+	}
+}
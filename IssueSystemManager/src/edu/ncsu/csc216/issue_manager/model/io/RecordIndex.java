@@ -0,0 +1,186 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * RecordIndex records where each issue's record lies in an uncompressed issue file, by byte offset
+ * and length, together with the file's size and modification time when the index was made. While
+ * the file is unchanged, a save can copy the records of unchanged issues from it byte for byte
+ * instead of writing them again. Ids are kept in ascending order, as they are in the file.
+ *
+ * @author michaelabrams
+ *
+ */
+public class RecordIndex {
+
+	/** file is the issue file the index describes */
+	private File file;
+
+	/** fileLength is the length of the file when the index was made */
+	private long fileLength;
+
+	/** lastModified is the modification time of the file when the index was made */
+	private long lastModified;
+
+	/** checksums is true if the file's records end in checksum trailers */
+	private final boolean checksums;
+
+	/** ids are the issue ids in ascending order */
+	private int[] ids = new int[64];
+
+	/** offsets are the byte offsets of each id's record */
+	private long[] offsets = new long[64];
+
+	/** lengths are the number of bytes in each id's record */
+	private int[] lengths = new int[64];
+
+	/** size is the number of records in the index */
+	private int size;
+
+	/**
+	 * Constructs an empty index
+	 *
+	 * @param checksums is true if the file's records end in checksum trailers
+	 */
+	RecordIndex(boolean checksums) {
+		this.checksums = checksums;
+	}
+
+	/**
+	 * Adds a record after the last one.
+	 *
+	 * @param id is the record's issue id
+	 * @param offset is the byte offset of the record
+	 * @param length is the number of bytes in the record
+	 *
+	 * @return false if the id is not larger than the last one, so the index can not be used
+	 */
+	boolean add(int id, long offset, int length) {
+
+		if(size > 0 && id <= ids[size - 1]) {
+			return false;
+		}
+
+		if(size == ids.length) {
+			ids = Arrays.copyOf(ids, size * 2);
+			offsets = Arrays.copyOf(offsets, size * 2);
+			lengths = Arrays.copyOf(lengths, size * 2);
+		}
+
+		ids[size] = id;
+		offsets[size] = offset;
+		lengths[size] = length;
+		size++;
+
+		return true;
+	}
+
+	/**
+	 * Adds the first records of another index, which keep their offsets, to an empty index.
+	 *
+	 * @param other is the index to copy from
+	 * @param count is the number of records to copy
+	 */
+	void addAll(RecordIndex other, int count) {
+
+		if(count > ids.length) {
+			ids = new int[count];
+			offsets = new long[count];
+			lengths = new int[count];
+		}
+
+		System.arraycopy(other.ids, 0, ids, 0, count);
+		System.arraycopy(other.offsets, 0, offsets, 0, count);
+		System.arraycopy(other.lengths, 0, lengths, 0, count);
+		size = count;
+	}
+
+	/**
+	 * Ties the index to its file as the file is now, once the file is completely written.
+	 *
+	 * @param path is the issue file
+	 */
+	void attach(String path) {
+		file = new File(path).getAbsoluteFile();
+		fileLength = file.length();
+		lastModified = file.lastModified();
+	}
+
+	/**
+	 * Checks if the index describes a file as it is now
+	 *
+	 * @param path is the issue file
+	 *
+	 * @return true if the index was made for the file and the file's size and modification time
+	 * have not changed since
+	 */
+	public boolean matches(String path) {
+
+		File other = new File(path).getAbsoluteFile();
+
+		return file != null && file.equals(other) && other.length() == fileLength && other.lastModified() == lastModified;
+	}
+
+	/**
+	 * Checks if the file's records end in checksum trailers
+	 *
+	 * @return true if the records have checksums
+	 */
+	public boolean hasChecksums() {
+		return checksums;
+	}
+
+	/**
+	 * Gets the number of records in the index
+	 *
+	 * @return the number of records
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Finds an id's record
+	 *
+	 * @param id is the issue id
+	 *
+	 * @return the position of the record in the index, or a negative number if the id has no record
+	 */
+	public int find(int id) {
+		return Arrays.binarySearch(ids, 0, size, id);
+	}
+
+	/**
+	 * Gets the issue id of a record
+	 *
+	 * @param record is the position of the record in the index
+	 *
+	 * @return the id
+	 */
+	public int getId(int record) {
+		return ids[record];
+	}
+
+	/**
+	 * Gets the byte offset of a record
+	 *
+	 * @param record is the position of the record in the index
+	 *
+	 * @return the offset
+	 */
+	public long getOffset(int record) {
+		return offsets[record];
+	}
+
+	/**
+	 * Gets the number of bytes in a record
+	 *
+	 * @param record is the position of the record in the index
+	 *
+	 * @return the length
+	 */
+	public int getLength(int record) {
+		return lengths[record];
+	}
+}
@@ -0,0 +1,308 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.index.BloomFilter;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * ShardManifest describes issues stored across several issue files, called shards, each holding a
+ * run of consecutive ids. The manifest is a small text file which records every shard's file, first
+ * and last id, number of issues, and a BloomFilter of its ids, so a reader can tell which shard an id
+ * would be in, and usually whether it is there at all, without opening any shard. Each shard is an
+ * ordinary issue file which IssueReader can read, written with checksums so a damaged record only
+ * costs that one issue.
+ *
+ * A manifest file's name ends in .manifest. Its shards are kept beside it and named after it, so
+ * issues.manifest has shards issues-00000.txt, issues-00001.txt, and so on. Each line of the manifest
+ * is file,first id,last id,issues,bloom filter, and lines starting with # are skipped.
+ *
+ * @author michaelabrams
+ *
+ */
+public class ShardManifest {
+
+	/** MANIFEST_SUFFIX ends the name of every manifest file */
+	public static final String MANIFEST_SUFFIX = ".manifest";
+
+	/** DEFAULT_SHARD_SIZE is the number of issues written to each shard when no size is given */
+	public static final int DEFAULT_SHARD_SIZE = 10_000;
+
+	/** HEADER is the comment at the top of a manifest */
+	private static final String HEADER = "# file,first id,last id,issues,bloom filter";
+
+	/** directory is the directory holding the manifest and its shards */
+	private final File directory;
+
+	/** files are the shard file names, relative to the directory */
+	private final String[] files;
+
+	/** firstIds are the smallest id in each shard */
+	private final int[] firstIds;
+
+	/** lastIds are the largest id in each shard */
+	private final int[] lastIds;
+
+	/** counts are the number of issues in each shard */
+	private final int[] counts;
+
+	/** filters are the Bloom filters of each shard's ids */
+	private final BloomFilter[] filters;
+
+	/**
+	 * Constructs a manifest from its shards, which are in ascending id order.
+	 *
+	 * @param directory is the directory holding the manifest and its shards
+	 * @param files are the shard file names
+	 * @param firstIds are the smallest id in each shard
+	 * @param lastIds are the largest id in each shard
+	 * @param counts are the number of issues in each shard
+	 * @param filters are the Bloom filters of each shard's ids
+	 */
+	private ShardManifest(File directory, String[] files, int[] firstIds, int[] lastIds, int[] counts,
+			BloomFilter[] filters) {
+		this.directory = directory;
+		this.files = files;
+		this.firstIds = firstIds;
+		this.lastIds = lastIds;
+		this.counts = counts;
+		this.filters = filters;
+	}
+
+	/**
+	 * Checks if a file name is the name of a manifest.
+	 *
+	 * @param file is the file name
+	 *
+	 * @return true if the name ends in .manifest
+	 */
+	public static boolean isManifest(String file) {
+		return file != null && file.endsWith(MANIFEST_SUFFIX);
+	}
+
+	/**
+	 * Reads a manifest file. The shards are not opened.
+	 *
+	 * @param file is the manifest file
+	 *
+	 * @return the manifest
+	 *
+	 * @throws IllegalArgumentException if the file can not be read, a line is malformed, or the shards
+	 * are not in ascending id order
+	 */
+	public static ShardManifest read(String file) {
+
+		List<String[]> lines = new ArrayList<String[]>();
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+
+			String line;
+
+			while((line = reader.readLine()) != null) {
+				if(!line.isBlank() && !line.startsWith("#")) {
+					lines.add(line.split(","));
+				}
+			}
+
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		int n = lines.size();
+		String[] files = new String[n];
+		int[] firstIds = new int[n];
+		int[] lastIds = new int[n];
+		int[] counts = new int[n];
+		BloomFilter[] filters = new BloomFilter[n];
+
+		try {
+			for(int i = 0; i < n; i++) {
+				String[] fields = lines.get(i);
+
+				if(fields.length != 5) {
+					throw new IllegalArgumentException("Unable to load file.");
+				}
+
+				files[i] = fields[0];
+				firstIds[i] = Integer.parseInt(fields[1]);
+				lastIds[i] = Integer.parseInt(fields[2]);
+				counts[i] = Integer.parseInt(fields[3]);
+				filters[i] = BloomFilter.valueOf(fields[4]);
+
+				if(firstIds[i] > lastIds[i] || counts[i] < 1 || (i > 0 && firstIds[i] <= lastIds[i - 1])) {
+					throw new IllegalArgumentException("Unable to load file.");
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		return new ShardManifest(new File(file).getAbsoluteFile().getParentFile(), files, firstIds, lastIds, counts,
+				filters);
+	}
+
+	/**
+	 * Writes issues as shards of the given size beside a manifest, then writes the manifest.
+	 *
+	 * @param file is the manifest file, whose name must end in .manifest
+	 * @param issues are the issues to write in ascending id order
+	 * @param shardSize is the number of issues in each shard
+	 *
+	 * @return the manifest of the shards which were written
+	 *
+	 * @throws IllegalArgumentException if the file name is not a manifest name, the shard size is less
+	 * than one, or a file can not be written
+	 */
+	public static ShardManifest write(String file, List<Issue> issues, int shardSize) {
+
+		if(!isManifest(file) || shardSize < 1) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+
+		File manifestFile = new File(file).getAbsoluteFile();
+		String base = manifestFile.getName().substring(0, manifestFile.getName().length() - MANIFEST_SUFFIX.length());
+
+		int n = (issues.size() + shardSize - 1) / shardSize;
+		String[] files = new String[n];
+		int[] firstIds = new int[n];
+		int[] lastIds = new int[n];
+		int[] counts = new int[n];
+		BloomFilter[] filters = new BloomFilter[n];
+
+		for(int i = 0; i < n; i++) {
+
+			List<Issue> shard = issues.subList(i * shardSize, Math.min(issues.size(), (i + 1) * shardSize));
+
+			files[i] = String.format("%s-%05d.txt", base, i);
+			firstIds[i] = shard.get(0).getIssueId();
+			lastIds[i] = shard.get(shard.size() - 1).getIssueId();
+			counts[i] = shard.size();
+			filters[i] = new BloomFilter(shard.size());
+
+			for(Issue issue : shard) {
+				filters[i].add(issue.getIssueId());
+			}
+
+			IssueWriter.writeIssuesToFile(new File(manifestFile.getParentFile(), files[i]).getPath(), shard, true);
+		}
+
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(manifestFile), StandardCharsets.UTF_8)) {
+
+			out.write(HEADER + "\n");
+
+			for(int i = 0; i < n; i++) {
+				out.write(files[i] + "," + firstIds[i] + "," + lastIds[i] + "," + counts[i] + "," + filters[i] + "\n");
+			}
+
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+
+		return new ShardManifest(manifestFile.getParentFile(), files, firstIds, lastIds, counts, filters);
+	}
+
+	/**
+	 * Gets the number of shards
+	 *
+	 * @return the number of shards
+	 */
+	public int getShardCount() {
+		return files.length;
+	}
+
+	/**
+	 * Gets the path of a shard's issue file
+	 *
+	 * @param shard is the index of the shard
+	 *
+	 * @return the shard's file
+	 */
+	public String getShardFile(int shard) {
+		return new File(directory, files[shard]).getPath();
+	}
+
+	/**
+	 * Gets the smallest id in a shard
+	 *
+	 * @param shard is the index of the shard
+	 *
+	 * @return the first id
+	 */
+	public int getFirstId(int shard) {
+		return firstIds[shard];
+	}
+
+	/**
+	 * Gets the largest id in a shard
+	 *
+	 * @param shard is the index of the shard
+	 *
+	 * @return the last id
+	 */
+	public int getLastId(int shard) {
+		return lastIds[shard];
+	}
+
+	/**
+	 * Gets the number of issues in a shard
+	 *
+	 * @param shard is the index of the shard
+	 *
+	 * @return the number of issues
+	 */
+	public int getIssueCount(int shard) {
+		return counts[shard];
+	}
+
+	/**
+	 * Gets the largest id in any shard
+	 *
+	 * @return the last id of the last shard, or 0 if there are no shards
+	 */
+	public int getLastId() {
+		return files.length == 0 ? 0 : lastIds[files.length - 1];
+	}
+
+	/**
+	 * Finds the shard whose id range holds an id. The id is only in the shard if mightContain
+	 * also says it might be.
+	 *
+	 * @param id is the id to find
+	 *
+	 * @return the index of the shard, or -1 if no shard's range holds the id
+	 */
+	public int findShard(int id) {
+
+		int i = Arrays.binarySearch(firstIds, id);
+
+		if(i < 0) {
+			i = -i - 2;
+		}
+
+		return i >= 0 && id <= lastIds[i] ? i : -1;
+	}
+
+	/**
+	 * Checks a shard's Bloom filter for an id.
+	 *
+	 * @param shard is the index of the shard
+	 * @param id is the id to check
+	 *
+	 * @return false if the shard definitely does not hold the id, or true if it might
+	 */
+	public boolean mightContain(int shard, int id) {
+		return filters[shard].mightContain(id);
+	}
+}
@@ -0,0 +1,321 @@
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.TransitionLog;
+
+/**
+ * TransitionLogFile keeps the transition logs of an issue file's issues in a binary file beside it,
+ * named after it with .transitions added. After a header, each transition is the issue id and time
+ * as variable length integers, seven bits to a byte, followed by its TransitionLog code in one byte,
+ * which is about ten bytes a transition. Transitions are only ever appended, so saving the same
+ * issue file again costs only the transitions made since. Transitions of issues which are no longer
+ * in the list are skipped when the file is read, and a transition cut off at the end of the file,
+ * as by a crash while appending, is ignored.
+ *
+ * The header also holds the issue file's size and modification time as they were when the log was
+ * last written, as a RecordIndex does. An issue file written or replaced by anything else no longer
+ * matches, so its log is not attached to whatever issues now have its ids. A log which does not
+ * match, or can not be read, is moved to a quarantine file beside it, named with .quarantine added,
+ * and the issues are loaded without their history.
+ *
+ * @author michaelabrams
+ *
+ */
+public class TransitionLogFile {
+
+	/** SUFFIX is added to an issue file's name to name its transition log */
+	public static final String SUFFIX = ".transitions";
+
+	/** HEADER starts every transition log, ending in the format version */
+	private static final byte[] HEADER = {'I', 'M', 'T', 'L', 2};
+
+	/** STAMP_SIZE is the number of bytes after the header holding the issue file's size and modification time */
+	private static final int STAMP_SIZE = 2 * Long.BYTES;
+
+	/** BUFFER_SIZE is the size of the read and write buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Writes the transition logs of issues beside an issue file, replacing any there. If no issue has
+	 * a transition, any old transition log is deleted and none is written. The issue file must already
+	 * be written, as the log is stamped with it.
+	 *
+	 * @param issueFile is the issue file
+	 * @param issues are the issues whose logs are written
+	 *
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public static void write(String issueFile, List<Issue> issues) {
+
+		File file = new File(issueFile + SUFFIX);
+
+		if(issues.stream().noneMatch(Issue::hasTransitions)) {
+			if(file.exists() && !file.delete()) {
+				throw new IllegalArgumentException("Unable to save file.");
+			}
+			return;
+		}
+
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)) {
+
+			out.write(HEADER);
+			out.write(stamp(issueFile));
+
+			for(Issue issue : issues) {
+				if(issue.hasTransitions()) {
+					TransitionLog log = issue.getTransitionLog();
+					for(int i = 0; i < log.size(); i++) {
+						writeEntry(out, issue.getIssueId(), log.getTime(i), log.getCode(i));
+					}
+				}
+			}
+
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Appends transitions to the transition log beside an issue file, creating it if there is none. The
+	 * log is stamped again with the issue file, which must already be written, once the transitions
+	 * are appended.
+	 *
+	 * @param issueFile is the issue file
+	 * @param ids are the issue ids of the transitions
+	 * @param times are the times of the transitions
+	 * @param codes are the TransitionLog codes of the transitions
+	 * @param count is the number of transitions to append
+	 *
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public static void append(String issueFile, int[] ids, long[] times, int[] codes, int count) {
+
+		File file = new File(issueFile + SUFFIX);
+
+		if(count == 0 && !file.exists()) {
+			return;
+		}
+
+		boolean exists = file.length() > 0;
+
+		try {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE)) {
+
+				if(!exists) {
+					out.write(HEADER);
+					out.write(new byte[STAMP_SIZE]);
+				}
+
+				for(int i = 0; i < count; i++) {
+					writeEntry(out, ids[i], times[i], codes[i]);
+				}
+			}
+
+			//A crash before the stamp is written leaves a log which no longer matches, rather than a wrong one
+			try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+				out.seek(HEADER.length);
+				out.write(stamp(issueFile));
+			}
+
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Reads the transition log beside an issue file into its issues' logs. The whole log is checked
+	 * before any transition is added, so a log which turns out to be damaged adds nothing.
+	 *
+	 * @param issueFile is the issue file
+	 * @param issues finds an issue by id, or gives null if it is not in the list
+	 *
+	 * @return the number of transitions added to issues, which is 0 if there is no transition log, or
+	 * -1 if the log is damaged, is not a transition log, or was written for a different issue file,
+	 * in which case it is quarantined and nothing is added
+	 */
+	public static int read(String issueFile, IntFunction<Issue> issues) {
+
+		Issue[] found = new Issue[64];
+		long[] times = new long[64];
+		int[] codes = new int[64];
+		int count = 0;
+		boolean damaged = false;
+
+		try (InputStream in = new BufferedInputStream(new FileInputStream(issueFile + SUFFIX), BUFFER_SIZE)) {
+
+			damaged = !Arrays.equals(in.readNBytes(HEADER.length), HEADER)
+					|| !Arrays.equals(in.readNBytes(STAMP_SIZE), stamp(issueFile));
+
+			while(!damaged) {
+				long id = readVarLong(in, true);
+
+				if(id < 0) {
+					break;
+				}
+
+				long time = readVarLong(in, false);
+				int code = in.read();
+
+				if(code < 0) {
+					break;
+				}
+				if(id > Integer.MAX_VALUE || time > TransitionLog.MAX_TIME || code >= TransitionLog.CODE_COUNT) {
+					damaged = true;
+					break;
+				}
+
+				Issue issue = issues.apply((int) id);
+
+				if(issue != null) {
+					if(count == found.length) {
+						found = Arrays.copyOf(found, count * 2);
+						times = Arrays.copyOf(times, count * 2);
+						codes = Arrays.copyOf(codes, count * 2);
+					}
+					found[count] = issue;
+					times[count] = time;
+					codes[count++] = code;
+				}
+			}
+
+		} catch (FileNotFoundException e) {
+			return 0;
+		} catch (EOFException e) {
+			//A transition cut off at the end of the log is ignored
+		} catch (IOException e) {
+			damaged = true;
+		}
+
+		if(damaged) {
+			quarantine(issueFile);
+			return -1;
+		}
+
+		for(int i = 0; i < count; i++) {
+			found[i].getTransitionLog().add(times[i], codes[i]);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets the stamp which ties a transition log to an issue file as it is now
+	 *
+	 * @param issueFile is the issue file
+	 *
+	 * @return the file's size followed by its modification time
+	 */
+	private static byte[] stamp(String issueFile) {
+
+		File file = new File(issueFile);
+
+		return ByteBuffer.allocate(STAMP_SIZE).putLong(file.length()).putLong(file.lastModified()).array();
+	}
+
+	/**
+	 * Moves the transition log beside an issue file aside, replacing any log quarantined before it
+	 *
+	 * @param issueFile is the issue file
+	 */
+	private static void quarantine(String issueFile) {
+
+		Path log = Paths.get(issueFile + SUFFIX);
+
+		try {
+			Files.move(log, Paths.get(issueFile + SUFFIX + IssueReader.QUARANTINE_SUFFIX),
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			//The log is left where it is, and is rewritten by the next save
+		}
+	}
+
+	/**
+	 * Writes one transition
+	 *
+	 * @param out is the stream to write to
+	 * @param id is the issue id
+	 * @param time is the time
+	 * @param code is the TransitionLog code
+	 *
+	 * @throws IOException if the stream can not be written
+	 */
+	private static void writeEntry(OutputStream out, int id, long time, int code) throws IOException {
+		writeVarLong(out, id);
+		writeVarLong(out, time);
+		out.write(code);
+	}
+
+	/**
+	 * Writes a non-negative number seven bits to a byte, lowest bits first, with the high bit of each
+	 * byte but the last set
+	 *
+	 * @param out is the stream to write to
+	 * @param value is the number
+	 *
+	 * @throws IOException if the stream can not be written
+	 */
+	private static void writeVarLong(OutputStream out, long value) throws IOException {
+
+		while((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		out.write((int) value);
+	}
+
+	/**
+	 * Reads a number written by writeVarLong
+	 *
+	 * @param in is the stream to read from
+	 * @param first is true if the end of the stream may come before the number, between transitions
+	 *
+	 * @return the number, or -1 if first is true and the stream ended before it
+	 *
+	 * @throws IOException if the stream can not be read, ends inside the number, or the number is
+	 * too long
+	 */
+	private static long readVarLong(InputStream in, boolean first) throws IOException {
+
+		long value = 0;
+
+		for(int shift = 0; shift < 63; shift += 7) {
+			int b = in.read();
+
+			if(b < 0) {
+				if(first && shift == 0) {
+					return -1;
+				}
+				throw new EOFException();
+			}
+
+			value |= (long) (b & 0x7F) << shift;
+
+			if((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Number is too long.");
+	}
+}
@@ -5,13 +5,17 @@ import java.util.ArrayList;
 import edu.ncsu.csc216.issue_manager.model.command.Command;
 import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
 import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.jfr.IssueTransitionEvent;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
 
 /**
  * Issue represents an issue managed by the system. The issue fields include an issue id, summary
- * owner, confirmed status, resolution, notes, state, and issueType. Issue contains a FSM state pattern
- * used for implementing different behaviors for the issue given a state status. Has inner classes and interfaces such 
- * as IssueState, NewState, WorkingState, ConfirmedState, VerifyingState, and ClosedState. Issue controls the life cycle
- * of all these classes and interfaces. Issue also stores static constants for the string representation of an enhancement,
+ * owner, confirmed status, resolution, notes, state, and issueType. Issue contains a FSM whose
+ * states are the IssueState enum. The commands each state accepts are compiled once into a transition table
+ * indexed by state, command, issue type, confirmed status, owner, and resolution, so an update is a table lookup
+ * followed by the command's action. Issue also stores static constants for the string representation of an enhancement,
  * bug, and all states.
  * 
  * @author michaelabrams
@@ -40,6 +44,35 @@ public class Issue {
 	/** CLOSED_NAME is the string representation for issues in the closed state */
 	public static final String CLOSED_NAME = "Closed";
 	
+	/** TRANSITIONS counts commands which updated an issue, by state before and after and by command */
+	private static final MetricFamily<Counter> TRANSITIONS = MetricsRegistry.getDefault().counter(
+			"issue_transitions_total", "Commands which updated an issue.", "from", "to", "command");
+	
+	/** REJECTED counts commands an issue's state did not allow, by state and command */
+	private static final MetricFamily<Counter> REJECTED = MetricsRegistry.getDefault().counter(
+			"issue_commands_rejected_total", "Commands rejected by an issue's state.", "state", "command");
+	
+	/** STATES are the issue states by ordinal */
+	private static final IssueState[] STATES = IssueState.values();
+	
+	/** COMMANDS is the number of command values */
+	private static final int COMMANDS = CommandValue.values().length;
+	
+	/** RESOLUTIONS is the number of resolutions a command can carry, counting no resolution as one */
+	private static final int RESOLUTIONS = Resolution.values().length + 1;
+	
+	/**
+	 * TRANSITION_TABLE holds the ordinal of the state each command moves an issue to, or -1 if the
+	 * command is rejected, indexed by transitionIndex
+	 */
+	private static final byte[] TRANSITION_TABLE = compileTransitions();
+	
+	/** TRANSITION_COUNTERS caches the TRANSITIONS children by from state, to state, and command */
+	private static final Counter[] TRANSITION_COUNTERS = new Counter[STATES.length * STATES.length * COMMANDS];
+	
+	/** REJECTED_COUNTERS caches the REJECTED children by state and command */
+	private static final Counter[] REJECTED_COUNTERS = new Counter[STATES.length * COMMANDS];
+	
 	/** issueId is a unique issue id for an issue */
 	private int issueId;
 	
@@ -64,20 +97,8 @@ public class Issue {
 	/** issueType is the type of issue either IssueType.ENHANCEMENT or IssueType.BUG */
 	private IssueType issueType;
 	
-	/** newState is the state of the issue if it were in the new state */
-	private final NewState newState;
-	
-	/** workingState is the state of the issue if it were in the working state */
-	private final WorkingState workingState;
-	
-	/** confirmedState is the state of the issue if it were in the confirmed state */
-	private final ConfirmedState confirmedState;
-	
-	/** verifyingState is the state of the issue if it were in the verifying state */
-	private final VerifyingState verifyingState;
-	
-	/** closedState is the state of the issue if it were in the closed state */
-	private final ClosedState closedState;
+	/** transitions records when each command changed the issue's state, or is null until one does */
+	private TransitionLog transitions;
 	
 	/**
 	 * IssueType contains the two different types an issue can be: either bug or enhancement.
@@ -86,6 +107,52 @@ public class Issue {
 	 *
 	 */
 	public enum IssueType { ENHANCEMENT, BUG }
+
+	/**
+	 * IssueState contains the states of the issue life cycle in the order an issue usually moves
+	 * through them. The commands each state accepts are compiled into TRANSITION_TABLE.
+	 * 
+	 * @author michaelabrams
+	 *
+	 */
+	private enum IssueState {
+		
+		/** NEW is the state of an issue which has not been confirmed or assigned */
+		NEW(NEW_NAME),
+		
+		/** WORKING is the state of an issue an owner is working on */
+		WORKING(WORKING_NAME),
+		
+		/** CONFIRMED is the state of a bug which has been confirmed but not assigned */
+		CONFIRMED(CONFIRMED_NAME),
+		
+		/** VERIFYING is the state of an issue which has been fixed and needs verifying */
+		VERIFYING(VERIFYING_NAME),
+		
+		/** CLOSED is the state of an issue with a final resolution */
+		CLOSED(CLOSED_NAME);
+		
+		/** stateName is the string representation of the state */
+		private final String stateName;
+		
+		/**
+		 * Constructs a state with its string representation
+		 * 
+		 * @param stateName is the string representation of the state
+		 */
+		IssueState(String stateName) {
+			this.stateName = stateName;
+		}
+		
+		/**
+		 * Returns the name of the state.
+		 * 
+		 * @return the name of the state in string representation
+		 */
+		public String getStateName() {
+			return stateName;
+		}
+	}
 	
 	/**
 	 * The constructor for the issue class which takes an id, issueType, summary, and a note.
@@ -113,12 +180,6 @@ public class Issue {
 		
 		setSummary(summary);
 		
-		newState = new NewState();
-		workingState = new WorkingState();
-		confirmedState = new ConfirmedState();
-		verifyingState = new VerifyingState();
-		closedState = new ClosedState();
-		
 		setState(NEW_NAME);
 		
 		setNotes(note);
@@ -160,12 +221,6 @@ public class Issue {
 		
 		this.setSummary(summary);
 		
-		this.newState = new NewState();
-		this.workingState = new WorkingState();
-		this.closedState = new ClosedState();
-		this.confirmedState = new ConfirmedState();
-		this.verifyingState = new VerifyingState();
-		
 		this.setState(state);
 		
 		if(!isValidIssue()) {
@@ -425,6 +480,155 @@ public class Issue {
 
 	}
 
+	/**
+	 * Gets the log of the issue's state transitions
+	 * 
+	 * @return the transition log, which is empty if no command has changed the issue
+	 */
+	public TransitionLog getTransitionLog() {
+		
+		if(transitions == null) {
+			transitions = new TransitionLog();
+		}
+		
+		return transitions;
+	}
+	
+	/**
+	 * Checks if any command has changed the issue's state, without creating its transition log
+	 * 
+	 * @return true if the transition log is not empty
+	 */
+	public boolean hasTransitions() {
+		return transitions != null && transitions.size() > 0;
+	}
+	
+	/**
+	 * Gets the state the issue was in at a time, from its transition log. The issue is taken to have
+	 * been in its first recorded state before its first transition, and in its current state if it
+	 * has none.
+	 * 
+	 * @param time is the time in milliseconds since the epoch
+	 * 
+	 * @return the name of the state
+	 */
+	public String getStateAt(long time) {
+		
+		return hasTransitions() ? transitions.stateAt(time) : getStateName();
+	}
+	
+	/**
+	 * Gets the number of issue states
+	 * 
+	 * @return the number of states
+	 */
+	public static int getStateCount() {
+		return STATES.length;
+	}
+	
+	/**
+	 * Gets the name of a state from its ordinal
+	 * 
+	 * @param ordinal is the ordinal of the state
+	 * 
+	 * @return the name of the state
+	 */
+	static String getStateName(int ordinal) {
+		return STATES[ordinal].getStateName();
+	}
+	
+	/**
+	 * Gets the ordinal of a state from its name
+	 * 
+	 * @param stateName is the name of the state
+	 * 
+	 * @return the ordinal of the state
+	 * 
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public static int getStateOrdinal(String stateName) {
+		
+		for(IssueState issueState : STATES) {
+			if(issueState.getStateName().equals(stateName)) {
+				return issueState.ordinal();
+			}
+		}
+		
+		throw new IllegalArgumentException("Invalid information.");
+	}
+	
+	/**
+	 * Gets the ordinal of an issue type from its string representation
+	 * 
+	 * @param type is I_BUG or I_ENHANCEMENT
+	 * 
+	 * @return the ordinal of the type
+	 * 
+	 * @throws IllegalArgumentException if the string is not an issue type
+	 */
+	public static int getTypeOrdinal(String type) {
+		
+		switch (type) {
+		case I_BUG:
+			return IssueType.BUG.ordinal();
+		case I_ENHANCEMENT:
+			return IssueType.ENHANCEMENT.ordinal();
+		default:
+			throw new IllegalArgumentException("Invalid information.");
+		}
+	}
+	
+	/**
+	 * Gets the number of resolution ordinals, counting no resolution as one
+	 * 
+	 * @return the number of resolutions plus one
+	 */
+	public static int getResolutionCount() {
+		return RESOLUTIONS;
+	}
+	
+	/**
+	 * Gets the ordinal of a resolution from its string representation, where no resolution is 0 and
+	 * each resolution is its Resolution ordinal plus one
+	 * 
+	 * @param resolution is one of the resolution constants in Command, or null for no resolution
+	 * 
+	 * @return the ordinal of the resolution
+	 * 
+	 * @throws IllegalArgumentException if the string is not a resolution
+	 */
+	public static int getResolutionOrdinal(String resolution) {
+		
+		if(resolution == null) {
+			return 0;
+		}
+		
+		switch (resolution) {
+		case Command.R_FIXED:
+			return getResolutionOrdinal(Resolution.FIXED);
+		case Command.R_DUPLICATE:
+			return getResolutionOrdinal(Resolution.DUPLICATE);
+		case Command.R_WONTFIX:
+			return getResolutionOrdinal(Resolution.WONTFIX);
+		case Command.R_WORKSFORME:
+			return getResolutionOrdinal(Resolution.WORKSFORME);
+		default:
+			throw new IllegalArgumentException("Invalid information.");
+		}
+	}
+	
+	/**
+	 * Gets the ordinal of a resolution, where no resolution is 0 and each resolution is its
+	 * Resolution ordinal plus one
+	 * 
+	 * @param resolution is the resolution, or null for no resolution
+	 * 
+	 * @return the ordinal of the resolution
+	 */
+	public static int getResolutionOrdinal(Resolution resolution) {
+		return resolution == null ? 0 : resolution.ordinal() + 1;
+	}
+	
 	/**
 	 * Sets the state of the issue
 	 * 
@@ -436,19 +640,19 @@ public class Issue {
 		
 		switch (state) {
 		case NEW_NAME:
-			this.state = newState;
+			this.state = IssueState.NEW;
 			break;
 		case WORKING_NAME:
-			this.state = workingState;
+			this.state = IssueState.WORKING;
 			break;
 		case VERIFYING_NAME:
-			this.state = verifyingState;
+			this.state = IssueState.VERIFYING;
 			break;
 		case CLOSED_NAME:	
-			this.state = closedState;
+			this.state = IssueState.CLOSED;
 			break;
 		case CONFIRMED_NAME:		
-			this.state = confirmedState;
+			this.state = IssueState.CONFIRMED;
 			break;
 		default:
 			throw new IllegalArgumentException("Issue cannot be created.");
@@ -531,12 +735,272 @@ public class Issue {
 	}
 	
 	/**
-	 * Updates the issues state given a command
+	 * Updates the issues state given a command, recording the transition at the current time
 	 * 
 	 * @param command is the command used to update the issue's state
 	 */
 	public void update(Command command) {
-		state.updateState(command);
+		update(command, System.currentTimeMillis());
+	}
+	
+	/**
+	 * Updates the issues state given a command, recording the transition at a given time. A time
+	 * before the issue's last transition is recorded as the time of that transition, so the command
+	 * is always the last transition in the log.
+	 * 
+	 * @param command is the command used to update the issue's state
+	 * @param time is when the command was given, in milliseconds since the epoch
+	 */
+	public void update(Command command, long time) {
+		
+		IssueState from = state;
+		CommandValue commandValue = command.getCommand();
+		
+		//The event is created on every update, but its fields are only filled and committed while a flight recording is running
+		IssueTransitionEvent event = new IssueTransitionEvent();
+		event.begin();
+		
+		int to = TRANSITION_TABLE[transitionIndex(from, commandValue, issueType, confirmed, owner != null,
+				command.getResolution())];
+		
+		if(to < 0) {
+			rejectedCounter(from, commandValue).increment();
+			commitTransition(event, command, from.getStateName(), false);
+			throw new UnsupportedOperationException("Invalid information.");
+		}
+		
+		switch (commandValue) {
+		case ASSIGN:
+			setOwner(command.getOwnerId());
+			setResolution("");
+			break;
+		case CONFIRM:
+			setConfirmed(true);
+			break;
+		case RESOLVE:
+			setResolution(command.getResolution());
+			break;
+		case REOPEN:
+			setResolution("");
+			break;
+		default:
+			break;
+		}
+		
+		state = STATES[to];
+		
+		//Adds the command's note to the issue
+		addNote(command.getNote());
+		
+		TransitionLog log = getTransitionLog();
+		log.add(log.size() == 0 ? time : Math.max(time, log.getTime(log.size() - 1)),
+				TransitionLog.encode(commandValue.ordinal(), from.ordinal(), to));
+		
+		transitionCounter(from, state, commandValue).increment();
+		commitTransition(event, command, from.getStateName(), true);
+	}
+	
+	/**
+	 * Gets the index into TRANSITION_TABLE of a command given to an issue.
+	 * 
+	 * @param state is the issue's state
+	 * @param command is the command value
+	 * @param issueType is the issue's type
+	 * @param confirmed is if the issue is confirmed
+	 * @param hasOwner is if the issue has an owner
+	 * @param resolution is the command's resolution, or null if it has none
+	 * 
+	 * @return the index of the transition
+	 */
+	private static int transitionIndex(IssueState state, CommandValue command, IssueType issueType,
+			boolean confirmed, boolean hasOwner, Resolution resolution) {
+		
+		int index = state.ordinal() * COMMANDS + command.ordinal();
+		index = index * 2 + issueType.ordinal();
+		index = index * 2 + (confirmed ? 1 : 0);
+		index = index * 2 + (hasOwner ? 1 : 0);
+		
+		return index * RESOLUTIONS + getResolutionOrdinal(resolution);
+	}
+	
+	/**
+	 * Compiles the issue life cycle into a transition table. Runs once when the class is loaded.
+	 * 
+	 * @return the table of target state ordinals, with -1 for rejected commands
+	 */
+	private static byte[] compileTransitions() {
+		
+		byte[] table = new byte[STATES.length * COMMANDS * 2 * 2 * 2 * RESOLUTIONS];
+		Resolution[] resolutions = new Resolution[RESOLUTIONS];
+		System.arraycopy(Resolution.values(), 0, resolutions, 1, RESOLUTIONS - 1);
+		
+		for(IssueState state : STATES) {
+			for(CommandValue command : CommandValue.values()) {
+				for(IssueType issueType : IssueType.values()) {
+					for(int flags = 0; flags < 4; flags++) {
+						for(Resolution resolution : resolutions) {
+							
+							boolean confirmed = (flags & 2) != 0;
+							boolean hasOwner = (flags & 1) != 0;
+							IssueState target = transition(state, command, issueType, confirmed, hasOwner, resolution);
+							
+							table[transitionIndex(state, command, issueType, confirmed, hasOwner, resolution)] =
+									(byte) (target == null ? -1 : target.ordinal());
+						}
+					}
+				}
+			}
+		}
+		
+		return table;
+	}
+	
+	/**
+	 * Gets the state a command moves an issue to. These are the rules of the issue life cycle, which
+	 * compileTransitions evaluates for every combination of inputs.
+	 * 
+	 * @param state is the issue's state
+	 * @param command is the command value
+	 * @param issueType is the issue's type
+	 * @param confirmed is if the issue is confirmed
+	 * @param hasOwner is if the issue has an owner
+	 * @param resolution is the command's resolution, or null if it has none
+	 * 
+	 * @return the new state, or null if the state does not accept the command
+	 */
+	private static IssueState transition(IssueState state, CommandValue command, IssueType issueType,
+			boolean confirmed, boolean hasOwner, Resolution resolution) {
+		
+		boolean bug = issueType == IssueType.BUG;
+		
+		switch (state) {
+		case NEW:
+			
+			if(command == CommandValue.ASSIGN && !bug) {
+				return IssueState.WORKING;
+			}
+			if(command == CommandValue.CONFIRM && bug) {
+				return IssueState.CONFIRMED;
+			}
+			
+			//An enhancement can not work for me, and a new issue can not be fixed
+			if(command == CommandValue.RESOLVE && resolution != Resolution.FIXED
+					&& (bug || resolution != Resolution.WORKSFORME)) {
+				return IssueState.CLOSED;
+			}
+			
+			return null;
+		case WORKING:
+			
+			if(command != CommandValue.RESOLVE) {
+				return null;
+			}
+			if(resolution == Resolution.FIXED) {
+				return IssueState.VERIFYING;
+			}
+			
+			//The Resolution can not be a works for me for the enhancement state
+			return bug || resolution != Resolution.WORKSFORME ? IssueState.CLOSED : null;
+		case CONFIRMED:
+			
+			if(command == CommandValue.ASSIGN) {
+				return IssueState.WORKING;
+			}
+			
+			return command == CommandValue.RESOLVE && resolution == Resolution.WONTFIX ? IssueState.CLOSED : null;
+		case VERIFYING:
+			
+			if(command == CommandValue.REOPEN) {
+				return IssueState.WORKING;
+			}
+			
+			return command == CommandValue.VERIFY ? IssueState.CLOSED : null;
+		case CLOSED:
+			
+			if(command != CommandValue.REOPEN) {
+				return null;
+			}
+			
+			//An owned enhancement or owned confirmed bug goes back to work
+			if(hasOwner && (!bug || confirmed)) {
+				return IssueState.WORKING;
+			}
+			if(bug && confirmed) {
+				return IssueState.CONFIRMED;
+			}
+			
+			//An owned bug which was never confirmed can not be reopened
+			return hasOwner ? null : IssueState.NEW;
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * Gets the counter of transitions from one state to another by a command, looking it up in the
+	 * TRANSITIONS family the first time.
+	 * 
+	 * @param from is the state before the command
+	 * @param to is the state after the command
+	 * @param command is the command value
+	 * 
+	 * @return the counter
+	 */
+	private static Counter transitionCounter(IssueState from, IssueState to, CommandValue command) {
+		
+		int index = (from.ordinal() * STATES.length + to.ordinal()) * COMMANDS + command.ordinal();
+		Counter counter = TRANSITION_COUNTERS[index];
+		
+		//Racing threads get the same child back from the family
+		if(counter == null) {
+			counter = TRANSITIONS.labels(from.getStateName(), to.getStateName(), command.name());
+			TRANSITION_COUNTERS[index] = counter;
+		}
+		
+		return counter;
+	}
+	
+	/**
+	 * Gets the counter of commands a state rejected, looking it up in the REJECTED family the first time.
+	 * 
+	 * @param state is the state which rejected the command
+	 * @param command is the command value
+	 * 
+	 * @return the counter
+	 */
+	private static Counter rejectedCounter(IssueState state, CommandValue command) {
+		
+		int index = state.ordinal() * COMMANDS + command.ordinal();
+		Counter counter = REJECTED_COUNTERS[index];
+		
+		if(counter == null) {
+			counter = REJECTED.labels(state.getStateName(), command.name());
+			REJECTED_COUNTERS[index] = counter;
+		}
+		
+		return counter;
+	}
+	
+	/**
+	 * Fills in and commits a transition event if the flight recorder wants it.
+	 * 
+	 * @param event is the event begun before the command ran
+	 * @param command is the command which ran
+	 * @param from is the name of the state before the command
+	 * @param accepted is false if the state rejected the command
+	 */
+	private void commitTransition(IssueTransitionEvent event, Command command, String from, boolean accepted) {
+		
+		event.end();
+		
+		if(event.shouldCommit()) {
+			event.issueId = issueId;
+			event.command = command.getCommand().name();
+			event.fromState = from;
+			event.toState = state.getStateName();
+			event.accepted = accepted;
+			event.commit();
+		}
 	}
 	
 	/**
@@ -625,392 +1089,4 @@ public class Issue {
 		return s;
 		
 	}
-
-	/**
-	 * Interface for states in the Issue State Pattern.  All 
-	 * concrete issue states must implement the IssueState interface.
-	 * The IssueState interface should be a private interface of the 
-	 * Issue class.
-	 * 
-	 * @author Dr. Sarah Heckman (sarah_heckman@ncsu.edu) 
-	 */
-	private interface IssueState {
-		
-		/**
-		 * Update the Issue based on the given Command.
-		 * An UnsupportedOperationException is throw if the Command
-		 * is not a valid action for the given state.  
-		 * @param command Command describing the action that will update the Issue's
-		 * state.
-		 * @throws UnsupportedOperationException if the Command is not a valid action
-		 * for the given state.
-		 */
-		void updateState(Command command);
-		
-		/**
-		 * Returns the name of the current state as a String.
-		 * 
-		 * @return the name of the current state as a String.
-		 */
-		String getStateName();
-
-	}
-	
-	/**
-	 * NewState holds the functionality for the Issue in the NewState. You can
-	 * get the state's name or update the state based on a command.
-	 * 
-	 * @author michaelabrams
-	 *
-	 */
-	private class NewState implements IssueState {
-		
-		/**
-		 * Constructs the NewState class with no parameters.
-		 */
-		private NewState() {
-			
-		}
-		
-		/**
-		 * Updates the issue's state based on the given command. 
-		 * 
-		 * @param command is the command given to the issue in order to update
-		 * 
-		 * @throws UnsupportedOperationException if the command is not supported for the new state
-		 */
-		public void updateState(Command command) {
-			
-			CommandValue commandValue = command.getCommand();
-			
-			switch (commandValue) {
-			case ASSIGN:
-				
-				if(issueType == IssueType.ENHANCEMENT) {
-					setOwner(command.getOwnerId());
-					state = workingState;
-					setResolution("");
-				}
-				else {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-				
-				break;
-			case RESOLVE:
-				
-				if(I_ENHANCEMENT.equals(getIssueType()) && command.getResolution() == Command.Resolution.WORKSFORME) {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-				
-				if(command.getResolution() == Command.Resolution.FIXED) {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-				
-				setResolution(command.getResolution());
-				state = closedState;
-				break;
-			case CONFIRM:
-				
-				if(issueType == IssueType.BUG) {
-					setConfirmed(true);
-					state = confirmedState;
-				}
-				else {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-		
-				break;
-			default:			
-				throw new UnsupportedOperationException("Invalid information.");
-			}
-			
-			//Adds the command's note to the issue
-			
-			addNote(command.getNote());
-			
-		}
-		
-		/**
-		 * Returns the name of the state.
-		 * 
-		 * @return the name of the state in string representation
-		 */
-		public String getStateName() {
-			return NEW_NAME;
-		}
-		
-	}
-	
-	/**
-	 * WorkingState holds the functionality for the Issue in the WorkingState. You can
-	 * get the state's name or update the state based on a command.
-	 * 
-	 * @author michaelabrams
-	 *
-	 */
-	private class WorkingState implements IssueState {
-		
-		/**
-		 * Constructs the WorkingState class with no parameters.
-		 */
-		private WorkingState() {
-			
-		}
-		
-		/**
-		 * Updates the issue's state based on the given command. 
-		 * 
-		 * @param command is the command given to the issue in order to update
-		 * 
-		 * @throws UnsupportedOperationException if the command is not supported for the working state.
-		 */
-		public void updateState(Command command) {
-
-			CommandValue commandValue = command.getCommand();
-			
-			switch (commandValue) {
-			case RESOLVE:
-				
-				if(command.getResolution() == Command.Resolution.FIXED) {
-					setResolution(command.getResolution());
-					state = verifyingState;
-				}
-				else if(getIssueType().equals(I_BUG)) {
-					setResolution(command.getResolution());
-					state = closedState;
-				}
-				else {
-					
-					//The Resolution can not be a works for me for the enhancement state
-					if(command.getResolution() == Command.Resolution.WORKSFORME) {
-						throw new UnsupportedOperationException("Invalid information.");
-					}
-					
-					setResolution(command.getResolution());
-					state = closedState;
-					
-				}
-				
-				break;
-			default:
-				throw new UnsupportedOperationException("Invalid information.");
-			}
-			
-			
-			//Adds the command's notes to the issue
-			
-			addNote(command.getNote());
-			
-		}
-		
-		/**
-		 * Returns the name of the state.
-		 * 
-		 * @return the name of the state in string representation
-		 */
-		public String getStateName() {
-			return WORKING_NAME;
-		}
-		
-	}
-	
-	/**
-	 * ConfirmedState holds the functionality for the Issue in the ConfirmedState. You can
-	 * get the state's name or update the state based on a command.
-	 * 
-	 * @author michaelabrams
-	 *
-	 */
-	private class ConfirmedState implements IssueState {
-		
-		/**
-		 * Constructs the ConfirmedState class with no parameters.
-		 */
-		private ConfirmedState() {
-			
-		}
-		
-		/**
-		 * Updates the issue's state based on the given command. 
-		 * 
-		 * @param command is the command given to the issue in order to update
-		 * 
-		 * @throws UnsupportedOperationException if the command is not supported for the working state.
-		 */
-		public void updateState(Command command) {
-			CommandValue commandValue = command.getCommand();
-			
-			switch (commandValue) {
-			case ASSIGN:
-				
-				setOwner(command.getOwnerId());
-				state = workingState;
-				setResolution("");
-				
-				break;
-			case RESOLVE:
-				
-				if(command.getResolution() == Command.Resolution.WONTFIX) {
-					setResolution(command.getResolution());
-					state = closedState;
-				}
-				else {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-				
-				break;
-			default:
-				throw new UnsupportedOperationException("Invalid information.");
-				
-			}
-			
-			
-			//Adds the command's notes to the issue
-			
-			addNote(command.getNote());
-		}
-		
-		/**
-		 * Returns the name of the state.
-		 * 
-		 * @return the name of the state in string representation
-		 */
-		public String getStateName() {
-			return CONFIRMED_NAME;
-		}
-	}
-	
-	/**
-	 * VerifyingState holds the functionality for the Issue in the VerifyingState. You can
-	 * get the state's name or update the state based on a command.
-	 * 
-	 * @author michaelabrams
-	 *
-	 */
-	private class VerifyingState implements IssueState {
-		
-		/**
-		 * Constructs the VerifyingState class with no parameters.
-		 */
-		private VerifyingState() {
-			
-		}
-		
-		/**
-		 * Updates the issue's state based on the given command. 
-		 * 
-		 * @param command is the command given to the issue in order to update
-		 * 
-		 * @throws UnsupportedOperationException if the command is not supported for the working state.
-		 */
-		public void updateState(Command command) {
-			
-			CommandValue commandValue = command.getCommand();
-			
-			switch (commandValue) {
-			case REOPEN:
-				
-				state = workingState;
-				setResolution("");
-				
-				break;
-			case VERIFY:
-				
-				state = closedState;
-				
-				break;
-			default:
-				throw new UnsupportedOperationException("Invalid information.");
-			}
-			
-			//Adds the command's notes to the issue
-			addNote(command.getNote());
-			
-		}
-		
-		/**
-		 * Returns the name of the state.
-		 * 
-		 * @return the name of the state in string representation
-		 */
-		public String getStateName() {
-			return VERIFYING_NAME;
-		}
-	}
-	
-	/**
-	 * ClosedState holds the functionality for the Issue in the ClosedState. You can
-	 * get the state's name or update the state based on a command.
-	 * 
-	 * @author michaelabrams
-	 *
-	 */
-	private class ClosedState implements IssueState {
-		
-		/**
-		 * Constructs the ClosedState class with no parameters.
-		 */
-		private ClosedState() {
-			
-		}
-		
-		/**
-		 * Updates the issue's state based on the given command. 
-		 * 
-		 * @param command is the command given to the issue in order to update
-		 * 
-		 * @throws UnsupportedOperationException if the command is not supported for the working state.
-		 */
-		public void updateState(Command command) {
-			
-			if(command.getCommand() == CommandValue.REOPEN) {
-				
-				//If the issue is an enhancement with an owner
-				if(getIssueType().equals(I_ENHANCEMENT) && getOwner() != null && !getOwner().isEmpty()) {
-					state = workingState;
-					setResolution("");
-				}
-				
-				//If the issue is a bug, confirmed, and has an owner
-				else if(getIssueType().equals(I_BUG) && isConfirmed() && getOwner() != null && !getOwner().isEmpty()) {
-					state = workingState;
-					setResolution("");
-				}
-				
-				//If the issue is a bug, confirmed, and does not have an owner
-				else if(getIssueType().equals(I_BUG) && isConfirmed() && (getOwner() == null || getOwner().isEmpty())) {
-					state = confirmedState;
-					setResolution("");
-				}
-				
-				else if(getOwner() == null || getOwner().isEmpty()) {
-					state = newState;
-					setResolution("");
-				}
-				
-				else {
-					throw new UnsupportedOperationException("Invalid information.");
-				}
-				
-			}
-			else {
-				throw new UnsupportedOperationException("Invalid information.");
-			}
-			
-			//Adds the command's notes to the issue
-			addNote(command.getNote());
-			
-			
-			
-		}
-		
-		/**
-		 * Returns the name of the state.
-		 * 
-		 * @return the name of the state in string representation
-		 */
-		public String getStateName() {
-			return CLOSED_NAME;
-		}
-	}
 }
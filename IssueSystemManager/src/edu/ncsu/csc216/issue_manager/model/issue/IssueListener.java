@@ -0,0 +1,50 @@
+package edu.ncsu.csc216.issue_manager.model.issue;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+
+/**
+ * IssueListener is notified as issues are added to, updated in, and removed from an issue list.
+ * It lets indexes and other derived views stay up to date incrementally instead of rescanning
+ * every issue. All methods do nothing by default so listeners only implement what they need.
+ *
+ * @author michaelabrams
+ *
+ */
+public interface IssueListener {
+
+	/**
+	 * Called after an issue is added to the list.
+	 *
+	 * @param issue is the issue which was added
+	 */
+	default void issueAdded(Issue issue) {
+		//Ignored by default
+	}
+
+	/**
+	 * Called after an issue is removed from the list.
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	default void issueRemoved(Issue issue) {
+		//Ignored by default
+	}
+
+	/**
+	 * Called after a command successfully updated an issue. The command's note is the last of
+	 * the issue's notes, and its transition is the last in the issue's transition log.
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated the issue
+	 */
+	default void issueUpdated(Issue issue, Command command) {
+		//Ignored by default
+	}
+
+	/**
+	 * Called after every issue was removed from the list at once.
+	 */
+	default void issuesCleared() {
+		//Ignored by default
+	}
+}
@@ -0,0 +1,251 @@
+package edu.ncsu.csc216.issue_manager.model.issue;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+
+/**
+ * TransitionLog records when each command moved an issue from one state to another. Each transition
+ * is kept as a single long: the time in milliseconds since the epoch, shifted left by eight bits,
+ * with a code for the command, the state before, and the state after in the low byte. Transitions
+ * are kept in time order, so sorting or searching the longs is sorting or searching by time.
+ *
+ * @author michaelabrams
+ *
+ */
+public class TransitionLog {
+
+	/** CODE_BITS is the number of low bits of an entry which hold its code */
+	private static final int CODE_BITS = 8;
+
+	/** CODE_MASK selects the code of an entry */
+	private static final long CODE_MASK = (1L << CODE_BITS) - 1;
+
+	/** MAX_TIME is the largest time an entry can hold */
+	public static final long MAX_TIME = Long.MAX_VALUE >>> CODE_BITS;
+
+	/** COMMANDS are the command values by ordinal */
+	private static final CommandValue[] COMMANDS = CommandValue.values();
+
+	/** STATE_COUNT is the number of issue states */
+	private static final int STATE_COUNT = Issue.getStateCount();
+
+	/** CODE_COUNT is the number of codes, one for each command, state before, and state after */
+	public static final int CODE_COUNT = COMMANDS.length * STATE_COUNT * STATE_COUNT;
+
+	/** entries are the transitions in time order */
+	private long[] entries = new long[2];
+
+	/** size is the number of transitions */
+	private int size;
+
+	/**
+	 * Constructs an empty log
+	 */
+	public TransitionLog() {
+		//Empty constructor
+	}
+
+	/**
+	 * Constructs a copy of another log
+	 *
+	 * @param other is the log to copy
+	 */
+	public TransitionLog(TransitionLog other) {
+		this.entries = Arrays.copyOf(other.entries, Math.max(2, other.size));
+		this.size = other.size;
+	}
+
+	/**
+	 * Gets the code of a transition.
+	 *
+	 * @param command is the command which caused the transition
+	 * @param fromState is the name of the state before
+	 * @param toState is the name of the state after
+	 *
+	 * @return the code
+	 *
+	 * @throws IllegalArgumentException if a state name is not the name of a state
+	 */
+	public static int encode(CommandValue command, String fromState, String toState) {
+		return encode(command.ordinal(), Issue.getStateOrdinal(fromState), Issue.getStateOrdinal(toState));
+	}
+
+	/**
+	 * Gets the code of a transition from ordinals.
+	 *
+	 * @param command is the ordinal of the command
+	 * @param from is the ordinal of the state before
+	 * @param to is the ordinal of the state after
+	 *
+	 * @return the code
+	 */
+	static int encode(int command, int from, int to) {
+		return (command * STATE_COUNT + from) * STATE_COUNT + to;
+	}
+
+	/**
+	 * Adds a transition, after any others at the same time.
+	 *
+	 * @param time is when the transition happened, in milliseconds since the epoch
+	 * @param code is the transition's code
+	 *
+	 * @throws IllegalArgumentException if the time is negative or too large, or the code is not a code
+	 */
+	public void add(long time, int code) {
+
+		if(time < 0 || time > MAX_TIME || code < 0 || code >= CODE_COUNT) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		if(size == entries.length) {
+			entries = Arrays.copyOf(entries, size * 2);
+		}
+
+		long entry = time << CODE_BITS | code;
+
+		//Transitions almost always arrive in time order, so this rarely moves anything
+		int i = size;
+		while(i > 0 && entries[i - 1] >>> CODE_BITS > time) {
+			entries[i] = entries[i - 1];
+			i--;
+		}
+
+		entries[i] = entry;
+		size++;
+	}
+
+	/**
+	 * Gets the number of transitions
+	 *
+	 * @return the number of transitions
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets when a transition happened
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getTime(int i) {
+		return entries[checkIndex(i)] >>> CODE_BITS;
+	}
+
+	/**
+	 * Gets the code of a transition
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the code
+	 */
+	public int getCode(int i) {
+		return (int) (entries[checkIndex(i)] & CODE_MASK);
+	}
+
+	/**
+	 * Gets the command which caused a transition
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the command value
+	 */
+	public CommandValue getCommand(int i) {
+		return COMMANDS[getCode(i) / (STATE_COUNT * STATE_COUNT)];
+	}
+
+	/**
+	 * Gets the state an issue was in before a transition
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the name of the state
+	 */
+	public String getFromState(int i) {
+		return Issue.getStateName(getCode(i) / STATE_COUNT % STATE_COUNT);
+	}
+
+	/**
+	 * Gets the state an issue was in after a transition
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the name of the state
+	 */
+	public String getToState(int i) {
+		return Issue.getStateName(getCode(i) % STATE_COUNT);
+	}
+
+	/**
+	 * Gets the ordinal of the state an issue was in after a transition, as encode numbers states
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the ordinal of the state
+	 */
+	public int getToStateOrdinal(int i) {
+		return getCode(i) % STATE_COUNT;
+	}
+
+	/**
+	 * Finds the last transition at or before a time.
+	 *
+	 * @param time is the time in milliseconds since the epoch
+	 *
+	 * @return the index of the transition, or -1 if every transition is after the time
+	 */
+	public int indexAt(long time) {
+
+		if(time < 0) {
+			return -1;
+		}
+		if(time >= MAX_TIME) {
+			return size - 1;
+		}
+
+		//Searches for the first entry after the time, since no entry has the all ones code
+		int i = Arrays.binarySearch(entries, 0, size, time << CODE_BITS | CODE_MASK);
+
+		return -i - 2;
+	}
+
+	/**
+	 * Gets the state an issue was in at a time.
+	 *
+	 * @param time is the time in milliseconds since the epoch
+	 *
+	 * @return the name of the state after the last transition at or before the time, the state before
+	 * the first transition if there was none, or null if the log is empty
+	 */
+	public String stateAt(long time) {
+
+		if(size == 0) {
+			return null;
+		}
+
+		int i = indexAt(time);
+
+		return i < 0 ? getFromState(0) : getToState(i);
+	}
+
+	/**
+	 * Checks the index of a transition
+	 *
+	 * @param i is the index of the transition
+	 *
+	 * @return the index
+	 *
+	 * @throws IndexOutOfBoundsException if there is no such transition
+	 */
+	private int checkIndex(int i) {
+
+		if(i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Invalid transition.");
+		}
+
+		return i;
+	}
+}
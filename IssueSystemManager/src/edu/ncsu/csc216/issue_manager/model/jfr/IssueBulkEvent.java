@@ -0,0 +1,33 @@
+package edu.ncsu.csc216.issue_manager.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * IssueBulkEvent is a Java Flight Recorder event for an IssueList operation over many issues at
+ * once, such as replacing the list with the issues read from a file.
+ *
+ * @author michaelabrams
+ *
+ */
+@Name("edu.ncsu.csc216.issue_manager.IssueBulk")
+@Label("Issue List Bulk Operation")
+@Category({"Issue Manager", "Issue List"})
+@Description("An issue list operation over many issues")
+public class IssueBulkEvent extends Event {
+
+	/** operation is the name of the IssueList method */
+	@Label("Operation")
+	public String operation;
+
+	/** inputCount is the number of issues given to the operation */
+	@Label("Input Count")
+	public int inputCount;
+
+	/** resultCount is the number of issues in the list afterwards */
+	@Label("Result Count")
+	public int resultCount;
+}
@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.issue_manager.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * IssueLoadEvent is a Java Flight Recorder event for reading an issue file. The event's duration
+ * covers the whole read, and the parse time is the part spent turning the file's text into issues.
+ *
+ * @author michaelabrams
+ *
+ */
+@Name("edu.ncsu.csc216.issue_manager.IssueLoad")
+@Label("Issue File Load")
+@Category({"Issue Manager", "I/O"})
+@Description("An issue file was read")
+public class IssueLoadEvent extends Event {
+
+	/** path is the file which was read */
+	@Label("Path")
+	public String path;
+
+	/** bytes is the size of the file */
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	/** issueCount is the number of issues read */
+	@Label("Issue Count")
+	public int issueCount;
+
+	/** rejectedCount is the number of records which could not be loaded */
+	@Label("Rejected Count")
+	public int rejectedCount;
+
+	/** quarantinedCount is the number of damaged records which were quarantined */
+	@Label("Quarantined Count")
+	public int quarantinedCount;
+
+	/** parseTime is the time spent turning the lines read into issues */
+	@Label("Parse Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long parseTime;
+}
@@ -0,0 +1,40 @@
+package edu.ncsu.csc216.issue_manager.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * IssueSaveEvent is a Java Flight Recorder event for writing an issue file. The event's duration
+ * covers formatting the issues and writing the file.
+ *
+ * @author michaelabrams
+ *
+ */
+@Name("edu.ncsu.csc216.issue_manager.IssueSave")
+@Label("Issue File Save")
+@Category({"Issue Manager", "I/O"})
+@Description("An issue file was written")
+public class IssueSaveEvent extends Event {
+
+	/** path is the file which was written */
+	@Label("Path")
+	public String path;
+
+	/** bytes is the size of the written file */
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	/** issueCount is the number of issues written */
+	@Label("Issue Count")
+	public int issueCount;
+
+	/** copiedBytes is the number of bytes kept or copied unchanged from the file's previous version */
+	@Label("Copied Bytes")
+	@DataAmount
+	public long copiedBytes;
+}
@@ -0,0 +1,44 @@
+package edu.ncsu.csc216.issue_manager.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * IssueTransitionEvent is a Java Flight Recorder event for a command run on an issue by
+ * Issue.update. Rejected commands are recorded too, with the same state before and after.
+ * Stack traces are not recorded, since commands are frequent and their callers are few.
+ *
+ * @author michaelabrams
+ *
+ */
+@Name("edu.ncsu.csc216.issue_manager.IssueTransition")
+@Label("Issue Transition")
+@Category({"Issue Manager", "State Machine"})
+@Description("A command was run on an issue")
+@StackTrace(false)
+public class IssueTransitionEvent extends Event {
+
+	/** issueId is the id of the issue */
+	@Label("Issue Id")
+	public int issueId;
+
+	/** command is the command which was run */
+	@Label("Command")
+	public String command;
+
+	/** fromState is the issue's state before the command */
+	@Label("From State")
+	public String fromState;
+
+	/** toState is the issue's state after the command */
+	@Label("To State")
+	public String toState;
+
+	/** accepted is false if the issue's state rejected the command */
+	@Label("Accepted")
+	public boolean accepted;
+}
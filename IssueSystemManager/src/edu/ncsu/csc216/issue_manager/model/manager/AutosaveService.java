@@ -0,0 +1,404 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+import edu.ncsu.csc216.issue_manager.model.metrics.Counter;
+import edu.ncsu.csc216.issue_manager.model.metrics.Histogram;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+
+/**
+ * AutosaveService saves the IssueManager's issue list to a file in the background after it changes.
+ * A burst of changes is saved once, after the list has been quiet for a while, but a list which keeps
+ * changing is still saved once its oldest unsaved change has waited the maximum delay. A save is
+ * skipped if the list has no unsaved changes by the time it runs, such as after a manual save.
+ *
+ * Saves run on the service's own thread, never on the caller's or the event dispatch thread. Each
+ * save's lag, from the oldest change it saved until the save finished, and its duration are recorded
+ * in histograms in the default MetricsRegistry. Closing the service saves any pending changes and
+ * waits for that save, so it should not be called on the event dispatch thread, while cancelling it
+ * drops pending changes and returns at once.
+ *
+ * @author michaelabrams
+ *
+ */
+public class AutosaveService implements IssueListener, AutoCloseable {
+
+	/** DEFAULT_QUIET_MILLIS is how long the list must be unchanged before it is saved, by default */
+	public static final long DEFAULT_QUIET_MILLIS = 2_000;
+
+	/** DEFAULT_MAX_DELAY_MILLIS is the longest a change waits to be saved, by default */
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 30_000;
+
+	/** AUTOSAVES counts autosaves by whether they saved, were skipped, or failed */
+	private static final MetricFamily<Counter> AUTOSAVES = MetricsRegistry.getDefault().counter(
+			"issue_autosave_total", "Autosaves, by result.", "result");
+
+	/** LAG times from the oldest change an autosave saved until the save finished */
+	private static final Histogram LAG = MetricsRegistry.getDefault().histogram(
+			"issue_autosave_lag_seconds", "Time from the oldest unsaved change until its autosave finished.").labels();
+
+	/** DURATION times each autosave */
+	private static final Histogram DURATION = MetricsRegistry.getDefault().histogram(
+			"issue_autosave_duration_seconds", "Time spent writing autosaves.").labels();
+
+	/** manager is the manager whose issue list is saved */
+	private final IssueManager manager;
+
+	/** file is the file the issue list is saved to */
+	private final String file;
+
+	/** checksums is true if each issue is saved with its checksum */
+	private final boolean checksums;
+
+	/** quietNanos is how long the list must be unchanged before it is saved */
+	private final long quietNanos;
+
+	/** maxDelayNanos is the longest a change waits to be saved */
+	private final long maxDelayNanos;
+
+	/** executor runs the saves on a single daemon thread */
+	private final ScheduledThreadPoolExecutor executor;
+
+	/** pending is true if there are changes a save has not yet been started for */
+	private boolean pending;
+
+	/** scheduled is true if a check for a due save is scheduled */
+	private boolean scheduled;
+
+	/** closed is true once the service is closed or cancelled */
+	private boolean closed;
+
+	/** cancelled is true once the service is cancelled, so no save starts after that */
+	private boolean cancelled;
+
+	/** firstChange is the System.nanoTime of the oldest pending change */
+	private long firstChange;
+
+	/** lastChange is the System.nanoTime of the newest pending change */
+	private long lastChange;
+
+	/** saveCount is the number of autosaves which wrote the file */
+	private int saveCount;
+
+	/** skipCount is the number of autosaves skipped because nothing was unsaved */
+	private int skipCount;
+
+	/** errorCount is the number of autosaves which failed */
+	private int errorCount;
+
+	/**
+	 * Constructs and starts a service which saves the issue list to a file without checksums, after
+	 * DEFAULT_QUIET_MILLIS of quiet and at most DEFAULT_MAX_DELAY_MILLIS after a change.
+	 *
+	 * @param manager is the manager whose issue list is saved
+	 * @param file is the file the issue list is saved to
+	 *
+	 * @throws IllegalArgumentException if the manager or file is null
+	 */
+	public AutosaveService(IssueManager manager, String file) {
+		this(manager, file, false, DEFAULT_QUIET_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+	}
+
+	/**
+	 * Constructs and starts a service which saves the issue list to a file.
+	 *
+	 * @param manager is the manager whose issue list is saved
+	 * @param file is the file the issue list is saved to
+	 * @param checksums is true if each issue is saved with its checksum
+	 * @param quietMillis is how long the list must be unchanged before it is saved
+	 * @param maxDelayMillis is the longest a change waits to be saved
+	 *
+	 * @throws IllegalArgumentException if the manager or file is null, the quiet period is not
+	 * positive, or the maximum delay is shorter than the quiet period
+	 */
+	public AutosaveService(IssueManager manager, String file, boolean checksums, long quietMillis,
+			long maxDelayMillis) {
+
+		if(manager == null || file == null || quietMillis <= 0 || maxDelayMillis < quietMillis) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		this.manager = manager;
+		this.file = file;
+		this.checksums = checksums;
+		this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+
+		this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread thread = new Thread(r, "issue-autosave");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+		manager.addIssueListener(this);
+	}
+
+	/**
+	 * Schedules a save for an added issue
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+		changed();
+	}
+
+	/**
+	 * Schedules a save for a removed issue
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+		changed();
+	}
+
+	/**
+	 * Schedules a save for an updated issue
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated it
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+		changed();
+	}
+
+	/**
+	 * Schedules a save for a cleared list
+	 */
+	@Override
+	public void issuesCleared() {
+		changed();
+	}
+
+	/**
+	 * Gets the file the issue list is saved to
+	 *
+	 * @return the file
+	 */
+	public String getFile() {
+		return file;
+	}
+
+	/**
+	 * Gets the number of autosaves which wrote the file
+	 *
+	 * @return the number of saves
+	 */
+	public synchronized int getSaveCount() {
+		return saveCount;
+	}
+
+	/**
+	 * Gets the number of autosaves skipped because the list had no unsaved changes
+	 *
+	 * @return the number of skipped saves
+	 */
+	public synchronized int getSkipCount() {
+		return skipCount;
+	}
+
+	/**
+	 * Gets the number of autosaves which failed. A failed save is tried again after the quiet period.
+	 *
+	 * @return the number of failed saves
+	 */
+	public synchronized int getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * Gets the histogram of autosave lags, from the oldest change a save wrote until it finished,
+	 * shared by every service
+	 *
+	 * @return the lag histogram
+	 */
+	public static Histogram getLagHistogram() {
+		return LAG;
+	}
+
+	/**
+	 * Gets the histogram of autosave durations, shared by every service
+	 *
+	 * @return the duration histogram
+	 */
+	public static Histogram getDurationHistogram() {
+		return DURATION;
+	}
+
+	/**
+	 * Stops listening for changes, saves any pending changes on the service's thread, and waits for
+	 * that save to finish.
+	 */
+	@Override
+	public void close() {
+
+		manager.removeIssueListener(this);
+
+		synchronized (this) {
+			if(closed) {
+				return;
+			}
+			closed = true;
+			executor.execute(this::saveIfPending);
+		}
+
+		executor.shutdown();
+
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stops listening for changes and drops any pending changes without saving them or waiting. A
+	 * save which is already writing the file finishes, and no other save starts.
+	 */
+	public void cancel() {
+
+		synchronized (this) {
+			cancelled = true;
+			pending = false;
+			if(closed) {
+				return;
+			}
+			closed = true;
+			//The listener is removed on the service's thread, since a running save holds the manager's lock
+			executor.execute(() -> manager.removeIssueListener(this));
+		}
+
+		executor.shutdown();
+	}
+
+	/**
+	 * Records a change, and schedules a check for a due save if none is scheduled. Called on the
+	 * thread which changed the list, so it only notes the time.
+	 */
+	private synchronized void changed() {
+
+		if(closed) {
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		if(!pending) {
+			pending = true;
+			firstChange = now;
+		}
+		lastChange = now;
+
+		if(!scheduled) {
+			scheduled = true;
+			executor.schedule(this::check, quietNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Saves if the list has been quiet for the quiet period or the oldest change has waited the
+	 * maximum delay, and otherwise checks again when one of them will be true.
+	 */
+	private void check() {
+
+		long oldest;
+
+		synchronized (this) {
+			if(closed) {
+				return;
+			}
+
+			long now = System.nanoTime();
+			long due = Math.min(lastChange + quietNanos, firstChange + maxDelayNanos);
+
+			if(due - now > 0) {
+				executor.schedule(this::check, due - now, TimeUnit.NANOSECONDS);
+				return;
+			}
+
+			scheduled = false;
+			pending = false;
+			oldest = firstChange;
+		}
+
+		save(oldest);
+	}
+
+	/**
+	 * Saves any pending changes at once
+	 */
+	private void saveIfPending() {
+
+		long oldest;
+
+		synchronized (this) {
+			if(!pending) {
+				return;
+			}
+			pending = false;
+			oldest = firstChange;
+		}
+
+		save(oldest);
+	}
+
+	/**
+	 * Saves the issue list if it has unsaved changes and the service was not cancelled. The check and
+	 * the save hold the manager's lock, so once cancel returns the list can be replaced without a
+	 * save writing the new list to this file. A failed save is tried again once the list has been
+	 * quiet for the quiet period.
+	 *
+	 * @param oldest is the System.nanoTime of the oldest change being saved
+	 */
+	private void save(long oldest) {
+
+		long start;
+
+		synchronized (manager) {
+
+			synchronized (this) {
+				if(cancelled) {
+					return;
+				}
+			}
+
+			if(!manager.hasUnsavedChanges()) {
+				AUTOSAVES.labels("skipped").increment();
+				synchronized (this) {
+					skipCount++;
+				}
+				return;
+			}
+
+			start = System.nanoTime();
+
+			try {
+				manager.saveIssuesToFile(file, checksums);
+			} catch (IllegalArgumentException e) {
+				AUTOSAVES.labels("error").increment();
+				synchronized (this) {
+					errorCount++;
+				}
+				changed();
+				return;
+			}
+		}
+
+		long end = System.nanoTime();
+		DURATION.record(end - start);
+		LAG.record(end - oldest);
+		AUTOSAVES.labels("saved").increment();
+
+		synchronized (this) {
+			saveCount++;
+		}
+	}
+}
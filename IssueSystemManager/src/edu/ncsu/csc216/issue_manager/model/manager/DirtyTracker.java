@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.BitSet;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+
+/**
+ * DirtyTracker listens to an IssueList and remembers which issues were added, updated, or removed
+ * since the list was last loaded or saved, so a save only needs to rewrite those issues.
+ *
+ * @author michaelabrams
+ *
+ */
+class DirtyTracker implements IssueListener {
+
+	/** dirty has a bit set for the id of every issue added, updated, or removed */
+	private final BitSet dirty = new BitSet();
+
+	/** cleared is true if the list was cleared, so every issue must be rewritten */
+	private boolean cleared;
+
+	/** removed is true if an issue was removed, so its id may since have been given to a new issue */
+	private boolean removed;
+
+	/**
+	 * Marks an added issue dirty
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+		dirty.set(issue.getIssueId());
+	}
+
+	/**
+	 * Marks a removed issue dirty
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+		dirty.set(issue.getIssueId());
+		removed = true;
+	}
+
+	/**
+	 * Marks an updated issue dirty
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated it
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+		dirty.set(issue.getIssueId());
+	}
+
+	/**
+	 * Marks every issue dirty
+	 */
+	@Override
+	public void issuesCleared() {
+		cleared = true;
+	}
+
+	/**
+	 * Checks if the list was cleared since the last load or save, so no issue can be copied from the
+	 * file
+	 *
+	 * @return true if every issue must be rewritten
+	 */
+	boolean isCleared() {
+		return cleared;
+	}
+
+	/**
+	 * Checks if an issue was removed since the last load or save, so records kept for its id in files
+	 * which are only appended to must be dropped
+	 *
+	 * @return true if an issue was removed
+	 */
+	boolean hasRemovals() {
+		return removed;
+	}
+
+	/**
+	 * Gets the ids of the issues which were added, updated, or removed since the last load or save.
+	 * The set is the tracker's own and changes with it.
+	 *
+	 * @return the dirty ids
+	 */
+	BitSet getDirtyIds() {
+		return dirty;
+	}
+
+	/**
+	 * Checks if anything has changed since the last load or save
+	 *
+	 * @return true if there are changes to save
+	 */
+	boolean hasChanges() {
+		return cleared || !dirty.isEmpty();
+	}
+
+	/**
+	 * Gets the number of issues which changed since the last load or save
+	 *
+	 * @return the number of dirty ids
+	 */
+	int getDirtyCount() {
+		return dirty.cardinality();
+	}
+
+	/**
+	 * Forgets that issues were added, once they were read from the file they are saved in
+	 *
+	 * @param issues are the issues which match their file
+	 */
+	void clean(List<Issue> issues) {
+		for(Issue issue : issues) {
+			dirty.clear(issue.getIssueId());
+		}
+	}
+
+	/**
+	 * Forgets every change, once the list matches its file
+	 */
+	void reset() {
+		dirty.clear();
+		cleared = false;
+		removed = false;
+	}
+}
@@ -0,0 +1,420 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+
+/**
+ * IssueAggregates listens to the IssueManager's issue lists and keeps running counts of their issues
+ * by state and type, resolution, owner, and confirmed flag, along with the open issues of each type
+ * per owner. Each add, delete, and update moves an issue out of the counts it was in and into the
+ * ones it is in now, so a dashboard reads any count in constant time however many issues there are.
+ *
+ * Counts are changed while the manager's lock is held, but are read without it, so a dashboard never
+ * waits on a load or save. A count read while an update is being applied may not yet include it.
+ * Only the shards of a ShardManifest which have been loaded are counted.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueAggregates implements IssueListener {
+
+	/** STATE_COUNT is the number of issue states */
+	private static final int STATE_COUNT = Issue.getStateCount();
+
+	/** TYPES are the issue types by ordinal */
+	private static final IssueType[] TYPES = IssueType.values();
+
+	/** CLOSED is the ordinal of the closed state */
+	private static final int CLOSED = Issue.getStateOrdinal(Issue.CLOSED_NAME);
+
+	/** PRESENT is set in the snapshot of every issue in the list */
+	private static final long PRESENT = 1L;
+
+	/** STATE_SHIFT is where a snapshot holds the state ordinal, in three bits */
+	private static final int STATE_SHIFT = 1;
+
+	/** TYPE_SHIFT is where a snapshot holds the type ordinal, in one bit */
+	private static final int TYPE_SHIFT = 4;
+
+	/** RESOLUTION_SHIFT is where a snapshot holds the resolution ordinal plus one, or 0, in three bits */
+	private static final int RESOLUTION_SHIFT = 5;
+
+	/** CONFIRMED is set in the snapshot of a confirmed issue */
+	private static final long CONFIRMED = 1L << 8;
+
+	/** OWNER_SHIFT is where a snapshot holds the owner's index plus one, or 0 if it has no owner */
+	private static final int OWNER_SHIFT = 32;
+
+	/** total counts every issue */
+	private final LongAdder total = new LongAdder();
+
+	/** stateTypes count the issues of each state and type, by state ordinal times types plus type ordinal */
+	private final LongAdder[] stateTypes = newAdders(STATE_COUNT * TYPES.length);
+
+	/** resolutions count the issues of each resolution by ordinal plus one, with unresolved issues first */
+	private final LongAdder[] resolutions = newAdders(Issue.getResolutionCount());
+
+	/** confirmed counts the confirmed issues */
+	private final LongAdder confirmed = new LongAdder();
+
+	/** unowned holds the counts of the issues without an owner */
+	private final OwnerCounts unowned = new OwnerCounts();
+
+	/** owners holds the counts of each owner with issues, by owner id, and is read without the lock */
+	private final Map<String, OwnerCounts> owners = new ConcurrentHashMap<String, OwnerCounts>();
+
+	/** ownerIndexes numbers each owner ever counted since the list was cleared, for snapshots */
+	private final Map<String, Integer> ownerIndexes = new HashMap<String, Integer>();
+
+	/** ownerNames are the owners by index */
+	private final List<String> ownerNames = new ArrayList<String>();
+
+	/** snapshots are what each issue was counted as, by id, so an update can take the old values out */
+	private long[] snapshots = new long[64];
+
+	/**
+	 * Constructs empty aggregates
+	 */
+	IssueAggregates() {
+		//Empty constructor
+	}
+
+	/**
+	 * Counts an added issue
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+		count(issue);
+	}
+
+	/**
+	 * Takes a removed issue out of the counts
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		if(id < snapshots.length && snapshots[id] != 0) {
+			apply(snapshots[id], -1);
+			snapshots[id] = 0;
+		}
+	}
+
+	/**
+	 * Moves an updated issue from the counts it was in to the ones it is in now
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated it
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+		count(issue);
+	}
+
+	/**
+	 * Sets every count back to 0
+	 */
+	@Override
+	public void issuesCleared() {
+
+		total.reset();
+		confirmed.reset();
+
+		for(LongAdder adder : stateTypes) {
+			adder.reset();
+		}
+		for(LongAdder adder : resolutions) {
+			adder.reset();
+		}
+
+		unowned.reset();
+		owners.clear();
+		ownerIndexes.clear();
+		ownerNames.clear();
+		Arrays.fill(snapshots, 0);
+	}
+
+	/**
+	 * Gets the number of issues
+	 *
+	 * @return the number of issues
+	 */
+	public long getIssueCount() {
+		return total.sum();
+	}
+
+	/**
+	 * Gets the number of issues in a state
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the number of issues in the state
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public long getStateCount(String state) {
+
+		int ordinal = Issue.getStateOrdinal(state);
+		long sum = 0;
+
+		for(int type = 0; type < TYPES.length; type++) {
+			sum += stateTypes[ordinal * TYPES.length + type].sum();
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Gets the number of issues of a type
+	 *
+	 * @param type is the issue type
+	 *
+	 * @return the number of issues of the type
+	 */
+	public long getTypeCount(IssueType type) {
+
+		long sum = 0;
+
+		for(int state = 0; state < STATE_COUNT; state++) {
+			sum += stateTypes[state * TYPES.length + type.ordinal()].sum();
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Gets the number of issues of a type in a state
+	 *
+	 * @param state is the name of the state
+	 * @param type is the issue type
+	 *
+	 * @return the number of issues of the type in the state
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	public long getStateTypeCount(String state, IssueType type) {
+		return stateTypes[Issue.getStateOrdinal(state) * TYPES.length + type.ordinal()].sum();
+	}
+
+	/**
+	 * Gets the number of issues with a resolution
+	 *
+	 * @param resolution is the resolution, or null for issues without one
+	 *
+	 * @return the number of issues with the resolution
+	 */
+	public long getResolutionCount(Resolution resolution) {
+		return resolutions[Issue.getResolutionOrdinal(resolution)].sum();
+	}
+
+	/**
+	 * Gets the number of confirmed issues
+	 *
+	 * @return the number of confirmed issues
+	 */
+	public long getConfirmedCount() {
+		return confirmed.sum();
+	}
+
+	/**
+	 * Gets the number of issues an owner has
+	 *
+	 * @param owner is the owner id, or null for issues without an owner
+	 *
+	 * @return the number of the owner's issues
+	 */
+	public long getOwnerCount(String owner) {
+
+		OwnerCounts counts = owner == null ? unowned : owners.get(owner);
+
+		return counts == null ? 0 : counts.total.sum();
+	}
+
+	/**
+	 * Gets the number of open issues of a type an owner has, which are those not in the closed state
+	 *
+	 * @param owner is the owner id, or null for issues without an owner
+	 * @param type is the issue type
+	 *
+	 * @return the number of the owner's open issues of the type
+	 */
+	public long getOpenCount(String owner, IssueType type) {
+
+		OwnerCounts counts = owner == null ? unowned : owners.get(owner);
+
+		return counts == null ? 0 : counts.open[type.ordinal()].sum();
+	}
+
+	/**
+	 * Gets the owners who have at least one issue
+	 *
+	 * @return the owner ids in alphabetical order
+	 */
+	public List<String> getOwners() {
+
+		List<String> names = new ArrayList<String>();
+
+		for(Map.Entry<String, OwnerCounts> entry : owners.entrySet()) {
+			if(entry.getValue().total.sum() > 0) {
+				names.add(entry.getKey());
+			}
+		}
+
+		names.sort(null);
+
+		return names;
+	}
+
+	/**
+	 * Counts an issue as it is now, taking out what it was counted as before if it was counted
+	 *
+	 * @param issue is the issue
+	 */
+	private void count(Issue issue) {
+
+		int id = issue.getIssueId();
+		long snapshot = snapshot(issue);
+
+		if(id >= snapshots.length) {
+			snapshots = Arrays.copyOf(snapshots, Math.max(id + 1, snapshots.length * 2));
+		}
+
+		long old = snapshots[id];
+
+		if(old == snapshot) {
+			return;
+		}
+		if(old != 0) {
+			apply(old, -1);
+		}
+
+		apply(snapshot, 1);
+		snapshots[id] = snapshot;
+	}
+
+	/**
+	 * Packs the values an issue is counted by into a snapshot
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return the snapshot
+	 */
+	private long snapshot(Issue issue) {
+
+		long snapshot = PRESENT;
+
+		snapshot |= (long) Issue.getStateOrdinal(issue.getStateName()) << STATE_SHIFT;
+
+		snapshot |= (long) Issue.getTypeOrdinal(issue.getIssueType()) << TYPE_SHIFT;
+		snapshot |= (long) Issue.getResolutionOrdinal(issue.getResolution()) << RESOLUTION_SHIFT;
+
+		if(issue.isConfirmed()) {
+			snapshot |= CONFIRMED;
+		}
+
+		String owner = issue.getOwner();
+		if(owner != null) {
+			Integer index = ownerIndexes.get(owner);
+			if(index == null) {
+				index = ownerNames.size();
+				ownerIndexes.put(owner, index);
+				ownerNames.add(owner);
+			}
+			snapshot |= (long) (index + 1) << OWNER_SHIFT;
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Adds to or takes from every count a snapshot is in
+	 *
+	 * @param snapshot is the snapshot
+	 * @param delta is 1 to add the snapshot or -1 to take it out
+	 */
+	private void apply(long snapshot, int delta) {
+
+		int state = (int) (snapshot >>> STATE_SHIFT & 0x7);
+		int type = (int) (snapshot >>> TYPE_SHIFT & 0x1);
+		int resolution = (int) (snapshot >>> RESOLUTION_SHIFT & 0x7);
+		int owner = (int) (snapshot >>> OWNER_SHIFT);
+
+		total.add(delta);
+		stateTypes[state * TYPES.length + type].add(delta);
+		resolutions[resolution].add(delta);
+
+		if((snapshot & CONFIRMED) != 0) {
+			confirmed.add(delta);
+		}
+
+		OwnerCounts counts = owner == 0 ? unowned
+				: owners.computeIfAbsent(ownerNames.get(owner - 1), name -> new OwnerCounts());
+
+		counts.total.add(delta);
+
+		if(state != CLOSED) {
+			counts.open[type].add(delta);
+		}
+	}
+
+	/**
+	 * Creates adders which all start at 0
+	 *
+	 * @param count is the number of adders
+	 *
+	 * @return the adders
+	 */
+	private static LongAdder[] newAdders(int count) {
+
+		LongAdder[] adders = new LongAdder[count];
+
+		for(int i = 0; i < count; i++) {
+			adders[i] = new LongAdder();
+		}
+
+		return adders;
+	}
+
+	/**
+	 * OwnerCounts holds the counts of one owner's issues.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static class OwnerCounts {
+
+		/** total counts the owner's issues */
+		private final LongAdder total = new LongAdder();
+
+		/** open counts the owner's issues which are not closed, by type ordinal */
+		private final LongAdder[] open = newAdders(TYPES.length);
+
+		/**
+		 * Sets the counts back to 0
+		 */
+		private void reset() {
+
+			total.reset();
+
+			for(LongAdder adder : open) {
+				adder.reset();
+			}
+		}
+	}
+}
@@ -1,17 +1,33 @@
 package edu.ncsu.csc216.issue_manager.model.manager;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.index.AttributeIndex;
+import edu.ncsu.csc216.issue_manager.model.index.TextIndex;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogReader;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+import edu.ncsu.csc216.issue_manager.model.issue.TransitionLog;
+import edu.ncsu.csc216.issue_manager.model.jfr.IssueBulkEvent;
+import edu.ncsu.csc216.issue_manager.model.query.IssueQuery;
+import edu.ncsu.csc216.issue_manager.model.query.QueryPlan;
+import edu.ncsu.csc216.issue_manager.model.query.QueryPlanner;
 
 /**
  * IssueList maintains a list of all issues. Responsible for keeping track of issue id's to make
  * sure they do not conflict, adding issues to list, removing issues from list, adding a collection
  * of issues to the list, searching for issues on the list, updating issues, and returning an entire
  * list of issues or sublists of itself. Issue list sorts issues in sorted order with ascending id's.
+ * Issue list notifies its IssueListeners of every change, and keeps a TextIndex of its issues' summaries
+ * and notes and an AttributeIndex of their states, types, confirmed flags, and resolutions up to date
+ * this way.
  * 
  * @author michaelabrams
  *
@@ -21,15 +37,54 @@ public class IssueList {
 	/** counter represents the id for the next issue */
 	private int counter;
 	
+	/** reservedCounter is the smallest the counter may be, so ids held outside the list are not reused */
+	private int reservedCounter = 1;
+	
 	/** issues is a list of the issues stored in the issue list */
 	private List<Issue> issues;
 	
+	/** listeners are notified whenever an issue is added, updated, or removed */
+	private List<IssueListener> listeners;
+	
+	/** textIndex is the index of words in the issues' summaries and notes */
+	private TextIndex textIndex;
+	
+	/** attributeIndex is the bitmap index of the issues' states, types, confirmed flags, and resolutions */
+	private AttributeIndex attributeIndex;
+	
+	/** planner runs queries against the issues, using the text and attribute indexes where they help */
+	private QueryPlanner planner;
+	
 	/**
 	 * Constructs an IssueList object with no parameters
 	 */
 	public IssueList() {
 		issues = new ArrayList<Issue>();
 		counter = 1;
+		listeners = new ArrayList<IssueListener>();
+		textIndex = new TextIndex();
+		addIssueListener(textIndex);
+		attributeIndex = new AttributeIndex();
+		addIssueListener(attributeIndex);
+		planner = new QueryPlanner(issues, textIndex, attributeIndex);
+	}
+	
+	/**
+	 * Registers a listener which is notified of every later change to the list.
+	 * 
+	 * @param listener is the listener to add
+	 */
+	public void addIssueListener(IssueListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Unregisters a listener.
+	 * 
+	 * @param listener is the listener to remove
+	 */
+	public void removeIssueListener(IssueListener listener) {
+		listeners.remove(listener);
 	}
 	
 	/**
@@ -49,9 +104,25 @@ public class IssueList {
 		
 		counter += 1;
 		
+		for(IssueListener listener : listeners) {
+			listener.issueAdded(newIssue);
+		}
+		
 		return counter - 1;
 	}
 	
+	/**
+	 * ConflictPolicy decides which issue is kept when issues being merged share an id.
+	 */
+	public enum ConflictPolicy {
+		/** KEEP_FIRST keeps the issue from the earliest source and drops the rest */
+		KEEP_FIRST,
+		/** KEEP_LAST keeps the issue from the latest source and drops the rest */
+		KEEP_LAST,
+		/** REMAP keeps the issue from the earliest source and gives the rest new ids after the largest id */
+		REMAP
+	}
+	
 	/**
 	 * Adds a list of issues onto the issue list in sorted order ignoring duplicate ids.
 	 * 
@@ -59,85 +130,267 @@ public class IssueList {
 	 */
 	public void addIssues(ArrayList<Issue> issues) {
 		
+		List<List<Issue>> sources = new ArrayList<List<Issue>>();
+		sources.add(issues);
+		
+		replaceIssues("addIssues", sources, ConflictPolicy.KEEP_FIRST);
+	}
+	
+	/**
+	 * Replaces the issue list with the issues of several sources, such as issue files from different
+	 * trackers, merged into ascending id order in a single pass. Issues which share an id, whether in
+	 * different sources or the same one, are resolved by the conflict policy, with earlier sources
+	 * coming first. The sources are not changed.
+	 * 
+	 * @param sources are the lists of issues to merge, in any order
+	 * @param policy decides which issue is kept when issues share an id
+	 * 
+	 * @return the number of issues which were dropped or given new ids
+	 * 
+	 * @throws IllegalArgumentException if the sources or the policy are null
+	 */
+	public int mergeIssues(List<? extends List<Issue>> sources, ConflictPolicy policy) {
+		
+		if(sources == null || policy == null) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+		
+		return replaceIssues("mergeIssues", sources, policy);
+	}
+	
+	/**
+	 * Replaces the issue list with a k-way merge of its sources on id. Each source is sorted, then
+	 * the smallest head of all the sources is taken until every source is used up, so issues which
+	 * share an id come out next to each other and are resolved as they are met.
+	 * 
+	 * @param operation is the name of the operation for its flight recorder event
+	 * @param sources are the lists of issues to merge
+	 * @param policy decides which issue is kept when issues share an id
+	 * 
+	 * @return the number of issues which were dropped or given new ids
+	 */
+	private int replaceIssues(String operation, List<? extends List<Issue>> sources, ConflictPolicy policy) {
+		
+		IssueBulkEvent event = new IssueBulkEvent();
+		event.begin();
+		
 		this.issues.clear();
 		
-		for(Issue issue: issues) {
-			addIssue(issue);
+		for(IssueListener listener : listeners) {
+			listener.issuesCleared();
 		}
 		
-		//Remove Duplicates
-		removeDuplicateIds();
+		//Sort each source, which is linear for a source already in id order
+		IssueBulkEvent phase = new IssueBulkEvent();
+		phase.begin();
 		
-		//Sort Issues
-		sortIssues();
+		int k = sources.size();
+		int inputCount = 0;
+		List<List<Issue>> sorted = new ArrayList<List<Issue>>(k);
 		
-
+		for(List<Issue> source : sources) {
+			List<Issue> copy = new ArrayList<Issue>(source);
+			copy.sort(Comparator.comparingInt(Issue::getIssueId));
+			sorted.add(copy);
+			inputCount += copy.size();
+		}
+		commitBulkEvent(phase, "sortIssues", inputCount);
+		
+		//Merge the sources, taking the smallest id and then the earliest source each time
+		phase = new IssueBulkEvent();
+		phase.begin();
+		
+		int[] positions = new int[k];
+		PriorityQueue<Integer> heads = new PriorityQueue<Integer>(Math.max(1, k), (a, b) -> {
+			int compare = Integer.compare(sorted.get(a).get(positions[a]).getIssueId(),
+					sorted.get(b).get(positions[b]).getIssueId());
+			return compare != 0 ? compare : Integer.compare(a, b);
+		});
+		
+		for(int source = 0; source < k; source++) {
+			if(!sorted.get(source).isEmpty()) {
+				heads.add(source);
+			}
+		}
 		
-		//Updates Counter
-		counter = issues.get(issues.size() - 1).getIssueId() + 1;
+		List<Issue> merged = new ArrayList<Issue>(inputCount);
+		List<Issue> remapped = new ArrayList<Issue>();
+		int conflicts = 0;
 		
+		while(!heads.isEmpty()) {
+			
+			int source = heads.poll();
+			Issue issue = sorted.get(source).get(positions[source]++);
+			
+			if(positions[source] < sorted.get(source).size()) {
+				heads.add(source);
+			}
+			
+			int last = merged.size() - 1;
+			
+			if(last < 0 || merged.get(last).getIssueId() != issue.getIssueId()) {
+				merged.add(issue);
+				continue;
+			}
+			
+			conflicts++;
+			
+			if(policy == ConflictPolicy.KEEP_LAST) {
+				merged.set(last, issue);
+			}
+			else if(policy == ConflictPolicy.REMAP) {
+				remapped.add(issue);
+			}
+		}
+		
+		//Remapped issues take ids after the largest, so the list stays in id order
+		int nextId = merged.isEmpty() ? 1 : merged.get(merged.size() - 1).getIssueId() + 1;
+		
+		for(Issue issue : remapped) {
+			merged.add(copyWithId(issue, nextId++));
+		}
 		
+		this.issues.addAll(merged);
+		commitBulkEvent(phase, "mergeIssues", inputCount);
+		
+		phase = new IssueBulkEvent();
+		phase.begin();
+		for(Issue issue : this.issues) {
+			for(IssueListener listener : listeners) {
+				listener.issueAdded(issue);
+			}
+		}
+		commitBulkEvent(phase, "notifyListeners", this.issues.size());
+		
+		//Updates Counter from the largest id now that the list is sorted
+		updateCounter();
+		
+		commitBulkEvent(event, operation, inputCount);
+		
+		return conflicts;
 	}
 	
 	/**
-	 * Sorts the issue list, from smallest to largest id's
+	 * Copies an issue under a new id, keeping its state, type, summary, owner, confirmation,
+	 * resolution, and notes.
+	 * 
+	 * @param issue is the issue to copy
+	 * @param id is the id of the copy
+	 * 
+	 * @return the copy
 	 */
-	private void sortIssues() {
+	private static Issue copyWithId(Issue issue, int id) {
+		Issue copy = new Issue(id, issue.getStateName(), issue.getIssueType(), issue.getSummary(), issue.getOwner(),
+				issue.isConfirmed(), issue.getResolution(), new ArrayList<String>(issue.getNotes()));
+		
+		if(issue.hasTransitions()) {
+			TransitionLog log = issue.getTransitionLog();
+			for(int i = 0; i < log.size(); i++) {
+				copy.getTransitionLog().add(log.getTime(i), log.getCode(i));
+			}
+		}
 		
-		Issue tempIssue;
+		return copy;
+	}
+	
+	/**
+	 * Ends a bulk operation's flight recorder event and commits it if a recording wants it.
+	 * 
+	 * @param event is the event begun before the operation
+	 * @param operation is the name of the operation
+	 * @param inputCount is the number of issues given to the operation
+	 */
+	private void commitBulkEvent(IssueBulkEvent event, String operation, int inputCount) {
 		
-		for(int i = 0; i < issues.size(); i++) {
-			for (int j = 0; j < issues.size(); j++) {
-				if(issues.get(i).getIssueId() < issues.get(j).getIssueId()) {
-					tempIssue = issues.get(i);
-					issues.set(i, issues.get(j));
-					issues.set(j, tempIssue);
-				}
-			}
+		event.end();
+		
+		if(event.shouldCommit()) {
+			event.operation = operation;
+			event.inputCount = inputCount;
+			event.resultCount = issues.size();
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Sets the counter to one more than the largest id in the list, or to one if the list is empty,
+	 * but never below the reserved ids.
+	 */
+	private void updateCounter() {
+		
+		if(issues.isEmpty()) {
+			counter = 1;
+		}
+		else {
+			counter = issues.get(issues.size() - 1).getIssueId() + 1;
 		}
 		
+		counter = Math.max(counter, reservedCounter);
 	}
 	
 	/**
-	 * Removes duplicate issues which have the same id from the issue list.
+	 * Keeps new issues from being given ids below a bound, such as the ids of issues in shards
+	 * which have not been loaded yet.
+	 * 
+	 * @param nextId is the smallest id a new issue may be given
 	 */
-	private void removeDuplicateIds() {
+	void reserveIds(int nextId) {
+		reservedCounter = nextId;
+		updateCounter();
+	}
+	
+	/**
+	 * Reserves a block of ids for new issues made outside the list, such as by a bulk import, so no
+	 * issue added meanwhile is given one of them.
+	 * 
+	 * @param count is the number of ids to reserve
+	 * 
+	 * @return the first id of the block
+	 */
+	int reserveIdBlock(int count) {
 		
-		int currentId;
-		int compareId;
+		int first = counter;
 		
+		reserveIds(first + count);
 		
-		for(int i = 0; i < issues.size(); i++) {
-			
-			currentId = issues.get(i).getIssueId();
-			
-			for(int j = 0; j < issues.size(); j++) {
-				//If reading the same issue, continue
-				if(i == j) {
-					continue;
-				}
-				
-				compareId = issues.get(j).getIssueId();
-				
-				//If a duplicate id is detected, remove duplication
-				if(currentId == compareId) {
-					issues.remove(j);
-					j--;
-				}
-				
+		return first;
+	}
+	
+	/**
+	 * Inserts a block of issues loaded from storage, such as a shard, or imported. No issue in the list
+	 * may have an id between the block's first and last ids. Listeners are told each issue was added.
+	 * 
+	 * @param block are the issues to insert in ascending id order
+	 */
+	void addLoadedIssues(List<Issue> block) {
+		
+		if(block.isEmpty()) {
+			return;
+		}
+		
+		this.issues.addAll(indexOfFirstId(block.get(0).getIssueId()), block);
+		
+		for(Issue issue : block) {
+			for(IssueListener listener : listeners) {
+				listener.issueAdded(issue);
 			}
 		}
 		
+		updateCounter();
 	}
 	
 	/**
-	 * Helper method used to add a single issue onto the issue list.
+	 * Finds the position of the first issue whose id is at least the given id.
 	 * 
-	 * @param issue is the issue to be added onto the issue list
+	 * @param id is the id to find
+	 * 
+	 * @return the index of the first issue with an id of at least id, or the size of the list if there is none
 	 */
-	private void addIssue(Issue issue) {
-		this.issues.add(issue);
+	int indexOfFirstId(int id) {
+		
+		int index = indexOfId(id, 0, issues.size() - 1);
 		
+		return index >= 0 ? index : -index - 1;
 	}
 	
 	/**
@@ -176,6 +429,211 @@ public class IssueList {
 		
 	}
 	
+	/**
+	 * Retrieves a page of issues in ascending id order, skipping the first offset issues which
+	 * match the filter. Without a filter the page is found directly, but with a filter every
+	 * skipped issue has to be checked, so getIssuesAfter is faster for paging deep into a
+	 * filtered list.
+	 * 
+	 * @param offset is the number of matching issues to skip
+	 * @param limit is the largest number of issues to return
+	 * @param issueType is the type issues must have, or null for any type
+	 * @param state is the state issues must be in, or null for any state
+	 * @param owner is the owner issues must have, or null for any owner
+	 * 
+	 * @return at most limit matching issues
+	 * 
+	 * @throws IllegalArgumentException if the offset or limit is negative.
+	 */
+	public List<Issue> getIssuesPage(int offset, int limit, String issueType, String state, String owner) {
+		
+		if(offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		
+		if(issueType == null && state == null && owner == null) {
+			int from = Math.min(offset, issues.size());
+			int to = (int) Math.min((long) from + limit, issues.size());
+			return new ArrayList<Issue>(issues.subList(from, to));
+		}
+		
+		List<Issue> rtnList = new ArrayList<Issue>(Math.min(limit, issues.size()));
+		
+		int skipped = 0;
+		
+		for(int i = 0; i < issues.size() && rtnList.size() < limit; i++) {
+			Issue issue = issues.get(i);
+			if(matches(issue, issueType, state, owner)) {
+				if(skipped < offset) {
+					skipped++;
+				}
+				else {
+					rtnList.add(issue);
+				}
+			}
+		}
+		
+		return rtnList;
+	}
+	
+	/**
+	 * Retrieves the page of issues which follows the last issue of the previous page. The first
+	 * issue after the cursor is found with a binary search, so a page costs the same however
+	 * deep into the list it is.
+	 * 
+	 * @param lastId is the id of the last issue on the previous page, or 0 for the first page
+	 * @param limit is the largest number of issues to return
+	 * @param issueType is the type issues must have, or null for any type
+	 * @param state is the state issues must be in, or null for any state
+	 * @param owner is the owner issues must have, or null for any owner
+	 * 
+	 * @return at most limit matching issues with ids greater than lastId
+	 * 
+	 * @throws IllegalArgumentException if the limit is negative.
+	 */
+	public List<Issue> getIssuesAfter(int lastId, int limit, String issueType, String state, String owner) {
+		
+		if(limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		
+		int start = indexOfId(lastId, 0, issues.size() - 1);
+		
+		start = start >= 0 ? start + 1 : -start - 1;
+		
+		List<Issue> rtnList = new ArrayList<Issue>(Math.min(limit, issues.size() - start));
+		
+		for(int i = start; i < issues.size() && rtnList.size() < limit; i++) {
+			Issue issue = issues.get(i);
+			if(matches(issue, issueType, state, owner)) {
+				rtnList.add(issue);
+			}
+		}
+		
+		return rtnList;
+	}
+	
+	/**
+	 * Checks an issue against an optional type, state, and owner.
+	 * 
+	 * @param issue is the issue to check
+	 * @param issueType is the type the issue must have, or null for any type
+	 * @param state is the state the issue must be in, or null for any state
+	 * @param owner is the owner the issue must have, or null for any owner
+	 * 
+	 * @return true if the issue matches every given field
+	 */
+	private static boolean matches(Issue issue, String issueType, String state, String owner) {
+		
+		return (issueType == null || issueType.equals(issue.getIssueType()))
+				&& (state == null || state.equals(issue.getStateName()))
+				&& (owner == null || owner.equals(issue.getOwner()));
+	}
+	
+	/**
+	 * Searches the issues' summaries and notes for words. Words next to each other must all
+	 * appear in an issue, and groups of words separated by OR are alternatives.
+	 * 
+	 * @param query is the words to search for
+	 * 
+	 * @return the matching issues in ascending id order
+	 */
+	public List<Issue> searchIssues(String query) {
+		
+		int[] ids = textIndex.search(query);
+		
+		List<Issue> rtnList = new ArrayList<Issue>(ids.length);
+		
+		int from = 0;
+		
+		for(int id : ids) {
+			
+			//Ids are ascending, so gallop forward from the last match before searching
+			int step = 1;
+			int to = from;
+			while(to < issues.size() && issues.get(to).getIssueId() < id) {
+				from = to + 1;
+				to += step;
+				step <<= 1;
+			}
+			
+			int index = indexOfId(id, from, Math.min(to, issues.size() - 1));
+			if(index >= 0) {
+				rtnList.add(issues.get(index));
+				from = index + 1;
+			}
+		}
+		
+		return rtnList;
+	}
+	
+	/**
+	 * Runs a query against the issues. The list must not change while the stream is read.
+	 * 
+	 * @param query is the query
+	 * 
+	 * @return the matching issues in ascending id order
+	 */
+	public Stream<Issue> queryIssues(IssueQuery query) {
+		return planner.stream(query);
+	}
+	
+	/**
+	 * Runs a query for the page of matches which follows the last issue of the previous page.
+	 * 
+	 * @param query is the query
+	 * @param lastId is the id of the last issue on the previous page, or 0 for the first page
+	 * @param limit is the largest number of issues to return
+	 * 
+	 * @return at most limit matching issues with ids greater than lastId
+	 * 
+	 * @throws IllegalArgumentException if the limit is negative.
+	 */
+	public List<Issue> queryIssuesAfter(IssueQuery query, int lastId, int limit) {
+		return planner.page(query, lastId, limit);
+	}
+	
+	/**
+	 * Plans a query without running it, to show which access path each of its alternatives takes.
+	 * 
+	 * @param query is the query
+	 * 
+	 * @return the plan of each of the query's alternatives
+	 */
+	public List<QueryPlan> explainQuery(IssueQuery query) {
+		return planner.plan(query);
+	}
+	
+	/**
+	 * Finds the position of an id in the list with a binary search, since issues are kept in
+	 * ascending id order.
+	 * 
+	 * @param id is the id to find
+	 * @param low is the first index to search
+	 * @param high is the last index to search
+	 * 
+	 * @return the index of the issue with the id, or (-(insertion point) - 1) if there is none
+	 */
+	private int indexOfId(int id, int low, int high) {
+		
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = issues.get(mid).getIssueId();
+			
+			if(midId < id) {
+				low = mid + 1;
+			}
+			else if(midId > id) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		
+		return -(low + 1);
+	}
+	
 	/**
 	 * Retrieves an issue from the issue list given a target id, and returns null if issue
 	 * can not be found.
@@ -186,12 +644,10 @@ public class IssueList {
 	 */
 	public Issue getIssueById(int id) {
 		
-		for (Issue issue: issues) {
-			
-			if(issue.getIssueId() == id) {
-				return issue;
-			}
-			
+		int index = indexOfId(id, 0, issues.size() - 1);
+		
+		if(index >= 0) {
+			return issues.get(index);
 		}
 		
 		return null;
@@ -209,13 +665,76 @@ public class IssueList {
 	 */
 	public void executeCommand(int id, Command command) {
 		
-		for (Issue issue : issues) {
-			if(issue.getIssueId() == id) {
+		Issue issue = getIssueById(id);
+		
+		if(issue != null) {
+			issue.update(command);
+			
+			for(IssueListener listener : listeners) {
+				listener.issueUpdated(issue, command);
+			}
+		}
+		
+		
+	}
+	
+	/**
+	 * Replays a command log onto the list, running each entry's command on the issue it names in
+	 * log order. Nothing stops the replay but a log which can not be read: a command the issue's
+	 * state rejects, a command for an issue which is not in the list, and a line which can not be
+	 * parsed are each counted and described to the problems consumer, and the replay moves on.
+	 * 
+	 * @param log is the command log, which is read to its end but not closed
+	 * @param problems is given a one line description of each entry which was not applied
+	 * 
+	 * @return the counts of what happened to the log's entries
+	 * 
+	 * @throws IllegalArgumentException if the log can not be read
+	 */
+	public ReplayReport replayCommands(CommandLogReader log, Consumer<String> problems) {
+		
+		IssueBulkEvent event = new IssueBulkEvent();
+		event.begin();
+		
+		ReplayReport report = new ReplayReport();
+		
+		while(log.next()) {
+			
+			Command command = log.getCommand();
+			
+			if(command == null) {
+				report.countMalformed();
+				problems.accept(log.getError());
+				continue;
+			}
+			
+			Issue issue = getIssueById(log.getIssueId());
+			
+			if(issue == null) {
+				report.countUnmatched();
+				problems.accept(log.getName() + ":" + log.getLineNumber() + ": no issue " + log.getIssueId() + ".");
+				continue;
+			}
+			
+			try {
 				issue.update(command);
+			} catch (UnsupportedOperationException e) {
+				report.countRejected();
+				problems.accept(log.getName() + ":" + log.getLineNumber() + ": " + command.getCommand()
+						+ " rejected for issue " + issue.getIssueId() + " in state " + issue.getStateName() + ".");
+				continue;
+			}
+			
+			report.countApplied();
+			
+			for(IssueListener listener : listeners) {
+				listener.issueUpdated(issue, command);
 			}
 		}
 		
+		commitBulkEvent(event, "replayCommands", (int) Math.min(report.getTotal(), Integer.MAX_VALUE));
 		
+		return report;
 	}
 	
 	/**
@@ -225,14 +744,15 @@ public class IssueList {
 	 */
 	public void deleteIssueById(int id) {
 		
-		for(int i = 0; i < issues.size(); i++) {
+		int index = indexOfId(id, 0, issues.size() - 1);
+		
+		if(index >= 0) {
 			
-			Issue currentIssue = issues.get(i);
+			Issue currentIssue = issues.remove(index);
+			updateCounter();
 			
-			if(currentIssue.getIssueId() == id) {
-				issues.remove(i);
-				counter = issues.get(issues.size() - 1).getIssueId() + 1;
-				break;
+			for(IssueListener listener : listeners) {
+				listener.issueRemoved(currentIssue);
 			}
 			
 		}
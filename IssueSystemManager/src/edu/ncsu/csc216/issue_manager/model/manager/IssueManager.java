@@ -1,19 +1,43 @@
 package edu.ncsu.csc216.issue_manager.model.manager;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import edu.ncsu.csc216.issue_manager.model.analytics.IssueAnalytics;
 import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogReader;
+import edu.ncsu.csc216.issue_manager.model.io.IssueExporter;
+import edu.ncsu.csc216.issue_manager.model.io.IssueImporter;
+import edu.ncsu.csc216.issue_manager.model.io.IssueLoadReport;
 import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
 import edu.ncsu.csc216.issue_manager.model.io.IssueWriter;
+import edu.ncsu.csc216.issue_manager.model.io.RecordIndex;
+import edu.ncsu.csc216.issue_manager.model.io.ShardManifest;
+import edu.ncsu.csc216.issue_manager.model.io.TransitionLogFile;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+import edu.ncsu.csc216.issue_manager.model.metrics.Histogram;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricFamily;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+import edu.ncsu.csc216.issue_manager.model.query.IssueQuery;
 
 /**
  * IssueManager is responsible for the entire life cycle of issueList. IssueManager can keep track
  * of issues, getIssuesByType, displayIssuesAsAnArray, saveIssuesToFile, loadIssuesFromFile, create
  * a new issue list, getIssueById, execute commands on issues, deleting issues, and adding issues to the
  * issue list. IssueManager follows a singelton pattern so only one instance of IssueManager will ever be created.
+ * All public methods synchronize on the shared instance so the manager can be driven from more than one thread,
+ * such as the headless server's request handlers. The time taken by loads, saves, lookups, and updates is
+ * recorded in the default MetricsRegistry.
+ * 
+ * Loading a ShardManifest instead of an issue file reads only the manifest. Each shard is loaded the first
+ * time a lookup by id, a table row, or a page needs it, so a large tracker starts up without reading the
+ * shards nobody looks at. Anything which needs every issue, such as a filter, a search, or a save, loads
+ * the remaining shards first.
  * 
  * @author michaelabrams
  *
@@ -23,6 +47,61 @@ public class IssueManager {
 	/** issueList is the list of issues currently stored in the manager */
 	private IssueList issueList;
 	
+	/** listeners are registered with every issue list the manager creates */
+	private final List<IssueListener> listeners = new ArrayList<IssueListener>();
+	
+	/** manifest describes the shards the issues are loaded from, or is null if they are not sharded */
+	private ShardManifest manifest;
+	
+	/** shardLoaded records which of the manifest's shards are in the issue list */
+	private boolean[] shardLoaded;
+	
+	/** changes tracks which issues changed since the issue list was last loaded or saved */
+	private DirtyTracker changes;
+	
+	/** savedIndex is where each issue is in the file last loaded or saved, or null if it is not known */
+	private RecordIndex savedIndex;
+	
+	/** transitions indexes every issue's transitions by the state they entered and their time */
+	private TransitionIndex transitions;
+	
+	/** aggregates keeps running counts of the issues in every issue list the manager creates */
+	private final IssueAggregates aggregates = new IssueAggregates();
+	
+	/** transitionsFile is the issue file whose transition log holds every transition but the unsaved ones, or null */
+	private String transitionsFile;
+	
+	/** OPERATION_SECONDS times each kind of IssueManager operation */
+	private static final MetricFamily<Histogram> OPERATION_SECONDS = MetricsRegistry.getDefault().histogram(
+			"issue_manager_operation_seconds", "Time spent in IssueManager operations.", "operation");
+	
+	/** LOAD_SECONDS times loading issue files */
+	private static final Histogram LOAD_SECONDS = OPERATION_SECONDS.labels("load");
+	
+	/** SAVE_SECONDS times saving issue files */
+	private static final Histogram SAVE_SECONDS = OPERATION_SECONDS.labels("save");
+	
+	/** LOOKUP_SECONDS times looking issues up by id */
+	private static final Histogram LOOKUP_SECONDS = OPERATION_SECONDS.labels("lookup");
+	
+	/** EXECUTE_SECONDS times executing commands, including rejected ones */
+	private static final Histogram EXECUTE_SECONDS = OPERATION_SECONDS.labels("execute");
+	
+	/** ADD_SECONDS times adding issues */
+	private static final Histogram ADD_SECONDS = OPERATION_SECONDS.labels("add");
+	
+	/** DELETE_SECONDS times deleting issues */
+	private static final Histogram DELETE_SECONDS = OPERATION_SECONDS.labels("delete");
+	
+	/** REPLAY_SECONDS times replaying command logs */
+	private static final Histogram REPLAY_SECONDS = OPERATION_SECONDS.labels("replay");
+	
+	/** MERGE_SECONDS times merging issue files */
+	private static final Histogram MERGE_SECONDS = OPERATION_SECONDS.labels("merge");
+	
+	/** SHARD_LOAD_SECONDS times loading single shards */
+	private static final Histogram SHARD_LOAD_SECONDS = OPERATION_SECONDS.labels("shard_load");
+	
 	/** singleton is the shared instance of IssueManager */
 	private static IssueManager singleton;
 	
@@ -45,7 +124,9 @@ public class IssueManager {
 	 * Constructs an issue manager given no parameters
 	 */
 	private IssueManager() {
-		issueList = new IssueList();
+		createNewIssueList();
+		MetricsRegistry.getDefault().gauge("issue_manager_issues", "Number of issues in the issue list.",
+				this::getIssueCount);
 	}
 	
 	/**
@@ -53,7 +134,7 @@ public class IssueManager {
 	 * 
 	 * @return the issue manager
 	 */
-	public static IssueManager getInstance() {
+	public static synchronized IssueManager getInstance() {
 		
 		if(singleton == null) {
 			singleton = new IssueManager();
@@ -65,72 +146,573 @@ public class IssueManager {
 	}
 	
 	/**
-	 * Writes the issue list to a provided output file.
+	 * Writes the issue list to a provided output file, or to shards beside it if the file is a manifest.
+	 * 
+	 * @param file is the file the issues are written to.
+	 */
+	public synchronized void saveIssuesToFile(String file) {
+		saveIssuesToFile(file, false);
+	}
+	
+	/**
+	 * Writes the issue list to a provided output file, or to shards beside it if the file is a manifest.
+	 * With checksums, a later load of a damaged file quarantines the damaged issues and loads the rest.
+	 * Shards are always written with checksums.
 	 * 
 	 * @param file is the file the issues are written to.
+	 * @param checksums is true if each issue should be followed by its checksum
 	 */
-	public void saveIssuesToFile(String file) {
+	public synchronized void saveIssuesToFile(String file, boolean checksums) {
 
-		IssueWriter.writeIssuesToFile(file, issueList.getIssues());
+		long start = System.nanoTime();
+		
+		try {
+			loadAllShards();
+			
+			if(ShardManifest.isManifest(file)) {
+				ShardManifest.write(file, issueList.getIssues(), ShardManifest.DEFAULT_SHARD_SIZE);
+				savedIndex = null;
+				saveTransitions(file);
+			}
+			else {
+				savedIndex = IssueWriter.writeChangedIssuesToFile(file, issueList.getIssues(), checksums,
+						changes.isCleared() ? null : savedIndex, changes.getDirtyIds());
+				saveTransitions(file);
+			}
+			
+			changes.reset();
+		} finally {
+			SAVE_SECONDS.recordSince(start);
+		}
+		
+	}
+	
+	/**
+	 * Exports the issue list to a file as JSON Lines or CSV, for other tools to read. Issues are
+	 * written one at a time through a fixed size buffer, so the export takes no more memory for a
+	 * larger list.
+	 * 
+	 * @param file is the file the issues are exported to
+	 * @param format is the format to export them in
+	 * 
+	 * @return the number of issues exported
+	 * 
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public synchronized int exportIssuesToFile(String file, IssueExporter.Format format) {
+		
+		loadAllShards();
+		
+		return IssueExporter.exportIssues(file, issueList.getIssues().stream(), format);
+	}
+	
+	/**
+	 * Imports new issues from a CSV or TSV file, such as an export from another tracker, and appends
+	 * them to the issue list at once. The rows are checked and made into issues in parallel, with ids
+	 * from a block reserved for the whole file, so the issues follow every issue already in the list
+	 * in the order of their rows. Rows which would not make a valid issue are skipped and reported.
+	 * 
+	 * @param file is the file issues are imported from
+	 * @param format is the file's format
+	 * 
+	 * @return the issues which were imported and the rows which were rejected
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read from/found or has no type, summary,
+	 * or note column
+	 */
+	public synchronized IssueLoadReport importIssuesFromFile(String file, IssueImporter.Format format) {
 		
+		long start = System.nanoTime();
+		
+		try {
+			IssueLoadReport report = IssueImporter.readIssues(file, format, issueList::reserveIdBlock);
+			
+			issueList.addLoadedIssues(report.getIssues());
+			
+			return report;
+		} finally {
+			ADD_SECONDS.recordSince(start);
+		}
 	}
 	
 	/**
-	 * Reads issues from file and adds them to the issue list
+	 * Reads issues from file and adds them to the issue list. If the file is a manifest, only the
+	 * manifest is read, and its shards are loaded as they are needed.
 	 * 
 	 * @param file is the file issues are read from
 	 */
-	public void loadIssuesFromFile(String file) {
+	public synchronized void loadIssuesFromFile(String file) {
 		
-		createNewIssueList();
+		long start = System.nanoTime();
+		
+		try {
+			if(ShardManifest.isManifest(file)) {
+				ShardManifest shards = ShardManifest.read(file);
+				
+				createNewIssueList();
+				
+				manifest = shards;
+				shardLoaded = new boolean[shards.getShardCount()];
+				issueList.reserveIds(shards.getLastId() + 1);
+				
+				//The log beside the manifest is checked now, and read for each shard as it is loaded
+				transitionsFile = TransitionLogFile.read(file, id -> null) < 0 ? null : file;
+				return;
+			}
+			
+			createNewIssueList();
+			
+			IssueLoadReport report = IssueReader.readIssuesWithIndex(file);
+			
+			this.issueList.addIssues(report.getIssues());
+			
+			loadTransitions(file);
+			
+			savedIndex = report.getRecordIndex();
+			changes.reset();
+		} finally {
+			LOAD_SECONDS.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Reads every valid issue from a file into a new issue list, carrying on past invalid records.
+	 * Each record which could not be loaded is described in the returned report.
+	 * 
+	 * @param file is the file issues are read from
+	 * 
+	 * @return the records which were rejected, with the issues which were loaded
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read
+	 */
+	public synchronized IssueLoadReport loadIssuesFromFileLeniently(String file) {
+		
+		long start = System.nanoTime();
+		
+		try {
+			IssueLoadReport report = IssueReader.readIssuesLeniently(file);
+			
+			createNewIssueList();
+			
+			this.issueList.addIssues(report.getIssues());
+			
+			loadTransitions(file);
+			
+			savedIndex = report.getRecordIndex();
+			changes.reset();
+			
+			return report;
+		} finally {
+			LOAD_SECONDS.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Reads several issue files at once, one per thread, and replaces the issue list with their issues
+	 * merged into id order. Issues from different files which share an id are resolved by the conflict
+	 * policy, with files earlier in the list coming first.
+	 * 
+	 * @param files are the issue files to merge
+	 * @param policy decides which issue is kept when issues share an id
+	 * 
+	 * @return the number of issues which were dropped or given new ids
+	 * 
+	 * @throws IllegalArgumentException if the files or the policy are null, or a file can not be read
+	 */
+	public synchronized int mergeIssuesFromFiles(List<String> files, IssueList.ConflictPolicy policy) {
+		
+		if(files == null || policy == null) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
 		
-		ArrayList<Issue> returnedIssues = IssueReader.readIssuesFromFile(file);
+		long start = System.nanoTime();
 		
-		this.issueList.addIssues(returnedIssues);
+		try {
+			List<ArrayList<Issue>> sources = files.parallelStream()
+					.map(IssueReader::readIssuesFromFile)
+					.collect(Collectors.toList());
+			
+			createNewIssueList();
+			
+			return issueList.mergeIssues(sources, policy);
+		} finally {
+			MERGE_SECONDS.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Replays a command log file onto the issue list. Commands which can not be applied are
+	 * described to the problems consumer and skipped.
+	 * 
+	 * @param file is the command log file
+	 * @param problems is given a one line description of each entry which was not applied
+	 * 
+	 * @return the counts of what happened to the log's entries
+	 * 
+	 * @throws IllegalArgumentException if the file can not be read
+	 */
+	public synchronized ReplayReport replayCommandLog(String file, Consumer<String> problems) {
+		
+		long start = System.nanoTime();
+		
+		try (CommandLogReader log = new CommandLogReader(file)) {
+			loadAllShards();
+			return issueList.replayCommands(log, problems);
+		} finally {
+			REPLAY_SECONDS.recordSince(start);
+		}
 	}
 	
 	/**
 	 * Creates a new issue list
 	 */
-	public void createNewIssueList() {
+	public synchronized void createNewIssueList() {
 		issueList = new IssueList();
+		manifest = null;
+		shardLoaded = null;
+		savedIndex = null;
+		changes = new DirtyTracker();
+		issueList.addIssueListener(changes);
+		transitionsFile = null;
+		transitions = new TransitionIndex();
+		issueList.addIssueListener(transitions);
+		aggregates.issuesCleared();
+		issueList.addIssueListener(aggregates);
+		
+		for(IssueListener listener : listeners) {
+			listener.issuesCleared();
+			issueList.addIssueListener(listener);
+		}
 	}
 	
 	/**
-	 * Gets the issue list sorted by type. Each list index is an issue, and each issue has stored values
-	 * of the issue's id, name, type, and summary. 
+	 * Gets the running counts of the issues by state, type, resolution, owner, and confirmed flag.
+	 * The same aggregates are kept across new and loaded lists, and may be read without holding
+	 * the manager's lock.
 	 * 
-	 * @param issueType is the type of issue which is filtered for when returning all issues
+	 * @return the aggregates
+	 */
+	public IssueAggregates getAggregates() {
+		return aggregates;
+	}
+	
+	/**
+	 * Computes time in state, reopen rate, and throughput for every issue and each owner's issues,
+	 * analyzing chunks of the issue list in parallel while holding the manager's lock.
 	 * 
-	 * @return a list of the issues in a 2D array, filtered by issue type.
+	 * @param asOf is the time, in milliseconds since the epoch, stays in an issue's current state run until
+	 * 
+	 * @return the analytics
 	 */
-	public Object[][] getIssueListAsArrayByIssueType(String issueType) {
+	public synchronized IssueAnalytics getAnalytics(long asOf) {
 		
-		if(issueType == null) {
-			throw new IllegalArgumentException("Issue type cannot be null");
+		loadAllShards();
+		
+		return IssueAnalytics.analyzeIssues(issueList.getIssues(), asOf);
+	}
+	
+	/**
+	 * Gets the state an issue was in at a time, from its transition log
+	 * 
+	 * @param id is the id of the issue
+	 * @param time is the time in milliseconds since the epoch
+	 * 
+	 * @return the name of the state, or null if there is no issue with the id
+	 */
+	public synchronized String getIssueStateAt(int id, long time) {
+		
+		Issue issue = getIssueById(id);
+		
+		return issue == null ? null : issue.getStateAt(time);
+	}
+	
+	/**
+	 * Finds the issues which entered a state between two times
+	 * 
+	 * @param state is the name of the state
+	 * @param from is the earliest time, in milliseconds since the epoch
+	 * @param to is the time after the latest time
+	 * 
+	 * @return the ids of the issues which entered the state at or after from and before to, in
+	 * ascending order
+	 * 
+	 * @throws IllegalArgumentException if the state is not the name of a state
+	 */
+	public synchronized int[] getIssuesEnteringState(String state, long from, long to) {
+		
+		int ordinal = Issue.getStateOrdinal(state);
+		
+		loadAllShards();
+		
+		return transitions.getIssuesEntering(ordinal, from, to);
+	}
+	
+	/**
+	 * Checks if the issue list has changed since it was last loaded or saved
+	 * 
+	 * @return true if there are changes to save
+	 */
+	public synchronized boolean hasUnsavedChanges() {
+		return changes.hasChanges();
+	}
+	
+	/**
+	 * Gets the number of issues which were added, updated, or removed since the issue list was last
+	 * loaded or saved
+	 * 
+	 * @return the number of changed issues
+	 */
+	public synchronized int getUnsavedIssueCount() {
+		return changes.getDirtyCount();
+	}
+	
+	/**
+	 * Reads the transition log beside an issue file into the issues just loaded from it. A log which
+	 * can not be read or was written for another version of the file is set aside, and the issues
+	 * keep no history until the next save writes a new log.
+	 * 
+	 * @param file is the issue file
+	 */
+	private void loadTransitions(String file) {
+		
+		int read = TransitionLogFile.read(file, issueList::getIssueById);
+		
+		if(read > 0) {
+			transitions.rebuild(issueList.getIssues());
+		}
+		
+		transitionsFile = read < 0 ? null : file;
+	}
+	
+	/**
+	 * Saves the transition log beside an issue file. Only the unsaved transitions are appended if the
+	 * log already holds the rest, and otherwise every issue's transitions are written. The log is also
+	 * written in full once an issue was removed, so an issue later given its id does not inherit its log.
+	 * 
+	 * @param file is the issue file
+	 */
+	private void saveTransitions(String file) {
+		
+		if(changes.isCleared() || changes.hasRemovals() || transitionsFile == null
+				|| !new File(file).getAbsoluteFile().equals(new File(transitionsFile).getAbsoluteFile())) {
+			TransitionLogFile.write(file, issueList.getIssues());
+		}
+		else {
+			TransitionLogFile.append(file, transitions.getUnsavedIds(), transitions.getUnsavedTimes(),
+					transitions.getUnsavedCodes(), transitions.getUnsavedCount());
 		}
 		
-		List<Issue> issueTypeList = issueList.getIssuesByType(issueType);
+		transitions.clearUnsaved();
+		transitionsFile = file;
+	}
+	
+	/**
+	 * Loads a shard into the issue list if it is not loaded yet.
+	 * 
+	 * @param shard is the index of the shard in the manifest
+	 */
+	private void loadShard(int shard) {
+		
+		if(shardLoaded[shard]) {
+			return;
+		}
 		
-		Object[][] returnIssueType = new Object[issueTypeList.size()][COLUMNS];
+		long start = System.nanoTime();
 		
-		for(int i = 0; i < issueTypeList.size(); i++) {
-			Issue currentIssue = issueTypeList.get(i);
+		try {
+			ArrayList<Issue> block = IssueReader.readIssuesFromFile(manifest.getShardFile(shard));
 			
-			int id = currentIssue.getIssueId();
-			String state = currentIssue.getStateName();
-			String type = currentIssue.getIssueType();
-			String summary = currentIssue.getSummary();
+			//The shard's transitions are read before its issues are added, so they are indexed with them
+			if(transitionsFile != null && TransitionLogFile.read(transitionsFile, id -> findIssue(block, id)) < 0) {
+				transitionsFile = null;
+			}
 			
-			returnIssueType[i][ID_POS] = id;
-			returnIssueType[i][STATE_POS] = state;
-			returnIssueType[i][TYPE_POS] = type;
-			returnIssueType[i][SUMMARY_POS] = summary;
+			issueList.addLoadedIssues(block);
+			changes.clean(block);
+			shardLoaded[shard] = true;
+		} finally {
+			SHARD_LOAD_SECONDS.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Finds an issue in a block of issues in ascending id order
+	 * 
+	 * @param block are the issues
+	 * @param id is the id of the issue
+	 * 
+	 * @return the issue, or null if it is not in the block
+	 */
+	private static Issue findIssue(List<Issue> block, int id) {
+		
+		int low = 0;
+		int high = block.size() - 1;
+		
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = block.get(mid).getIssueId();
 			
+			if(midId < id) {
+				low = mid + 1;
+			}
+			else if(midId > id) {
+				high = mid - 1;
+			}
+			else {
+				return block.get(mid);
+			}
 		}
 		
+		return null;
+	}
+	
+	/**
+	 * Loads the shard which might hold an issue, if the issues are sharded. A shard whose Bloom filter
+	 * rules the id out is not loaded.
+	 * 
+	 * @param id is the id of the issue
+	 */
+	private void loadShardFor(int id) {
 		
-		return returnIssueType;
+		if(manifest == null) {
+			return;
+		}
+		
+		int shard = manifest.findShard(id);
+		
+		if(shard >= 0 && !shardLoaded[shard] && manifest.mightContain(shard, id)) {
+			loadShard(shard);
+		}
+	}
+	
+	/**
+	 * Loads every shard which is not loaded yet, if the issues are sharded.
+	 */
+	private void loadAllShards() {
+		
+		if(manifest == null) {
+			return;
+		}
+		
+		for(int shard = 0; shard < shardLoaded.length; shard++) {
+			loadShard(shard);
+		}
+	}
+	
+	/**
+	 * Gets the number of issues a shard holds now: the issues in the list within its id range once it
+	 * is loaded, or the count in the manifest until then.
+	 * 
+	 * @param shard is the index of the shard in the manifest
+	 * 
+	 * @return the number of issues in the shard
+	 */
+	private int shardSize(int shard) {
+		
+		if(shardLoaded[shard]) {
+			return issueList.indexOfFirstId(manifest.getLastId(shard) + 1) - issueList.indexOfFirstId(manifest.getFirstId(shard));
+		}
+		
+		return manifest.getIssueCount(shard);
+	}
+	
+	/**
+	 * Loads the shards holding a run of rows, if the issues are sharded, and finds the first row in the
+	 * issue list. Rows are positions in ascending id order among every issue, loaded or not.
+	 * 
+	 * @param from is the first row
+	 * @param to is one past the last row
+	 * 
+	 * @return the index of the first row in the issue list
+	 */
+	private int loadRows(int from, int to) {
+		
+		if(manifest == null) {
+			return from;
+		}
+		
+		int firstIndex = -1;
+		int row = 0;
+		
+		for(int shard = 0; shard < shardLoaded.length && row < to; shard++) {
+			
+			int size = shardSize(shard);
+			
+			if(row + size > from) {
+				loadShard(shard);
+				size = shardSize(shard);
+				
+				if(firstIndex < 0 && row + size > from) {
+					firstIndex = issueList.indexOfFirstId(manifest.getFirstId(shard)) + from - row;
+				}
+			}
+			
+			row += size;
+		}
+		
+		//Rows past the last shard are issues added since the manifest was loaded
+		if(firstIndex < 0) {
+			firstIndex = issueList.indexOfFirstId(manifest.getLastId() + 1) + from - row;
+		}
+		
+		return firstIndex;
+	}
+	
+	/**
+	 * Gets the number of shards which have been loaded
+	 * 
+	 * @return the number of loaded shards, or 0 if the issues are not sharded
+	 */
+	synchronized int getLoadedShardCount() {
+		
+		int loaded = 0;
+		
+		for(int shard = 0; manifest != null && shard < shardLoaded.length; shard++) {
+			loaded += shardLoaded[shard] ? 1 : 0;
+		}
+		
+		return loaded;
+	}
+	
+	/**
+	 * Registers a listener which is notified of every later change to the issues, including
+	 * changes to issue lists created or loaded later. The listener is called while the manager
+	 * is locked, on the thread making the change.
+	 * 
+	 * @param listener is the listener to add
+	 */
+	public synchronized void addIssueListener(IssueListener listener) {
+		listeners.add(listener);
+		issueList.addIssueListener(listener);
+	}
+	
+	/**
+	 * Unregisters a listener.
+	 * 
+	 * @param listener is the listener to remove
+	 */
+	public synchronized void removeIssueListener(IssueListener listener) {
+		listeners.remove(listener);
+		issueList.removeIssueListener(listener);
+	}
+	
+	/**
+	 * Gets the issue list sorted by type. Each list index is an issue, and each issue has stored values
+	 * of the issue's id, name, type, and summary. 
+	 * 
+	 * @param issueType is the type of issue which is filtered for when returning all issues
+	 * 
+	 * @return a list of the issues in a 2D array, filtered by issue type.
+	 */
+	public synchronized Object[][] getIssueListAsArrayByIssueType(String issueType) {
+		
+		if(issueType == null) {
+			throw new IllegalArgumentException("Issue type cannot be null");
+		}
+		
+		loadAllShards();
+		
+		return toArray(issueList.getIssuesByType(issueType));
 
 		
 	}
@@ -141,32 +723,257 @@ public class IssueManager {
 	 * 
 	 * @return a list of the issues in a 2D array
 	 */
-	public Object[][] getIssueListAsArray() {
+	public synchronized Object[][] getIssueListAsArray() {
 
+		loadAllShards();
 		
-		List<Issue> returnedList = this.issueList.getIssues();
+		return toArray(this.issueList.getIssues());
+	}
+	
+	/**
+	 * Gets the issues whose summary or notes contain the searched words, in the same format as
+	 * getIssueListAsArray. Words next to each other must all appear in an issue, and groups of
+	 * words separated by OR are alternatives.
+	 * 
+	 * @param query is the words to search for
+	 * 
+	 * @return a list of the matching issues in a 2D array
+	 */
+	public synchronized Object[][] getIssueListAsArrayBySearch(String query) {
 		
-		Object[][] returnIssueType = new Object[returnedList.size()][COLUMNS];
+		loadAllShards();
 		
-		for(int i = 0; i < returnedList.size(); i++) {
-			Issue currentIssue = returnedList.get(i);
-			
-			int id = currentIssue.getIssueId();
-			String state = currentIssue.getStateName();
-			String type = currentIssue.getIssueType();
-			String summary = currentIssue.getSummary();
-			
-			returnIssueType[i][ID_POS] = id;
-			returnIssueType[i][STATE_POS] = state;
-			returnIssueType[i][TYPE_POS] = type;
-			returnIssueType[i][SUMMARY_POS] = summary;
-			
+		return toArray(issueList.searchIssues(query));
+	}
+	
+	/**
+	 * Gets one page of the issue list in the same format as getIssueListAsArray, skipping the first
+	 * offset issues which match the optional type, state, and owner filters.
+	 * 
+	 * @param offset is the number of matching issues to skip
+	 * @param limit is the largest number of rows to return
+	 * @param issueType is the type issues must have, or null for any type
+	 * @param state is the state issues must be in, or null for any state
+	 * @param owner is the owner issues must have, or null for any owner
+	 * 
+	 * @return at most limit rows of matching issues in a 2D array
+	 * 
+	 * @throws IllegalArgumentException if the offset or limit is negative.
+	 */
+	public synchronized Object[][] getIssueListPageAsArray(int offset, int limit, String issueType, String state,
+			String owner) {
+		
+		if(manifest == null || issueType != null || state != null || owner != null) {
+			loadAllShards();
+			return toArray(issueList.getIssuesPage(offset, limit, issueType, state, owner));
+		}
+		
+		if(offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		
+		int end = (int) Math.min(getIssueCount(), (long) offset + limit);
+		
+		if(offset >= end) {
+			return new Object[0][];
+		}
+		
+		int first = loadRows(offset, end);
+		
+		return toArray(issueList.getIssues().subList(first, first + end - offset));
+	}
+	
+	/**
+	 * Gets the page of the issue list which follows the issue with the given id, in the same format
+	 * as getIssueListAsArray. Passing the id of the last row of one page gets the next page.
+	 * 
+	 * @param lastId is the id of the last issue on the previous page, or 0 for the first page
+	 * @param limit is the largest number of rows to return
+	 * @param issueType is the type issues must have, or null for any type
+	 * @param state is the state issues must be in, or null for any state
+	 * @param owner is the owner issues must have, or null for any owner
+	 * 
+	 * @return at most limit rows of matching issues with ids greater than lastId in a 2D array
+	 * 
+	 * @throws IllegalArgumentException if the limit is negative.
+	 */
+	public synchronized Object[][] getIssueListPageAsArrayAfter(int lastId, int limit, String issueType,
+			String state, String owner) {
+		
+		if(issueType != null || state != null || owner != null) {
+			loadAllShards();
+		}
+		
+		//Load shards after lastId until they hold a full page
+		int following = 0;
+		
+		for(int shard = 0; manifest != null && shard < shardLoaded.length && following < limit; shard++) {
+			if(manifest.getLastId(shard) > lastId) {
+				loadShard(shard);
+				following += issueList.indexOfFirstId(manifest.getLastId(shard) + 1)
+						- issueList.indexOfFirstId(Math.max(lastId + 1, manifest.getFirstId(shard)));
+			}
+		}
+		
+		return toArray(issueList.getIssuesAfter(lastId, limit, issueType, state, owner));
+	}
+	
+	/**
+	 * Runs a query against the issue list. The matches are collected while the manager is locked,
+	 * so the list may be read from another thread.
+	 * 
+	 * @param query is the query
+	 * 
+	 * @return the matching issues in ascending id order
+	 */
+	public synchronized List<Issue> queryIssues(IssueQuery query) {
+		
+		loadAllShards();
+		
+		return issueList.queryIssues(query).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Gets the page of the issues matching a query which follows the issue with the given id, in the
+	 * same format as getIssueListAsArray.
+	 * 
+	 * @param query is the query
+	 * @param lastId is the id of the last issue on the previous page, or 0 for the first page
+	 * @param limit is the largest number of rows to return
+	 * 
+	 * @return at most limit rows of matching issues with ids greater than lastId in a 2D array
+	 * 
+	 * @throws IllegalArgumentException if the limit is negative.
+	 */
+	public synchronized Object[][] getIssueListPageAsArrayAfter(IssueQuery query, int lastId, int limit) {
+		
+		loadAllShards();
+		
+		return toArray(issueList.queryIssuesAfter(query, lastId, limit));
+	}
+	
+	/**
+	 * Gets the number of issues in the issue list
+	 * 
+	 * @return the number of issues
+	 */
+	public synchronized int getIssueCount() {
+		
+		int count = issueList.getIssues().size();
+		
+		for(int shard = 0; manifest != null && shard < shardLoaded.length; shard++) {
+			count += shardLoaded[shard] ? 0 : manifest.getIssueCount(shard);
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Gets a single row of the issue list in the same format as getIssueListAsArray, by its
+	 * position in the list. Views which only show part of the list can fetch the rows they need
+	 * instead of copying the whole list.
+	 * 
+	 * @param index is the position of the issue in ascending id order
+	 * 
+	 * @return the issue's id, state, type, and summary, or null if the index is out of range
+	 */
+	public synchronized Object[] getIssueRowAt(int index) {
+		
+		if(index < 0 || index >= getIssueCount()) {
+			return null;
+		}
+		
+		return toRow(issueList.getIssues().get(loadRows(index, index + 1)));
+	}
+	
+	/**
+	 * Gets a single row of the issue list in the same format as getIssueListAsArray, by issue id.
+	 * 
+	 * @param id is the id of the issue
+	 * 
+	 * @return the issue's id, state, type, and summary, or null if there is no issue with the id
+	 */
+	public synchronized Object[] getIssueRowById(int id) {
+		
+		loadShardFor(id);
+		
+		Issue issue = issueList.getIssueById(id);
+		
+		if(issue == null) {
+			return null;
+		}
+		
+		return toRow(issue);
+	}
+	
+	/**
+	 * Gets the ids of every issue of a type, which is far smaller than the issues' rows.
+	 * 
+	 * @param issueType is the type of issue to find
+	 * 
+	 * @return the ids of the issues of the type in ascending order
+	 * 
+	 * @throws IllegalArgumentException if the issue type is null.
+	 */
+	public synchronized int[] getIssueIdsByIssueType(String issueType) {
+		
+		loadAllShards();
+		
+		return issueList.getIssuesByType(issueType).stream().mapToInt(Issue::getIssueId).toArray();
+	}
+	
+	/**
+	 * Gets a copy of the issue list which later changes to the manager do not affect, so it can be
+	 * read from another thread. The issues themselves are shared, not copied.
+	 * 
+	 * @return the issues in ascending id order
+	 */
+	public synchronized List<Issue> getIssueListSnapshot() {
+		
+		loadAllShards();
+		
+		return new ArrayList<Issue>(issueList.getIssues());
+	}
+	
+	/**
+	 * Converts issues into a 2D array with one row per issue, holding the issue's id, state,
+	 * type, and summary.
+	 * 
+	 * @param issues are the issues to convert
+	 * 
+	 * @return the issues in a 2D array
+	 */
+	private Object[][] toArray(List<Issue> issues) {
+		
+		Object[][] returnIssueType = new Object[issues.size()][];
+		
+		for(int i = 0; i < issues.size(); i++) {
+			returnIssueType[i] = toRow(issues.get(i));
 		}
 		
 		
 		return returnIssueType;
 	}
 	
+	/**
+	 * Converts a single issue into a row holding the issue's id, state, type, and summary.
+	 * 
+	 * @param currentIssue is the issue to convert
+	 * 
+	 * @return the issue's row
+	 */
+	private Object[] toRow(Issue currentIssue) {
+		
+		Object[] row = new Object[COLUMNS];
+		
+		row[ID_POS] = currentIssue.getIssueId();
+		row[STATE_POS] = currentIssue.getStateName();
+		row[TYPE_POS] = currentIssue.getIssueType();
+		row[SUMMARY_POS] = currentIssue.getSummary();
+		
+		return row;
+	}
+	
 	/**
 	 * Gets an issue from the issue list with a targeted id
 	 * 
@@ -174,8 +981,16 @@ public class IssueManager {
 	 * 
 	 * @return the issue with the targeted id
 	 */
-	public Issue getIssueById(int id) {
-		return issueList.getIssueById(id);
+	public synchronized Issue getIssueById(int id) {
+		
+		long start = System.nanoTime();
+		
+		try {
+			loadShardFor(id);
+			return issueList.getIssueById(id);
+		} finally {
+			LOOKUP_SECONDS.recordSince(start);
+		}
 	}
 	
 	/**
@@ -185,8 +1000,16 @@ public class IssueManager {
 	 * 
 	 * @param command is the command which is ran on an issue
 	 */
-	public void executeCommand(int id, Command command) {
-		issueList.executeCommand(id, command);
+	public synchronized void executeCommand(int id, Command command) {
+		
+		long start = System.nanoTime();
+		
+		try {
+			loadShardFor(id);
+			issueList.executeCommand(id, command);
+		} finally {
+			EXECUTE_SECONDS.recordSince(start);
+		}
 	}
 	
 	/**
@@ -194,8 +1017,16 @@ public class IssueManager {
 	 * 
 	 * @param id is the id of the issue you wish to delete
 	 */
-	public void deleteIssueById(int id) {
-		issueList.deleteIssueById(id);
+	public synchronized void deleteIssueById(int id) {
+		
+		long start = System.nanoTime();
+		
+		try {
+			loadShardFor(id);
+			issueList.deleteIssueById(id);
+		} finally {
+			DELETE_SECONDS.recordSince(start);
+		}
 	}
 	
 	/**
@@ -204,9 +1035,18 @@ public class IssueManager {
 	 * @param issueType is the type of issue to add
 	 * @param summary is the summary of the issue to add
 	 * @param note is the note of the issue to add
+	 * 
+	 * @return the id of the issue which was added
 	 */
-	public void addIssueToList(IssueType issueType, String summary, String note) {
-		issueList.addIssue(issueType, summary, note);
+	public synchronized int addIssueToList(IssueType issueType, String summary, String note) {
+		
+		long start = System.nanoTime();
+		
+		try {
+			return issueList.addIssue(issueType, summary, note);
+		} finally {
+			ADD_SECONDS.recordSince(start);
+		}
 	}
 	
 
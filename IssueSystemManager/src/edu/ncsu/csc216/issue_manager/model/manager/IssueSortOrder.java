@@ -0,0 +1,485 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * IssueSortOrder keeps issues sorted by one of the IssueManager's row columns. Each issue gets a
+ * primitive sort key when it is added: its state's place in the issue life cycle, its type, or the
+ * first two characters of its summary ignoring case, packed above its id. Sorting is then a sort of
+ * plain longs with no comparator calls. Summaries sharing their first two characters are sorted
+ * again by their next two characters the same way, and so on, so no Strings are compared.
+ * Ties are broken by ascending id in both directions. A descending order packs each id
+ * complemented, so reading the keys backwards still gives tied issues smallest id first.
+ *
+ * Each issue's current key is kept by its id, so when a single issue changes its old place and
+ * its new place are both found with a binary search instead of sorting everything again.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueSortOrder {
+
+	/** SIGN flips the sign bit of a key so signed order of keys is unsigned order of their sort values */
+	private static final long SIGN = Long.MIN_VALUE;
+
+	/** ID_MASK selects the id from a key */
+	private static final long ID_MASK = 0xFFFFFFFFL;
+
+	/** SMALL_RUN is the longest run of summaries sorted by comparing Strings */
+	private static final int SMALL_RUN = 16;
+
+	/** column is the IssueManager row column the issues are sorted by */
+	private final int column;
+
+	/** ascending is true if rows are read from the smallest key to the largest */
+	private final boolean ascending;
+
+	/** keys are the issues' sort keys in ascending order, with unused capacity at the end */
+	private long[] keys;
+
+	/** issues are the issues in the same order as their keys */
+	private Issue[] issues;
+
+	/** size is the number of issues in the order */
+	private int size;
+
+	/** keyOf maps the id of each issue in the order to its current key */
+	private final Map<Integer, Long> keyOf;
+
+	/** issueOf maps the id of each issue in the order to the issue, for its summary */
+	private final Map<Integer, Issue> issueOf;
+
+	/**
+	 * Sorts issues by a column.
+	 *
+	 * @param issues are the issues to sort, in ascending id order
+	 * @param column is one of IssueManager.ID_POS, STATE_POS, TYPE_POS, or SUMMARY_POS
+	 * @param ascending is true to sort from the smallest value to the largest
+	 *
+	 * @throws IllegalArgumentException if the column is not a row column or the issues are not in
+	 * ascending id order
+	 */
+	public IssueSortOrder(List<Issue> issues, int column, boolean ascending) {
+
+		if(column < 0 || column >= IssueManager.COLUMNS) {
+			throw new IllegalArgumentException("Invalid column.");
+		}
+
+		this.column = column;
+		this.ascending = ascending;
+		this.size = issues.size();
+		this.keys = new long[Math.max(size, 1)];
+		this.issues = new Issue[keys.length];
+		this.keyOf = new HashMap<Integer, Long>(size * 2);
+		this.issueOf = new HashMap<Integer, Issue>(size * 2);
+
+		//Sort on the list position rather than the id so each key leads straight back to its issue
+		long[] sorted = new long[size];
+		int lastId = 0;
+		for(int i = 0; i < size; i++) {
+			Issue issue = issues.get(i);
+			if(issue.getIssueId() <= lastId) {
+				throw new IllegalArgumentException("Issues must be in ascending id order.");
+			}
+			lastId = issue.getIssueId();
+			sorted[i] = pack(sortValue(issue), tie(i));
+		}
+
+		Arrays.sort(sorted);
+
+		for(int i = 0; i < size; i++) {
+			this.issues[i] = issues.get(tie((int) sorted[i]));
+		}
+
+		if(column == IssueManager.SUMMARY_POS) {
+			sortTies(sorted, 0, 0);
+		}
+
+		//Each key keeps its sort value and swaps the list position for the id
+		for(int i = 0; i < size; i++) {
+			int id = this.issues[i].getIssueId();
+			this.keys[i] = column == IssueManager.SUMMARY_POS ? pack(sortValue(this.issues[i]), tie(id))
+					: sorted[i] & ~ID_MASK | tie(id) & ID_MASK;
+			keyOf.put(id, keys[i]);
+			issueOf.put(id, this.issues[i]);
+		}
+	}
+
+	/**
+	 * Gets the column the issues are sorted by.
+	 *
+	 * @return the IssueManager row column
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Checks the direction of the order.
+	 *
+	 * @return true if rows go from the smallest value to the largest
+	 */
+	public boolean isAscending() {
+		return ascending;
+	}
+
+	/**
+	 * Gets the number of issues in the order.
+	 *
+	 * @return the number of issues
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the issue shown at a row.
+	 *
+	 * @param row is the row
+	 *
+	 * @return the issue at the row
+	 *
+	 * @throws IndexOutOfBoundsException if the row is not in the order
+	 */
+	public Issue getIssueAt(int row) {
+
+		if(row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Invalid row.");
+		}
+
+		return issues[ascending ? row : size - 1 - row];
+	}
+
+	/**
+	 * Adds an issue in its sorted place.
+	 *
+	 * @param issue is the issue to add
+	 */
+	public void add(Issue issue) {
+
+		long key = pack(sortValue(issue), tie(issue.getIssueId()));
+		int pos = insertionPoint(key, issue);
+
+		if(size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			issues = Arrays.copyOf(issues, size * 2);
+		}
+
+		System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+		System.arraycopy(issues, pos, issues, pos + 1, size - pos);
+		keys[pos] = key;
+		issues[pos] = issue;
+		size++;
+		keyOf.put(issue.getIssueId(), key);
+		issueOf.put(issue.getIssueId(), issue);
+	}
+
+	/**
+	 * Removes the issue with an id from the order.
+	 *
+	 * @param id is the id of the issue to remove
+	 *
+	 * @return true if the issue was in the order
+	 */
+	public boolean remove(int id) {
+
+		int pos = positionOf(id);
+
+		if(pos < 0) {
+			return false;
+		}
+
+		System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+		System.arraycopy(issues, pos + 1, issues, pos, size - pos - 1);
+		size--;
+		issues[size] = null;
+		keyOf.remove(id);
+		issueOf.remove(id);
+
+		return true;
+	}
+
+	/**
+	 * Moves an issue whose sort value may have changed to its new place. Issues which are not in
+	 * the order are ignored.
+	 *
+	 * @param issue is the issue which changed
+	 */
+	public void update(Issue issue) {
+
+		int pos = positionOf(issue.getIssueId());
+
+		if(pos < 0) {
+			return;
+		}
+
+		long key = pack(sortValue(issue), tie(issue.getIssueId()));
+
+		//Summaries never change, so an unchanged key means the issue is still in place
+		if(keys[pos] == key) {
+			return;
+		}
+
+		remove(issue.getIssueId());
+		add(issue);
+	}
+
+	/**
+	 * Gets the place of a state in the issue life cycle, so states sort in the order issues move
+	 * through them rather than alphabetically.
+	 *
+	 * @param stateName is the name of the state
+	 *
+	 * @return the state's place, starting at zero for new issues
+	 *
+	 * @throws IllegalArgumentException if the name is not a state
+	 */
+	public static int stateOrdinal(String stateName) {
+
+		switch(stateName) {
+			case Issue.NEW_NAME:
+				return 0;
+			case Issue.WORKING_NAME:
+				return 1;
+			case Issue.CONFIRMED_NAME:
+				return 2;
+			case Issue.VERIFYING_NAME:
+				return 3;
+			case Issue.CLOSED_NAME:
+				return 4;
+			default:
+				throw new IllegalArgumentException("Invalid state.");
+		}
+	}
+
+	/**
+	 * Computes the 32 bit sort value of an issue for this order's column.
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return the sort value, compared as an unsigned int
+	 */
+	private int sortValue(Issue issue) {
+
+		switch(column) {
+			case IssueManager.STATE_POS:
+				return stateOrdinal(issue.getStateName());
+			case IssueManager.TYPE_POS:
+				return Issue.I_BUG.equals(issue.getIssueType()) ? 0 : 1;
+			case IssueManager.SUMMARY_POS:
+				return summaryChars(issue, 0);
+			default:
+				return issue.getIssueId();
+		}
+	}
+
+	/**
+	 * Gets two characters of an issue's summary packed into an int, ignoring case. Characters
+	 * past the end of the summary are zero, so shorter summaries come first.
+	 *
+	 * @param issue is the issue
+	 * @param offset is the index of the first of the two characters
+	 *
+	 * @return the characters, the first in the high 16 bits
+	 */
+	private static int summaryChars(Issue issue, int offset) {
+
+		String summary = issue.getSummary();
+		int first = summary.length() > offset ? foldCase(summary.charAt(offset)) : 0;
+		int second = summary.length() > offset + 1 ? foldCase(summary.charAt(offset + 1)) : 0;
+
+		return first << 16 | second;
+	}
+
+	/**
+	 * Folds a character's case the same way String.compareToIgnoreCase does.
+	 *
+	 * @param c is the character
+	 *
+	 * @return the folded character
+	 */
+	private static char foldCase(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Gets the tie breaker packed for an id or list position. A descending order complements it,
+	 * so ties still read in ascending order when the keys are read backwards. Complementing twice
+	 * gives the id back.
+	 *
+	 * @param id is the id or list position
+	 *
+	 * @return the tie breaker, or the id for a tie breaker
+	 */
+	private int tie(int id) {
+		return ascending ? id : ~id;
+	}
+
+	/**
+	 * Packs a sort value and a tie breaker into a key whose signed order is the sort order.
+	 *
+	 * @param value is the sort value, compared as an unsigned int
+	 * @param tie is the tie breaker, compared as an unsigned int
+	 *
+	 * @return the key
+	 */
+	private static long pack(int value, int tie) {
+		return ((value & ID_MASK) << 32 | tie & ID_MASK) ^ SIGN;
+	}
+
+	/**
+	 * Sorts each run of issues whose summaries tied on two characters by the characters after
+	 * those. Runs which ended inside the two characters have identical summaries and are left in
+	 * the order they are in, which is tie breaker order.
+	 *
+	 * @param sorted are the sorted keys of the issues starting at from, holding the two characters
+	 * @param from is the position of the first issue
+	 * @param offset is the index of the two characters the issues are sorted by
+	 */
+	private void sortTies(long[] sorted, int from, int offset) {
+
+		int start = 0;
+
+		for(int i = 1; i <= sorted.length; i++) {
+			if(i == sorted.length || sorted[i] >>> 32 != sorted[start] >>> 32) {
+				if(i - start > 1 && (sorted[start] >>> 32 & 0xFFFF) != 0) {
+					sortRun(from + start, from + i, offset + 2);
+				}
+				start = i;
+			}
+		}
+	}
+
+	/**
+	 * Sorts issues by two characters of their summaries, keeping the order of ties, and then
+	 * sorts each run of ties by the following characters.
+	 *
+	 * @param from is the first issue to sort
+	 * @param to is one past the last issue to sort
+	 * @param offset is the index of the two characters to sort by
+	 */
+	private void sortRun(int from, int to, int offset) {
+
+		//Allocating keys costs more than comparing a few Strings
+		if(to - from <= SMALL_RUN) {
+			Arrays.sort(issues, from, to, summaryOrder());
+			return;
+		}
+
+		//Skip characters every summary in the run shares, such as a common first word
+		int start = offset + sharedLength(from, to, offset);
+
+		long[] sorted = new long[to - from];
+
+		for(int i = from; i < to; i++) {
+			sorted[i - from] = pack(summaryChars(issues[i], start), i - from);
+		}
+
+		Arrays.sort(sorted);
+
+		if(sorted[0] >>> 32 != sorted[sorted.length - 1] >>> 32) {
+			Issue[] run = Arrays.copyOfRange(issues, from, to);
+			for(int i = 0; i < sorted.length; i++) {
+				issues[from + i] = run[(int) (sorted[i] & ID_MASK)];
+			}
+		}
+
+		sortTies(sorted, from, start);
+	}
+
+	/**
+	 * Counts the characters after an offset which every summary in a run shares, ignoring case.
+	 *
+	 * @param from is the first issue in the run
+	 * @param to is one past the last issue in the run
+	 * @param offset is the index the shared characters start at
+	 *
+	 * @return the number of shared characters
+	 */
+	private int sharedLength(int from, int to, int offset) {
+
+		String first = issues[from].getSummary();
+		int shared = Math.max(0, first.length() - offset);
+
+		for(int i = from + 1; i < to && shared > 0; i++) {
+			String summary = issues[i].getSummary();
+			int length = Math.min(shared, summary.length() - offset);
+			int j = 0;
+			while(j < length && foldCase(summary.charAt(offset + j)) == foldCase(first.charAt(offset + j))) {
+				j++;
+			}
+			shared = Math.max(0, j);
+		}
+
+		return shared;
+	}
+
+	/**
+	 * Gets the order of issues whose summaries share their first two characters.
+	 *
+	 * @return the comparator, by summary ignoring case and then by tie breaker
+	 */
+	private Comparator<Issue> summaryOrder() {
+		return Comparator.comparing(Issue::getSummary, String.CASE_INSENSITIVE_ORDER)
+				.thenComparing(issue -> tie(issue.getIssueId()), Integer::compareUnsigned);
+	}
+
+	/**
+	 * Finds where a key belongs with a binary search over the keys, comparing summaries only
+	 * between issues with the same key prefix.
+	 *
+	 * @param key is the key of the issue
+	 * @param issue is the issue
+	 *
+	 * @return the position to insert the issue at
+	 */
+	private int insertionPoint(long key, Issue issue) {
+
+		int low = 0;
+		int high = size;
+
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			int cmp;
+			if(column == IssueManager.SUMMARY_POS && keys[mid] >>> 32 == key >>> 32) {
+				cmp = summaryOrder().compare(issues[mid], issue);
+			}
+			else {
+				cmp = Long.compare(keys[mid], key);
+			}
+			if(cmp < 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Finds the position of the issue with an id with a binary search for the key it was placed
+	 * with, which is still its key in the keys even if its sort value has since changed.
+	 *
+	 * @param id is the id of the issue
+	 *
+	 * @return the issue's position, or -1 if it is not in the order
+	 */
+	private int positionOf(int id) {
+
+		Long key = keyOf.get(id);
+
+		if(key == null) {
+			return -1;
+		}
+
+		return insertionPoint(key, issueOf.get(id));
+	}
+}
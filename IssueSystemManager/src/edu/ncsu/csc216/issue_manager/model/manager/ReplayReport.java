@@ -0,0 +1,114 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+/**
+ * ReplayReport counts what happened to the entries of a command log replayed onto an IssueList:
+ * commands which updated their issue, commands their issue's state rejected, commands for issues
+ * which are not in the list, and lines which could not be parsed.
+ *
+ * @author michaelabrams
+ *
+ */
+public class ReplayReport {
+
+	/** applied is the number of commands which updated their issue */
+	private long applied;
+
+	/** rejected is the number of commands their issue's state did not accept */
+	private long rejected;
+
+	/** unmatched is the number of commands for issues which are not in the list */
+	private long unmatched;
+
+	/** malformed is the number of lines which could not be parsed */
+	private long malformed;
+
+	/**
+	 * Constructs an empty report
+	 */
+	ReplayReport() {
+		//Empty constructor
+	}
+
+	/**
+	 * Gets the number of commands which updated their issue
+	 *
+	 * @return the number of applied commands
+	 */
+	public long getApplied() {
+		return applied;
+	}
+
+	/**
+	 * Gets the number of commands their issue's state did not accept
+	 *
+	 * @return the number of rejected commands
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Gets the number of commands for issues which are not in the list
+	 *
+	 * @return the number of unmatched commands
+	 */
+	public long getUnmatched() {
+		return unmatched;
+	}
+
+	/**
+	 * Gets the number of lines which could not be parsed
+	 *
+	 * @return the number of malformed lines
+	 */
+	public long getMalformed() {
+		return malformed;
+	}
+
+	/**
+	 * Gets the number of entries read from the log
+	 *
+	 * @return the total of every count
+	 */
+	public long getTotal() {
+		return applied + rejected + unmatched + malformed;
+	}
+
+	/**
+	 * Counts an applied command
+	 */
+	void countApplied() {
+		applied++;
+	}
+
+	/**
+	 * Counts a rejected command
+	 */
+	void countRejected() {
+		rejected++;
+	}
+
+	/**
+	 * Counts an unmatched command
+	 */
+	void countUnmatched() {
+		unmatched++;
+	}
+
+	/**
+	 * Counts a malformed line
+	 */
+	void countMalformed() {
+		malformed++;
+	}
+
+	/**
+	 * Returns the counts as a single line
+	 *
+	 * @return the report in a string representation
+	 */
+	@Override
+	public String toString() {
+		return applied + " applied, " + rejected + " rejected, " + unmatched + " unmatched, " + malformed + " malformed";
+	}
+}
@@ -0,0 +1,341 @@
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+import edu.ncsu.csc216.issue_manager.model.issue.TransitionLog;
+
+/**
+ * TransitionIndex listens to an IssueList and keeps, for each state, the time and issue id of every
+ * transition into that state, sorted by time, so the issues which entered a state between two times
+ * are found with two binary searches. It also keeps the transitions made since the list was last
+ * saved, in the order they were made, so they can be appended to the saved transition log.
+ *
+ * @author michaelabrams
+ *
+ */
+class TransitionIndex implements IssueListener {
+
+	/** STATE_COUNT is the number of issue states */
+	private static final int STATE_COUNT = Issue.getStateCount();
+
+	/** times are the times of each state's transitions */
+	private final long[][] times = new long[STATE_COUNT][16];
+
+	/** ids are the issue ids of each state's transitions */
+	private final int[][] ids = new int[STATE_COUNT][16];
+
+	/** sizes are the number of transitions into each state */
+	private final int[] sizes = new int[STATE_COUNT];
+
+	/** sorted is true for each state whose transitions are in time order */
+	private final boolean[] sorted = new boolean[STATE_COUNT];
+
+	/** unsavedIds are the issue ids of the transitions made since the last save */
+	private int[] unsavedIds = new int[16];
+
+	/** unsavedTimes are the times of the transitions made since the last save */
+	private long[] unsavedTimes = new long[16];
+
+	/** unsavedCodes are the TransitionLog codes of the transitions made since the last save */
+	private int[] unsavedCodes = new int[16];
+
+	/** unsavedCount is the number of transitions made since the last save */
+	private int unsavedCount;
+
+	/**
+	 * Constructs an empty index
+	 */
+	TransitionIndex() {
+		Arrays.fill(sorted, true);
+	}
+
+	/**
+	 * Indexes the transitions of an added issue
+	 *
+	 * @param issue is the issue which was added
+	 */
+	@Override
+	public void issueAdded(Issue issue) {
+
+		if(issue.hasTransitions()) {
+			TransitionLog log = issue.getTransitionLog();
+			for(int i = 0; i < log.size(); i++) {
+				add(log.getToStateOrdinal(i), log.getTime(i), issue.getIssueId());
+			}
+		}
+	}
+
+	/**
+	 * Forgets the transitions of a removed issue, so an issue which is later given its id does not
+	 * inherit them
+	 *
+	 * @param issue is the issue which was removed
+	 */
+	@Override
+	public void issueRemoved(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		for(int state = 0; state < STATE_COUNT; state++) {
+
+			//Compacting keeps the other transitions in the order they were in
+			int kept = 0;
+			for(int i = 0; i < sizes[state]; i++) {
+				if(ids[state][i] != id) {
+					times[state][kept] = times[state][i];
+					ids[state][kept++] = ids[state][i];
+				}
+			}
+			sizes[state] = kept;
+		}
+
+		int kept = 0;
+		for(int i = 0; i < unsavedCount; i++) {
+			if(unsavedIds[i] != id) {
+				unsavedIds[kept] = unsavedIds[i];
+				unsavedTimes[kept] = unsavedTimes[i];
+				unsavedCodes[kept++] = unsavedCodes[i];
+			}
+		}
+		unsavedCount = kept;
+	}
+
+	/**
+	 * Indexes the transition a command just made, which is the last in the issue's log
+	 *
+	 * @param issue is the issue which was updated
+	 * @param command is the command which updated it
+	 */
+	@Override
+	public void issueUpdated(Issue issue, Command command) {
+
+		TransitionLog log = issue.getTransitionLog();
+		int last = log.size() - 1;
+
+		if(last < 0) {
+			return;
+		}
+
+		add(log.getToStateOrdinal(last), log.getTime(last), issue.getIssueId());
+
+		if(unsavedCount == unsavedIds.length) {
+			unsavedIds = Arrays.copyOf(unsavedIds, unsavedCount * 2);
+			unsavedTimes = Arrays.copyOf(unsavedTimes, unsavedCount * 2);
+			unsavedCodes = Arrays.copyOf(unsavedCodes, unsavedCount * 2);
+		}
+
+		unsavedIds[unsavedCount] = issue.getIssueId();
+		unsavedTimes[unsavedCount] = log.getTime(last);
+		unsavedCodes[unsavedCount] = log.getCode(last);
+		unsavedCount++;
+	}
+
+	/**
+	 * Forgets every transition
+	 */
+	@Override
+	public void issuesCleared() {
+
+		Arrays.fill(sizes, 0);
+		Arrays.fill(sorted, true);
+		unsavedCount = 0;
+	}
+
+	/**
+	 * Indexes the transitions of every issue again, after their logs were read from a file
+	 *
+	 * @param issues are the issues in the list
+	 */
+	void rebuild(List<Issue> issues) {
+
+		issuesCleared();
+
+		for(Issue issue : issues) {
+			issueAdded(issue);
+		}
+	}
+
+	/**
+	 * Finds the issues which entered a state between two times.
+	 *
+	 * @param state is the ordinal of the state
+	 * @param from is the earliest time, in milliseconds since the epoch
+	 * @param to is the time after the latest time
+	 *
+	 * @return the ids of the issues in the list which entered the state at or after from and before
+	 * to, in ascending order
+	 */
+	int[] getIssuesEntering(int state, long from, long to) {
+
+		if(!sorted[state]) {
+			sort(times[state], ids[state], sizes[state]);
+			sorted[state] = true;
+		}
+
+		long[] stateTimes = times[state];
+		int start = firstAtOrAfter(stateTimes, sizes[state], from);
+		int end = firstAtOrAfter(stateTimes, sizes[state], to);
+
+		int[] found = new int[Math.max(0, end - start)];
+		int count = 0;
+
+		for(int i = start; i < end; i++) {
+			found[count++] = ids[state][i];
+		}
+
+		Arrays.sort(found, 0, count);
+
+		//Keeps each issue once, though it may have entered the state more than once
+		int distinct = 0;
+		for(int i = 0; i < count; i++) {
+			if(distinct == 0 || found[distinct - 1] != found[i]) {
+				found[distinct++] = found[i];
+			}
+		}
+
+		return Arrays.copyOf(found, distinct);
+	}
+
+	/**
+	 * Gets the number of transitions made since the last save
+	 *
+	 * @return the number of unsaved transitions
+	 */
+	int getUnsavedCount() {
+		return unsavedCount;
+	}
+
+	/**
+	 * Gets the issue ids of the transitions made since the last save. Only the first
+	 * getUnsavedCount() are used.
+	 *
+	 * @return the ids
+	 */
+	int[] getUnsavedIds() {
+		return unsavedIds;
+	}
+
+	/**
+	 * Gets the times of the transitions made since the last save. Only the first getUnsavedCount()
+	 * are used.
+	 *
+	 * @return the times
+	 */
+	long[] getUnsavedTimes() {
+		return unsavedTimes;
+	}
+
+	/**
+	 * Gets the codes of the transitions made since the last save. Only the first getUnsavedCount()
+	 * are used.
+	 *
+	 * @return the codes
+	 */
+	int[] getUnsavedCodes() {
+		return unsavedCodes;
+	}
+
+	/**
+	 * Forgets the unsaved transitions, once they are saved
+	 */
+	void clearUnsaved() {
+		unsavedCount = 0;
+	}
+
+	/**
+	 * Adds a transition into a state
+	 *
+	 * @param state is the ordinal of the state
+	 * @param time is the time of the transition
+	 * @param id is the id of the issue
+	 */
+	private void add(int state, long time, int id) {
+
+		int size = sizes[state];
+
+		if(size == times[state].length) {
+			times[state] = Arrays.copyOf(times[state], size * 2);
+			ids[state] = Arrays.copyOf(ids[state], size * 2);
+		}
+
+		if(size > 0 && times[state][size - 1] > time) {
+			sorted[state] = false;
+		}
+
+		times[state][size] = time;
+		ids[state][size] = id;
+		sizes[state] = size + 1;
+	}
+
+	/**
+	 * Finds the first time at or after a time in sorted times
+	 *
+	 * @param sortedTimes are the times in ascending order
+	 * @param size is the number of times
+	 * @param time is the time to find
+	 *
+	 * @return the index of the first time which is not before the time, or size if there is none
+	 */
+	private static int firstAtOrAfter(long[] sortedTimes, int size, long time) {
+
+		int low = 0;
+		int high = size;
+
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(sortedTimes[mid] < time) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Sorts transitions by time with a merge sort, moving each id with its time
+	 *
+	 * @param times are the times
+	 * @param ids are the ids
+	 * @param size is the number of transitions
+	 */
+	private static void sort(long[] times, int[] ids, int size) {
+
+		long[] timeBuffer = new long[size];
+		int[] idBuffer = new int[size];
+
+		for(int width = 1; width < size; width *= 2) {
+			for(int low = 0; low < size - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, size);
+
+				//Runs which are already in order are left alone
+				if(times[mid - 1] <= times[mid]) {
+					continue;
+				}
+
+				System.arraycopy(times, low, timeBuffer, low, high - low);
+				System.arraycopy(ids, low, idBuffer, low, high - low);
+
+				int left = low;
+				int right = mid;
+				for(int i = low; i < high; i++) {
+					if(right >= high || (left < mid && timeBuffer[left] <= timeBuffer[right])) {
+						times[i] = timeBuffer[left];
+						ids[i] = idBuffer[left++];
+					}
+					else {
+						times[i] = timeBuffer[right];
+						ids[i] = idBuffer[right++];
+					}
+				}
+			}
+		}
+	}
+}
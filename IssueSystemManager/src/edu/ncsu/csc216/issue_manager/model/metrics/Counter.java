@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter is a metric which only goes up, such as the number of issues read. It is backed by a
+ * LongAdder, so threads incrementing it at once update separate cells instead of contending on
+ * a single value.
+ *
+ * @author michaelabrams
+ *
+ */
+public class Counter {
+
+	/** count is the striped count */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Constructs a counter starting at zero
+	 */
+	public Counter() {
+		//Empty constructor
+	}
+
+	/**
+	 * Adds one to the counter.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Adds an amount to the counter.
+	 *
+	 * @param amount is the amount to add
+	 *
+	 * @throws IllegalArgumentException if the amount is negative
+	 */
+	public void add(long amount) {
+
+		if(amount < 0) {
+			throw new IllegalArgumentException("Invalid amount.");
+		}
+
+		count.add(amount);
+	}
+
+	/**
+	 * Gets the current count.
+	 *
+	 * @return the count
+	 */
+	public long get() {
+		return count.sum();
+	}
+}
@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Gauge is a metric which can go up and down, such as the number of issues in the list. Its value
+ * is read from a supplier only when the metrics are exported, so keeping it current costs nothing.
+ *
+ * @author michaelabrams
+ *
+ */
+public class Gauge {
+
+	/** source supplies the current value */
+	private volatile LongSupplier source = () -> 0;
+
+	/**
+	 * Constructs a gauge whose value is zero until a source is set
+	 */
+	public Gauge() {
+		//Empty constructor
+	}
+
+	/**
+	 * Sets where the gauge's value is read from.
+	 *
+	 * @param source supplies the current value
+	 */
+	public void setSource(LongSupplier source) {
+		this.source = source;
+	}
+
+	/**
+	 * Gets the current value.
+	 *
+	 * @return the value
+	 */
+	public long get() {
+		return source.getAsLong();
+	}
+}
@@ -0,0 +1,110 @@
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram counts durations into fixed buckets and keeps their total, so percentiles can be
+ * estimated from the exported counts. Durations are recorded in nanoseconds and exported in
+ * seconds. Every bucket is a LongAdder, so recording takes no locks.
+ *
+ * @author michaelabrams
+ *
+ */
+public class Histogram {
+
+	/** BOUNDS are the upper bounds of the buckets in nanoseconds, from 1 microsecond to about 16 seconds */
+	private static final long[] BOUNDS = {1_000L, 4_000L, 16_000L, 64_000L, 256_000L, 1_000_000L, 4_000_000L,
+		16_000_000L, 64_000_000L, 256_000_000L, 1_000_000_000L, 4_000_000_000L, 16_000_000_000L};
+
+	/** buckets count the durations at or below each bound, with one more for larger durations */
+	private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+	/** sum is the total of the recorded durations in nanoseconds */
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Constructs an empty histogram
+	 */
+	public Histogram() {
+		for(int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos is the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+
+		int i = 0;
+		while(i < BOUNDS.length && nanos > BOUNDS[i]) {
+			i++;
+		}
+
+		buckets[i].increment();
+		sum.add(nanos);
+	}
+
+	/**
+	 * Records the time since a start time taken from System.nanoTime.
+	 *
+	 * @param startNanos is the start time
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Gets the number of recorded durations.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+
+		long count = 0;
+
+		for(LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets the total of the recorded durations.
+	 *
+	 * @return the total in nanoseconds
+	 */
+	public long getSumNanos() {
+		return sum.sum();
+	}
+
+	/**
+	 * Gets the upper bounds of the buckets.
+	 *
+	 * @return the bounds in nanoseconds, not including the unbounded last bucket
+	 */
+	static long[] getBounds() {
+		return BOUNDS.clone();
+	}
+
+	/**
+	 * Gets the number of durations at or below each bound.
+	 *
+	 * @return the cumulative counts, with the count of every duration last
+	 */
+	long[] getCumulativeCounts() {
+
+		long[] counts = new long[buckets.length];
+		long total = 0;
+
+		for(int i = 0; i < buckets.length; i++) {
+			total += buckets[i].sum();
+			counts[i] = total;
+		}
+
+		return counts;
+	}
+}
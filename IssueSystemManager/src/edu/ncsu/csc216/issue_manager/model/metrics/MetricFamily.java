@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * MetricFamily is every metric sharing a name, one for each combination of label values, such as
+ * the transitions counted separately for each state and command. Children are created the first
+ * time their label values are used. Callers on hot paths should look a child up once and keep it.
+ *
+ * @param <T> is the type of metric in the family
+ *
+ * @author michaelabrams
+ *
+ */
+public class MetricFamily<T> {
+
+	/** name is the metric name */
+	private final String name;
+
+	/** help describes the metric */
+	private final String help;
+
+	/** type is the Prometheus type of the metric */
+	private final String type;
+
+	/** labelNames are the names of the labels, in order */
+	private final String[] labelNames;
+
+	/** factory creates a new child */
+	private final Supplier<T> factory;
+
+	/** children are the metrics by their label values */
+	private final Map<List<String>, T> children = new ConcurrentHashMap<List<String>, T>();
+
+	/**
+	 * Constructs an empty family.
+	 *
+	 * @param name is the metric name
+	 * @param help describes the metric
+	 * @param type is the Prometheus type of the metric
+	 * @param labelNames are the names of the labels
+	 * @param factory creates a new child
+	 */
+	MetricFamily(String name, String help, String type, String[] labelNames, Supplier<T> factory) {
+		this.name = name;
+		this.help = help;
+		this.type = type;
+		this.labelNames = labelNames.clone();
+		this.factory = factory;
+	}
+
+	/**
+	 * Gets the metric for a combination of label values, creating it if this is the first use.
+	 *
+	 * @param labelValues are the values of the labels, in the order the labels were named
+	 *
+	 * @return the metric
+	 *
+	 * @throws IllegalArgumentException if the number of values does not match the number of labels
+	 * or a value is null
+	 */
+	public T labels(String... labelValues) {
+
+		if(labelValues.length != labelNames.length) {
+			throw new IllegalArgumentException("Invalid labels.");
+		}
+
+		List<String> key = Arrays.asList(labelValues.clone());
+
+		if(key.contains(null)) {
+			throw new IllegalArgumentException("Invalid labels.");
+		}
+
+		return children.computeIfAbsent(key, k -> factory.get());
+	}
+
+	/**
+	 * Gets the metric name
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the metric description
+	 *
+	 * @return the description
+	 */
+	String getHelp() {
+		return help;
+	}
+
+	/**
+	 * Gets the Prometheus type
+	 *
+	 * @return the type
+	 */
+	String getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the label names
+	 *
+	 * @return a copy of the label names
+	 */
+	String[] getLabelNames() {
+		return labelNames.clone();
+	}
+
+	/**
+	 * Gets the children sorted by their label values, so exports are in a stable order.
+	 *
+	 * @return the label values and metric of each child
+	 */
+	List<Map.Entry<List<String>, T>> getChildren() {
+
+		List<Map.Entry<List<String>, T>> entries = new ArrayList<Map.Entry<List<String>, T>>(children.entrySet());
+
+		entries.sort((a, b) -> {
+			for(int i = 0; i < labelNames.length; i++) {
+				int cmp = a.getKey().get(i).compareTo(b.getKey().get(i));
+				if(cmp != 0) {
+					return cmp;
+				}
+			}
+			return 0;
+		});
+
+		return entries;
+	}
+}
@@ -0,0 +1,276 @@
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * MetricsRegistry holds every metric family by name and exports them in the Prometheus text
+ * format, either as a String for an HTTP endpoint or to a dump file. The model records into the
+ * shared default registry. Registering a name which is already registered returns the existing
+ * family, so classes can register their metrics in static fields.
+ *
+ * @author michaelabrams
+ *
+ */
+public class MetricsRegistry {
+
+	/** COUNTER is the Prometheus type of counters */
+	private static final String COUNTER = "counter";
+
+	/** GAUGE is the Prometheus type of gauges */
+	private static final String GAUGE = "gauge";
+
+	/** HISTOGRAM is the Prometheus type of histograms */
+	private static final String HISTOGRAM = "histogram";
+
+	/** NANOS_PER_SECOND converts recorded nanoseconds to exported seconds */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/** DEFAULT_REGISTRY is the registry the model records into */
+	private static final MetricsRegistry DEFAULT_REGISTRY = new MetricsRegistry();
+
+	/** families are the metric families by name, sorted so exports are in a stable order */
+	private final Map<String, MetricFamily<?>> families = new ConcurrentSkipListMap<String, MetricFamily<?>>();
+
+	/**
+	 * Constructs an empty registry
+	 */
+	public MetricsRegistry() {
+		//Empty constructor
+	}
+
+	/**
+	 * Gets the registry the model records into
+	 *
+	 * @return the default registry
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT_REGISTRY;
+	}
+
+	/**
+	 * Registers a family of counters.
+	 *
+	 * @param name is the metric name, which should end in _total
+	 * @param help describes the metric
+	 * @param labelNames are the names of the labels
+	 *
+	 * @return the family
+	 *
+	 * @throws IllegalArgumentException if the name is registered as a different metric
+	 */
+	public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+		return register(name, help, COUNTER, labelNames, Counter::new);
+	}
+
+	/**
+	 * Registers a family of histograms of durations.
+	 *
+	 * @param name is the metric name, which should end in _seconds
+	 * @param help describes the metric
+	 * @param labelNames are the names of the labels
+	 *
+	 * @return the family
+	 *
+	 * @throws IllegalArgumentException if the name is registered as a different metric
+	 */
+	public MetricFamily<Histogram> histogram(String name, String help, String... labelNames) {
+		return register(name, help, HISTOGRAM, labelNames, Histogram::new);
+	}
+
+	/**
+	 * Registers a gauge without labels, or points an existing one at a new source.
+	 *
+	 * @param name is the metric name
+	 * @param help describes the metric
+	 * @param source supplies the gauge's value when it is exported
+	 *
+	 * @return the gauge
+	 *
+	 * @throws IllegalArgumentException if the name is registered as a different metric
+	 */
+	public Gauge gauge(String name, String help, LongSupplier source) {
+
+		Gauge gauge = register(name, help, GAUGE, new String[0], Gauge::new).labels();
+		gauge.setSource(source);
+
+		return gauge;
+	}
+
+	/**
+	 * Registers a family, or gets the family already registered under the name.
+	 *
+	 * @param <T> is the type of metric in the family
+	 * @param name is the metric name
+	 * @param help describes the metric
+	 * @param type is the Prometheus type
+	 * @param labelNames are the names of the labels
+	 * @param factory creates a new child
+	 *
+	 * @return the family
+	 *
+	 * @throws IllegalArgumentException if the name is registered as a different metric
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> MetricFamily<T> register(String name, String help, String type, String[] labelNames,
+			Supplier<T> factory) {
+
+		if(name == null || !name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+			throw new IllegalArgumentException("Invalid metric.");
+		}
+
+		MetricFamily<?> family = families.computeIfAbsent(name,
+				k -> new MetricFamily<T>(name, help, type, labelNames, factory));
+
+		if(!family.getType().equals(type) || !Arrays.equals(family.getLabelNames(), labelNames)) {
+			throw new IllegalArgumentException("Invalid metric.");
+		}
+
+		return (MetricFamily<T>) family;
+	}
+
+	/**
+	 * Exports every metric in the Prometheus text format.
+	 *
+	 * @return the metrics as text
+	 */
+	public String toPrometheusText() {
+
+		StringBuilder sb = new StringBuilder();
+
+		for(MetricFamily<?> family : families.values()) {
+
+			sb.append("# HELP ").append(family.getName()).append(' ');
+			appendEscaped(sb, family.getHelp(), false);
+			sb.append('\n');
+			sb.append("# TYPE ").append(family.getName()).append(' ').append(family.getType()).append('\n');
+
+			String[] labelNames = family.getLabelNames();
+
+			for(Map.Entry<List<String>, ?> child : family.getChildren()) {
+				Object metric = child.getValue();
+				List<String> labelValues = child.getKey();
+
+				if(metric instanceof Counter) {
+					appendSample(sb, family.getName(), labelNames, labelValues, null, Long.toString(((Counter) metric).get()));
+				}
+				else if(metric instanceof Gauge) {
+					appendSample(sb, family.getName(), labelNames, labelValues, null, Long.toString(((Gauge) metric).get()));
+				}
+				else {
+					appendHistogram(sb, family.getName(), labelNames, labelValues, (Histogram) metric);
+				}
+			}
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Writes every metric in the Prometheus text format to a file, replacing its contents.
+	 *
+	 * @param file is the file the metrics are written to
+	 *
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public void writeToFile(String file) {
+
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			out.write(toPrometheusText());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Appends the bucket, sum, and count samples of a histogram.
+	 *
+	 * @param sb is the text being built
+	 * @param name is the metric name
+	 * @param labelNames are the names of the labels
+	 * @param labelValues are the values of the labels
+	 * @param histogram is the histogram
+	 */
+	private static void appendHistogram(StringBuilder sb, String name, String[] labelNames, List<String> labelValues,
+			Histogram histogram) {
+
+		long[] bounds = Histogram.getBounds();
+		long[] counts = histogram.getCumulativeCounts();
+
+		for(int i = 0; i < counts.length; i++) {
+			String le = i < bounds.length ? Double.toString(bounds[i] / NANOS_PER_SECOND) : "+Inf";
+			appendSample(sb, name + "_bucket", labelNames, labelValues, le, Long.toString(counts[i]));
+		}
+
+		appendSample(sb, name + "_sum", labelNames, labelValues, null,
+				Double.toString(histogram.getSumNanos() / NANOS_PER_SECOND));
+		appendSample(sb, name + "_count", labelNames, labelValues, null, Long.toString(counts[counts.length - 1]));
+	}
+
+	/**
+	 * Appends a single sample line.
+	 *
+	 * @param sb is the text being built
+	 * @param name is the sample name
+	 * @param labelNames are the names of the labels
+	 * @param labelValues are the values of the labels
+	 * @param le is the bucket bound of a histogram bucket, or null for other samples
+	 * @param value is the sample value
+	 */
+	private static void appendSample(StringBuilder sb, String name, String[] labelNames, List<String> labelValues,
+			String le, String value) {
+
+		sb.append(name);
+
+		if(labelNames.length > 0 || le != null) {
+			sb.append('{');
+			for(int i = 0; i < labelNames.length; i++) {
+				sb.append(labelNames[i]).append("=\"");
+				appendEscaped(sb, labelValues.get(i), true);
+				sb.append("\",");
+			}
+			if(le != null) {
+				sb.append("le=\"").append(le).append("\",");
+			}
+			sb.setLength(sb.length() - 1);
+			sb.append('}');
+		}
+
+		sb.append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Appends text with backslashes and line breaks escaped, and quotes too in label values.
+	 *
+	 * @param sb is the text being built
+	 * @param text is the text to escape
+	 * @param quotes is true to escape double quotes
+	 */
+	private static void appendEscaped(StringBuilder sb, String text, boolean quotes) {
+
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if(c == '\\') {
+				sb.append("\\\\");
+			}
+			else if(c == '\n') {
+				sb.append("\\n");
+			}
+			else if(c == '"' && quotes) {
+				sb.append("\\\"");
+			}
+			else {
+				sb.append(c);
+			}
+		}
+	}
+}
@@ -0,0 +1,407 @@
+package edu.ncsu.csc216.issue_manager.model.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.index.TextIndex;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * IssueFilter is one conjunction of an IssueQuery: an issue matches it only if it matches every one of
+ * its conditions. States, types, and resolutions are kept as bit masks of their ordinals, so combining
+ * two filters intersects the masks and checking an issue tests one bit each. A filter is immutable, and
+ * narrowing it gives a new filter.
+ *
+ * @author michaelabrams
+ *
+ */
+public final class IssueFilter {
+
+	/** STATE_COUNT is the number of issue states */
+	private static final int STATE_COUNT = Issue.getStateCount();
+
+	/** STATE_NAMES are the names of the states */
+	private static final String[] STATE_NAMES = {Issue.NEW_NAME, Issue.WORKING_NAME, Issue.CONFIRMED_NAME,
+			Issue.VERIFYING_NAME, Issue.CLOSED_NAME};
+
+	/** ALL_STATES has a bit set for every state */
+	private static final int ALL_STATES = (1 << STATE_COUNT) - 1;
+
+	/** ALL_TYPES has a bit set for every type */
+	private static final int ALL_TYPES = (1 << IssueType.values().length) - 1;
+
+	/** ALL_RESOLUTIONS has a bit set for no resolution, bit 0, and every resolution by ordinal plus one */
+	private static final int ALL_RESOLUTIONS = (1 << Issue.getResolutionCount()) - 1;
+
+	/** ANY is the filter every issue matches */
+	static final IssueFilter ANY = new IssueFilter(1, Integer.MAX_VALUE, ALL_STATES, ALL_TYPES, ALL_RESOLUTIONS,
+			null, null, Collections.<String>emptyList());
+
+	/** minId is the smallest id an issue may have */
+	private final int minId;
+
+	/** maxId is the largest id an issue may have */
+	private final int maxId;
+
+	/** stateMask has a bit set for the ordinal of each state an issue may be in */
+	private final int stateMask;
+
+	/** typeMask has a bit set for the ordinal of each type an issue may have */
+	private final int typeMask;
+
+	/** resolutionMask has a bit set for each resolution an issue may have, with bit 0 for none */
+	private final int resolutionMask;
+
+	/** confirmed is the confirmed flag an issue must have, or null for either */
+	private final Boolean confirmed;
+
+	/** owners are the owners an issue may have, with null for no owner, or null for any owner */
+	private final Set<String> owners;
+
+	/** texts are the TextIndex queries an issue must all match */
+	private final List<String> texts;
+
+	/**
+	 * Constructs a filter from its conditions
+	 *
+	 * @param minId is the smallest id
+	 * @param maxId is the largest id
+	 * @param stateMask is the mask of states
+	 * @param typeMask is the mask of types
+	 * @param resolutionMask is the mask of resolutions
+	 * @param confirmed is the confirmed flag, or null for either
+	 * @param owners are the owners, or null for any
+	 * @param texts are the text queries
+	 */
+	private IssueFilter(int minId, int maxId, int stateMask, int typeMask, int resolutionMask, Boolean confirmed,
+			Set<String> owners, List<String> texts) {
+		this.minId = minId;
+		this.maxId = maxId;
+		this.stateMask = stateMask;
+		this.typeMask = typeMask;
+		this.resolutionMask = resolutionMask;
+		this.confirmed = confirmed;
+		this.owners = owners;
+		this.texts = texts;
+	}
+
+	/**
+	 * Narrows the filter to an id range
+	 *
+	 * @param min is the smallest id
+	 * @param max is the largest id
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withIdRange(int min, int max) {
+		return new IssueFilter(Math.max(minId, min), Math.min(maxId, max), stateMask, typeMask, resolutionMask,
+				confirmed, owners, texts);
+	}
+
+	/**
+	 * Narrows the filter to the states in a mask
+	 *
+	 * @param mask is the mask of states
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withStates(int mask) {
+		return new IssueFilter(minId, maxId, stateMask & mask, typeMask, resolutionMask, confirmed, owners, texts);
+	}
+
+	/**
+	 * Narrows the filter to the types in a mask
+	 *
+	 * @param mask is the mask of types
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withTypes(int mask) {
+		return new IssueFilter(minId, maxId, stateMask, typeMask & mask, resolutionMask, confirmed, owners, texts);
+	}
+
+	/**
+	 * Narrows the filter to the resolutions in a mask
+	 *
+	 * @param mask is the mask of resolutions
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withResolutions(int mask) {
+		return new IssueFilter(minId, maxId, stateMask, typeMask, resolutionMask & mask, confirmed, owners, texts);
+	}
+
+	/**
+	 * Narrows the filter to a confirmed flag. A filter already needing the other flag matches nothing.
+	 *
+	 * @param flag is the confirmed flag
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withConfirmed(boolean flag) {
+
+		if(confirmed != null && confirmed != flag) {
+			return new IssueFilter(minId, maxId, 0, typeMask, resolutionMask, confirmed, owners, texts);
+		}
+
+		return new IssueFilter(minId, maxId, stateMask, typeMask, resolutionMask, flag, owners, texts);
+	}
+
+	/**
+	 * Narrows the filter to some owners
+	 *
+	 * @param names are the owners, with null for no owner
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withOwners(Set<String> names) {
+
+		Set<String> narrowed = new HashSet<String>(names);
+
+		if(owners != null) {
+			narrowed.retainAll(owners);
+		}
+
+		return new IssueFilter(minId, maxId, stateMask, typeMask, resolutionMask, confirmed,
+				Collections.unmodifiableSet(narrowed), texts);
+	}
+
+	/**
+	 * Narrows the filter to issues which also match a text query
+	 *
+	 * @param query is the TextIndex query
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter withText(String query) {
+
+		List<String> narrowed = new ArrayList<String>(texts);
+		narrowed.add(query);
+
+		return new IssueFilter(minId, maxId, stateMask, typeMask, resolutionMask, confirmed, owners,
+				Collections.unmodifiableList(narrowed));
+	}
+
+	/**
+	 * Narrows the filter to the issues another filter matches too
+	 *
+	 * @param other is the other filter
+	 *
+	 * @return the narrowed filter
+	 */
+	IssueFilter and(IssueFilter other) {
+
+		IssueFilter filter = withIdRange(other.minId, other.maxId).withStates(other.stateMask)
+				.withTypes(other.typeMask).withResolutions(other.resolutionMask);
+
+		if(other.confirmed != null) {
+			filter = filter.withConfirmed(other.confirmed);
+		}
+		if(other.owners != null) {
+			filter = filter.withOwners(other.owners);
+		}
+		for(String text : other.texts) {
+			filter = filter.withText(text);
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Checks if no issue can match the filter
+	 *
+	 * @return true if the filter's conditions contradict each other
+	 */
+	public boolean isEmpty() {
+		return minId > maxId || stateMask == 0 || typeMask == 0 || resolutionMask == 0
+				|| (owners != null && owners.isEmpty());
+	}
+
+	/**
+	 * Checks if an issue matches every condition of the filter
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return true if the issue matches
+	 */
+	public boolean matches(Issue issue) {
+
+		if(!matchesFields(issue)) {
+			return false;
+		}
+
+		for(String text : texts) {
+			if(!TextIndex.matches(issue, text)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if an issue matches every condition of the filter but its text queries, which are
+	 * answered from the text index instead when there is one
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return true if the issue matches every condition on its fields
+	 */
+	boolean matchesFields(Issue issue) {
+
+		int id = issue.getIssueId();
+
+		return id >= minId && id <= maxId
+				&& (stateMask == ALL_STATES || (stateMask & 1 << Issue.getStateOrdinal(issue.getStateName())) != 0)
+				&& (typeMask == ALL_TYPES || (typeMask & 1 << Issue.getTypeOrdinal(issue.getIssueType())) != 0)
+				&& (resolutionMask == ALL_RESOLUTIONS || (resolutionMask & 1 << Issue.getResolutionOrdinal(issue.getResolution())) != 0)
+				&& (confirmed == null || confirmed == issue.isConfirmed())
+				&& (owners == null || owners.contains(issue.getOwner()));
+	}
+
+	/**
+	 * Gets the smallest id an issue may have
+	 *
+	 * @return the smallest id
+	 */
+	public int getMinId() {
+		return minId;
+	}
+
+	/**
+	 * Gets the largest id an issue may have
+	 *
+	 * @return the largest id
+	 */
+	public int getMaxId() {
+		return maxId;
+	}
+
+	/**
+	 * Gets the states an issue may be in
+	 *
+	 * @return a mask with a bit set for the ordinal of each state
+	 */
+	public int getStateMask() {
+		return stateMask;
+	}
+
+	/**
+	 * Gets the types an issue may have
+	 *
+	 * @return a mask with a bit set for the ordinal of each type
+	 */
+	public int getTypeMask() {
+		return typeMask;
+	}
+
+	/**
+	 * Gets the resolutions an issue may have
+	 *
+	 * @return a mask with bit 0 set for no resolution and a bit set for each resolution's ordinal plus one
+	 */
+	public int getResolutionMask() {
+		return resolutionMask;
+	}
+
+	/**
+	 * Gets the confirmed flag an issue must have
+	 *
+	 * @return the flag, or null for either
+	 */
+	public Boolean getConfirmed() {
+		return confirmed;
+	}
+
+	/**
+	 * Gets the owners an issue may have
+	 *
+	 * @return the owners, with null for no owner, or null for any owner
+	 */
+	public Set<String> getOwners() {
+		return owners;
+	}
+
+	/**
+	 * Gets the text queries an issue must all match
+	 *
+	 * @return the TextIndex queries
+	 */
+	public List<String> getTexts() {
+		return texts;
+	}
+
+	/**
+	 * Describes the filter's conditions
+	 *
+	 * @return the conditions, joined by AND
+	 */
+	@Override
+	public String toString() {
+
+		List<String> conditions = new ArrayList<String>();
+
+		if(minId > 1 || maxId < Integer.MAX_VALUE) {
+			conditions.add("id " + minId + ".." + maxId);
+		}
+		if(stateMask != ALL_STATES) {
+			List<String> names = new ArrayList<String>();
+			for(String state : STATE_NAMES) {
+				if((stateMask & stateBit(state)) != 0) {
+					names.add(state);
+				}
+			}
+			conditions.add("state in " + names);
+		}
+		if(typeMask != ALL_TYPES) {
+			List<IssueType> types = new ArrayList<IssueType>();
+			for(IssueType type : IssueType.values()) {
+				if((typeMask & 1 << type.ordinal()) != 0) {
+					types.add(type);
+				}
+			}
+			conditions.add("type in " + types);
+		}
+		if(resolutionMask != ALL_RESOLUTIONS) {
+			List<Resolution> resolutions = new ArrayList<Resolution>();
+			if((resolutionMask & 1) != 0) {
+				resolutions.add(null);
+			}
+			for(Resolution resolution : Resolution.values()) {
+				if((resolutionMask & 1 << Issue.getResolutionOrdinal(resolution)) != 0) {
+					resolutions.add(resolution);
+				}
+			}
+			conditions.add("resolution in " + resolutions);
+		}
+		if(confirmed != null) {
+			conditions.add("confirmed " + confirmed);
+		}
+		if(owners != null) {
+			conditions.add("owner in " + owners);
+		}
+		for(String text : texts) {
+			conditions.add("text \"" + text + "\"");
+		}
+
+		return conditions.isEmpty() ? "any" : String.join(" AND ", conditions);
+	}
+
+	/**
+	 * Gets the mask bit of a state
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the state's bit
+	 *
+	 * @throws IllegalArgumentException if the name is not the name of a state
+	 */
+	static int stateBit(String state) {
+		return 1 << Issue.getStateOrdinal(state);
+	}
+}
@@ -0,0 +1,295 @@
+package edu.ncsu.csc216.issue_manager.model.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * IssueQuery is a typed query over issues, built by narrowing IssueQuery.all() with conditions on id
+ * range, state, type, owner, confirmed flag, resolution, and text. Each condition narrows every
+ * issue the query matches, so conditions are joined by AND, and queries can be joined with and and
+ * or into any combination. A query is kept as alternatives which are each an IssueFilter, and an
+ * issue matches the query if it matches any of them. Queries are immutable, so one can be built once
+ * and run from any thread.
+ *
+ * For example, the unconfirmed bugs in New or Confirmed which mention a crash are
+ * IssueQuery.all().type(IssueType.BUG).state(Issue.NEW_NAME, Issue.CONFIRMED_NAME).confirmed(false).text("crash").
+ *
+ * @author michaelabrams
+ *
+ */
+public final class IssueQuery {
+
+	/** ALL is the query every issue matches */
+	private static final IssueQuery ALL = new IssueQuery(Collections.singletonList(IssueFilter.ANY));
+
+	/** filters are the query's alternatives */
+	private final List<IssueFilter> filters;
+
+	/**
+	 * Constructs a query from its alternatives
+	 *
+	 * @param filters are the alternatives
+	 */
+	private IssueQuery(List<IssueFilter> filters) {
+		this.filters = filters;
+	}
+
+	/**
+	 * Gets the query every issue matches, which conditions are added to
+	 *
+	 * @return the query
+	 */
+	public static IssueQuery all() {
+		return ALL;
+	}
+
+	/**
+	 * Narrows the query to issues with ids in a range
+	 *
+	 * @param min is the smallest id
+	 * @param max is the largest id
+	 *
+	 * @return the narrowed query
+	 */
+	public IssueQuery idRange(int min, int max) {
+		return narrow(filter -> filter.withIdRange(min, max));
+	}
+
+	/**
+	 * Narrows the query to issues in any of some states
+	 *
+	 * @param states are the names of the states
+	 *
+	 * @return the narrowed query
+	 *
+	 * @throws IllegalArgumentException if a name is not the name of a state
+	 */
+	public IssueQuery state(String... states) {
+
+		int mask = 0;
+
+		for(String state : states) {
+			mask |= IssueFilter.stateBit(state);
+		}
+
+		int stateMask = mask;
+
+		return narrow(filter -> filter.withStates(stateMask));
+	}
+
+	/**
+	 * Narrows the query to issues of any of some types
+	 *
+	 * @param types are the issue types
+	 *
+	 * @return the narrowed query
+	 *
+	 * @throws IllegalArgumentException if a type is null
+	 */
+	public IssueQuery type(IssueType... types) {
+
+		int mask = 0;
+
+		for(IssueType type : types) {
+			if(type == null) {
+				throw new IllegalArgumentException("Invalid information.");
+			}
+			mask |= 1 << type.ordinal();
+		}
+
+		int typeMask = mask;
+
+		return narrow(filter -> filter.withTypes(typeMask));
+	}
+
+	/**
+	 * Narrows the query to issues with any of some owners
+	 *
+	 * @param owners are the owner ids, with null for issues without an owner
+	 *
+	 * @return the narrowed query
+	 */
+	public IssueQuery owner(String... owners) {
+		return narrow(filter -> filter.withOwners(new HashSet<String>(Arrays.asList(owners))));
+	}
+
+	/**
+	 * Narrows the query to issues with a confirmed flag
+	 *
+	 * @param confirmed is the flag issues must have
+	 *
+	 * @return the narrowed query
+	 */
+	public IssueQuery confirmed(boolean confirmed) {
+		return narrow(filter -> filter.withConfirmed(confirmed));
+	}
+
+	/**
+	 * Narrows the query to issues with any of some resolutions
+	 *
+	 * @param resolutions are the resolutions, with null for issues without one
+	 *
+	 * @return the narrowed query
+	 */
+	public IssueQuery resolution(Resolution... resolutions) {
+
+		int mask = 0;
+
+		for(Resolution resolution : resolutions) {
+			mask |= 1 << Issue.getResolutionOrdinal(resolution);
+		}
+
+		int resolutionMask = mask;
+
+		return narrow(filter -> filter.withResolutions(resolutionMask));
+	}
+
+	/**
+	 * Narrows the query to issues whose summary or notes match a text query. Words next to each other
+	 * must all appear in an issue, and groups of words separated by OR are alternatives, as in
+	 * IssueList.searchIssues.
+	 *
+	 * @param query is the text query
+	 *
+	 * @return the narrowed query
+	 *
+	 * @throws IllegalArgumentException if the text query is null
+	 */
+	public IssueQuery text(String query) {
+
+		if(query == null) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+
+		return narrow(filter -> filter.withText(query));
+	}
+
+	/**
+	 * Narrows the query to the issues another query matches too
+	 *
+	 * @param other is the other query
+	 *
+	 * @return the query matching issues which match both
+	 */
+	public IssueQuery and(IssueQuery other) {
+
+		List<IssueFilter> combined = new ArrayList<IssueFilter>();
+
+		for(IssueFilter filter : filters) {
+			for(IssueFilter otherFilter : other.filters) {
+				combined.add(filter.and(otherFilter));
+			}
+		}
+
+		return of(combined);
+	}
+
+	/**
+	 * Widens the query to the issues another query matches
+	 *
+	 * @param other is the other query
+	 *
+	 * @return the query matching issues which match either
+	 */
+	public IssueQuery or(IssueQuery other) {
+
+		List<IssueFilter> combined = new ArrayList<IssueFilter>(filters);
+		combined.addAll(other.filters);
+
+		return of(combined);
+	}
+
+	/**
+	 * Checks if an issue matches the query
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return true if the issue matches any of the query's alternatives
+	 */
+	public boolean matches(Issue issue) {
+
+		for(IssueFilter filter : filters) {
+			if(filter.matches(issue)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the query's alternatives, leaving out any which can match nothing
+	 *
+	 * @return the alternatives
+	 */
+	public List<IssueFilter> getFilters() {
+		return filters;
+	}
+
+	/**
+	 * Describes the query
+	 *
+	 * @return the alternatives, joined by OR
+	 */
+	@Override
+	public String toString() {
+
+		if(filters.isEmpty()) {
+			return "none";
+		}
+
+		List<String> alternatives = new ArrayList<String>();
+
+		for(IssueFilter filter : filters) {
+			alternatives.add(filters.size() > 1 ? "(" + filter + ")" : filter.toString());
+		}
+
+		return String.join(" OR ", alternatives);
+	}
+
+	/**
+	 * Narrows every alternative of the query
+	 *
+	 * @param narrowing narrows one alternative
+	 *
+	 * @return the narrowed query
+	 */
+	private IssueQuery narrow(UnaryOperator<IssueFilter> narrowing) {
+
+		List<IssueFilter> narrowed = new ArrayList<IssueFilter>(filters.size());
+
+		for(IssueFilter filter : filters) {
+			narrowed.add(narrowing.apply(filter));
+		}
+
+		return of(narrowed);
+	}
+
+	/**
+	 * Creates a query from alternatives, dropping those which can match nothing
+	 *
+	 * @param filters are the alternatives
+	 *
+	 * @return the query
+	 */
+	private static IssueQuery of(List<IssueFilter> filters) {
+
+		List<IssueFilter> kept = new ArrayList<IssueFilter>(filters.size());
+
+		for(IssueFilter filter : filters) {
+			if(!filter.isEmpty()) {
+				kept.add(filter);
+			}
+		}
+
+		return new IssueQuery(Collections.unmodifiableList(kept));
+	}
+}
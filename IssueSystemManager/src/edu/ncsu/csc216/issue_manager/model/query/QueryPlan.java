@@ -0,0 +1,134 @@
+package edu.ncsu.csc216.issue_manager.model.query;
+
+/**
+ * QueryPlan is how the QueryPlanner finds the issues matching one IssueFilter: which access path it
+ * takes, and about how many issues that path has to check.
+ *
+ * @author michaelabrams
+ *
+ */
+public final class QueryPlan {
+
+	/**
+	 * Access is an access path to the issues matching a filter.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	public enum Access {
+
+		/** The filter can match nothing, so no issue is read */
+		EMPTY,
+
+		/** The issues in the filter's id range are checked in order, on the caller's thread */
+		ID_RANGE,
+
+		/** The issues in the filter's id range are checked in parallel chunks */
+		PARALLEL_SCAN,
+
+		/** The ids which match the filter's text are taken from the text index, and only those issues are checked */
+		TEXT_INDEX,
+
+		/** The ids which match the filter's attributes are taken from the attribute bitmaps, and only those issues are checked */
+		BITMAP
+	}
+
+	/** access is the access path */
+	private final Access access;
+
+	/** estimate is about how many issues the access path checks */
+	private final long estimate;
+
+	/** from is the position in the issue list of the first issue in the filter's id range */
+	private final int from;
+
+	/** to is the position in the issue list after the last issue in the filter's id range */
+	private final int to;
+
+	/** ids are the ids the access path checks in ascending order, if it found them while planning */
+	private final int[] ids;
+
+	/**
+	 * Constructs a plan
+	 *
+	 * @param access is the access path
+	 * @param estimate is about how many issues the access path checks
+	 * @param from is the position of the first issue in the id range
+	 * @param to is the position after the last issue in the id range
+	 */
+	QueryPlan(Access access, long estimate, int from, int to) {
+		this(access, estimate, from, to, null);
+	}
+
+	/**
+	 * Constructs a plan whose access path found the ids it checks while planning
+	 *
+	 * @param access is the access path
+	 * @param estimate is about how many issues the access path checks
+	 * @param from is the position of the first issue in the id range
+	 * @param to is the position after the last issue in the id range
+	 * @param ids are the ids the access path checks in ascending order
+	 */
+	QueryPlan(Access access, long estimate, int from, int to, int[] ids) {
+		this.access = access;
+		this.estimate = estimate;
+		this.from = from;
+		this.to = to;
+		this.ids = ids;
+	}
+
+	/**
+	 * Gets the access path
+	 *
+	 * @return the access path
+	 */
+	public Access getAccess() {
+		return access;
+	}
+
+	/**
+	 * Gets about how many issues the access path checks
+	 *
+	 * @return the estimate, which is never less than the number of matching issues
+	 */
+	public long getEstimate() {
+		return estimate;
+	}
+
+	/**
+	 * Gets the position in the issue list of the first issue in the filter's id range
+	 *
+	 * @return the position
+	 */
+	int getFrom() {
+		return from;
+	}
+
+	/**
+	 * Gets the position in the issue list after the last issue in the filter's id range
+	 *
+	 * @return the position
+	 */
+	int getTo() {
+		return to;
+	}
+
+	/**
+	 * Gets the ids the access path checks, if it found them while planning
+	 *
+	 * @return the ids in ascending order, or null
+	 */
+	int[] getIds() {
+		return ids;
+	}
+
+	/**
+	 * Describes the plan
+	 *
+	 * @return the access path and its estimate
+	 */
+	@Override
+	public String toString() {
+		return access + " (" + estimate + " issues)";
+	}
+}
@@ -0,0 +1,406 @@
+package edu.ncsu.csc216.issue_manager.model.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.issue_manager.model.index.AttributeIndex;
+import edu.ncsu.csc216.issue_manager.model.index.IdBitmap;
+import edu.ncsu.csc216.issue_manager.model.index.TextIndex;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.query.QueryPlan.Access;
+
+/**
+ * QueryPlanner runs IssueQuery objects against a list of issues kept in ascending id order. Each of a
+ * query's alternatives is planned on its own. The id range is always pushed down, as two binary
+ * searches for the positions of its first and last issues. The most selective index which can answer
+ * some of the filter's conditions is then used if it narrows the issues to check to a fraction of the
+ * range: the text index for text, or the attribute bitmaps for state, type, confirmed flag, and
+ * resolution, which answer every such condition at once with bitwise ANDs and ORs. Otherwise the
+ * range is scanned, in parallel chunks if it is large and every match is wanted. The remaining
+ * conditions are checked on each issue the access path reads.
+ *
+ * Results come back in ascending id order, as a stream or as a page following a given id. The
+ * planner reads the list it was given each time it runs, so it must not change while a query runs.
+ *
+ * @author michaelabrams
+ *
+ */
+public class QueryPlanner {
+
+	/** PARALLEL_SCAN_MIN is the fewest issues a range must hold before it is scanned in parallel */
+	static final int PARALLEL_SCAN_MIN = 8192;
+
+	/** INDEX_FRACTION is how many times fewer issues an index must leave to check than the range holds */
+	static final int INDEX_FRACTION = 4;
+
+	/** issues are the issues queries run against, in ascending id order */
+	private final List<Issue> issues;
+
+	/** textIndex is the index of words in the issues' summaries and notes, or null if there is none */
+	private final TextIndex textIndex;
+
+	/** attributeIndex is the bitmap index of the issues' attributes, or null if there is none */
+	private final AttributeIndex attributeIndex;
+
+	/**
+	 * Constructs a planner for a list of issues
+	 *
+	 * @param issues are the issues, in ascending id order
+	 * @param textIndex is the index of words in the issues, or null to check text by reading each issue
+	 * @param attributeIndex is the bitmap index of the issues' attributes, or null to check them by
+	 *        reading each issue
+	 */
+	public QueryPlanner(List<Issue> issues, TextIndex textIndex, AttributeIndex attributeIndex) {
+		this.issues = issues;
+		this.textIndex = textIndex;
+		this.attributeIndex = attributeIndex;
+	}
+
+	/**
+	 * Plans a query without running it
+	 *
+	 * @param query is the query
+	 *
+	 * @return the plan of each of the query's alternatives
+	 */
+	public List<QueryPlan> plan(IssueQuery query) {
+
+		List<QueryPlan> plans = new ArrayList<QueryPlan>();
+
+		for(IssueFilter filter : query.getFilters()) {
+			plans.add(plan(filter, false));
+		}
+
+		return plans;
+	}
+
+	/**
+	 * Runs a query
+	 *
+	 * @param query is the query
+	 *
+	 * @return the matching issues in ascending id order
+	 */
+	public Stream<Issue> stream(IssueQuery query) {
+
+		List<IssueFilter> filters = query.getFilters();
+
+		if(filters.size() == 1) {
+			return stream(filters.get(0), plan(filters.get(0), false));
+		}
+
+		List<Issue> matches = new ArrayList<Issue>();
+
+		for(IssueFilter filter : filters) {
+			matches = union(matches, stream(filter, plan(filter, false)).collect(Collectors.toList()));
+		}
+
+		return matches.stream();
+	}
+
+	/**
+	 * Runs a query for one page of matches, following the last match of the previous page. Each
+	 * alternative reads only as far as it needs to fill the page.
+	 *
+	 * @param query is the query
+	 * @param lastId is the id of the last issue on the previous page, or 0 for the first page
+	 * @param limit is the largest number of issues to return
+	 *
+	 * @return at most limit matching issues with ids greater than lastId, in ascending id order
+	 *
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	public List<Issue> page(IssueQuery query, int lastId, int limit) {
+
+		if(limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		if(lastId == Integer.MAX_VALUE) {
+			return new ArrayList<Issue>();
+		}
+
+		List<Issue> matches = new ArrayList<Issue>();
+
+		for(IssueFilter filter : query.idRange(lastId + 1, Integer.MAX_VALUE).getFilters()) {
+			matches = union(matches, stream(filter, plan(filter, true)).limit(limit).collect(Collectors.toList()));
+		}
+
+		return matches.size() > limit ? new ArrayList<Issue>(matches.subList(0, limit)) : matches;
+	}
+
+	/**
+	 * Plans one alternative of a query
+	 *
+	 * @param filter is the alternative
+	 * @param bounded is true if only the first few matches are wanted, so a parallel scan would waste work
+	 *
+	 * @return the plan
+	 */
+	QueryPlan plan(IssueFilter filter, boolean bounded) {
+
+		if(filter.isEmpty()) {
+			return new QueryPlan(Access.EMPTY, 0, 0, 0);
+		}
+
+		int from = indexOfFirstId(filter.getMinId());
+		int to = filter.getMaxId() == Integer.MAX_VALUE ? issues.size() : indexOfFirstId(filter.getMaxId() + 1);
+		int range = Math.max(0, to - from);
+
+		Access access = bounded || range < PARALLEL_SCAN_MIN ? Access.ID_RANGE : Access.PARALLEL_SCAN;
+		long estimate = range;
+		int[] ids = null;
+
+		if(textIndex != null && !filter.getTexts().isEmpty()) {
+
+			long textEstimate = Long.MAX_VALUE;
+			for(String text : filter.getTexts()) {
+				textEstimate = Math.min(textEstimate, textIndex.estimate(text));
+			}
+
+			if(textEstimate * INDEX_FRACTION < range) {
+				access = Access.TEXT_INDEX;
+				estimate = textEstimate;
+			}
+		}
+
+		IdBitmap bitmap = attributeIndex == null || range == 0 ? null : attributeIndex.select(filter.getStateMask(),
+				filter.getTypeMask(), filter.getResolutionMask(), filter.getConfirmed());
+
+		if(bitmap != null) {
+
+			int[] bitmapIds = bitmap.toArray(filter.getMinId(), filter.getMaxId());
+
+			if((long) bitmapIds.length * INDEX_FRACTION < range && bitmapIds.length < estimate) {
+				access = Access.BITMAP;
+				estimate = bitmapIds.length;
+				ids = bitmapIds;
+			}
+		}
+
+		return new QueryPlan(access, estimate, from, to, ids);
+	}
+
+	/**
+	 * Runs one alternative of a query along its plan
+	 *
+	 * @param filter is the alternative
+	 * @param plan is the alternative's plan
+	 *
+	 * @return the matching issues in ascending id order
+	 */
+	private Stream<Issue> stream(IssueFilter filter, QueryPlan plan) {
+
+		switch(plan.getAccess()) {
+		case EMPTY:
+			return Stream.empty();
+		case TEXT_INDEX:
+			return resolve(textIds(filter), plan.getFrom(), plan.getTo()).stream().filter(filter::matchesFields);
+		case BITMAP:
+			return resolve(plan.getIds(), plan.getFrom(), plan.getTo()).stream().filter(residual(filter));
+		case PARALLEL_SCAN:
+			//The chunks are filtered in parallel and collected in order, so callers get an ordinary stream
+			return issues.subList(plan.getFrom(), plan.getTo()).parallelStream().filter(residual(filter))
+					.collect(Collectors.toList()).stream();
+		default:
+			return issues.subList(plan.getFrom(), plan.getTo()).stream().filter(residual(filter));
+		}
+	}
+
+	/**
+	 * Gets the check an issue read by scanning must pass to match a filter. Text is checked against
+	 * the ids the text index gives, which are looked up once, rather than by reading every issue's notes.
+	 *
+	 * @param filter is the filter
+	 *
+	 * @return the check
+	 */
+	private Predicate<Issue> residual(IssueFilter filter) {
+
+		if(filter.getTexts().isEmpty()) {
+			return filter::matchesFields;
+		}
+		if(textIndex == null) {
+			return filter::matches;
+		}
+
+		int[] ids = textIds(filter);
+
+		return issue -> filter.matchesFields(issue) && Arrays.binarySearch(ids, issue.getIssueId()) >= 0;
+	}
+
+	/**
+	 * Gets the ids of the issues matching every one of a filter's text queries from the text index
+	 *
+	 * @param filter is the filter
+	 *
+	 * @return the ids in ascending order
+	 */
+	private int[] textIds(IssueFilter filter) {
+
+		int[] ids = null;
+
+		for(String text : filter.getTexts()) {
+			ids = ids == null ? textIndex.search(text) : intersect(ids, textIndex.search(text));
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Finds the issues with some ids between two positions. Ids are ascending, so each is found by
+	 * galloping forward from the last before a binary search.
+	 *
+	 * @param ids are the ids in ascending order
+	 * @param from is the first position to search
+	 * @param to is the position after the last to search
+	 *
+	 * @return the issues with the ids which are between the positions
+	 */
+	private List<Issue> resolve(int[] ids, int from, int to) {
+
+		List<Issue> found = new ArrayList<Issue>();
+		int low = from;
+
+		for(int id : ids) {
+
+			int step = 1;
+			int high = low;
+			while(high < to && issues.get(high).getIssueId() < id) {
+				low = high + 1;
+				high += step;
+				step <<= 1;
+			}
+
+			int index = indexOfId(id, low, Math.min(high, to - 1));
+			if(index >= 0) {
+				found.add(issues.get(index));
+				low = index + 1;
+			}
+			else {
+				low = -index - 1;
+			}
+
+			if(low >= to) {
+				break;
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Finds the position of the first issue with an id at least some id
+	 *
+	 * @param id is the id
+	 *
+	 * @return the position, or the size of the list if every id is smaller
+	 */
+	private int indexOfFirstId(int id) {
+		int index = indexOfId(id, 0, issues.size() - 1);
+		return index >= 0 ? index : -index - 1;
+	}
+
+	/**
+	 * Finds the position of an id between two positions with a binary search
+	 *
+	 * @param id is the id to find
+	 * @param low is the first position to search
+	 * @param high is the last position to search
+	 *
+	 * @return the position of the issue with the id, or (-(insertion point) - 1) if there is none
+	 */
+	private int indexOfId(int id, int low, int high) {
+
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = issues.get(mid).getIssueId();
+
+			if(midId < id) {
+				low = mid + 1;
+			}
+			else if(midId > id) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+
+		return -(low + 1);
+	}
+
+	/**
+	 * Intersects two sorted id arrays
+	 *
+	 * @param a are sorted ids
+	 * @param b are sorted ids
+	 *
+	 * @return the ids in both arrays
+	 */
+	private static int[] intersect(int[] a, int[] b) {
+
+		int[] result = new int[Math.min(a.length, b.length)];
+		int i = 0;
+		int j = 0;
+		int count = 0;
+
+		while(i < a.length && j < b.length) {
+			if(a[i] < b[j]) {
+				i++;
+			}
+			else if(a[i] > b[j]) {
+				j++;
+			}
+			else {
+				result[count++] = a[i++];
+				j++;
+			}
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Merges two lists of issues in ascending id order, keeping an issue in both once
+	 *
+	 * @param a are issues in ascending id order
+	 * @param b are issues in ascending id order
+	 *
+	 * @return the issues in either list in ascending id order
+	 */
+	private static List<Issue> union(List<Issue> a, List<Issue> b) {
+
+		if(a.isEmpty()) {
+			return b;
+		}
+
+		List<Issue> result = new ArrayList<Issue>(a.size() + b.size());
+		int i = 0;
+		int j = 0;
+
+		while(i < a.size() && j < b.size()) {
+			int idA = a.get(i).getIssueId();
+			int idB = b.get(j).getIssueId();
+
+			if(idA < idB) {
+				result.add(a.get(i++));
+			}
+			else if(idA > idB) {
+				result.add(b.get(j++));
+			}
+			else {
+				result.add(a.get(i++));
+				j++;
+			}
+		}
+
+		result.addAll(a.subList(i, a.size()));
+		result.addAll(b.subList(j, b.size()));
+
+		return result;
+	}
+}
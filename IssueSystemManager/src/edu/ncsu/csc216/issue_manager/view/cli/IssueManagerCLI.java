@@ -0,0 +1,498 @@
+package edu.ncsu.csc216.issue_manager.view.cli;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogReader;
+import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
+import edu.ncsu.csc216.issue_manager.model.io.IssueWriter;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueList;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+
+/**
+ * IssueManagerCLI is a command line front end for bulk work on issue files without starting
+ * the GUI. The arguments describe a pipeline of stages which issues stream through in order:
+ * <ul>
+ * <li>load FILE - reads issues from an issue file; may be given more than once</li>
+ * <li>merge POLICY - reads the loaded files in parallel and merges them into id order instead of
+ * concatenating them, where the policy for issues sharing an id is keep-first, keep-last, or remap</li>
+ * <li>filter KEY=VALUE[,KEY=VALUE...] - keeps issues matching every condition, where the keys are
+ * id, type, state, owner, and confirmed, and an id may be a range such as 3-20</li>
+ * <li>apply SCRIPT - runs the commands in a script file on the issues they name</li>
+ * <li>stats - prints the number of issues by state and type once the pipeline finishes</li>
+ * <li>metrics FILE - writes the model's metrics in the Prometheus text format once the pipeline finishes</li>
+ * <li>save FILE - writes the issues to an issue file; must be the last stage</li>
+ * </ul>
+ * A command script is a command log as read by CommandLogReader: each line is id,COMMAND,owner,resolution,note,
+ * where the owner and resolution may be empty and the note is the rest of the line. Blank lines and lines
+ * starting with # are skipped. Commands which are not valid for an issue's state are reported and skipped.
+ *
+ * Unless the files are merged, each file is read one record at a time as the pipeline pulls issues
+ * through its stages, and each issue leaving the last stage is written to the save file at once, so
+ * the pipeline holds one issue at a time whatever the size of its files. Merging reads every file in
+ * full, as issues from different files must be put in id order.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueManagerCLI {
+
+	/** USAGE is printed when the arguments can not be parsed */
+	private static final String USAGE = "usage: IssueManagerCLI load FILE [load FILE...] "
+			+ "[merge keep-first|keep-last|remap] [filter KEY=VALUE[,KEY=VALUE...]] [apply SCRIPT] [stats] [metrics FILE] [save FILE]";
+
+	/** out is where stats and reports are printed */
+	private final PrintStream out;
+
+	/** err is where rejected commands are reported */
+	private final PrintStream err;
+
+	/** loads are the files issues are loaded from */
+	private final List<String> loads = new ArrayList<String>();
+
+	/** mergePolicy decides which issue is kept when loaded files are merged, or is null if they are concatenated */
+	private IssueList.ConflictPolicy mergePolicy;
+
+	/** stages are the stages between loading and saving in pipeline order */
+	private final List<Stage> stages = new ArrayList<Stage>();
+
+	/** saveFile is the file the pipeline is saved to, or null if the pipeline is not saved */
+	private String saveFile;
+
+	/** metricsFile is the file metrics are written to, or null if they are not written */
+	private String metricsFile;
+
+	/**
+	 * Constructs a pipeline from command line arguments.
+	 *
+	 * @param args are the command line arguments
+	 * @param out is where stats and reports are printed
+	 * @param err is where rejected commands are reported
+	 *
+	 * @throws IllegalArgumentException if the arguments do not describe a valid pipeline.
+	 */
+	public IssueManagerCLI(String[] args, PrintStream out, PrintStream err) {
+
+		this.out = out;
+		this.err = err;
+
+		int i = 0;
+
+		while(i < args.length) {
+
+			String stage = args[i++];
+
+			if(saveFile != null) {
+				throw new IllegalArgumentException("save must be the last stage.");
+			}
+
+			if("stats".equals(stage)) {
+				stages.add(new StatsStage());
+				continue;
+			}
+
+			if(i == args.length) {
+				throw new IllegalArgumentException(stage + " needs an argument.");
+			}
+
+			String arg = args[i++];
+
+			switch(stage) {
+			case "load":
+				if(!stages.isEmpty()) {
+					throw new IllegalArgumentException("load must come before other stages.");
+				}
+				loads.add(arg);
+				break;
+			case "merge":
+				if(!stages.isEmpty()) {
+					throw new IllegalArgumentException("merge must come before other stages.");
+				}
+				mergePolicy = parsePolicy(arg);
+				break;
+			case "filter":
+				stages.add(new FilterStage(arg));
+				break;
+			case "apply":
+				stages.add(new ApplyStage(arg));
+				break;
+			case "metrics":
+				metricsFile = arg;
+				break;
+			case "save":
+				saveFile = arg;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown stage " + stage + ".");
+			}
+		}
+
+		if(loads.isEmpty()) {
+			throw new IllegalArgumentException("At least one file must be loaded.");
+		}
+	}
+
+	/**
+	 * Runs the pipeline, passing the loaded issues through each stage one at a time and writing each
+	 * issue which leaves the last stage to the save file as it does.
+	 *
+	 * @return the number of issues which left the last stage
+	 */
+	public int run() {
+
+		Stream<Issue> issues = Stream.empty();
+
+		if(mergePolicy == null) {
+			for(String file : loads) {
+				try {
+					issues = Stream.concat(issues, IssueReader.streamIssues(file));
+				} catch (IllegalArgumentException e) {
+					issues.close();
+					throw e;
+				}
+			}
+		}
+		else {
+			List<ArrayList<Issue>> sources = loads.parallelStream()
+					.map(IssueReader::readIssuesFromFile)
+					.collect(Collectors.toList());
+			IssueList merged = new IssueList();
+			merged.mergeIssues(sources, mergePolicy);
+			issues = merged.getIssues().stream();
+		}
+
+		int passed;
+
+		//The stream is driven by a terminal operation so every stage sees every issue it is given
+		try (Stream<Issue> passing = issues.filter(this::process)) {
+
+			if(saveFile != null) {
+				passed = IssueWriter.writeIssuesToFile(saveFile, passing);
+			}
+			else {
+				int[] count = new int[1];
+				passing.forEachOrdered(issue -> count[0]++);
+				passed = count[0];
+			}
+		}
+
+		for(Stage stage : stages) {
+			stage.finish();
+		}
+
+		if(metricsFile != null) {
+			MetricsRegistry.getDefault().writeToFile(metricsFile);
+		}
+
+		return passed;
+	}
+
+	/**
+	 * Passes an issue through each stage in order until a stage drops it.
+	 *
+	 * @param issue is the issue
+	 *
+	 * @return true if the issue left the last stage
+	 */
+	private boolean process(Issue issue) {
+
+		for(Stage stage : stages) {
+			if(!stage.process(issue)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Parses a merge stage's conflict policy.
+	 *
+	 * @param policy is keep-first, keep-last, or remap
+	 *
+	 * @return the conflict policy
+	 *
+	 * @throws IllegalArgumentException if the policy is not one of these
+	 */
+	private static IssueList.ConflictPolicy parsePolicy(String policy) {
+
+		for(IssueList.ConflictPolicy value : IssueList.ConflictPolicy.values()) {
+			if(value.name().replace('_', '-').equalsIgnoreCase(policy)) {
+				return value;
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown conflict policy " + policy + ".");
+	}
+
+	/**
+	 * Runs a pipeline from the command line. The exit status is 0 on success, 1 if a file can not be
+	 * read or written, and 2 if the arguments are invalid.
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+
+		IssueManagerCLI cli;
+
+		try {
+			cli = new IssueManagerCLI(args, System.out, System.err);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		try {
+			cli.run();
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Stage is a single step of the pipeline which each issue passes through in turn.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private interface Stage {
+
+		/**
+		 * Passes a single issue through the stage.
+		 *
+		 * @param issue is the issue entering the stage
+		 *
+		 * @return true if the issue goes on to the next stage
+		 */
+		boolean process(Issue issue);
+
+		/**
+		 * Called once every issue has passed through the pipeline.
+		 */
+		default void finish() {
+			//Nothing to report by default
+		}
+	}
+
+	/**
+	 * FilterStage keeps only the issues which match every condition it was given.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static class FilterStage implements Stage {
+
+		/** predicate is the conjunction of every condition */
+		private Predicate<Issue> predicate = issue -> true;
+
+		/**
+		 * Constructs the stage from comma separated KEY=VALUE conditions.
+		 *
+		 * @param conditions are the conditions
+		 *
+		 * @throws IllegalArgumentException if a condition is not valid.
+		 */
+		FilterStage(String conditions) {
+
+			for(String condition : conditions.split(",")) {
+
+				int equals = condition.indexOf('=');
+
+				if(equals < 0) {
+					throw new IllegalArgumentException("Invalid filter " + condition + ".");
+				}
+
+				predicate = predicate.and(parseCondition(condition.substring(0, equals), condition.substring(equals + 1)));
+			}
+		}
+
+		/**
+		 * Parses a single condition.
+		 *
+		 * @param key is the field the condition tests
+		 * @param value is the value the field must have
+		 *
+		 * @return the condition as a predicate
+		 *
+		 * @throws IllegalArgumentException if the key is unknown or the value is not valid for it.
+		 */
+		private static Predicate<Issue> parseCondition(String key, String value) {
+
+			switch(key) {
+			case "id":
+				try {
+					int dash = value.indexOf('-');
+					int low = Integer.parseInt(dash < 0 ? value : value.substring(0, dash));
+					int high = dash < 0 ? low : Integer.parseInt(value.substring(dash + 1));
+					return issue -> issue.getIssueId() >= low && issue.getIssueId() <= high;
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid id range " + value + ".");
+				}
+			case "type":
+				return issue -> issue.getIssueType().equalsIgnoreCase(value);
+			case "state":
+				return issue -> issue.getStateName().equalsIgnoreCase(value);
+			case "owner":
+				return issue -> value.isEmpty() ? issue.getOwner() == null : value.equals(issue.getOwner());
+			case "confirmed":
+				boolean confirmed = Boolean.parseBoolean(value);
+				return issue -> issue.isConfirmed() == confirmed;
+			default:
+				throw new IllegalArgumentException("Unknown filter " + key + ".");
+			}
+		}
+
+		@Override
+		public boolean process(Issue issue) {
+			return predicate.test(issue);
+		}
+	}
+
+	/**
+	 * ApplyStage runs the commands from a script on the issues they name as the issues stream past.
+	 * Commands are grouped by issue id when the script is read, and each issue's commands run in
+	 * the order they appear in the script.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private class ApplyStage implements Stage {
+
+		/** script is the file the commands were read from */
+		private final String script;
+
+		/** commands are the commands to run for each issue id */
+		private final Map<Integer, List<Command>> commands = new LinkedHashMap<Integer, List<Command>>();
+
+		/** applied is the number of commands which were run */
+		private int applied;
+
+		/** rejected is the number of commands which were not valid for their issue's state */
+		private int rejected;
+
+		/**
+		 * Constructs the stage by reading the script's commands.
+		 *
+		 * @param script is the script file
+		 *
+		 * @throws IllegalArgumentException if the script can not be read or a line is malformed.
+		 */
+		ApplyStage(String script) {
+
+			this.script = script;
+
+			try (CommandLogReader log = new CommandLogReader(script)) {
+
+				while(log.next()) {
+
+					if(log.getCommand() == null) {
+						throw new IllegalArgumentException(log.getError());
+					}
+
+					commands.computeIfAbsent(log.getIssueId(), k -> new ArrayList<Command>()).add(log.getCommand());
+				}
+			}
+		}
+
+		/**
+		 * Runs the commands for a single issue, skipping those which are not valid for its state.
+		 *
+		 * @param issue is the issue being updated
+		 *
+		 * @return true, since every issue goes on to the next stage
+		 */
+		@Override
+		public boolean process(Issue issue) {
+
+			List<Command> issueCommands = commands.remove(issue.getIssueId());
+
+			if(issueCommands == null) {
+				return true;
+			}
+
+			for(Command command : issueCommands) {
+				try {
+					issue.update(command);
+					applied++;
+				} catch (UnsupportedOperationException e) {
+					rejected++;
+					err.println(script + ": " + command.getCommand() + " rejected for issue " + issue.getIssueId()
+							+ " in state " + issue.getStateName() + ".");
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public void finish() {
+
+			for(Integer id : commands.keySet()) {
+				err.println(script + ": no issue " + id + ".");
+			}
+
+			out.println(script + ": " + applied + " applied, " + rejected + " rejected, "
+					+ commands.size() + " unmatched issues.");
+		}
+	}
+
+	/**
+	 * StatsStage counts the issues passing through it by state and by type.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private class StatsStage implements Stage {
+
+		/** total is the number of issues which passed through the stage */
+		private int total;
+
+		/** byState is the number of issues in each state */
+		private final Map<String, Integer> byState = new LinkedHashMap<String, Integer>();
+
+		/** byType is the number of issues of each type */
+		private final Map<String, Integer> byType = new HashMap<String, Integer>();
+
+		/**
+		 * Constructs the stage with every state and type at zero so they print in a fixed order.
+		 */
+		StatsStage() {
+			for(String state : new String[] {Issue.NEW_NAME, Issue.CONFIRMED_NAME, Issue.WORKING_NAME,
+					Issue.VERIFYING_NAME, Issue.CLOSED_NAME}) {
+				byState.put(state, 0);
+			}
+			byType.put(Issue.I_BUG, 0);
+			byType.put(Issue.I_ENHANCEMENT, 0);
+		}
+
+		@Override
+		public boolean process(Issue issue) {
+			total++;
+			byState.merge(issue.getStateName(), 1, Integer::sum);
+			byType.merge(issue.getIssueType(), 1, Integer::sum);
+			return true;
+		}
+
+		@Override
+		public void finish() {
+			out.println("issues: " + total);
+			for(Map.Entry<String, Integer> entry : byState.entrySet()) {
+				out.println("  " + entry.getKey() + ": " + entry.getValue());
+			}
+			out.println("  " + Issue.I_BUG + ": " + byType.get(Issue.I_BUG));
+			out.println("  " + Issue.I_ENHANCEMENT + ": " + byType.get(Issue.I_ENHANCEMENT));
+		}
+	}
+}
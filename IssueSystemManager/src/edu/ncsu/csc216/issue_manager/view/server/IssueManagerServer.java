@@ -0,0 +1,636 @@
+package edu.ncsu.csc216.issue_manager.view.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueAggregates;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+import edu.ncsu.csc216.issue_manager.model.metrics.MetricsRegistry;
+
+/**
+ * IssueManagerServer is a headless front end for the IssueManager which exposes the issue list
+ * over HTTP using the JDK's built in server. Responses are JSON and request bodies are form encoded.
+ * The supported endpoints are:
+ * <ul>
+ * <li>GET /issues - lists every issue, only one type with ?type=Bug or ?type=Enhancement, or the issues
+ * containing words with ?q=words</li>
+ * <li>GET /issues?limit=N - lists one page of issues, starting after an id with &amp;after=ID or after a
+ * number of issues with &amp;offset=N, optionally filtered with &amp;type=, &amp;state=, and &amp;owner=</li>
+ * <li>GET /issues/{id} - returns every field of a single issue</li>
+ * <li>POST /issues - adds an issue from the type, summary, and note parameters</li>
+ * <li>POST /issues/{id}/command - executes the command, owner, resolution, and note parameters</li>
+ * <li>DELETE /issues/{id} - deletes a single issue</li>
+ * <li>GET /metrics - the model's metrics in the Prometheus text format</li>
+ * <li>GET /stats - the number of issues by state, type, resolution, and owner, read from the manager's
+ * running aggregates without scanning the issues</li>
+ * </ul>
+ * Each request runs on its own virtual thread when the running JDK provides them, and on a fixed
+ * pool of platform threads otherwise.
+ *
+ * @author michaelabrams
+ *
+ */
+public class IssueManagerServer {
+
+	/** DEFAULT_PORT is the port the server listens on when no port is given */
+	public static final int DEFAULT_PORT = 8080;
+
+	/** CONTEXT is the path all issue endpoints are served under */
+	private static final String CONTEXT = "/issues";
+
+	/** METRICS_CONTEXT is the path the metrics are served under */
+	private static final String METRICS_CONTEXT = "/metrics";
+
+	/** STATS_CONTEXT is the path the dashboard counts are served under */
+	private static final String STATS_CONTEXT = "/stats";
+
+	/** STATE_NAMES are the names of the states the stats are counted by */
+	private static final String[] STATE_NAMES = {Issue.NEW_NAME, Issue.WORKING_NAME, Issue.CONFIRMED_NAME,
+			Issue.VERIFYING_NAME, Issue.CLOSED_NAME};
+
+	/** BACKLOG is the number of pending connections the listening socket will queue */
+	private static final int BACKLOG = 4096;
+
+	/** MAX_IDLE_PROPERTY is the system property holding the JDK server's limit on idle keep alive connections */
+	private static final String MAX_IDLE_PROPERTY = "sun.net.httpserver.maxIdleConnections";
+
+	/** server is the underlying JDK http server */
+	private final HttpServer server;
+
+	/** executor runs the request handlers */
+	private final ExecutorService executor;
+
+	/** manager is the issue manager requests are served from */
+	private final IssueManager manager;
+
+	/**
+	 * Constructs a server bound to the given port which serves the shared IssueManager. The
+	 * server does not accept requests until it is started.
+	 *
+	 * @param port is the port to listen on, or 0 to pick any free port
+	 *
+	 * @throws IOException if the server socket can not be bound
+	 */
+	public IssueManagerServer(int port) throws IOException {
+		this.manager = IssueManager.getInstance();
+		this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+		this.executor = newRequestExecutor();
+		this.server.createContext(CONTEXT, new IssuesHandler());
+		this.server.createContext(METRICS_CONTEXT, this::sendMetrics);
+		this.server.createContext(STATS_CONTEXT, this::sendStats);
+		this.server.setExecutor(executor);
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops accepting requests and shuts down the request threads.
+	 */
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Gets the port the server is bound to
+	 *
+	 * @return the bound port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Sends the default registry's metrics in the Prometheus text format.
+	 *
+	 * @param exchange is the request and response
+	 *
+	 * @throws IOException if the response can not be written
+	 */
+	private void sendMetrics(HttpExchange exchange) throws IOException {
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			if(!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			byte[] bytes = MetricsRegistry.getDefault().toPrometheusText().getBytes(StandardCharsets.UTF_8);
+
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, bytes.length);
+			out.write(bytes);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Sends the number of issues by state, type, resolution, and owner as JSON. The counts come from
+	 * the manager's aggregates, so they are read without the manager's lock or a scan of the issues.
+	 *
+	 * @param exchange is the request and response
+	 *
+	 * @throws IOException if the response can not be written
+	 */
+	private void sendStats(HttpExchange exchange) throws IOException {
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			if(!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			IssueAggregates aggregates = manager.getAggregates();
+			StringBuilder sb = new StringBuilder(256);
+
+			sb.append("{\"issues\":").append(aggregates.getIssueCount());
+			sb.append(",\"confirmed\":").append(aggregates.getConfirmedCount());
+
+			sb.append(",\"states\":{");
+			for(int i = 0; i < STATE_NAMES.length; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				Json.appendString(sb, STATE_NAMES[i]);
+				sb.append(':').append(aggregates.getStateCount(STATE_NAMES[i]));
+			}
+
+			sb.append("},\"types\":{\"").append(Issue.I_BUG).append("\":").append(aggregates.getTypeCount(IssueType.BUG));
+			sb.append(",\"").append(Issue.I_ENHANCEMENT).append("\":").append(aggregates.getTypeCount(IssueType.ENHANCEMENT));
+
+			sb.append("},\"resolutions\":{\"none\":").append(aggregates.getResolutionCount(null));
+			for(Resolution resolution : Resolution.values()) {
+				sb.append(",\"").append(resolution.name().toLowerCase(Locale.ROOT)).append("\":")
+						.append(aggregates.getResolutionCount(resolution));
+			}
+
+			sb.append("},\"owners\":[");
+			boolean first = true;
+			for(String owner : aggregates.getOwners()) {
+				if(!first) {
+					sb.append(',');
+				}
+				first = false;
+				sb.append("{\"owner\":");
+				Json.appendString(sb, owner);
+				sb.append(",\"issues\":").append(aggregates.getOwnerCount(owner));
+				sb.append(",\"openBugs\":").append(aggregates.getOpenCount(owner, IssueType.BUG));
+				sb.append(",\"openEnhancements\":").append(aggregates.getOpenCount(owner, IssueType.ENHANCEMENT));
+				sb.append('}');
+			}
+			sb.append("]}");
+
+			byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(200, bytes.length);
+			out.write(bytes);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Raises the JDK server's limit on idle keep alive connections, which defaults to 200, to the
+	 * backlog so a thousand concurrent clients are not forced to reconnect. The JDK reads the limit
+	 * once, so this must be called before the first server in the JVM is created, and a limit already
+	 * set on the command line is kept.
+	 */
+	public static void raiseIdleConnectionLimit() {
+		if(System.getProperty(MAX_IDLE_PROPERTY) == null) {
+			System.setProperty(MAX_IDLE_PROPERTY, String.valueOf(BACKLOG));
+		}
+	}
+
+	/**
+	 * Creates the executor requests are handled on. A virtual thread per request executor is used
+	 * when the JDK provides one, which is looked up reflectively since the project targets Java 11.
+	 * Otherwise a fixed pool sized to the machine is used, since handlers only hold the manager's lock
+	 * for short in memory operations.
+	 *
+	 * @return the request executor
+	 */
+	private static ExecutorService newRequestExecutor() {
+		try {
+			Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) virtual.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+		}
+	}
+
+	/**
+	 * Starts the server from the command line. The first argument is the port, and the optional
+	 * second argument is an issue file which is loaded before requests are accepted.
+	 *
+	 * @param args command line arguments
+	 *
+	 * @throws IOException if the server socket can not be bound
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+
+		raiseIdleConnectionLimit();
+
+		if(args.length > 1) {
+			IssueManager.getInstance().loadIssuesFromFile(args[1]);
+		}
+
+		IssueManagerServer issueServer = new IssueManagerServer(port);
+		issueServer.start();
+
+		System.out.println("Issue Manager listening on port " + issueServer.getPort());
+	}
+
+	/**
+	 * Parses a form encoded string such as a query string or request body into a map of names to values.
+	 *
+	 * @param encoded is the form encoded string, which may be null
+	 *
+	 * @return the decoded parameters
+	 */
+	static Map<String, String> parseForm(String encoded) {
+
+		Map<String, String> params = new HashMap<String, String>();
+
+		if(encoded == null || encoded.isEmpty()) {
+			return params;
+		}
+
+		for(String pair : encoded.split("&")) {
+			int equals = pair.indexOf('=');
+			if(equals < 0) {
+				params.put(URLDecoder.decode(pair, StandardCharsets.UTF_8), "");
+			}
+			else {
+				params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+			}
+		}
+
+		return params;
+	}
+
+	/**
+	 * IssuesHandler routes every request under /issues to the matching IssueManager operation.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private class IssuesHandler implements HttpHandler {
+
+		/**
+		 * Handles a single request and always sends a response, closing the exchange afterwards.
+		 *
+		 * @param exchange is the request and response
+		 *
+		 * @throws IOException if the response can not be written
+		 */
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+
+			try {
+				route(exchange);
+			} catch (NumberFormatException e) {
+				send(exchange, 400, error("Invalid number."));
+			} catch (IllegalArgumentException e) {
+				send(exchange, 400, error(e.getMessage()));
+			} catch (UnsupportedOperationException e) {
+				send(exchange, 409, error(e.getMessage()));
+			} finally {
+				exchange.close();
+			}
+		}
+
+		/**
+		 * Picks the operation from the request method and the path segments after /issues.
+		 *
+		 * @param exchange is the request and response
+		 *
+		 * @throws IOException if the request can not be read or the response can not be written
+		 */
+		private void route(HttpExchange exchange) throws IOException {
+
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+
+			if(path.startsWith("/")) {
+				path = path.substring(1);
+			}
+
+			String[] segments = path.isEmpty() ? new String[0] : path.split("/");
+
+			if(segments.length == 0 && "GET".equals(method)) {
+				listIssues(exchange);
+			}
+			else if(segments.length == 0 && "POST".equals(method)) {
+				addIssue(exchange);
+			}
+			else if(segments.length == 1 && "GET".equals(method)) {
+				getIssue(exchange, Integer.parseInt(segments[0]));
+			}
+			else if(segments.length == 1 && "DELETE".equals(method)) {
+				deleteIssue(exchange, Integer.parseInt(segments[0]));
+			}
+			else if(segments.length == 2 && "command".equals(segments[1]) && "POST".equals(method)) {
+				executeCommand(exchange, Integer.parseInt(segments[0]));
+			}
+			else if(segments.length <= 2) {
+				send(exchange, 405, error("Method not allowed."));
+			}
+			else {
+				send(exchange, 404, error("Not found."));
+			}
+		}
+
+		/**
+		 * Lists every issue, the issues of a single type when the type query parameter is given, or
+		 * the issues containing words when the q query parameter is given.
+		 *
+		 * @param exchange is the request and response
+		 *
+		 * @throws IOException if the response can not be written
+		 */
+		private void listIssues(HttpExchange exchange) throws IOException {
+
+			Map<String, String> params = parseForm(exchange.getRequestURI().getRawQuery());
+			String type = params.get("type");
+			String query = params.get("q");
+			String limit = params.get("limit");
+
+			Object[][] rows;
+
+			if(limit != null) {
+				String after = params.get("after");
+				String offset = params.get("offset");
+				if(after != null) {
+					rows = manager.getIssueListPageAsArrayAfter(Integer.parseInt(after), Integer.parseInt(limit), type,
+							params.get("state"), params.get("owner"));
+				}
+				else {
+					rows = manager.getIssueListPageAsArray(offset == null ? 0 : Integer.parseInt(offset),
+							Integer.parseInt(limit), type, params.get("state"), params.get("owner"));
+				}
+			}
+			else if(query != null) {
+				rows = manager.getIssueListAsArrayBySearch(query);
+			}
+			else if(type != null) {
+				rows = manager.getIssueListAsArrayByIssueType(type);
+			}
+			else {
+				rows = manager.getIssueListAsArray();
+			}
+
+			StringBuilder sb = new StringBuilder(64 + rows.length * 64);
+			Json.appendRows(sb, rows);
+			send(exchange, 200, sb.toString());
+		}
+
+		/**
+		 * Sends a single issue, or a 404 if there is no issue with the id.
+		 *
+		 * @param exchange is the request and response
+		 * @param id is the id of the issue
+		 *
+		 * @throws IOException if the response can not be written
+		 */
+		private void getIssue(HttpExchange exchange, int id) throws IOException {
+
+			String body = issueJson(id);
+
+			if(body == null) {
+				send(exchange, 404, error("Issue not found."));
+			}
+			else {
+				send(exchange, 200, body);
+			}
+		}
+
+		/**
+		 * Adds an issue from the type, summary, and note form parameters.
+		 *
+		 * @param exchange is the request and response
+		 *
+		 * @throws IOException if the request can not be read or the response can not be written
+		 */
+		private void addIssue(HttpExchange exchange) throws IOException {
+
+			Map<String, String> params = readForm(exchange);
+
+			int id = manager.addIssueToList(parseIssueType(params.get("type")), params.get("summary"),
+					params.get("note"));
+
+			send(exchange, 201, issueJson(id));
+		}
+
+		/**
+		 * Executes a command on an issue from the command, owner, resolution, and note form parameters.
+		 *
+		 * @param exchange is the request and response
+		 * @param id is the id of the issue the command is executed on
+		 *
+		 * @throws IOException if the request can not be read or the response can not be written
+		 */
+		private void executeCommand(HttpExchange exchange, int id) throws IOException {
+
+			Map<String, String> params = readForm(exchange);
+
+			Command command = new Command(parseEnum(CommandValue.class, params.get("command")), params.get("owner"),
+					parseEnum(Resolution.class, params.get("resolution")), params.get("note"));
+
+			String body;
+
+			synchronized(manager) {
+				if(manager.getIssueById(id) == null) {
+					body = null;
+				}
+				else {
+					manager.executeCommand(id, command);
+					body = issueJson(id);
+				}
+			}
+
+			if(body == null) {
+				send(exchange, 404, error("Issue not found."));
+			}
+			else {
+				send(exchange, 200, body);
+			}
+		}
+
+		/**
+		 * Deletes an issue, or sends a 404 if there is no issue with the id.
+		 *
+		 * @param exchange is the request and response
+		 * @param id is the id of the issue to delete
+		 *
+		 * @throws IOException if the response can not be written
+		 */
+		private void deleteIssue(HttpExchange exchange, int id) throws IOException {
+
+			boolean found;
+
+			synchronized(manager) {
+				found = manager.getIssueById(id) != null;
+				if(found) {
+					manager.deleteIssueById(id);
+				}
+			}
+
+			if(found) {
+				exchange.sendResponseHeaders(204, -1);
+			}
+			else {
+				send(exchange, 404, error("Issue not found."));
+			}
+		}
+
+		/**
+		 * Builds the JSON for a single issue while holding the manager's lock so the issue can
+		 * not change while it is being read.
+		 *
+		 * @param id is the id of the issue
+		 *
+		 * @return the issue as JSON, or null if there is no issue with the id
+		 */
+		private String issueJson(int id) {
+
+			StringBuilder sb = new StringBuilder(256);
+
+			synchronized(manager) {
+				Issue issue = manager.getIssueById(id);
+
+				if(issue == null) {
+					return null;
+				}
+
+				Json.appendIssue(sb, issue);
+			}
+
+			return sb.toString();
+		}
+
+		/**
+		 * Reads the request body as form encoded parameters.
+		 *
+		 * @param exchange is the request
+		 *
+		 * @return the decoded parameters
+		 *
+		 * @throws IOException if the request body can not be read
+		 */
+		private Map<String, String> readForm(HttpExchange exchange) throws IOException {
+
+			try (InputStream in = exchange.getRequestBody()) {
+				return parseForm(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+
+		/**
+		 * Sends a JSON response body with the given status.
+		 *
+		 * @param exchange is the response
+		 * @param status is the HTTP status code
+		 * @param body is the JSON body
+		 *
+		 * @throws IOException if the response can not be written
+		 */
+		private void send(HttpExchange exchange, int status, String body) throws IOException {
+
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(status, bytes.length);
+
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+
+		/**
+		 * Builds the JSON body for an error message.
+		 *
+		 * @param message is the error message
+		 *
+		 * @return the error as JSON
+		 */
+		private String error(String message) {
+			StringBuilder sb = new StringBuilder("{\"error\":");
+			Json.appendString(sb, message);
+			return sb.append('}').toString();
+		}
+	}
+
+	/**
+	 * Parses an issue type from its string representation.
+	 *
+	 * @param type is either Issue.I_BUG or Issue.I_ENHANCEMENT
+	 *
+	 * @return the matching issue type
+	 *
+	 * @throws IllegalArgumentException if the type is not a valid issue type.
+	 */
+	private static IssueType parseIssueType(String type) {
+
+		if(Issue.I_BUG.equals(type)) {
+			return IssueType.BUG;
+		}
+		else if(Issue.I_ENHANCEMENT.equals(type)) {
+			return IssueType.ENHANCEMENT;
+		}
+		else {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+	}
+
+	/**
+	 * Parses an optional enum parameter by name, ignoring case.
+	 *
+	 * @param <E> is the type of enum
+	 * @param type is the class of the enum
+	 * @param value is the parameter value, which may be null or empty
+	 *
+	 * @return the matching constant, or null if no value was given
+	 *
+	 * @throws IllegalArgumentException if the value does not name a constant.
+	 */
+	private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+
+		if(value == null || value.isEmpty()) {
+			return null;
+		}
+
+		try {
+			return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid information.");
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.issue_manager.view.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import edu.ncsu.csc216.issue_manager.model.io.JsonWriter;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+
+/**
+ * Json contains the static helpers the server uses to turn issues and issue rows into
+ * JSON response bodies. Only the small subset of JSON the server produces is supported, and
+ * issues and strings are written by JsonWriter, as they are in exports.
+ *
+ * @author michaelabrams
+ *
+ */
+final class Json {
+
+	/**
+	 * Json only contains static helpers and is never constructed.
+	 */
+	private Json() {
+		//Empty constructor
+	}
+
+	/**
+	 * Appends the rows returned by the IssueManager's array methods as a JSON array of objects.
+	 *
+	 * @param sb is the builder the JSON is appended to
+	 * @param rows are the issue rows with id, state, type, and summary columns
+	 */
+	static void appendRows(StringBuilder sb, Object[][] rows) {
+
+		sb.append('[');
+
+		for(int i = 0; i < rows.length; i++) {
+			if(i > 0) {
+				sb.append(',');
+			}
+			sb.append("{\"id\":").append(rows[i][IssueManager.ID_POS]);
+			sb.append(",\"state\":");
+			appendString(sb, (String) rows[i][IssueManager.STATE_POS]);
+			sb.append(",\"type\":");
+			appendString(sb, (String) rows[i][IssueManager.TYPE_POS]);
+			sb.append(",\"summary\":");
+			appendString(sb, (String) rows[i][IssueManager.SUMMARY_POS]);
+			sb.append('}');
+		}
+
+		sb.append(']');
+	}
+
+	/**
+	 * Appends every field of an issue, including its notes, as a JSON object, as the exporter writes it.
+	 *
+	 * @param sb is the builder the JSON is appended to
+	 * @param issue is the issue which is appended
+	 */
+	static void appendIssue(StringBuilder sb, Issue issue) {
+
+		try {
+			JsonWriter.writeIssue(sb, issue);
+		} catch (IOException e) {
+			//A StringBuilder is never closed, so appending to it does not fail
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Appends a quoted and escaped JSON string, or the JSON null literal if the value is null.
+	 *
+	 * @param sb is the builder the string is appended to
+	 * @param value is the string to append
+	 */
+	static void appendString(StringBuilder sb, String value) {
+
+		try {
+			JsonWriter.writeString(sb, value);
+		} catch (IOException e) {
+			//A StringBuilder is never closed, so appending to it does not fail
+			throw new UncheckedIOException(e);
+		}
+	}
+}
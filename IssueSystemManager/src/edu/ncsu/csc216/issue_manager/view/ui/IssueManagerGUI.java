@@ -9,7 +9,15 @@ import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -27,16 +35,24 @@ import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.issue_manager.model.command.Command;
 import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
+import edu.ncsu.csc216.issue_manager.model.manager.AutosaveService;
 import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueSortOrder;
 
 /**
  * Container for the IssueManager that has the menu options for new issue 
@@ -106,6 +122,8 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 	private final AddIssuePanel pnlAddIssue = new AddIssuePanel();
 	/** Reference to CardLayout for panel.  Stacks all of the panels. */
 	private CardLayout cardLayout;
+	/** Saves the issue list to the file it was last loaded from or saved to, or null before there is one. */
+	private AutosaveService autosave;
 	
 	
 	/**
@@ -183,7 +201,8 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 		//Use IssueManager's singleton to create/get the sole instance.
 		IssueManager model = IssueManager.getInstance();
 		if (e.getSource() == itemNewIssueList) {
-			//Create a new issue list
+			//Create a new issue list, dropping unsaved changes as before autosaving
+			cancelAutosave();
 			model.createNewIssueList();
 			itemSaveIssueList.setEnabled(true);
 			pnlIssueList.updateTable(null);
@@ -193,23 +212,35 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 		} else if (e.getSource() == itemLoadIssueList) {
 			//Load an existing issue list
 			try {
-				model.loadIssuesFromFile(getFileName(true));
-				itemSaveIssueList.setEnabled(true);
-				pnlIssueList.updateTable(null);
-				cardLayout.show(panel, ISSUE_LIST_PANEL);
-				validate();
-				repaint();
-			} catch (IllegalArgumentException exp) {
-				JOptionPane.showMessageDialog(this, exp.getMessage());
+				String fileName = getFileName(true);
+				stopAutosave(() -> {
+					try {
+						model.loadIssuesFromFile(fileName);
+						autosave = new AutosaveService(model, fileName);
+						itemSaveIssueList.setEnabled(true);
+						pnlIssueList.updateTable(null);
+						cardLayout.show(panel, ISSUE_LIST_PANEL);
+						validate();
+						repaint();
+					} catch (IllegalArgumentException exp) {
+						JOptionPane.showMessageDialog(this, exp.getMessage());
+					}
+				});
 			} catch (IllegalStateException exp) {
 				//Don't do anything - user canceled (or error)
 			}
 		} else if (e.getSource() == itemSaveIssueList) {
 			//Save current issue list
 			try {
-				model.saveIssuesToFile(getFileName(false));
-			} catch (IllegalArgumentException exp) {
-				JOptionPane.showMessageDialog(this, exp.getMessage());
+				String fileName = getFileName(false);
+				stopAutosave(() -> {
+					try {
+						model.saveIssuesToFile(fileName);
+						autosave = new AutosaveService(model, fileName);
+					} catch (IllegalArgumentException exp) {
+						JOptionPane.showMessageDialog(this, exp.getMessage());
+					}
+				});
 			} catch (IllegalStateException exp) {
 				//Don't do anything - user canceled (or error)
 			}
@@ -217,6 +248,7 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			//Quit the program
 			try {
 				model.saveIssuesToFile(getFileName(false));
+				cancelAutosave();
 				System.exit(0);  //Ignore SpotBugs warning here - this is the only place to quit the program!
 			} catch (IllegalArgumentException exp) {
 				JOptionPane.showMessageDialog(this, exp.getMessage());
@@ -226,6 +258,72 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 		}
 	}
 	
+	/**
+	 * Stops autosaving to the current file, saving any pending changes to it first. The service is
+	 * closed off the event dispatch thread, and the next step runs on the event dispatch thread once
+	 * the pending changes are saved.
+	 * @param next what to do once autosaving has stopped
+	 */
+	private void stopAutosave(Runnable next) {
+		if (autosave == null) {
+			next.run();
+		} else {
+			new AutosaveCloser(autosave, next).execute();
+			autosave = null;
+		}
+	}
+	
+	/**
+	 * Stops autosaving to the current file without saving pending changes or waiting.
+	 */
+	private void cancelAutosave() {
+		if (autosave != null) {
+			autosave.cancel();
+			autosave = null;
+		}
+	}
+	
+	/**
+	 * AutosaveCloser closes an autosave service off the event dispatch thread, which saves its
+	 * pending changes, and then runs the next step on the event dispatch thread.
+	 * @author michaelabrams
+	 */
+	private static class AutosaveCloser extends SwingWorker<Void, Void> {
+		
+		/** Service being closed */
+		private final AutosaveService service;
+		/** What to do once the service is closed */
+		private final Runnable next;
+		
+		/**
+		 * Constructs a closer.
+		 * @param service service being closed
+		 * @param next what to do once the service is closed
+		 */
+		AutosaveCloser(AutosaveService service, Runnable next) {
+			this.service = service;
+			this.next = next;
+		}
+		
+		/**
+		 * Closes the service, waiting for its last save.
+		 * @return nothing
+		 */
+		@Override
+		protected Void doInBackground() {
+			service.close();
+			return null;
+		}
+		
+		/**
+		 * Runs the next step.
+		 */
+		@Override
+		protected void done() {
+			next.run();
+		}
+	}
+	
 	/**
 	 * Returns a file name generated through interactions with a JFileChooser
 	 * object.
@@ -266,6 +364,8 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 	private class IssueListPanel extends JPanel implements ActionListener {
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
+		/** Milliseconds typing must pause for before the search runs */
+		private static final int SEARCH_DELAY = 250;
 		/** Button for creating a new Issue */
 		private JButton btnAddNewIssue;
 		/** Button for deleting the selected issue in the list */
@@ -282,6 +382,14 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 		private JTable issuesTable;
 		/** TableModel for Issues */
 		private IssueTableModel issueTableModel;
+		/** Text field for searching the listed issues by id prefix, summary, or owner */
+		private JTextField txtSearch;
+		/** Timer which waits for typing to pause before searching */
+		private Timer searchTimer;
+		/** Search running in the background, or null if there is none */
+		private SearchWorker searchWorker;
+		/** Issue type the list is filtered to, or null for all issues */
+		private IssueType filterType;
 		
 		/**
 		 * Creates the issue list.
@@ -313,7 +421,29 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			pnlActions.add(btnDeleteIssue);
 			pnlActions.add(btnEditIssue);
 			
+			//Set up the search field, which searches once typing pauses
+			txtSearch = new JTextField();
+			searchTimer = new Timer(SEARCH_DELAY, e -> startSearch());
+			searchTimer.setRepeats(false);
+			txtSearch.getDocument().addDocumentListener(new DocumentListener() {
+				public void insertUpdate(DocumentEvent e) {
+					searchTimer.restart();
+				}
+				public void removeUpdate(DocumentEvent e) {
+					searchTimer.restart();
+				}
+				public void changedUpdate(DocumentEvent e) {
+					searchTimer.restart();
+				}
+			});
+			
+			JPanel pnlSearch = new JPanel(new BorderLayout());
+			pnlSearch.add(new JLabel("Search: "), BorderLayout.WEST);
+			pnlSearch.add(txtSearch, BorderLayout.CENTER);
 			
+			JPanel pnlNorth = new JPanel(new BorderLayout());
+			pnlNorth.add(pnlActions, BorderLayout.CENTER);
+			pnlNorth.add(pnlSearch, BorderLayout.SOUTH);
 						
 			//Set up table
 			issueTableModel = new IssueTableModel();
@@ -321,10 +451,19 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			issuesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			issuesTable.setPreferredScrollableViewportSize(new Dimension(500, 500));
 			issuesTable.setFillsViewportHeight(true);
+			issuesTable.getTableHeader().addMouseListener(new MouseAdapter() {
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					int col = issuesTable.columnAtPoint(e.getPoint());
+					if (col >= 0) {
+						sortTable(issuesTable.convertColumnIndexToModel(col));
+					}
+				}
+			});
 			
 			JScrollPane listScrollPane = new JScrollPane(issuesTable);
 			
-			add(pnlActions, BorderLayout.NORTH);
+			add(pnlNorth, BorderLayout.NORTH);
 			add(listScrollPane, BorderLayout.CENTER);
 		}
 
@@ -396,33 +535,231 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			IssueManagerGUI.this.validate();
 		}
 		
+		/**
+		 * Updates the table to list the issues of the given type, or all issues if the type is
+		 * null. If there is search text, the search runs again in the background.
+		 * @param issueType issue type to list, or null for all issues
+		 */
 		public void updateTable(IssueType issueType) {
-			if (issueType == null) {
-				issueTableModel.updateIssueData();
+			filterType = issueType;
+			if (txtSearch.getText().trim().isEmpty()) {
+				cancelSearch();
+				if (issueType == null) {
+					issueTableModel.updateIssueData();
+				} else {
+					issueTableModel.updateIssueDataByType(issueType);
+				}
 			} else {
-				issueTableModel.updateIssueDataByType(issueType);
+				searchTimer.stop();
+				startSearch();
+			}
+		}
+		
+		/**
+		 * Sorts the table by a column, or reverses the order if the table is already sorted by it.
+		 * @param col index of the column to sort by
+		 */
+		private void sortTable(int col) {
+			issuesTable.clearSelection();
+			issueTableModel.sortBy(col);
+			for (int i = 0; i < issueTableModel.getColumnCount(); i++) {
+				issuesTable.getColumnModel().getColumn(issuesTable.convertColumnIndexToView(i))
+						.setHeaderValue(issueTableModel.getColumnName(i));
+			}
+			issuesTable.getTableHeader().repaint();
+		}
+		
+		/**
+		 * Starts a background search for the current search text, canceling any search it
+		 * supersedes. An empty search lists the issues of the current type.
+		 */
+		private void startSearch() {
+			String query = txtSearch.getText().trim();
+			if (query.isEmpty()) {
+				updateTable(filterType);
+				return;
+			}
+			cancelSearch();
+			searchWorker = new SearchWorker(query, filterType);
+			searchWorker.execute();
+		}
+		
+		/**
+		 * Cancels the running search, if there is one.
+		 */
+		private void cancelSearch() {
+			if (searchWorker != null) {
+				searchWorker.cancel(true);
+				searchWorker = null;
+			}
+		}
+		
+		/**
+		 * SearchWorker filters a snapshot of the issues off the event dispatch thread and pushes
+		 * only the matching issue ids into the table. An issue matches if its id starts with the search
+		 * text, its summary contains the search text, or its owner starts with the search text,
+		 * ignoring case.
+		 * @author michaelabrams
+		 */
+		private class SearchWorker extends SwingWorker<int[], Void> {
+			
+			/** How many issues are checked between checks for cancellation */
+			private static final int CANCEL_CHECK = 4096;
+			/** Text being searched for */
+			private final String query;
+			/** Issue type to list, or null for all issues */
+			private final IssueType issueType;
+			/** Search text as a number if it is all digits, or -1 if it is not */
+			private final long idPrefix;
+			
+			/**
+			 * Constructs a search.
+			 * @param query text being searched for
+			 * @param issueType issue type to list, or null for all issues
+			 */
+			SearchWorker(String query, IssueType issueType) {
+				this.query = query;
+				this.issueType = issueType;
+				long prefix = -1;
+				if (query.length() < 10 && query.charAt(0) != '0' && query.chars().allMatch(Character::isDigit)) {
+					prefix = Long.parseLong(query);
+				}
+				this.idPrefix = prefix;
+			}
+			
+			/**
+			 * Filters a snapshot of the issues, stopping early if the search is canceled.
+			 * @return the ids of the matching issues, or null if the search was canceled
+			 */
+			@Override
+			protected int[] doInBackground() {
+				List<Issue> issues = IssueManager.getInstance().getIssueListSnapshot();
+				int[] ids = new int[64];
+				int count = 0;
+				for (int i = 0; i < issues.size(); i++) {
+					if (i % CANCEL_CHECK == 0 && isCancelled()) {
+						return null;
+					}
+					Issue issue = issues.get(i);
+					if (matches(issue)) {
+						if (count == ids.length) {
+							ids = Arrays.copyOf(ids, count * 2);
+						}
+						ids[count++] = issue.getIssueId();
+					}
+				}
+				return Arrays.copyOf(ids, count);
+			}
+			
+			/**
+			 * Pushes the matching issues into the table unless a newer search replaced this one.
+			 */
+			@Override
+			protected void done() {
+				if (searchWorker != this || isCancelled()) {
+					return;
+				}
+				searchWorker = null;
+				try {
+					issueTableModel.setIssueIds(get());
+				} catch (InterruptedException | ExecutionException e) {
+					JOptionPane.showMessageDialog(IssueManagerGUI.this, "Unable to search issues.");
+				}
+			}
+			
+			/**
+			 * Checks whether an issue matches the search.
+			 * @param issue issue to check
+			 * @return true if the issue matches
+			 */
+			private boolean matches(Issue issue) {
+				if (issueType == IssueType.BUG && !Issue.I_BUG.equals(issue.getIssueType())
+						|| issueType == IssueType.ENHANCEMENT && !Issue.I_ENHANCEMENT.equals(issue.getIssueType())) {
+					return false;
+				}
+				if (idPrefix >= 0 && hasIdPrefix(issue.getIssueId())) {
+					return true;
+				}
+				String owner = issue.getOwner();
+				if (owner != null && owner.regionMatches(true, 0, query, 0, query.length())) {
+					return true;
+				}
+				String summary = issue.getSummary();
+				for (int i = 0; i + query.length() <= summary.length(); i++) {
+					if (summary.regionMatches(true, i, query, 0, query.length())) {
+						return true;
+					}
+				}
+				return false;
+			}
+			
+			/**
+			 * Checks whether an id's digits start with the searched digits without converting
+			 * the id to a String.
+			 * @param id issue id to check
+			 * @return true if the id starts with the searched digits
+			 */
+			private boolean hasIdPrefix(int id) {
+				long value = id;
+				while (value > idPrefix) {
+					value /= 10;
+				}
+				return value == idPrefix;
 			}
 		}
 		
 		/**
 		 * IssueTableModel is the object underlying the JTable object that displays
-		 * the list of Issues to the user.
+		 * the list of Issues to the user. Rows are not copied out of the IssueManager; each
+		 * row is fetched when the table asks for it, by its position in the manager's id
+		 * ordered list or by the id of a filtered issue, and only the most recently shown
+		 * rows are kept.
+		 * 
+		 * When the table is sorted, the shown issues are kept in an IssueSortOrder. The model
+		 * listens to the IssueManager so an issue changed by a command is moved to its new row
+		 * without sorting the whole table again.
 		 * @author Dr. Sarah Heckman (sarah_heckman@ncsu.edu)
 		 */
-		private class IssueTableModel extends AbstractTableModel {
+		private class IssueTableModel extends AbstractTableModel implements IssueListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
+			/** Number of recently shown rows which are kept, enough for a few screens of rows */
+			private static final int CACHE_SIZE = 512;
 			/** Column names for the table */
 			private String [] columnNames = {"Issue ID", "Issue State", "Issue Type", "Issue Summary"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Ids of the issues shown, or null when every issue is shown in list order */
+			private int [] rowIds;
+			/** Number of rows in the table */
+			private int rowCount;
+			/** Issue type shown, or null when the table shows all issues or search results */
+			private IssueType shownType;
+			/** True if the table shows search results */
+			private boolean showingSearch;
+			/** True if issues were added or removed since the shown issues were fetched */
+			private boolean stale = true;
+			/** Column the table is sorted by, or -1 if the table is in id order */
+			private int sortColumn = -1;
+			/** True if the sorted column goes from the smallest value to the largest */
+			private boolean sortAscending;
+			/** Shown issues in sorted order, or null if the table is in id order */
+			private IssueSortOrder sortOrder;
+			/** Recently shown rows by row index, least recently used first */
+			private final Map<Integer, Object[]> cache = new LinkedHashMap<Integer, Object[]>(CACHE_SIZE, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			};
 			
 			/**
 			 * Constructs the IssueTableModel by requesting the latest information
 			 * from the IssueTableModel.
 			 */
 			public IssueTableModel() {
+				IssueManager.getInstance().addIssueListener(this);
 				updateIssueData();
 			}
 
@@ -439,49 +776,142 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			 * @return the number of rows in the table.
 			 */
 			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
+				return rowCount;
 			}
 			
 			/**
-			 * Returns the column name at the given index.
+			 * Returns the column name at the given index, marked with the sort direction
+			 * if the table is sorted by it.
 			 * @param col index of column
 			 * @return the column name at the given column.
 			 */
 			public String getColumnName(int col) {
+				if (col == sortColumn) {
+					return columnNames[col] + (sortAscending ? " \u25B2" : " \u25BC");
+				}
 				return columnNames[col];
 			}
 
 			/**
-			 * Returns the data at the given {row, col} index.
+			 * Returns the data at the given {row, col} index, fetching the row from the
+			 * IssueManager if it is not one of the recently shown rows.
 			 * @param row index of row
 			 * @param col index of column
 			 * @return the data at the given location.
 			 */
 			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				return data[row][col];
+				if (sortOrder != null) {
+					if (row >= sortOrder.size()) {
+						return null;
+					}
+					Issue issue = sortOrder.getIssueAt(row);
+					switch (col) {
+					case IssueManager.ID_POS:
+						return issue.getIssueId();
+					case IssueManager.STATE_POS:
+						return issue.getStateName();
+					case IssueManager.TYPE_POS:
+						return issue.getIssueType();
+					default:
+						return issue.getSummary();
+					}
+				}
+				Object[] values = cache.get(row);
+				if (values == null) {
+					IssueManager m = IssueManager.getInstance();
+					values = rowIds == null ? m.getIssueRowAt(row) : m.getIssueRowById(rowIds[row]);
+					if (values == null) {
+						return null;
+					}
+					cache.put(row, values);
+				}
+				return values[col];
+			}
+			
+			/**
+			 * Sorts the table by a column, or reverses the order if it is already sorted by it.
+			 * @param col index of the column to sort by
+			 */
+			private void sortBy(int col) {
+				sortAscending = col != sortColumn || !sortAscending;
+				sortColumn = col;
+				sortRows();
+				fireTableDataChanged();
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
+			 * Sorts the shown issues by the sort column, if there is one.
 			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
+			private void sortRows() {
+				if (sortColumn < 0) {
+					sortOrder = null;
+					return;
+				}
+				List<Issue> issues = IssueManager.getInstance().getIssueListSnapshot();
+				if (rowIds != null) {
+					//Both the shown ids and the issues are in ascending id order
+					List<Issue> shown = new ArrayList<Issue>(rowIds.length);
+					int next = 0;
+					for (int i = 0; i < issues.size() && next < rowIds.length; i++) {
+						if (issues.get(i).getIssueId() == rowIds[next]) {
+							shown.add(issues.get(i));
+							next++;
+						}
+					}
+					issues = shown;
+				}
+				sortOrder = new IssueSortOrder(issues, sortColumn, sortAscending);
+				rowCount = sortOrder.size();
 			}
 			
 			/**
 			 * Updates the given model with Issue information from the IssueManager.
 			 */
 			private void updateIssueData() {
+				if (!stale && !showingSearch && shownType == null) {
+					refresh();
+					return;
+				}
 				IssueManager m = IssueManager.getInstance();
-				data = m.getIssueListAsArray();
+				rowIds = null;
+				rowCount = m.getIssueCount();
+				shownType = null;
+				showingSearch = false;
+				stale = false;
+				cache.clear();
+				sortRows();
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Shows only the given issues, such as the results of a search.
+			 * @param ids ids of the issues to show in ascending order
+			 */
+			private void setIssueIds(int[] ids) {
+				showingSearch = true;
+				shownType = null;
+				showIds(ids);
+			}
+			
+			/**
+			 * Shows only the issues with the given ids.
+			 * @param ids ids of the issues to show in ascending order
+			 */
+			private void showIds(int[] ids) {
+				rowIds = ids;
+				rowCount = ids.length;
+				stale = false;
+				cache.clear();
+				sortRows();
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Redraws the shown issues, whose rows may have changed, without fetching them again.
+			 */
+			private void refresh() {
+				cache.clear();
+				fireTableDataChanged();
 			}
 			
 			/**
@@ -490,17 +920,66 @@ public class IssueManagerGUI extends JFrame implements ActionListener {
 			 * @param issueType issue type to search for.
 			 */
 			private void updateIssueDataByType(IssueType issueType) {
+				if (!stale && !showingSearch && shownType == issueType) {
+					refresh();
+					return;
+				}
 				try {
 					IssueManager m = IssueManager.getInstance();
+					showingSearch = false;
+					shownType = issueType;
 					if (issueType == IssueType.ENHANCEMENT) {
-						data = m.getIssueListAsArrayByIssueType("Enhancement");
+						showIds(m.getIssueIdsByIssueType("Enhancement"));
 					} else if(issueType == IssueType.BUG) {
-						data = m.getIssueListAsArrayByIssueType("Bug");
+						showIds(m.getIssueIdsByIssueType("Bug"));
 					}
 				} catch (IllegalArgumentException e) {
 					JOptionPane.showMessageDialog(IssueManagerGUI.this, e.getMessage());
 				}
 			}
+			
+			/**
+			 * Marks the shown issues as out of date.
+			 * @param issue issue which was added
+			 */
+			@Override
+			public void issueAdded(Issue issue) {
+				stale = true;
+			}
+			
+			/**
+			 * Marks the shown issues as out of date.
+			 * @param issue issue which was removed
+			 */
+			@Override
+			public void issueRemoved(Issue issue) {
+				stale = true;
+			}
+			
+			/**
+			 * Marks the shown issues as out of date.
+			 */
+			@Override
+			public void issuesCleared() {
+				stale = true;
+			}
+			
+			/**
+			 * Moves an issue changed by a command to its new sorted row.
+			 * @param issue issue which was updated
+			 * @param command command which updated the issue
+			 */
+			@Override
+			public void issueUpdated(Issue issue, Command command) {
+				if (!SwingUtilities.isEventDispatchThread()) {
+					SwingUtilities.invokeLater(() -> issueUpdated(issue, command));
+					return;
+				}
+				if (sortOrder != null) {
+					sortOrder.update(issue);
+				}
+				cache.clear();
+			}
 		}
 	}
 	
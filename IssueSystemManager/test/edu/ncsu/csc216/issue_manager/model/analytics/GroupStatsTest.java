@@ -0,0 +1,85 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the GroupStats class
+ *
+ * @author michaelabrams
+ *
+ */
+class GroupStatsTest {
+
+	/**
+	 * Tests an issue which was closed and reopened is counted from its notes and timed from its
+	 * transition log.
+	 */
+	@Test
+	void testAddReopenedIssue() {
+
+		Issue issue = new Issue(1, IssueType.ENHANCEMENT, "An idea", "Idea");
+		issue.update(new Command(CommandValue.ASSIGN, "jdoe", null, "Assigned"), 1_000);
+		issue.update(new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed"), 3_000);
+		issue.update(new Command(CommandValue.VERIFY, null, null, "Verified"), 4_000);
+		issue.update(new Command(CommandValue.REOPEN, null, null, "Reopened"), 10_000);
+
+		GroupStats stats = new GroupStats();
+		stats.add(issue, 20_000);
+
+		assertEquals(1, stats.getIssueCount());
+		assertEquals(1, stats.getOpenCount());
+		assertEquals(1, stats.getCloseCount());
+		assertEquals(1, stats.getReopenCount());
+		assertEquals(1.0, stats.getReopenRate());
+		assertEquals(1, stats.getVisitCount(Issue.NEW_NAME));
+		assertEquals(2, stats.getVisitCount(Issue.WORKING_NAME));
+		assertEquals(12_000, stats.getTimeInState(Issue.WORKING_NAME));
+		assertEquals(6_000.0, stats.getMeanTimeInState(Issue.WORKING_NAME));
+		assertEquals(1_000, stats.getTimeInState(Issue.VERIFYING_NAME));
+		assertEquals(6_000, stats.getTimeInState(Issue.CLOSED_NAME));
+		assertEquals(0.0, stats.getMeanTimeInState(Issue.NEW_NAME));
+		assertEquals(1, stats.getResolutionCount(null));
+	}
+
+	/**
+	 * Tests issues read from a file are counted from their notes alone, and that merging stats adds them.
+	 */
+	@Test
+	void testAddLoadedIssuesAndMerge() {
+
+		Issue closed = new Issue(2, Issue.CLOSED_NAME, Issue.I_BUG, "A problem", "jdoe", true, Command.R_FIXED,
+				new ArrayList<String>(Arrays.asList("[New] Found", "[Confirmed] Confirmed", "[Working] Assigned",
+						"not a state", "[Verifying] Fixed", "[Closed] Verified")));
+
+		GroupStats first = new GroupStats();
+		first.add(closed, 0);
+
+		GroupStats second = new GroupStats();
+		second.merge(first);
+		second.merge(first);
+
+		assertEquals(2, second.getIssueCount());
+		assertEquals(0, second.getOpenCount());
+		assertEquals(2, second.getClosedIssueCount());
+		assertEquals(0, second.getReopenedIssueCount());
+		assertEquals(0.0, second.getReopenRate());
+		assertEquals(2, second.getResolutionCount(Resolution.FIXED));
+		assertEquals(2, second.getVisitCount(Issue.VERIFYING_NAME));
+		assertEquals(0, second.getTimeInState(Issue.CLOSED_NAME));
+		assertThrows(IllegalArgumentException.class, () -> second.getVisitCount("Lost"));
+	}
+}
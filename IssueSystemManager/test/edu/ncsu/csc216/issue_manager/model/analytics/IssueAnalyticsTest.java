@@ -0,0 +1,99 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+
+/**
+ * Tests the IssueAnalytics class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueAnalyticsTest {
+
+	/**
+	 * Tests analyzing an issue file groups its issues by owner.
+	 */
+	@Test
+	void testAnalyzeFile() {
+
+		IssueAnalytics analytics = IssueAnalytics.analyzeFile("test-files/issue1.txt", 0);
+		GroupStats total = analytics.getTotal();
+
+		assertEquals(5, total.getIssueCount());
+		assertEquals(4, total.getOpenCount());
+		assertEquals(1, total.getCloseCount());
+		assertEquals(0, total.getReopenCount());
+		assertEquals(5, total.getVisitCount(Issue.NEW_NAME));
+		assertEquals(4, total.getVisitCount(Issue.WORKING_NAME));
+		assertEquals(3, total.getResolutionCount(null));
+		assertEquals(1, total.getResolutionCount(Resolution.WONTFIX));
+
+		assertEquals(Arrays.asList("owner"), analytics.getOwners());
+		assertEquals(3, analytics.getOwner("owner").getIssueCount());
+		assertEquals(1, analytics.getOwner("owner").getCloseCount());
+		assertEquals(2, analytics.getOwner(null).getIssueCount());
+		assertEquals(0, analytics.getOwner("nobody").getIssueCount());
+
+		assertThrows(IllegalArgumentException.class, () -> IssueAnalytics.analyzeFile("test-files/missing.txt", 0));
+	}
+
+	/**
+	 * Tests analyzing a list large enough to be split into chunks gives the same counts as adding
+	 * every issue in turn, and that the manager analyzes its own list.
+	 */
+	@Test
+	void testAnalyzeIssues() {
+
+		List<Issue> issues = new ArrayList<Issue>();
+		IssueAnalytics expected = new IssueAnalytics(50_000);
+
+		for(int i = 1; i <= 20_000; i++) {
+			Issue issue = new Issue(i, IssueType.ENHANCEMENT, "An idea", "Idea");
+			issue.update(new Command(CommandValue.ASSIGN, "owner" + i % 3, null, "Assigned"), i);
+			if(i % 2 == 0) {
+				issue.update(new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed"), i + 100);
+			}
+			issues.add(issue);
+			expected.add(issue);
+		}
+
+		IssueAnalytics analytics = IssueAnalytics.analyzeIssues(issues, 50_000);
+
+		assertEquals(50_000, analytics.getAsOf());
+		assertEquals(Arrays.asList("owner0", "owner1", "owner2"), analytics.getOwners());
+
+		for(String owner : analytics.getOwners()) {
+			GroupStats actual = analytics.getOwner(owner);
+			assertEquals(expected.getOwner(owner).getIssueCount(), actual.getIssueCount());
+			assertEquals(expected.getOwner(owner).getTimeInState(Issue.WORKING_NAME),
+					actual.getTimeInState(Issue.WORKING_NAME));
+			assertEquals(expected.getOwner(owner).getResolutionCount(Resolution.FIXED),
+					actual.getResolutionCount(Resolution.FIXED));
+		}
+
+		assertEquals(10_000, analytics.getTotal().getVisitCount(Issue.VERIFYING_NAME));
+		assertEquals(0, IssueAnalytics.analyzeIssues(new ArrayList<Issue>(), 0).getTotal().getIssueCount());
+
+		IssueManager manager = IssueManager.getInstance();
+		manager.createNewIssueList();
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+
+		assertEquals(1, manager.getAnalytics(0).getOwner(null).getOpenCount());
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the AttributeIndex class
+ *
+ * @author michaelabrams
+ *
+ */
+class AttributeIndexTest {
+
+	/** ALL is a mask keeping every value of an attribute */
+	private static final int ALL = -1;
+
+	/**
+	 * Gets the mask bit of a state
+	 *
+	 * @param state is the name of the state
+	 *
+	 * @return the state's bit
+	 */
+	private static int state(String state) {
+		return 1 << Issue.getStateOrdinal(state);
+	}
+
+	/**
+	 * Tests selecting issues by their attributes follows them through transitions and removal.
+	 */
+	@Test
+	void testSelect() {
+
+		AttributeIndex index = new AttributeIndex();
+		Issue bug = new Issue(1, IssueType.BUG, "A problem", "Problem");
+		Issue confirmedBug = new Issue(2, IssueType.BUG, "Another problem", "Problem");
+		Issue enhancement = new Issue(3, IssueType.ENHANCEMENT, "An idea", "Idea");
+
+		index.issueAdded(bug);
+		index.issueAdded(confirmedBug);
+		index.issueAdded(enhancement);
+
+		assertNull(index.select(ALL, ALL, ALL, null));
+		assertArrayEquals(new int[] {1, 2}, index.select(ALL, 1 << IssueType.BUG.ordinal(), ALL, null)
+				.toArray(1, Integer.MAX_VALUE));
+		assertEquals(3, index.getStateCount(Issue.NEW_NAME));
+
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, "Confirmed");
+		confirmedBug.update(confirm);
+		index.issueUpdated(confirmedBug, confirm);
+
+		Command assign = new Command(CommandValue.ASSIGN, "owner", null, "Assigned");
+		enhancement.update(assign);
+		index.issueUpdated(enhancement, assign);
+
+		Command resolve = new Command(CommandValue.RESOLVE, null, Resolution.WONTFIX, "Won't fix");
+		enhancement.update(resolve);
+		index.issueUpdated(enhancement, resolve);
+
+		assertArrayEquals(new int[] {1}, index.select(state(Issue.NEW_NAME), 1 << IssueType.BUG.ordinal(), ALL, false)
+				.toArray(1, Integer.MAX_VALUE));
+		assertArrayEquals(new int[] {2}, index.select(ALL, ALL, ALL, true).toArray(1, Integer.MAX_VALUE));
+		assertArrayEquals(new int[] {2, 3}, index.select(state(Issue.CONFIRMED_NAME) | state(Issue.CLOSED_NAME),
+				ALL, ALL, null).toArray(1, Integer.MAX_VALUE));
+		assertArrayEquals(new int[] {3}, index.select(ALL, ALL,
+				1 << Issue.getResolutionOrdinal(Command.R_WONTFIX), null).toArray(1, Integer.MAX_VALUE));
+		assertEquals(0, index.getStateCount(Issue.WORKING_NAME));
+		assertEquals(1, index.getStateCount(Issue.NEW_NAME));
+
+		index.issueRemoved(bug);
+		assertEquals(0, index.select(state(Issue.NEW_NAME), ALL, ALL, null).cardinality());
+		assertTrue(index.getSizeInBytes() > 0);
+
+		index.issuesCleared();
+		assertEquals(0, index.select(ALL, ALL, 1, null).cardinality());
+		assertThrows(IllegalArgumentException.class, () -> index.getStateCount("Open"));
+	}
+}
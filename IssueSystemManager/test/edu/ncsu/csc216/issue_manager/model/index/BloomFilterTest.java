@@ -0,0 +1,59 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BloomFilter class
+ *
+ * @author michaelabrams
+ *
+ */
+class BloomFilterTest {
+
+	/**
+	 * Tests every added id is found, few other ids are, and a filter read back from its text
+	 * gives the same answers.
+	 */
+	@Test
+	void testMightContain() {
+
+		BloomFilter filter = new BloomFilter(10_000);
+
+		for(int id = 1; id <= 10_000; id++) {
+			filter.add(id);
+		}
+
+		BloomFilter copy = BloomFilter.valueOf(filter.toString());
+		int falsePositives = 0;
+
+		for(int id = 1; id <= 10_000; id++) {
+			assertTrue(filter.mightContain(id));
+			assertTrue(copy.mightContain(id));
+		}
+
+		for(int id = 10_001; id <= 20_000; id++) {
+			assertEquals(filter.mightContain(id), copy.mightContain(id));
+			falsePositives += filter.mightContain(id) ? 1 : 0;
+		}
+
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+		assertFalse(new BloomFilter(0).mightContain(1));
+	}
+
+	/**
+	 * Tests text which is not a filter is rejected.
+	 */
+	@Test
+	void testValueOf() {
+
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.valueOf("7"));
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.valueOf("0:AAAAAAAAAAA="));
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.valueOf("7:AAAA"));
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.valueOf("x:AAAAAAAAAAA="));
+	}
+}
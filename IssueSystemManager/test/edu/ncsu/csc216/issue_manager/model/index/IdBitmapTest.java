@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the IdBitmap class
+ *
+ * @author michaelabrams
+ *
+ */
+class IdBitmapTest {
+
+	/**
+	 * Tests adding and removing ids in sparse and dense blocks, which switches the containers between
+	 * arrays and bitmaps, gives the same ids as a BitSet.
+	 */
+	@Test
+	void testAddRemove() {
+
+		IdBitmap bitmap = new IdBitmap();
+		BitSet expected = new BitSet();
+
+		for(int id = 1; id < 200_000; id += id < 65_536 ? 3 : 97) {
+			bitmap.add(id);
+			expected.set(id);
+		}
+		bitmap.add(1);
+
+		assertEquals(expected.cardinality(), bitmap.cardinality());
+		assertTrue(bitmap.contains(4));
+		assertFalse(bitmap.contains(5));
+		assertFalse(bitmap.contains(-1));
+
+		for(int id = 1; id < 65_536; id += 6) {
+			bitmap.remove(id);
+			expected.clear(id);
+		}
+		bitmap.remove(2);
+		bitmap.remove(-1);
+
+		assertEquals(expected.cardinality(), bitmap.cardinality());
+		assertArrayEquals(expected.stream().toArray(), bitmap.toArray(1, Integer.MAX_VALUE));
+		assertArrayEquals(expected.get(60_000, 70_001).stream().map(i -> i + 60_000).toArray(),
+				bitmap.toArray(60_000, 70_000));
+		assertTrue(bitmap.getSizeInBytes() < 200_000 / 8 + 8192);
+
+		bitmap.clear();
+		assertEquals(0, bitmap.cardinality());
+		assertEquals(0, bitmap.toArray(1, Integer.MAX_VALUE).length);
+	}
+
+	/**
+	 * Tests intersections and unions of bitmaps with containers of each kind.
+	 */
+	@Test
+	void testAndOr() {
+
+		IdBitmap a = new IdBitmap();
+		IdBitmap b = new IdBitmap();
+		BitSet expectedA = new BitSet();
+		BitSet expectedB = new BitSet();
+
+		for(int id = 1; id < 300_000; id++) {
+			if(id % 2 == 0 || id > 140_000 && id % 50 == 0) {
+				a.add(id);
+				expectedA.set(id);
+			}
+			if(id % 3 == 0 && id < 100_000 || id % 1000 == 0) {
+				b.add(id);
+				expectedB.set(id);
+			}
+		}
+
+		BitSet and = (BitSet) expectedA.clone();
+		and.and(expectedB);
+		BitSet or = (BitSet) expectedA.clone();
+		or.or(expectedB);
+
+		assertArrayEquals(and.stream().toArray(), IdBitmap.and(a, b).toArray(1, Integer.MAX_VALUE));
+		assertArrayEquals(or.stream().toArray(), IdBitmap.or(a, b).toArray(1, Integer.MAX_VALUE));
+		assertEquals(0, IdBitmap.and(a, new IdBitmap()).cardinality());
+
+		IdBitmap copy = IdBitmap.or(a, new IdBitmap());
+		copy.remove(2);
+		assertTrue(a.contains(2));
+	}
+}
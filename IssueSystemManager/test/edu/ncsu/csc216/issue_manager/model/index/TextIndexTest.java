@@ -0,0 +1,160 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the TextIndex class
+ * 
+ * @author michaelabrams
+ *
+ */
+class TextIndexTest {
+	
+	/** index is the index under test */
+	private TextIndex index;
+	
+	/** crash is a bug about a crash when loading */
+	private Issue crash;
+	
+	/** freeze is a bug about a freeze when saving */
+	private Issue freeze;
+	
+	/** menu is an enhancement about the menu */
+	private Issue menu;
+	
+	/**
+	 * Indexes three issues before each test case.
+	 */
+	@BeforeEach
+	public void setUp() {
+		index = new TextIndex();
+		
+		crash = new Issue(1, IssueType.BUG, "Crash on load", "The app crashes loading a file");
+		freeze = new Issue(2, IssueType.BUG, "Freeze on save", "Saving a large file hangs");
+		menu = new Issue(5, IssueType.ENHANCEMENT, "Menu shortcuts", "Add keyboard shortcuts to the File menu");
+		
+		index.issueAdded(crash);
+		index.issueAdded(freeze);
+		index.issueAdded(menu);
+	}
+
+	/**
+	 * Tests the tokenize method splits on anything other than letters and digits and lower cases words.
+	 */
+	@Test
+	void testTokenize() {
+		
+		ArrayList<String> expected = new ArrayList<String>();
+		expected.add("can");
+		expected.add("t");
+		expected.add("open");
+		expected.add("v2");
+		
+		assertEquals(expected, TextIndex.tokenize("Can't OPEN v2!"));
+		
+		assertEquals(0, TextIndex.tokenize(" -- ").size());
+	}
+	
+	/**
+	 * Tests words are lower cased the same way when the default locale lower cases letters differently.
+	 */
+	@Test
+	void testTokenizeTurkishLocale() {
+		
+		Locale locale = Locale.getDefault();
+		
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			
+			assertEquals("file", TextIndex.tokenize("FILE").get(0));
+			assertArrayEquals(new int[] {1, 2, 5}, index.search("FILE"));
+			
+			index.issueAdded(new Issue(6, IssueType.BUG, "LOGIN FAILS", "INVALID token"));
+			assertArrayEquals(new int[] {6}, index.search("login invalid"));
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+	
+	/**
+	 * Tests searching for words which all have to appear in an issue.
+	 */
+	@Test
+	void testAllOf() {
+		
+		assertArrayEquals(new int[] {1, 2, 5}, index.allOf("file"));
+		
+		assertArrayEquals(new int[] {1}, index.allOf("FILE", "load"));
+		
+		assertArrayEquals(new int[0], index.allOf("file", "missing"));
+		
+		assertArrayEquals(new int[0], index.allOf());
+	}
+	
+	/**
+	 * Tests searching for words where any of them can appear in an issue.
+	 */
+	@Test
+	void testAnyOf() {
+		
+		assertArrayEquals(new int[] {1, 2}, index.anyOf("load", "save"));
+		
+		assertArrayEquals(new int[] {2, 5}, index.anyOf("menu", "missing", "hangs"));
+	}
+	
+	/**
+	 * Tests boolean queries with implied AND, explicit AND, and OR.
+	 */
+	@Test
+	void testSearch() {
+		
+		assertArrayEquals(new int[] {1}, index.search("crash load"));
+		
+		assertArrayEquals(new int[] {1}, index.search("crash AND load"));
+		
+		assertArrayEquals(new int[] {1, 5}, index.search("crash load OR keyboard"));
+		
+		assertArrayEquals(new int[0], index.search("crash save"));
+		
+		assertArrayEquals(new int[0], index.search(null));
+		
+		//State prefixes on notes are not indexed
+		assertArrayEquals(new int[0], index.search("new"));
+	}
+	
+	/**
+	 * Tests notes added by commands are indexed, and removed issues are no longer found.
+	 */
+	@Test
+	void testUpdateAndRemove() {
+		
+		Command command = new Command(Command.CommandValue.CONFIRM, null, null, "Reproduced on Windows");
+		crash.update(command);
+		index.issueUpdated(crash, command);
+		
+		assertArrayEquals(new int[] {1}, index.search("windows"));
+		
+		index.issueRemoved(crash);
+		
+		assertArrayEquals(new int[0], index.search("windows"));
+		assertArrayEquals(new int[] {2, 5}, index.search("file"));
+		
+		index.issuesCleared();
+		
+		assertEquals(0, index.getWordCount());
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+
+/**
+ * Tests the CommandLogReader class
+ * 
+ * @author michaelabrams
+ *
+ */
+class CommandLogReaderTest {
+
+	/**
+	 * Tests entries are parsed ignoring case and spaces around fields, and that comments and
+	 * blank lines are skipped.
+	 */
+	@Test
+	void testNext() {
+		
+		CommandLogReader log = new CommandLogReader(new StringReader("# header\n"
+				+ " 3 , assign , sam ,, Taking this, today\n"
+				+ "\n"
+				+ "4,RESOLVE,,WontFix,Not a bug\n"), "log");
+		
+		assertTrue(log.next());
+		assertEquals(3, log.getIssueId());
+		assertEquals(2, log.getLineNumber());
+		assertEquals(CommandValue.ASSIGN, log.getCommand().getCommand());
+		assertEquals("sam", log.getCommand().getOwnerId());
+		assertNull(log.getCommand().getResolution());
+		assertEquals(" Taking this, today", log.getCommand().getNote());
+		assertNull(log.getError());
+		
+		assertTrue(log.next());
+		assertEquals(4, log.getIssueId());
+		assertEquals(4, log.getLineNumber());
+		assertEquals(Resolution.WONTFIX, log.getCommand().getResolution());
+		
+		assertFalse(log.next());
+		log.close();
+	}
+	
+	/**
+	 * Tests malformed lines are returned as entries without a command and do not stop the log.
+	 */
+	@Test
+	void testMalformed() {
+		
+		CommandLogReader log = new CommandLogReader(new StringReader("x,CONFIRM,,,note\n"
+				+ "1,CONFIRM,,\n"
+				+ "2,FIX,,,note\n"
+				+ "3,ASSIGN,,,no owner\n"
+				+ "4,RESOLVE,,FIXED,\n"
+				+ "5,CONFIRM,,,ok\n"), "log");
+		
+		for(int line = 1; line <= 5; line++) {
+			assertTrue(log.next());
+			assertNull(log.getCommand());
+			assertEquals("log:" + line + ": invalid command.", log.getError());
+		}
+		
+		assertTrue(log.next());
+		assertEquals(5, log.getIssueId());
+		assertNotNull(log.getCommand());
+		assertFalse(log.next());
+		
+		assertThrows(IllegalArgumentException.class, () -> new CommandLogReader("test-files/no_such_log.txt"));
+	}
+}
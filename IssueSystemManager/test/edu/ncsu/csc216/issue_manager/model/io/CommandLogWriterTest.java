@@ -0,0 +1,55 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+
+/**
+ * Tests the CommandLogWriter class
+ * 
+ * @author michaelabrams
+ *
+ */
+class CommandLogWriterTest {
+
+	/**
+	 * Tests commands written to a log are read back unchanged, and that commands which would split
+	 * an entry are refused.
+	 */
+	@Test
+	void testAppend() {
+		
+		try (CommandLogWriter writer = new CommandLogWriter("test-files/command_log_output.txt")) {
+			writer.append(7, new Command(CommandValue.ASSIGN, "owner", null, "Assigned, finally"));
+			writer.append(8, new Command(CommandValue.RESOLVE, null, Resolution.WORKSFORME, "Cannot reproduce"));
+			
+			assertThrows(IllegalArgumentException.class,
+					() -> writer.append(9, new Command(CommandValue.CONFIRM, null, null, "two\nlines")));
+			assertThrows(IllegalArgumentException.class,
+					() -> writer.append(9, new Command(CommandValue.ASSIGN, "a,b", null, "note")));
+		}
+		
+		try (CommandLogReader log = new CommandLogReader("test-files/command_log_output.txt")) {
+			
+			assertTrue(log.next());
+			assertEquals(7, log.getIssueId());
+			assertEquals(CommandValue.ASSIGN, log.getCommand().getCommand());
+			assertEquals("owner", log.getCommand().getOwnerId());
+			assertEquals("Assigned, finally", log.getCommand().getNote());
+			
+			assertTrue(log.next());
+			assertEquals(8, log.getIssueId());
+			assertEquals(Resolution.WORKSFORME, log.getCommand().getResolution());
+			assertEquals("", log.getCommand().getOwnerId());
+			
+			assertFalse(log.next());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.io.IssueExporter.Format;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the IssueExporter class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueExporterTest {
+
+	/**
+	 * Tests exporting issues as JSON Lines escapes text and gives the same output from a list as from
+	 * the issue file.
+	 *
+	 * @throws IOException if the exported file can not be read
+	 */
+	@Test
+	void testExportJsonLines() throws IOException {
+
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+
+		assertEquals(5, IssueExporter.exportIssueFile("test-files/issue1.txt", "test-files/export_act.jsonl",
+				Format.JSON_LINES));
+
+		String exported = new String(Files.readAllBytes(Paths.get("test-files/export_act.jsonl")),
+				StandardCharsets.UTF_8);
+		String[] lines = exported.split("\n");
+
+		assertEquals(5, lines.length);
+		assertEquals("{\"id\":1,\"state\":\"New\",\"type\":\"Enhancement\",\"summary\":\"Issue description\","
+				+ "\"owner\":null,\"confirmed\":false,\"resolution\":null,\"notes\":[\"[New] Note 1\"]}", lines[0]);
+		assertEquals("{\"id\":3,\"state\":\"Confirmed\",\"type\":\"Bug\",\"summary\":\"Issue description\","
+				+ "\"owner\":null,\"confirmed\":true,\"resolution\":null,"
+				+ "\"notes\":[\"[New] Note 1\",\"[Confirmed] Note 2\\nthat goes on a new line\"]}", lines[1]);
+		assertTrue(lines[3].contains("\"owner\":\"owner\",\"confirmed\":false,\"resolution\":\"Fixed\""));
+
+		StringWriter out = new StringWriter();
+		assertEquals(5, IssueExporter.exportIssues(out, issues.iterator(), Format.JSON_LINES));
+		assertEquals(exported, out.toString());
+
+		Issue quoted = new Issue(2, IssueType.BUG, "Say \"hi\" \\ bye\t\u0001", "Note");
+		out = new StringWriter();
+		IssueExporter.exportIssues(out, Arrays.asList(quoted).iterator(), Format.JSON_LINES);
+		assertTrue(out.toString().contains("\"summary\":\"Say \\\"hi\\\" \\\\ bye\\t\\u0001\""));
+	}
+
+	/**
+	 * Tests exporting issues as CSV quotes only the fields which need it and puts notes in one cell.
+	 *
+	 * @throws IOException if the exported file can not be read
+	 */
+	@Test
+	void testExportCsv() throws IOException {
+
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+		issues.add(new Issue(20, IssueType.BUG, "Crash, then \"hang\"", "Two, \"quoted\""));
+
+		assertEquals(6, IssueExporter.exportIssues("test-files/export_act.csv", issues.stream(), Format.CSV));
+
+		String exported = new String(Files.readAllBytes(Paths.get("test-files/export_act.csv")),
+				StandardCharsets.UTF_8);
+		String[] rows = exported.split("\r\n");
+
+		assertEquals(7, rows.length);
+		assertEquals("id,state,type,summary,owner,confirmed,resolution,notes", rows[0]);
+		assertEquals("1,New,Enhancement,Issue description,,false,,\"[New] Note 1\"", rows[1]);
+		assertEquals("3,Confirmed,Bug,Issue description,,true,,\"[New] Note 1\n[Confirmed] Note 2\n"
+				+ "that goes on a new line\"", rows[2]);
+		assertEquals("20,New,Bug,\"Crash, then \"\"hang\"\"\",,false,,\"[New] Two, \"\"quoted\"\"\"", rows[6]);
+
+		StringWriter out = new StringWriter();
+		IssueExporter.exportIssues(out, issues.iterator(), Format.CSV);
+		assertEquals(exported, out.toString());
+
+		assertEquals(5, IssueExporter.exportIssueFile("test-files/issue1.txt", "test-files/export_act.csv.gz",
+				Format.CSV));
+		assertThrows(IllegalArgumentException.class,
+				() -> IssueExporter.exportIssueFile("test-files/missing.txt", "test-files/export_act.csv", Format.CSV));
+		assertThrows(IllegalArgumentException.class,
+				() -> IssueExporter.exportIssues("test-files/missing/export.csv", issues.stream(), Format.CSV));
+	}
+}
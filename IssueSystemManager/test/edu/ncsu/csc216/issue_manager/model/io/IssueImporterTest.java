@@ -0,0 +1,120 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.io.IssueImporter.Format;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * Tests the IssueImporter class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueImporterTest {
+
+	/**
+	 * Writes a file for a test
+	 *
+	 * @param file is the file
+	 * @param text is the file's text
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	private static void write(String file, String text) throws IOException {
+		Files.write(Paths.get(file), text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Tests importing CSV finds columns by name, reads quoted fields, reserves one id for every row,
+	 * and reports the rows the Issue constructor rejects.
+	 *
+	 * @throws IOException if the test file can not be written
+	 */
+	@Test
+	void testReadCsv() throws IOException {
+
+		write("test-files/import_act.csv", "\uFEFFKey,Summary,Type,Note\r\n"
+				+ "A-1,Crash on start,Bug,Seen on startup\r\n"
+				+ "A-2,\"Add a \"\"dark\"\" theme, please\",enhancement,\"Asked for twice\nby users\"\r\n"
+				+ "\r\n"
+				+ "A-3,,Bug,No summary\r\n"
+				+ "A-4,Unknown type,Task,Note\r\n"
+				+ "A-5,Too short\r\n"
+				+ "A-6,Last one,Bug,Note");
+
+		int[] reserved = new int[1];
+		IssueLoadReport report = IssueImporter.readIssues("test-files/import_act.csv", Format.CSV, count -> {
+			reserved[0] = count;
+			return 10;
+		});
+
+		assertEquals(6, reserved[0]);
+
+		List<Issue> issues = report.getIssues();
+		assertEquals(3, issues.size());
+		assertEquals(10, issues.get(0).getIssueId());
+		assertEquals(Issue.I_BUG, issues.get(0).getIssueType());
+		assertEquals("Crash on start", issues.get(0).getSummary());
+		assertEquals("[New] Seen on startup", issues.get(0).getNotes().get(0));
+		assertEquals(11, issues.get(1).getIssueId());
+		assertEquals(Issue.I_ENHANCEMENT, issues.get(1).getIssueType());
+		assertEquals("Add a \"dark\" theme, please", issues.get(1).getSummary());
+		assertEquals("[New] Asked for twice\nby users", issues.get(1).getNotes().get(0));
+		assertEquals(15, issues.get(2).getIssueId());
+
+		assertEquals(3, report.getErrors().size());
+		assertEquals(6, report.getErrors().get(0).getLineNumber());
+		assertEquals(7, report.getErrors().get(1).getLineNumber());
+		assertEquals("Invalid issue type", report.getErrors().get(1).getReason());
+		assertEquals(8, report.getErrors().get(2).getLineNumber());
+		assertEquals("Missing column", report.getErrors().get(2).getReason());
+
+		write("test-files/import_act.csv", "Type,Summary\nBug,No note column\n");
+		assertThrows(IllegalArgumentException.class,
+				() -> IssueImporter.readIssues("test-files/import_act.csv", Format.CSV, count -> 1));
+		assertThrows(IllegalArgumentException.class,
+				() -> IssueImporter.readIssues("test-files/missing.csv", Format.CSV, count -> 1));
+	}
+
+	/**
+	 * Tests importing TSV, where quotes are ordinary characters, and that a large file is made into
+	 * issues in row order.
+	 *
+	 * @throws IOException if the test file can not be written
+	 */
+	@Test
+	void testReadTsv() throws IOException {
+
+		StringBuilder text = new StringBuilder("type\tsummary\tnote\n");
+		for(int i = 0; i < 20_000; i++) {
+			text.append(i % 2 == 0 ? "Bug" : "Enhancement").append("\t\"Issue\" ").append(i).append("\tNote\n");
+		}
+		write("test-files/import_act.tsv", text.toString());
+
+		IssueLoadReport report = IssueImporter.readIssues("test-files/import_act.tsv", Format.TSV, count -> 1);
+
+		assertFalse(report.hasErrors());
+		assertEquals(20_000, report.getIssues().size());
+
+		for(int i = 0; i < 20_000; i++) {
+			assertEquals(i + 1, report.getIssues().get(i).getIssueId());
+			assertEquals("\"Issue\" " + i, report.getIssues().get(i).getSummary());
+		}
+
+		write("test-files/import_act.tsv", "type\tsummary\tnote\n");
+		assertEquals(0, IssueImporter.readIssues("test-files/import_act.tsv", Format.TSV, count -> 1)
+				.getIssues().size());
+	}
+}
@@ -5,7 +5,19 @@ package edu.ncsu.csc216.issue_manager.model.io;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -64,8 +76,173 @@ class IssueReaderTest {
 		assertTrue(i2.isConfirmed());
 		assertEquals(expectedNote2, i2.getNotesString());
 		
-
+	}
+	
+	/**
+	 * Tests that a GZIP compressed issue file is read by its first bytes rather than its name, and
+	 * that a compressed file which is cut short can not be loaded.
+	 *
+	 * @throws IOException if the compressed file can not be written
+	 */
+	@Test
+	void testReadCompressedIssues() throws IOException {
+		
+		byte[] text = Files.readAllBytes(Paths.get("test-files/issue1.txt"));
+		
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream("test-files/compressed_issues.dat"))) {
+			out.write(text);
+		}
+		
+		assertEquals(IssueReader.readIssuesFromFile("test-files/issue1.txt").toString(),
+				IssueReader.readIssuesFromFile("test-files/compressed_issues.dat").toString());
+		
+		byte[] compressed = Files.readAllBytes(Paths.get("test-files/compressed_issues.dat"));
+		Files.write(Paths.get("test-files/compressed_issues.dat"), Arrays.copyOf(compressed, compressed.length / 2));
+		
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesFromFile("test-files/compressed_issues.dat"));
+	}
+	
+	/**
+	 * Tests that damaging one record of a file written with checksums quarantines that record with its
+	 * byte offset and loads the rest, and that a record which lost its trailer is quarantined too.
+	 *
+	 * @throws IOException if the damaged file can not be written or the quarantine file read
+	 */
+	@Test
+	void testReadChecksummedIssues() throws IOException {
+		
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+		IssueWriter.writeIssuesToFile("test-files/checksum_issues.txt", issues, true);
+		
+		assertEquals(issues.toString(), IssueReader.readIssuesFromFile("test-files/checksum_issues.txt").toString());
+		
+		String text = new String(Files.readAllBytes(Paths.get("test-files/checksum_issues.txt")), StandardCharsets.UTF_8);
+		int second = text.indexOf("*3,");
+		int fourth = text.indexOf("*14,");
+		
+		//Changes the second issue's summary and removes the fourth issue's trailer
+		String damaged = text.substring(0, second) + text.substring(second).replaceFirst("Issue description", "Issue descriptiom");
+		damaged = damaged.replaceFirst("(\\*14,[^#]*)#CRC32C [0-9a-f]+\n", "$1");
+		Files.write(Paths.get("test-files/checksum_issues.txt"), damaged.getBytes(StandardCharsets.UTF_8));
+		
+		List<Issue> loaded = IssueReader.readIssuesFromFile("test-files/checksum_issues.txt");
+		
+		assertEquals(3, loaded.size());
+		assertEquals(1, loaded.get(0).getIssueId());
+		assertEquals(7, loaded.get(1).getIssueId());
+		assertEquals(15, loaded.get(2).getIssueId());
+		
+		List<String> quarantine = Files.readAllLines(Paths.get("test-files/checksum_issues.txt" + IssueReader.QUARANTINE_SUFFIX));
+		
+		assertEquals("# offset " + second + ", line 4: checksum mismatch", quarantine.get(0));
+		assertTrue(quarantine.get(1).startsWith("*3,Confirmed,Bug,Issue descriptiom"));
+		assertTrue(quarantine.contains("# offset " + damaged.indexOf("*14,") + ", line 14: missing checksum"));
+		
+		Files.write(Paths.get("test-files/checksum_issues.txt"), "*1,New,Bug\n-note\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesFromFile("test-files/checksum_issues.txt"));
+	}
+	
+	/**
+	 * Tests that a lenient read of a file of mostly invalid issues loads the valid ones and reports
+	 * every other record with its line, offset, and reason, where a strict read fails.
+	 */
+	@Test
+	void testReadIssuesLeniently() {
+		
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesFromFile("test-files/invalid_issues.txt"));
+		
+		IssueLoadReport report = IssueReader.readIssuesLeniently("test-files/invalid_issues.txt");
+		
+		assertTrue(report.hasErrors());
+		assertEquals("4 loaded, 12 rejected", report.toString());
+		assertEquals(1, report.getIssues().get(0).getIssueId());
+		assertEquals(30, report.getIssues().get(3).getIssueId());
+		
+		IssueLoadError error = report.getErrors().get(0);
+		assertEquals(3, error.getLineNumber());
+		assertEquals(59, error.getOffset());
+		assertEquals("invalid id 0", error.getReason());
+		
+		assertEquals("line 11, offset 283: expected 6 or 7 fields but found 5", report.getErrors().get(1).toString());
+		assertEquals("invalid state State", report.getErrors().get(3).getReason());
+		assertEquals("invalid type Type", report.getErrors().get(4).getReason());
+		assertEquals("fields are not valid together for Enhancement in state Working", report.getErrors().get(5).getReason());
+		assertEquals("missing notes", report.getErrors().get(11).getReason());
+		
+		report = IssueReader.readIssuesLeniently("test-files/issue1.txt");
+		assertFalse(report.hasErrors());
+		assertEquals(5, report.getIssues().size());
+		
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesLeniently("test-files/issue7.txt"));
+	}
+	
+	/**
+	 * Tests streaming a file yields its issues in file order, and only reads as far as the stream
+	 * is advanced, so a bad record after the issues taken is never reached.
+	 *
+	 * @throws IOException if the test file can not be written
+	 */
+	@Test
+	void testStreamIssues() throws IOException {
+		
+		try (Stream<Issue> issues = IssueReader.streamIssues("test-files/issue1.txt")) {
+			assertEquals(List.of(1, 3, 7, 14, 15), issues.map(Issue::getIssueId).collect(Collectors.toList()));
+		}
+		
+		Files.write(Paths.get("test-files/stream_act.txt"),
+				"*1,New,Bug,First,,false,\n-note\n*2,Closed,Bug,Bad,,false,\n-note\n".getBytes(StandardCharsets.UTF_8));
+		
+		try (Stream<Issue> issues = IssueReader.streamIssues("test-files/stream_act.txt")) {
+			Iterator<Issue> iterator = issues.iterator();
+			assertEquals("First", iterator.next().getSummary());
+			assertThrows(IllegalArgumentException.class, iterator::hasNext);
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.streamIssues("test-files/no_such_file.txt"));
+	}
+	
+	/**
+	 * Tests streaming a file in chunks finds every issue once and in file order, however many chunks
+	 * it is split into, for plain, checksummed, and compressed files.
+	 */
+	@Test
+	void testReadIssuesInParallel() {
+		
+		List<Issue> issues = new ArrayList<Issue>();
+		for(int i = 1; i <= 200; i++) {
+			issues.add(new Issue(i, i % 2 == 0 ? Issue.IssueType.BUG : Issue.IssueType.ENHANCEMENT,
+					"Summary " + i, "Note " + i + "\nthat goes on a new line"));
+		}
+		
+		List<Integer> expected = new ArrayList<Integer>();
+		for(Issue issue : issues) {
+			expected.add(issue.getIssueId());
+		}
+		
+		for(boolean checksums : new boolean[] {false, true}) {
+			IssueWriter.writeIssuesToFile("test-files/parallel_issues.txt", issues, checksums);
+			
+			for(int chunks : new int[] {1, 3, 7, 1000}) {
+				assertEquals(expected, IssueReader.readIssuesInParallel("test-files/parallel_issues.txt", chunks,
+						ArrayList<Integer>::new, (ids, issue) -> ids.add(issue.getIssueId()), (a, b) -> {
+							a.addAll(b);
+							return a;
+						}));
+			}
+		}
+		
+		IssueWriter.writeIssuesToFile("test-files/parallel_issues.txt.gz", issues, false);
+		
+		assertEquals(expected, IssueReader.readIssuesInParallel("test-files/parallel_issues.txt.gz",
+				ArrayList<Integer>::new, (ids, issue) -> ids.add(issue.getIssueId()), (a, b) -> {
+					a.addAll(b);
+					return a;
+				}));
 		
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesInParallel("test-files/invalid_issues.txt",
+				3, ArrayList<Integer>::new, (ids, issue) -> ids.add(issue.getIssueId()), (a, b) -> a));
+		assertThrows(IllegalArgumentException.class, () -> IssueReader.readIssuesInParallel("test-files/missing.txt",
+				ArrayList<Integer>::new, (ids, issue) -> ids.add(issue.getIssueId()), (a, b) -> a));
 	}
 
 }
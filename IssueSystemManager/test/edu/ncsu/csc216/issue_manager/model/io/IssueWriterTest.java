@@ -7,6 +7,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Scanner;
 
@@ -48,6 +52,135 @@ class IssueWriterTest {
 			
 	}
 	
+	/**
+	 * Tests that a file named .gz is written compressed and reads back the same issues.
+	 *
+	 * @throws IOException if the written file can not be read
+	 */
+	@Test
+	void testWriteCompressedIssues() throws IOException {
+		
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+		
+		IssueWriter.writeIssuesToFile("test-files/output.txt.gz", issues);
+		
+		assertTrue(IssueWriter.isCompressed("test-files/output.txt.gz"));
+		assertFalse(IssueWriter.isCompressed("test-files/output.txt"));
+		
+		byte[] bytes = Files.readAllBytes(Paths.get("test-files/output.txt.gz"));
+		assertEquals((byte) 0x1f, bytes[0]);
+		assertEquals((byte) 0x8b, bytes[1]);
+		
+		assertEquals(issues.toString(), IssueReader.readIssuesFromFile("test-files/output.txt.gz").toString());
+	}
+	
+	/**
+	 * Tests rewriting a file from its index copies the records of clean issues, drops deleted ones,
+	 * and gives the same bytes and index a full write would, and that a file changed since it was
+	 * indexed is written in full.
+	 *
+	 * @throws IOException if a written file can not be read
+	 */
+	@Test
+	void testWriteChangedIssuesToFile() throws IOException {
+		
+		List<Issue> issues = new ArrayList<Issue>(IssueReader.readIssuesFromFile("test-files/issue1.txt"));
+		
+		RecordIndex index = IssueWriter.writeChangedIssuesToFile("test-files/differential_output.txt", issues, true,
+				null, new BitSet());
+		
+		assertEquals(5, index.size());
+		assertTrue(index.hasChecksums());
+		assertTrue(index.matches("test-files/differential_output.txt"));
+		
+		issues.remove(2);
+		issues.set(0, new Issue(1, "Working", "Enhancement", "Changed summary", "owner", false, null,
+				new ArrayList<String>(List.of("[New] Note 1", "[Working] Note 2"))));
+		
+		BitSet dirty = new BitSet();
+		dirty.set(1);
+		dirty.set(7);
+		
+		index = IssueWriter.writeChangedIssuesToFile("test-files/differential_output.txt", issues, true, index, dirty);
+		IssueWriter.writeIssuesToFile("test-files/differential_exp.txt", issues, true);
+		
+		byte[] expected = Files.readAllBytes(Paths.get("test-files/differential_exp.txt"));
+		assertArrayEquals(expected, Files.readAllBytes(Paths.get("test-files/differential_output.txt")));
+		assertEquals(4, index.size());
+		assertTrue(index.find(7) < 0);
+		assertEquals('*', expected[(int) index.getOffset(index.find(14))]);
+		assertEquals(expected.length, index.getOffset(3) + index.getLength(3));
+		
+		Files.write(Paths.get("test-files/differential_output.txt"), "*99,New,Bug,Stray,,false,\n-note\n".getBytes());
+		
+		assertFalse(index.matches("test-files/differential_output.txt"));
+		
+		index = IssueWriter.writeChangedIssuesToFile("test-files/differential_output.txt", issues, true, index,
+				new BitSet());
+		
+		assertArrayEquals(expected, Files.readAllBytes(Paths.get("test-files/differential_output.txt")));
+		
+		issues.remove(3);
+		issues.add(new Issue(20, Issue.IssueType.BUG, "New problem", "note"));
+		dirty.clear();
+		dirty.set(15);
+		dirty.set(20);
+		
+		index = IssueWriter.writeChangedIssuesToFile("test-files/differential_output.txt", issues, true, index, dirty);
+		IssueWriter.writeIssuesToFile("test-files/differential_exp.txt", issues, true);
+		
+		assertArrayEquals(Files.readAllBytes(Paths.get("test-files/differential_exp.txt")),
+				Files.readAllBytes(Paths.get("test-files/differential_output.txt")));
+		assertEquals(4, index.size());
+		assertEquals(20, index.getId(3));
+	}
+	
+	/**
+	 * Tests a rewrite never writes to the old file, so a rewrite which fails partway leaves the file
+	 * and its index as they were, and a reader still holding the old file sees its old bytes.
+	 *
+	 * @throws IOException if a file can not be read or linked
+	 */
+	@Test
+	void testWriteChangedIssuesFailure() throws IOException {
+		
+		String file = "test-files/differential_act.txt";
+		List<Issue> issues = new ArrayList<Issue>(IssueReader.readIssuesFromFile("test-files/issue1.txt"));
+		
+		RecordIndex index = IssueWriter.writeChangedIssuesToFile(file, issues, true, null, new BitSet());
+		byte[] before = Files.readAllBytes(Paths.get(file));
+		
+		//The new issue fails once the records before it were copied, as a failed write would
+		issues.add(new Issue(20, Issue.IssueType.BUG, "Failing", "note") {
+			@Override
+			public String toString() {
+				throw new IllegalStateException("Write failed");
+			}
+		});
+		BitSet dirty = new BitSet();
+		dirty.set(20);
+		
+		RecordIndex previous = index;
+		assertThrows(IllegalArgumentException.class,
+				() -> IssueWriter.writeChangedIssuesToFile(file, issues, true, previous, dirty));
+		
+		assertArrayEquals(before, Files.readAllBytes(Paths.get(file)));
+		assertTrue(index.matches(file));
+		assertFalse(new File(file + ".tmp").exists());
+		
+		Files.deleteIfExists(Paths.get(file + ".old"));
+		Files.createLink(Paths.get(file + ".old"), Paths.get(file));
+		
+		issues.set(5, new Issue(20, Issue.IssueType.BUG, "Saved", "note"));
+		index = IssueWriter.writeChangedIssuesToFile(file, issues, true, index, dirty);
+		
+		assertArrayEquals(before, Files.readAllBytes(Paths.get(file + ".old")));
+		assertEquals(6, index.size());
+		assertEquals(6, IssueReader.readIssuesFromFile(file).size());
+		
+		Files.delete(Paths.get(file + ".old"));
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,74 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * Tests the JsonWriter class
+ * 
+ * @author michaelabrams
+ *
+ */
+class JsonWriterTest {
+
+	/**
+	 * Tests the construction of the JsonWriter class
+	 */
+	@Test
+	void testJsonWriter() {
+		assertNotNull(new JsonWriter());
+	}
+
+	/**
+	 * Tests strings are quoted with quotes, backslashes, and control characters escaped, and null is
+	 * written as the null literal.
+	 *
+	 * @throws IOException if the string can not be written
+	 */
+	@Test
+	void testWriteString() throws IOException {
+
+		StringBuilder sb = new StringBuilder();
+		JsonWriter.writeString(sb, "a \"b\" \\c\n\r\t\u0001\u001fé");
+		assertEquals("\"a \\\"b\\\" \\\\c\\n\\r\\t\\u0001\\u001fé\"", sb.toString());
+
+		sb.setLength(0);
+		JsonWriter.writeString(sb, null);
+		assertEquals("null", sb.toString());
+	}
+
+	/**
+	 * Tests an issue is written as the same object to a writer and to a builder.
+	 *
+	 * @throws IOException if the issue can not be written
+	 */
+	@Test
+	void testWriteIssue() throws IOException {
+
+		Issue issue = new Issue(3, "Working", "Bug", "Crash \"on\" save", "dev", true, null,
+				new ArrayList<String>(List.of("[New] Note 1\nmore", "[Working] Tab\there")));
+
+		StringBuilder sb = new StringBuilder();
+		JsonWriter.writeIssue(sb, issue);
+
+		assertEquals("{\"id\":3,\"state\":\"Working\",\"type\":\"Bug\",\"summary\":\"Crash \\\"on\\\" save\","
+				+ "\"owner\":\"dev\",\"confirmed\":true,\"resolution\":null,"
+				+ "\"notes\":[\"[New] Note 1\\nmore\",\"[Working] Tab\\there\"]}", sb.toString());
+
+		StringWriter out = new StringWriter();
+		JsonWriter.writeIssue(out, issue);
+
+		assertEquals(sb.toString(), out.toString());
+	}
+}
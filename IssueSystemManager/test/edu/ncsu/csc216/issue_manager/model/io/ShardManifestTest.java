@@ -0,0 +1,73 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * Tests the ShardManifest class
+ * 
+ * @author michaelabrams
+ *
+ */
+class ShardManifestTest {
+
+	/**
+	 * Tests issues written as shards are described by the manifest read back, and each shard is an
+	 * issue file holding its run of ids.
+	 */
+	@Test
+	void testWriteAndRead() {
+		
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+		
+		ShardManifest.write("test-files/manifest_test.manifest", issues, 2);
+		ShardManifest manifest = ShardManifest.read("test-files/manifest_test.manifest");
+		
+		assertEquals(3, manifest.getShardCount());
+		assertEquals(1, manifest.getFirstId(0));
+		assertEquals(3, manifest.getLastId(0));
+		assertEquals(7, manifest.getFirstId(1));
+		assertEquals(14, manifest.getLastId(1));
+		assertEquals(1, manifest.getIssueCount(2));
+		assertEquals(15, manifest.getLastId());
+		
+		assertEquals(0, manifest.findShard(1));
+		assertEquals(0, manifest.findShard(2));
+		assertEquals(-1, manifest.findShard(5));
+		assertEquals(1, manifest.findShard(14));
+		assertEquals(2, manifest.findShard(15));
+		assertEquals(-1, manifest.findShard(16));
+		assertEquals(-1, manifest.findShard(0));
+		
+		assertTrue(manifest.mightContain(1, 7));
+		assertTrue(manifest.getShardFile(1).endsWith("manifest_test-00001.txt"));
+		
+		List<Issue> shard = IssueReader.readIssuesFromFile(manifest.getShardFile(1));
+		assertEquals(2, shard.size());
+		assertEquals(issues.get(2).toString(), shard.get(0).toString());
+		assertEquals(issues.get(3).toString(), shard.get(1).toString());
+	}
+	
+	/**
+	 * Tests invalid manifest names, shard sizes, and files are rejected.
+	 */
+	@Test
+	void testInvalid() {
+		
+		List<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+		
+		assertFalse(ShardManifest.isManifest("test-files/issue1.txt"));
+		assertThrows(IllegalArgumentException.class, () -> ShardManifest.write("test-files/shards.txt", issues, 2));
+		assertThrows(IllegalArgumentException.class, () -> ShardManifest.write("test-files/shards.manifest", issues, 0));
+		assertThrows(IllegalArgumentException.class, () -> ShardManifest.read("test-files/no_such.manifest"));
+		assertThrows(IllegalArgumentException.class, () -> ShardManifest.read("test-files/invalid_shards.manifest"));
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.TransitionLog;
+
+/**
+ * Tests the TransitionLogFile class
+ * 
+ * @author michaelabrams
+ *
+ */
+class TransitionLogFileTest {
+
+	/** FILE is the issue file whose transition log the tests write */
+	private static final String FILE = "test-files/transition_log_act.txt";
+
+	/**
+	 * Tests writing every issue's log, appending to it, and reading it back, skipping issues which
+	 * are gone and a transition cut off at the end.
+	 *
+	 * @throws IOException if the log can not be cut short
+	 */
+	@Test
+	void testWriteAppendRead() throws IOException {
+		
+		Issue first = new Issue(1, IssueType.ENHANCEMENT, "First", "note");
+		Issue second = new Issue(300, IssueType.BUG, "Second", "note");
+		int assign = TransitionLog.encode(CommandValue.ASSIGN, Issue.NEW_NAME, Issue.WORKING_NAME);
+		int confirm = TransitionLog.encode(CommandValue.CONFIRM, Issue.NEW_NAME, Issue.CONFIRMED_NAME);
+		
+		first.getTransitionLog().add(1_700_000_000_000L, assign);
+		
+		TransitionLogFile.write(FILE, List.of(first, second));
+		TransitionLogFile.append(FILE, new int[] {300, 2}, new long[] {1_700_000_000_500L, 5},
+				new int[] {confirm, assign}, 2);
+		
+		Issue readFirst = new Issue(1, IssueType.ENHANCEMENT, "First", "note");
+		Issue readSecond = new Issue(300, IssueType.BUG, "Second", "note");
+		
+		assertEquals(2, TransitionLogFile.read(FILE, id -> id == 1 ? readFirst : id == 300 ? readSecond : null));
+		assertEquals(1_700_000_000_000L, readFirst.getTransitionLog().getTime(0));
+		assertEquals(Issue.WORKING_NAME, readFirst.getTransitionLog().getToState(0));
+		assertEquals(CommandValue.CONFIRM, readSecond.getTransitionLog().getCommand(0));
+		
+		//Cuts the last transition short, as a crash while appending would
+		try (RandomAccessFile file = new RandomAccessFile(FILE + TransitionLogFile.SUFFIX, "rw")) {
+			file.setLength(file.length() - 1);
+		}
+		
+		Issue cut = new Issue(2, IssueType.ENHANCEMENT, "Third", "note");
+		assertEquals(0, TransitionLogFile.read(FILE, id -> id == 2 ? cut : null));
+		
+		TransitionLogFile.write(FILE, List.of(new Issue(1, IssueType.BUG, "No history", "note")));
+		
+		assertFalse(new File(FILE + TransitionLogFile.SUFFIX).exists());
+		assertEquals(0, TransitionLogFile.read(FILE, id -> null));
+		
+		Files.write(Paths.get(FILE + TransitionLogFile.SUFFIX), "not a log".getBytes());
+		
+		assertEquals(-1, TransitionLogFile.read(FILE, id -> null));
+		assertFalse(new File(FILE + TransitionLogFile.SUFFIX).exists());
+		assertTrue(new File(FILE + TransitionLogFile.SUFFIX + IssueReader.QUARANTINE_SUFFIX).exists());
+	}
+	
+	/**
+	 * Tests a log is only read for the issue file it was written beside, and a damaged log adds no
+	 * transitions at all.
+	 *
+	 * @throws IOException if the files can not be written
+	 */
+	@Test
+	void testStaleAndDamagedLogs() throws IOException {
+		
+		Issue issue = new Issue(1, IssueType.ENHANCEMENT, "First", "note");
+		issue.getTransitionLog().add(1_700_000_000_000L,
+				TransitionLog.encode(CommandValue.ASSIGN, Issue.NEW_NAME, Issue.WORKING_NAME));
+		
+		Files.write(Paths.get(FILE), "*1,New,Enhancement,First,,false,\n-note\n".getBytes());
+		TransitionLogFile.write(FILE, List.of(issue, new Issue(2, IssueType.BUG, "Second", "note")));
+		
+		Issue read = new Issue(1, IssueType.ENHANCEMENT, "First", "note");
+		assertEquals(1, TransitionLogFile.read(FILE, id -> id == 1 ? read : null));
+		
+		//Appending nothing still stamps the log with the issue file as it was saved
+		Files.write(Paths.get(FILE), "*1,New,Enhancement,Changed,,false,\n-note\n".getBytes());
+		TransitionLogFile.append(FILE, new int[0], new long[0], new int[0], 0);
+		assertEquals(1, TransitionLogFile.read(FILE, id -> id == 1 ? new Issue(1, IssueType.BUG, "s", "n") : null));
+		
+		//A file replaced by something other than a save no longer matches its log
+		Files.write(Paths.get(FILE), "*1,New,Bug,Replaced,,false,\n-note\n".getBytes());
+		
+		Issue replaced = new Issue(1, IssueType.BUG, "Replaced", "note");
+		assertEquals(-1, TransitionLogFile.read(FILE, id -> id == 1 ? replaced : null));
+		assertFalse(replaced.hasTransitions());
+		assertFalse(new File(FILE + TransitionLogFile.SUFFIX).exists());
+		
+		//An entry with an unknown code damages the log, and the entries before it are not added
+		TransitionLogFile.write(FILE, List.of(issue));
+		try (RandomAccessFile file = new RandomAccessFile(FILE + TransitionLogFile.SUFFIX, "rw")) {
+			file.seek(file.length());
+			file.write(new byte[] {1, 1, (byte) 0xFF});
+		}
+		
+		Issue damaged = new Issue(1, IssueType.ENHANCEMENT, "First", "note");
+		assertEquals(-1, TransitionLogFile.read(FILE, id -> id == 1 ? damaged : null));
+		assertFalse(damaged.hasTransitions());
+		
+		Files.delete(Paths.get(FILE));
+	}
+}
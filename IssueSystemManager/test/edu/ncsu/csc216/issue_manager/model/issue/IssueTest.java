@@ -211,6 +211,33 @@ class IssueTest {
 		
 	}
 
+	/**
+	 * Tests resolution and type ordinals agree with the Resolution and IssueType enums, with no
+	 * resolution as 0.
+	 */
+	@Test
+	void testResolutionAndTypeOrdinals() {
+		
+		assertEquals(Resolution.values().length + 1, Issue.getResolutionCount());
+		assertEquals(0, Issue.getResolutionOrdinal((String) null));
+		assertEquals(0, Issue.getResolutionOrdinal((Resolution) null));
+		
+		String[] names = {Command.R_FIXED, Command.R_DUPLICATE, Command.R_WONTFIX, Command.R_WORKSFORME};
+		
+		for(Resolution resolution : Resolution.values()) {
+			assertEquals(resolution.ordinal() + 1, Issue.getResolutionOrdinal(names[resolution.ordinal()]));
+			assertEquals(resolution.ordinal() + 1, Issue.getResolutionOrdinal(resolution));
+		}
+		
+		assertEquals(Resolution.WONTFIX.ordinal() + 1, Issue.getResolutionOrdinal(validIssue3.getResolution()));
+		
+		assertThrows(IllegalArgumentException.class, () -> Issue.getResolutionOrdinal("Solved"));
+		
+		assertEquals(IssueType.BUG.ordinal(), Issue.getTypeOrdinal(Issue.I_BUG));
+		assertEquals(IssueType.ENHANCEMENT.ordinal(), Issue.getTypeOrdinal(Issue.I_ENHANCEMENT));
+		assertThrows(IllegalArgumentException.class, () -> Issue.getTypeOrdinal("Task"));
+	}
+
 	/**
 	 * Tests the getNotes method.
 	 */
@@ -466,6 +493,351 @@ class IssueTest {
 		
 	}
 
+	/**
+	 * Tests the compiled transition table against a frozen copy of the state classes it replaced,
+	 * for every state, issue type, confirmed status, owner, resolution, and command an issue can be given.
+	 */
+	@Test
+	void testUpdateAllTransitions() {
+		
+		String[] states = {Issue.NEW_NAME, Issue.WORKING_NAME, Issue.CONFIRMED_NAME, Issue.VERIFYING_NAME, Issue.CLOSED_NAME};
+		String[] types = {Issue.I_ENHANCEMENT, Issue.I_BUG};
+		String[] owners = {"", "owner"};
+		String[] resolutions = {"", Command.R_FIXED, Command.R_DUPLICATE, Command.R_WONTFIX, Command.R_WORKSFORME};
+		Resolution[] commandResolutions = {null, Resolution.FIXED, Resolution.DUPLICATE, Resolution.WONTFIX, Resolution.WORKSFORME};
+		
+		int checked = 0;
+		int accepted = 0;
+		
+		for(String state : states) {
+			for(String type : types) {
+				for(boolean confirmed : new boolean[] {false, true}) {
+					for(String owner : owners) {
+						for(String resolution : resolutions) {
+							for(CommandValue commandValue : CommandValue.values()) {
+								for(Resolution commandResolution : commandResolutions) {
+									
+									Issue issue;
+									Command command;
+									try {
+										ArrayList<String> notes = new ArrayList<String>();
+										notes.add("[" + state + "] note");
+										issue = new Issue(1, state, type, "Summary", owner, confirmed, resolution, notes);
+										command = new Command(commandValue, "newOwner", commandResolution, "update");
+									} catch (IllegalArgumentException e) {
+										continue;
+									}
+									
+									BaselineIssue expected = new BaselineIssue(state, type, owner, confirmed, resolution);
+									String before = issue.toString();
+									String label = before + commandValue + " " + commandResolution;
+									
+									boolean expectedRejected = false;
+									try {
+										expected.updateState(command);
+									} catch (UnsupportedOperationException e) {
+										expectedRejected = true;
+									}
+									
+									if(expectedRejected) {
+										assertThrows(UnsupportedOperationException.class, () -> issue.update(command), label);
+										assertEquals(before, issue.toString(), label);
+									}
+									else {
+										issue.update(command);
+										assertEquals(expected.state, issue.getStateName(), label);
+										assertEquals(expected.owner, issue.getOwner(), label);
+										assertEquals(expected.confirmed, issue.isConfirmed(), label);
+										assertEquals(expected.getResolution(), issue.getResolution(), label);
+										assertEquals(expected.note, issue.getNotes().get(1), label);
+										accepted++;
+									}
+									checked++;
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		
+		assertTrue(checked > 0);
+		assertTrue(accepted > 0);
+	}
+	
+	/**
+	 * BaselineIssue is a frozen copy of the NewState, WorkingState, ConfirmedState, VerifyingState, and
+	 * ClosedState classes Issue used before its transitions were compiled into a table. The logic of
+	 * each updateState method is kept as it was so the table can be checked against it.
+	 * 
+	 * @author michaelabrams
+	 *
+	 */
+	private static class BaselineIssue {
+		
+		/** state is the name of the issue's state */
+		private String state;
+		
+		/** issueType is the issue's type */
+		private final IssueType issueType;
+		
+		/** owner is the issue's owner, or null */
+		private String owner;
+		
+		/** confirmed is the issue's confirmed status */
+		private boolean confirmed;
+		
+		/** resolution is the issue's resolution, or null */
+		private Resolution resolution;
+		
+		/** note is the note the last command added, or null */
+		private String note;
+		
+		/**
+		 * Constructs a copy of an issue's fields
+		 * 
+		 * @param state is the name of the state
+		 * @param type is the type's string representation
+		 * @param owner is the owner, or an empty string for none
+		 * @param confirmed is the confirmed status
+		 * @param resolution is the resolution's string representation, or an empty string for none
+		 */
+		BaselineIssue(String state, String type, String owner, boolean confirmed, String resolution) {
+			this.state = state;
+			this.issueType = Issue.I_BUG.equals(type) ? IssueType.BUG : IssueType.ENHANCEMENT;
+			setOwner(owner);
+			this.confirmed = confirmed;
+			setResolution(resolution);
+		}
+		
+		/**
+		 * Updates the issue as the state class for its state did
+		 * 
+		 * @param command is the command
+		 * 
+		 * @throws UnsupportedOperationException if the state did not accept the command
+		 */
+		void updateState(Command command) {
+			
+			CommandValue commandValue = command.getCommand();
+			
+			switch(state) {
+			case Issue.NEW_NAME:
+				
+				switch (commandValue) {
+				case ASSIGN:
+					if(issueType == IssueType.ENHANCEMENT) {
+						setOwner(command.getOwnerId());
+						state = Issue.WORKING_NAME;
+						setResolution("");
+					}
+					else {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					break;
+				case RESOLVE:
+					if(issueType == IssueType.ENHANCEMENT && command.getResolution() == Resolution.WORKSFORME) {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					if(command.getResolution() == Resolution.FIXED) {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					resolution = command.getResolution();
+					state = Issue.CLOSED_NAME;
+					break;
+				case CONFIRM:
+					if(issueType == IssueType.BUG) {
+						confirmed = true;
+						state = Issue.CONFIRMED_NAME;
+					}
+					else {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					break;
+				default:
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+				break;
+				
+			case Issue.WORKING_NAME:
+				
+				if(commandValue != CommandValue.RESOLVE) {
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+				if(command.getResolution() == Resolution.FIXED) {
+					resolution = command.getResolution();
+					state = Issue.VERIFYING_NAME;
+				}
+				else if(issueType == IssueType.BUG) {
+					resolution = command.getResolution();
+					state = Issue.CLOSED_NAME;
+				}
+				else {
+					if(command.getResolution() == Resolution.WORKSFORME) {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					resolution = command.getResolution();
+					state = Issue.CLOSED_NAME;
+				}
+				break;
+				
+			case Issue.CONFIRMED_NAME:
+				
+				switch (commandValue) {
+				case ASSIGN:
+					setOwner(command.getOwnerId());
+					state = Issue.WORKING_NAME;
+					setResolution("");
+					break;
+				case RESOLVE:
+					if(command.getResolution() == Resolution.WONTFIX) {
+						resolution = command.getResolution();
+						state = Issue.CLOSED_NAME;
+					}
+					else {
+						throw new UnsupportedOperationException("Invalid information.");
+					}
+					break;
+				default:
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+				break;
+				
+			case Issue.VERIFYING_NAME:
+				
+				switch (commandValue) {
+				case REOPEN:
+					state = Issue.WORKING_NAME;
+					setResolution("");
+					break;
+				case VERIFY:
+					state = Issue.CLOSED_NAME;
+					break;
+				default:
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+				break;
+				
+			default:
+				
+				if(commandValue != CommandValue.REOPEN) {
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+				if(issueType == IssueType.ENHANCEMENT && owner != null && !owner.isEmpty()) {
+					state = Issue.WORKING_NAME;
+					setResolution("");
+				}
+				else if(issueType == IssueType.BUG && confirmed && owner != null && !owner.isEmpty()) {
+					state = Issue.WORKING_NAME;
+					setResolution("");
+				}
+				else if(issueType == IssueType.BUG && confirmed && (owner == null || owner.isEmpty())) {
+					state = Issue.CONFIRMED_NAME;
+					setResolution("");
+				}
+				else if(owner == null || owner.isEmpty()) {
+					state = Issue.NEW_NAME;
+					setResolution("");
+				}
+				else {
+					throw new UnsupportedOperationException("Invalid information.");
+				}
+			}
+			
+			if(command.getNote() != null && !"".equals(command.getNote())) {
+				note = "[" + state + "] " + command.getNote();
+			}
+		}
+		
+		/**
+		 * Gets the resolution's string representation
+		 * 
+		 * @return the resolution, or null if there is none
+		 */
+		String getResolution() {
+			
+			if(resolution == null) {
+				return null;
+			}
+			
+			switch(resolution) {
+			case DUPLICATE:
+				return Command.R_DUPLICATE;
+			case FIXED:
+				return Command.R_FIXED;
+			case WONTFIX:
+				return Command.R_WONTFIX;
+			default:
+				return Command.R_WORKSFORME;
+			}
+		}
+		
+		/**
+		 * Sets the owner, with an empty string for none
+		 * 
+		 * @param owner is the owner
+		 */
+		private void setOwner(String owner) {
+			this.owner = owner == null || "".equals(owner) ? null : owner;
+		}
+		
+		/**
+		 * Sets the resolution from its string representation, with an empty string for none
+		 * 
+		 * @param resolution is the resolution
+		 */
+		private void setResolution(String resolution) {
+			
+			if(resolution == null || "".equals(resolution)) {
+				this.resolution = null;
+			}
+			else if(Command.R_DUPLICATE.equals(resolution)) {
+				this.resolution = Resolution.DUPLICATE;
+			}
+			else if(Command.R_FIXED.equals(resolution)) {
+				this.resolution = Resolution.FIXED;
+			}
+			else if(Command.R_WONTFIX.equals(resolution)) {
+				this.resolution = Resolution.WONTFIX;
+			}
+			else {
+				this.resolution = Resolution.WORKSFORME;
+			}
+		}
+	}
+
+	/**
+	 * Tests each accepted command is recorded in the transition log at its time, a rejected one is
+	 * not, and the state at a time is read from the log.
+	 */
+	@Test
+	void testTransitionLog() {
+		
+		Issue bug = new Issue(9, IssueType.BUG, "Crash", "Crashes on start");
+		
+		assertFalse(bug.hasTransitions());
+		assertEquals(Issue.NEW_NAME, bug.getStateAt(0));
+		
+		bug.update(new Command(CommandValue.CONFIRM, null, null, "Reproduced"), 1_000);
+		bug.update(new Command(CommandValue.ASSIGN, "owner", null, "Taking it"), 2_000);
+		assertThrows(UnsupportedOperationException.class,
+				() -> bug.update(new Command(CommandValue.VERIFY, null, null, "Too soon"), 2_500));
+		bug.update(new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed"), 1_500);
+		
+		TransitionLog log = bug.getTransitionLog();
+		
+		assertEquals(3, log.size());
+		assertEquals(CommandValue.ASSIGN, log.getCommand(1));
+		assertEquals(Issue.CONFIRMED_NAME, log.getFromState(1));
+		assertEquals(Issue.WORKING_NAME, log.getToState(1));
+		assertEquals(2_000, log.getTime(2));
+		
+		assertEquals(Issue.NEW_NAME, bug.getStateAt(999));
+		assertEquals(Issue.CONFIRMED_NAME, bug.getStateAt(1_000));
+		assertEquals(Issue.CONFIRMED_NAME, bug.getStateAt(1_999));
+		assertEquals(Issue.VERIFYING_NAME, bug.getStateAt(2_000));
+	}
+	
 	/**
 	 * Tests the toString method.
 	 */
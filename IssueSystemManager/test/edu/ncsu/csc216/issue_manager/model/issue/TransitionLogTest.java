@@ -0,0 +1,80 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.issue_manager.model.issue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+
+/**
+ * Tests the TransitionLog class
+ * 
+ * @author michaelabrams
+ *
+ */
+class TransitionLogTest {
+
+	/**
+	 * Tests codes name the command and states they were made from.
+	 */
+	@Test
+	void testEncode() {
+		
+		TransitionLog log = new TransitionLog();
+		
+		for(CommandValue command : CommandValue.values()) {
+			log.add(log.size(), TransitionLog.encode(command, Issue.VERIFYING_NAME, Issue.CLOSED_NAME));
+		}
+		
+		for(int i = 0; i < log.size(); i++) {
+			assertEquals(CommandValue.values()[i], log.getCommand(i));
+			assertEquals(Issue.VERIFYING_NAME, log.getFromState(i));
+			assertEquals(Issue.CLOSED_NAME, log.getToState(i));
+		}
+		
+		assertThrows(IllegalArgumentException.class,
+				() -> TransitionLog.encode(CommandValue.ASSIGN, "Done", Issue.CLOSED_NAME));
+	}
+	
+	/**
+	 * Tests transitions added out of order are kept in time order, after others at the same time,
+	 * and that the state at a time is found around them.
+	 */
+	@Test
+	void testAddAndStateAt() {
+		
+		TransitionLog log = new TransitionLog();
+		
+		assertNull(log.stateAt(100));
+		
+		log.add(300, TransitionLog.encode(CommandValue.RESOLVE, Issue.WORKING_NAME, Issue.VERIFYING_NAME));
+		log.add(100, TransitionLog.encode(CommandValue.ASSIGN, Issue.NEW_NAME, Issue.WORKING_NAME));
+		log.add(300, TransitionLog.encode(CommandValue.VERIFY, Issue.VERIFYING_NAME, Issue.CLOSED_NAME));
+		
+		assertEquals(3, log.size());
+		assertEquals(100, log.getTime(0));
+		assertEquals(CommandValue.VERIFY, log.getCommand(2));
+		
+		assertEquals(-1, log.indexAt(99));
+		assertEquals(0, log.indexAt(299));
+		assertEquals(2, log.indexAt(300));
+		assertEquals(2, log.indexAt(Long.MAX_VALUE));
+		
+		assertEquals(Issue.NEW_NAME, log.stateAt(0));
+		assertEquals(Issue.WORKING_NAME, log.stateAt(100));
+		assertEquals(Issue.CLOSED_NAME, log.stateAt(300));
+		
+		TransitionLog copy = new TransitionLog(log);
+		log.add(400, TransitionLog.encode(CommandValue.REOPEN, Issue.CLOSED_NAME, Issue.WORKING_NAME));
+		
+		assertEquals(3, copy.size());
+		assertEquals(Issue.WORKING_NAME, log.stateAt(400));
+		
+		assertThrows(IllegalArgumentException.class, () -> log.add(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> log.add(0, TransitionLog.CODE_COUNT));
+		assertThrows(IndexOutOfBoundsException.class, () -> log.getTime(4));
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
+import edu.ncsu.csc216.issue_manager.model.io.IssueWriter;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueList;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests the flight recorder events committed by the model
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueEventsTest {
+
+	/**
+	 * Tests loading, saving, bulk adding, and updating issues commit events with their fields
+	 * while a recording is running.
+	 *
+	 * @throws IOException if the recording can not be written or read
+	 */
+	@Test
+	void testEventsAreRecorded() throws IOException {
+
+		Path saved = Files.createTempFile("issues", ".txt");
+		Path dump = Files.createTempFile("issues", ".jfr");
+
+		List<RecordedEvent> events;
+
+		try (Recording recording = new Recording()) {
+			recording.enable(IssueLoadEvent.class);
+			recording.enable(IssueSaveEvent.class);
+			recording.enable(IssueTransitionEvent.class);
+			recording.enable(IssueBulkEvent.class);
+			recording.start();
+
+			ArrayList<Issue> issues = IssueReader.readIssuesFromFile("test-files/issue1.txt");
+			IssueWriter.writeIssuesToFile(saved.toString(), issues);
+			new IssueList().addIssues(issues);
+
+			Issue issue = new Issue(9, IssueType.BUG, "Crash", "note");
+			issue.update(new Command(CommandValue.CONFIRM, null, null, "note"));
+			assertThrows(UnsupportedOperationException.class,
+					() -> issue.update(new Command(CommandValue.VERIFY, null, null, "note")));
+
+			recording.stop();
+			recording.dump(dump);
+			events = RecordingFile.readAllEvents(dump);
+		} finally {
+			Files.deleteIfExists(saved);
+			Files.deleteIfExists(dump);
+		}
+
+		RecordedEvent load = only(events, "edu.ncsu.csc216.issue_manager.IssueLoad");
+		assertEquals("test-files/issue1.txt", load.getString("path"));
+		assertEquals(5, load.getInt("issueCount"));
+		assertTrue(load.getLong("bytes") > 0);
+
+		RecordedEvent save = only(events, "edu.ncsu.csc216.issue_manager.IssueSave");
+		assertEquals(5, save.getInt("issueCount"));
+		assertTrue(save.getLong("bytes") > 0);
+
+		List<String> operations = new ArrayList<String>();
+		for(RecordedEvent e : events) {
+			if("edu.ncsu.csc216.issue_manager.IssueBulk".equals(e.getEventType().getName())) {
+				operations.add(e.getString("operation"));
+			}
+		}
+		assertTrue(operations.contains("addIssues"));
+		assertTrue(operations.contains("sortIssues"));
+
+		List<RecordedEvent> transitions = new ArrayList<RecordedEvent>();
+		for(RecordedEvent e : events) {
+			if("edu.ncsu.csc216.issue_manager.IssueTransition".equals(e.getEventType().getName())
+					&& e.getInt("issueId") == 9) {
+				transitions.add(e);
+			}
+		}
+		assertEquals(2, transitions.size());
+		transitions.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+		assertEquals("CONFIRM", transitions.get(0).getString("command"));
+		assertEquals(Issue.NEW_NAME, transitions.get(0).getString("fromState"));
+		assertEquals(Issue.CONFIRMED_NAME, transitions.get(0).getString("toState"));
+		assertTrue(transitions.get(0).getBoolean("accepted"));
+		assertFalse(transitions.get(1).getBoolean("accepted"));
+	}
+
+	/**
+	 * Finds the single recorded event of a type.
+	 *
+	 * @param events are the recorded events
+	 * @param name is the event type's name
+	 *
+	 * @return the event
+	 */
+	private static RecordedEvent only(List<RecordedEvent> events, String name) {
+
+		RecordedEvent found = null;
+
+		for(RecordedEvent e : events) {
+			if(name.equals(e.getEventType().getName())) {
+				assertNull(found);
+				found = e;
+			}
+		}
+
+		assertNotNull(found);
+		return found;
+	}
+}
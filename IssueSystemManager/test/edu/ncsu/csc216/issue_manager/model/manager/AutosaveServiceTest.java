@@ -0,0 +1,169 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the AutosaveService class
+ *
+ * @author michaelabrams
+ *
+ */
+class AutosaveServiceTest {
+
+	/** FILE is the file the tests autosave to */
+	private static final String FILE = "test-files/autosave_act.txt";
+
+	/**
+	 * Creates a new issue list before each test case.
+	 */
+	@BeforeEach
+	public void setup() {
+		IssueManager.getInstance().createNewIssueList();
+	}
+
+	/**
+	 * Tests a burst of changes is saved once after the list goes quiet, and the save is recorded.
+	 */
+	@Test
+	void testCoalescesBurst() {
+
+		IssueManager manager = IssueManager.getInstance();
+		long lags = AutosaveService.getLagHistogram().getCount();
+
+		try (AutosaveService autosave = new AutosaveService(manager, FILE, false, 100, 10_000)) {
+
+			for(int i = 0; i < 20; i++) {
+				manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+			}
+
+			assertTrue(waitFor(() -> !manager.hasUnsavedChanges()));
+			assertTrue(waitFor(() -> autosave.getSaveCount() == 1));
+			assertEquals(0, autosave.getSkipCount());
+			assertEquals(lags + 1, AutosaveService.getLagHistogram().getCount());
+		}
+
+		manager.loadIssuesFromFile(FILE);
+		assertEquals(20, manager.getIssueCount());
+	}
+
+	/**
+	 * Tests a list which never goes quiet is still saved once its oldest change waits the maximum delay.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testMaximumDelay() throws InterruptedException {
+
+		IssueManager manager = IssueManager.getInstance();
+
+		try (AutosaveService autosave = new AutosaveService(manager, FILE, false, 200, 300)) {
+
+			for(int i = 0; i < 20; i++) {
+				manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+				Thread.sleep(50);
+			}
+
+			assertTrue(autosave.getSaveCount() >= 1);
+		}
+	}
+
+	/**
+	 * Tests an autosave is skipped when the list was saved by hand first, and that closing the service
+	 * saves changes which are still waiting.
+	 */
+	@Test
+	void testSkipAndClose() {
+
+		IssueManager manager = IssueManager.getInstance();
+
+		AutosaveService autosave = new AutosaveService(manager, FILE, false, 100, 10_000);
+
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		manager.saveIssuesToFile(FILE);
+
+		assertTrue(waitFor(() -> autosave.getSkipCount() == 1));
+		assertEquals(0, autosave.getSaveCount());
+
+		manager.addIssueToList(IssueType.BUG, "Found another problem", "Problem");
+		autosave.close();
+
+		assertFalse(manager.hasUnsavedChanges());
+		assertEquals(1, autosave.getSaveCount());
+
+		manager.addIssueToList(IssueType.BUG, "Found a third problem", "Problem");
+
+		assertTrue(manager.hasUnsavedChanges());
+		assertThrows(IllegalArgumentException.class, () -> new AutosaveService(manager, FILE, false, 100, 50));
+	}
+
+	/**
+	 * Tests cancelling the service drops changes which are still waiting, and that nothing is written
+	 * to its file once the list is replaced.
+	 *
+	 * @throws IOException if the file can not be read or written
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testCancel() throws IOException, InterruptedException {
+
+		IssueManager manager = IssueManager.getInstance();
+
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		manager.saveIssuesToFile(FILE);
+		byte[] saved = Files.readAllBytes(Paths.get(FILE));
+
+		AutosaveService autosave = new AutosaveService(manager, FILE, false, 50, 10_000);
+
+		manager.addIssueToList(IssueType.BUG, "Found another problem", "Problem");
+		autosave.cancel();
+		manager.createNewIssueList();
+		manager.addIssueToList(IssueType.ENHANCEMENT, "Unrelated", "Note");
+
+		Thread.sleep(200);
+
+		assertEquals(0, autosave.getSaveCount());
+		assertArrayEquals(saved, Files.readAllBytes(Paths.get(FILE)));
+		assertTrue(manager.hasUnsavedChanges());
+
+		autosave.cancel();
+		autosave.close();
+	}
+
+	/**
+	 * Waits up to five seconds for a condition to be true.
+	 *
+	 * @param condition is the condition
+	 *
+	 * @return true if the condition became true
+	 */
+	private boolean waitFor(BooleanSupplier condition) {
+
+		long deadline = System.currentTimeMillis() + 5_000;
+
+		while(!condition.getAsBoolean()) {
+			if(System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the IssueAggregates class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueAggregatesTest {
+
+	/** manager is the issue manager the aggregates are read from */
+	private IssueManager manager;
+
+	/** aggregates are the manager's aggregates */
+	private IssueAggregates aggregates;
+
+	/**
+	 * Creates a new issue list before each test case.
+	 */
+	@BeforeEach
+	public void setup() {
+		manager = IssueManager.getInstance();
+		manager.createNewIssueList();
+		aggregates = manager.getAggregates();
+	}
+
+	/**
+	 * Tests adding and deleting issues changes the counts.
+	 */
+	@Test
+	void testAddAndDelete() {
+
+		assertEquals(0, aggregates.getIssueCount());
+
+		int bug = manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		manager.addIssueToList(IssueType.ENHANCEMENT, "An idea", "Idea");
+		manager.addIssueToList(IssueType.ENHANCEMENT, "Another idea", "Idea");
+
+		assertEquals(3, aggregates.getIssueCount());
+		assertEquals(3, aggregates.getStateCount(Issue.NEW_NAME));
+		assertEquals(1, aggregates.getTypeCount(IssueType.BUG));
+		assertEquals(2, aggregates.getTypeCount(IssueType.ENHANCEMENT));
+		assertEquals(3, aggregates.getResolutionCount(null));
+		assertEquals(3, aggregates.getOwnerCount(null));
+		assertEquals(1, aggregates.getOpenCount(null, IssueType.BUG));
+
+		manager.deleteIssueById(bug);
+		manager.deleteIssueById(bug);
+
+		assertEquals(2, aggregates.getIssueCount());
+		assertEquals(0, aggregates.getTypeCount(IssueType.BUG));
+		assertEquals(0, aggregates.getOpenCount(null, IssueType.BUG));
+		assertThrows(IllegalArgumentException.class, () -> aggregates.getStateCount("Lost"));
+	}
+
+	/**
+	 * Tests commands move an issue between counts as its state, owner, and resolution change.
+	 */
+	@Test
+	void testUpdates() {
+
+		int id = manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+
+		manager.executeCommand(id, new Command(CommandValue.CONFIRM, null, null, "Confirmed"));
+		assertEquals(1, aggregates.getConfirmedCount());
+		assertEquals(1, aggregates.getStateTypeCount(Issue.CONFIRMED_NAME, IssueType.BUG));
+
+		manager.executeCommand(id, new Command(CommandValue.ASSIGN, "jdoe", null, "Assigned"));
+		assertEquals(0, aggregates.getStateCount(Issue.CONFIRMED_NAME));
+		assertEquals(1, aggregates.getStateCount(Issue.WORKING_NAME));
+		assertEquals(0, aggregates.getOwnerCount(null));
+		assertEquals(1, aggregates.getOpenCount("jdoe", IssueType.BUG));
+		assertEquals(Arrays.asList("jdoe"), aggregates.getOwners());
+
+		manager.executeCommand(id, new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed"));
+		manager.executeCommand(id, new Command(CommandValue.VERIFY, null, null, "Verified"));
+		assertEquals(1, aggregates.getStateCount(Issue.CLOSED_NAME));
+		assertEquals(1, aggregates.getResolutionCount(Resolution.FIXED));
+		assertEquals(1, aggregates.getOwnerCount("jdoe"));
+		assertEquals(0, aggregates.getOpenCount("jdoe", IssueType.BUG));
+
+		//A rejected command leaves the counts alone
+		assertThrows(UnsupportedOperationException.class,
+				() -> manager.executeCommand(id, new Command(CommandValue.CONFIRM, null, null, "Again")));
+		assertEquals(1, aggregates.getStateCount(Issue.CLOSED_NAME));
+
+		manager.executeCommand(id, new Command(CommandValue.REOPEN, null, null, "Reopened"));
+		assertEquals(0, aggregates.getResolutionCount(Resolution.FIXED));
+		assertEquals(1, aggregates.getResolutionCount(null));
+		assertEquals(1, aggregates.getIssueCount());
+	}
+
+	/**
+	 * Tests the counts after loading a file match a scan of every issue, and are reset by a new list.
+	 */
+	@Test
+	void testLoadMatchesScan() {
+
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		List<Issue> issues = manager.getIssueListSnapshot();
+
+		assertEquals(issues.size(), aggregates.getIssueCount());
+
+		for(String state : new String[] {Issue.NEW_NAME, Issue.WORKING_NAME, Issue.CONFIRMED_NAME,
+				Issue.VERIFYING_NAME, Issue.CLOSED_NAME}) {
+			assertEquals(issues.stream().filter(i -> state.equals(i.getStateName())).count(),
+					aggregates.getStateCount(state));
+		}
+
+		assertEquals(issues.stream().filter(i -> Issue.I_BUG.equals(i.getIssueType())).count(),
+				aggregates.getTypeCount(IssueType.BUG));
+		assertEquals(issues.stream().filter(Issue::isConfirmed).count(), aggregates.getConfirmedCount());
+		assertEquals(issues.stream().filter(i -> i.getResolution() == null).count(),
+				aggregates.getResolutionCount(null));
+
+		for(String owner : aggregates.getOwners()) {
+			assertEquals(issues.stream().filter(i -> owner.equals(i.getOwner())).count(),
+					aggregates.getOwnerCount(owner));
+		}
+
+		manager.createNewIssueList();
+
+		assertEquals(0, aggregates.getIssueCount());
+		assertTrue(aggregates.getOwners().isEmpty());
+	}
+}
@@ -5,14 +5,17 @@ package edu.ncsu.csc216.issue_manager.model.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.io.CommandLogReader;
 import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
 
 /**
  * Tests the IssueList class
@@ -71,6 +74,51 @@ class IssueListTest {
 		
 	}
 
+	/**
+	 * Tests the mergeIssues method with each conflict policy, merging an unsorted source with a
+	 * sorted one and with a source which repeats an id.
+	 */
+	@Test
+	void testMergeIssues() {
+		
+		List<List<Issue>> sources = new ArrayList<List<Issue>>();
+		sources.add(List.of(new Issue(5, IssueType.BUG, "first 5", "note"), new Issue(2, IssueType.BUG, "first 2", "note")));
+		sources.add(List.of(new Issue(2, IssueType.ENHANCEMENT, "second 2", "note"), new Issue(9, IssueType.BUG, "second 9", "note")));
+		sources.add(List.of(new Issue(5, IssueType.BUG, "third 5", "note"), new Issue(5, IssueType.BUG, "third 5 again", "note")));
+		
+		IssueList issueList = new IssueList();
+		
+		assertEquals(3, issueList.mergeIssues(sources, IssueList.ConflictPolicy.KEEP_FIRST));
+		assertEquals(3, issueList.getIssues().size());
+		assertEquals("first 2", issueList.getIssues().get(0).getSummary());
+		assertEquals("first 5", issueList.getIssues().get(1).getSummary());
+		assertEquals("second 9", issueList.getIssues().get(2).getSummary());
+		assertEquals(10, issueList.addIssue(IssueType.BUG, "new", "note"));
+		
+		assertEquals(3, issueList.mergeIssues(sources, IssueList.ConflictPolicy.KEEP_LAST));
+		assertEquals(3, issueList.getIssues().size());
+		assertEquals("second 2", issueList.getIssues().get(0).getSummary());
+		assertEquals("third 5 again", issueList.getIssues().get(1).getSummary());
+		assertEquals("second 9", issueList.getIssues().get(2).getSummary());
+		
+		assertEquals(3, issueList.mergeIssues(sources, IssueList.ConflictPolicy.REMAP));
+		assertEquals(6, issueList.getIssues().size());
+		int[] ids = {2, 5, 9, 10, 11, 12};
+		String[] summaries = {"first 2", "first 5", "second 9", "second 2", "third 5", "third 5 again"};
+		for(int i = 0; i < ids.length; i++) {
+			assertEquals(ids[i], issueList.getIssues().get(i).getIssueId());
+			assertEquals(summaries[i], issueList.getIssues().get(i).getSummary());
+		}
+		assertEquals("Enhancement", issueList.getIssueById(10).getIssueType());
+		assertEquals(1, issueList.searchIssues("again").size());
+		assertEquals(13, issueList.addIssue(IssueType.BUG, "new", "note"));
+		
+		assertEquals(5, sources.get(0).get(0).getIssueId());
+		assertEquals(0, issueList.mergeIssues(new ArrayList<List<Issue>>(), IssueList.ConflictPolicy.REMAP));
+		assertEquals(0, issueList.getIssues().size());
+		assertThrows(IllegalArgumentException.class, () -> issueList.mergeIssues(sources, null));
+	}
+	
 	/**
 	 * Tests the getIssues method for when issues are added and comparing the expected size
 	 * through the getIssue method.
@@ -169,6 +217,146 @@ class IssueListTest {
 		
 	}
 
+	/**
+	 * Tests the replayCommands method applies a log's commands in order and reports rejected,
+	 * unmatched, and malformed entries without stopping.
+	 */
+	@Test
+	void testReplayCommands() {
+		
+		IssueList issueList = new IssueList();
+		
+		issueList.addIssue(Issue.IssueType.ENHANCEMENT, "Improve", "Want better");
+		issueList.addIssue(Issue.IssueType.BUG, "Crash", "Crashes on start");
+		
+		CommandLogReader log = new CommandLogReader(new StringReader("1,ASSIGN,owner,,Taking it\n"
+				+ "2,VERIFY,,,Too early\n"
+				+ "9,CONFIRM,,,No such issue\n"
+				+ "2,CONFIRM\n"
+				+ "2,CONFIRM,,,Reproduced\n"
+				+ "1,RESOLVE,,FIXED,Done\n"), "log");
+		
+		List<String> problems = new ArrayList<String>();
+		ReplayReport report = issueList.replayCommands(log, problems::add);
+		
+		assertEquals(3, report.getApplied());
+		assertEquals(1, report.getRejected());
+		assertEquals(1, report.getUnmatched());
+		assertEquals(1, report.getMalformed());
+		assertEquals(6, report.getTotal());
+		assertEquals("3 applied, 1 rejected, 1 unmatched, 1 malformed", report.toString());
+		
+		assertEquals(Issue.VERIFYING_NAME, issueList.getIssueById(1).getStateName());
+		assertEquals(Issue.CONFIRMED_NAME, issueList.getIssueById(2).getStateName());
+		
+		assertEquals("log:2: VERIFY rejected for issue 2 in state New.", problems.get(0));
+		assertEquals("log:3: no issue 9.", problems.get(1));
+		assertEquals("log:4: invalid command.", problems.get(2));
+		
+		assertEquals(1, issueList.searchIssues("reproduced").size());
+	}
+
+	/**
+	 * Tests the searchIssues method finds issues by words in their summaries and notes, including
+	 * notes added by commands, and stops finding deleted issues.
+	 */
+	@Test
+	void testSearchIssues() {
+		
+		IssueList issueList = new IssueList();
+		
+		issueList.addIssue(Issue.IssueType.BUG, "Crash on load", "Crashes loading a file");
+		issueList.addIssue(Issue.IssueType.ENHANCEMENT, "Faster save", "Saving a file is slow");
+		
+		assertEquals(2, issueList.searchIssues("file").size());
+		assertEquals(1, issueList.searchIssues("crash").get(0).getIssueId());
+		assertEquals(2, issueList.searchIssues("crash OR slow").size());
+		
+		issueList.executeCommand(2, new Command(Command.CommandValue.ASSIGN, "owner", null, "Profiling the writer"));
+		
+		assertEquals(2, issueList.searchIssues("profiling").get(0).getIssueId());
+		
+		issueList.deleteIssueById(2);
+		
+		assertEquals(0, issueList.searchIssues("profiling").size());
+		assertEquals(1, issueList.searchIssues("file").size());
+		
+	}
+
+	/**
+	 * Tests the getIssuesPage method with and without filters, and with pages past the end of the list.
+	 */
+	@Test
+	void testGetIssuesPage() {
+		
+		IssueList issueList = new IssueList();
+		
+		issueList.addIssues(IssueReader.readIssuesFromFile("test-files/issue1.txt"));
+		
+		List<Issue> page = issueList.getIssuesPage(1, 2, null, null, null);
+		
+		assertEquals(2, page.size());
+		assertEquals(3, page.get(0).getIssueId());
+		assertEquals(7, page.get(1).getIssueId());
+		
+		assertEquals(0, issueList.getIssuesPage(5, 2, null, null, null).size());
+		assertEquals(1, issueList.getIssuesPage(4, 10, null, null, null).size());
+		
+		page = issueList.getIssuesPage(1, 5, Issue.I_ENHANCEMENT, null, null);
+		
+		assertEquals(2, page.size());
+		assertEquals(14, page.get(0).getIssueId());
+		assertEquals(15, page.get(1).getIssueId());
+		
+		page = issueList.getIssuesPage(0, 5, null, null, "owner");
+		
+		assertEquals(3, page.size());
+		
+		assertEquals(1, issueList.getIssuesPage(0, 5, Issue.I_BUG, Issue.WORKING_NAME, "owner").size());
+		
+		assertThrows(IllegalArgumentException.class, () -> issueList.getIssuesPage(-1, 5, null, null, null));
+		assertThrows(IllegalArgumentException.class, () -> issueList.getIssuesPage(0, -5, null, null, null));
+		
+	}
+	
+	/**
+	 * Tests the getIssuesAfter method pages through the list by the last id seen, including ids
+	 * which are not in the list.
+	 */
+	@Test
+	void testGetIssuesAfter() {
+		
+		IssueList issueList = new IssueList();
+		
+		issueList.addIssues(IssueReader.readIssuesFromFile("test-files/issue1.txt"));
+		
+		List<Issue> page = issueList.getIssuesAfter(0, 2, null, null, null);
+		
+		assertEquals(2, page.size());
+		assertEquals(1, page.get(0).getIssueId());
+		assertEquals(3, page.get(1).getIssueId());
+		
+		page = issueList.getIssuesAfter(3, 2, null, null, null);
+		
+		assertEquals(7, page.get(0).getIssueId());
+		assertEquals(14, page.get(1).getIssueId());
+		
+		page = issueList.getIssuesAfter(8, 2, null, null, null);
+		
+		assertEquals(14, page.get(0).getIssueId());
+		assertEquals(15, page.get(1).getIssueId());
+		
+		assertEquals(0, issueList.getIssuesAfter(15, 2, null, null, null).size());
+		
+		page = issueList.getIssuesAfter(1, 5, Issue.I_ENHANCEMENT, null, null);
+		
+		assertEquals(2, page.size());
+		assertEquals(14, page.get(0).getIssueId());
+		
+		assertEquals(1, issueList.getIssuesAfter(0, 5, null, Issue.CLOSED_NAME, null).size());
+		
+	}
+
 	/**
 	 * Tests the deleteIssueById method when deleting existent and nonexistent issues.
 	 */
@@ -7,14 +7,26 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.io.IssueExporter;
+import edu.ncsu.csc216.issue_manager.model.io.IssueImporter;
+import edu.ncsu.csc216.issue_manager.model.io.IssueLoadReport;
+import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
+import edu.ncsu.csc216.issue_manager.model.io.IssueWriter;
+import edu.ncsu.csc216.issue_manager.model.io.ShardManifest;
+import edu.ncsu.csc216.issue_manager.model.io.TransitionLogFile;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue;
 import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.issue.IssueListener;
 
 /**
  * Tests the IssueManager class
@@ -62,6 +74,170 @@ class IssueManagerTest {
 		
 	}
 
+	/**
+	 * Tests saving over a file which was just saved only tracks and rewrites the issues which were
+	 * updated, added, or deleted since, and gives the same file a full save would.
+	 */
+	@Test
+	void testSaveChangedIssuesToFile() throws IOException {
+		
+		IssueManager manager = IssueManager.getInstance();
+		
+		assertFalse(manager.hasUnsavedChanges());
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		
+		assertFalse(manager.hasUnsavedChanges());
+		
+		manager.saveIssuesToFile("test-files/differential_act.txt", true);
+		manager.executeCommand(1, new Command(Command.CommandValue.ASSIGN, "owner", null, "Assigned an owner"));
+		manager.deleteIssueById(7);
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		
+		assertTrue(manager.hasUnsavedChanges());
+		assertEquals(3, manager.getUnsavedIssueCount());
+		
+		manager.saveIssuesToFile("test-files/differential_act.txt", true);
+		
+		assertFalse(manager.hasUnsavedChanges());
+		
+		IssueWriter.writeIssuesToFile("test-files/differential_exp.txt", manager.getIssueListSnapshot(), true);
+		
+		assertArrayEquals(Files.readAllBytes(Paths.get("test-files/differential_exp.txt")),
+				Files.readAllBytes(Paths.get("test-files/differential_act.txt")));
+		
+		manager.loadIssuesFromFile("test-files/differential_act.txt");
+		
+		assertEquals("owner", manager.getIssueById(1).getOwner());
+		assertNull(manager.getIssueById(7));
+		assertNotNull(manager.getIssueById(16));
+	}
+	
+	/**
+	 * Tests the issues which entered a state between two times and the state of an issue at a time
+	 * are answered from the transition logs, which survive a save and load, with a later save only
+	 * appending to them unless an issue was deleted.
+	 */
+	@Test
+	void testTransitionQueries() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		String file = "test-files/transitions_act.txt";
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		
+		long before = System.currentTimeMillis();
+		manager.executeCommand(1, new Command(Command.CommandValue.ASSIGN, "owner", null, "Taking it"));
+		manager.executeCommand(1, new Command(Command.CommandValue.RESOLVE, null, Command.Resolution.FIXED, "Done"));
+		manager.executeCommand(7, new Command(Command.CommandValue.RESOLVE, null, Command.Resolution.FIXED, "Done"));
+		long after = System.currentTimeMillis() + 1;
+		
+		assertArrayEquals(new int[] {1, 7}, manager.getIssuesEnteringState(Issue.VERIFYING_NAME, before, after));
+		assertArrayEquals(new int[0], manager.getIssuesEnteringState(Issue.VERIFYING_NAME, after, Long.MAX_VALUE));
+		assertArrayEquals(new int[] {1}, manager.getIssuesEnteringState(Issue.WORKING_NAME, before, after));
+		assertEquals(Issue.NEW_NAME, manager.getIssueStateAt(1, before - 1));
+		assertEquals(Issue.VERIFYING_NAME, manager.getIssueStateAt(1, after));
+		assertNull(manager.getIssueStateAt(99, after));
+		assertThrows(IllegalArgumentException.class, () -> manager.getIssuesEnteringState("Done", 0, after));
+		
+		manager.saveIssuesToFile(file);
+		long length = new File(file + TransitionLogFile.SUFFIX).length();
+		
+		manager.executeCommand(7, new Command(Command.CommandValue.VERIFY, null, null, "Verified"));
+		manager.saveIssuesToFile(file);
+		
+		assertTrue(new File(file + TransitionLogFile.SUFFIX).length() > length);
+		length = new File(file + TransitionLogFile.SUFFIX).length();
+		
+		//A deletion rewrites the log without the deleted issue's transitions
+		manager.deleteIssueById(1);
+		manager.saveIssuesToFile(file);
+		
+		assertTrue(new File(file + TransitionLogFile.SUFFIX).length() < length);
+		assertArrayEquals(new int[] {7}, manager.getIssuesEnteringState(Issue.VERIFYING_NAME, before, after));
+		
+		manager.loadIssuesFromFile(file);
+		
+		assertArrayEquals(new int[] {7}, manager.getIssuesEnteringState(Issue.VERIFYING_NAME, before, after));
+		assertEquals(2, manager.getIssueById(7).getTransitionLog().size());
+		assertEquals(Issue.CLOSED_NAME, manager.getIssueStateAt(7, Long.MAX_VALUE));
+		assertEquals(Issue.WORKING_NAME, manager.getIssueStateAt(7, before - 1));
+	}
+	
+	/**
+	 * Tests an issue given the id of a deleted issue does not inherit its transitions, in the index or
+	 * in the transition log after a save and load.
+	 */
+	@Test
+	void testTransitionsAfterIdReused() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		String file = "test-files/transitions_reused_act.txt";
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		manager.executeCommand(15, new Command(Command.CommandValue.REOPEN, null, null, "Again"));
+		manager.deleteIssueById(15);
+		assertEquals(15, manager.addIssueToList(IssueType.BUG, "Crash", "New crash"));
+		
+		assertArrayEquals(new int[0], manager.getIssuesEnteringState(Issue.WORKING_NAME, 0, Long.MAX_VALUE));
+		assertEquals(Issue.NEW_NAME, manager.getIssueStateAt(15, Long.MAX_VALUE));
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		manager.executeCommand(15, new Command(Command.CommandValue.REOPEN, null, null, "Again"));
+		manager.saveIssuesToFile(file);
+		manager.deleteIssueById(15);
+		manager.saveIssuesToFile(file);
+		
+		manager.loadIssuesFromFile(file);
+		assertEquals(15, manager.addIssueToList(IssueType.BUG, "Crash", "New crash"));
+		manager.saveIssuesToFile(file);
+		manager.loadIssuesFromFile(file);
+		
+		assertEquals(0, manager.getIssueById(15).getTransitionLog().size());
+		assertArrayEquals(new int[0], manager.getIssuesEnteringState(Issue.WORKING_NAME, 0, Long.MAX_VALUE));
+	}
+	
+	/**
+	 * Tests a transition log is only attached to the issue file it was saved with, a log which can not
+	 * be read is set aside without failing the load, and a manifest keeps its issues' history.
+	 * 
+	 * @throws IOException if the log can not be damaged
+	 */
+	@Test
+	void testTransitionLogMismatch() throws IOException {
+		
+		IssueManager manager = IssueManager.getInstance();
+		String file = "test-files/transitions_stale_act.txt";
+		String manifest = "test-files/manager_transitions.manifest";
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		long before = System.currentTimeMillis();
+		manager.executeCommand(1, new Command(Command.CommandValue.ASSIGN, "owner", null, "Taking it"));
+		manager.saveIssuesToFile(file);
+		manager.saveIssuesToFile(manifest);
+		
+		//Replacing the issue file without a save leaves a log for other issues
+		IssueWriter.writeIssuesToFile(file, IssueReader.readIssuesFromFile("test-files/issue1.txt"));
+		manager.loadIssuesFromFile(file);
+		
+		assertEquals(Issue.NEW_NAME, manager.getIssueStateAt(1, Long.MAX_VALUE));
+		assertFalse(manager.getIssueById(1).hasTransitions());
+		assertTrue(new File(file + TransitionLogFile.SUFFIX + IssueReader.QUARANTINE_SUFFIX).exists());
+		
+		Files.write(Paths.get(file + TransitionLogFile.SUFFIX), "garbage".getBytes(StandardCharsets.UTF_8));
+		manager.loadIssuesFromFile(file);
+		
+		assertEquals(5, manager.getIssueCount());
+		assertFalse(manager.hasUnsavedChanges());
+		assertFalse(new File(file + TransitionLogFile.SUFFIX).exists());
+		
+		manager.loadIssuesFromFile(manifest);
+		
+		assertEquals(1, manager.getIssueById(1).getTransitionLog().size());
+		assertEquals(Issue.NEW_NAME, manager.getIssueStateAt(1, before - 1));
+		assertArrayEquals(new int[] {1}, manager.getIssuesEnteringState(Issue.WORKING_NAME, 0, Long.MAX_VALUE));
+	}
+	
 	/**
 	 * Tests the loadIssuesFromFile method by loading a file, and seeing if the
 	 * issues were added onto the manager.
@@ -84,6 +260,125 @@ class IssueManagerTest {
 		
 	}
 
+	/**
+	 * Tests loading a manifest reads no shards until a row, page, or id lookup needs one, and that
+	 * a lookup in the gap between two shards' ids loads neither.
+	 */
+	@Test
+	void testLoadShards() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		
+		ShardManifest.write("test-files/manager_shards.manifest", IssueReader.readIssuesFromFile("test-files/issue1.txt"), 2);
+		manager.loadIssuesFromFile("test-files/manager_shards.manifest");
+		
+		assertEquals(5, manager.getIssueCount());
+		assertEquals(0, manager.getLoadedShardCount());
+		
+		assertEquals(7, manager.getIssueRowAt(2)[IssueManager.ID_POS]);
+		assertEquals(1, manager.getLoadedShardCount());
+		
+		assertNull(manager.getIssueById(5));
+		assertEquals(1, manager.getLoadedShardCount());
+		
+		assertEquals(16, manager.addIssueToList(IssueType.BUG, "New problem", "note"));
+		assertEquals(6, manager.getIssueCount());
+		assertEquals(16, manager.getIssueRowAt(5)[IssueManager.ID_POS]);
+		
+		Object[][] page = manager.getIssueListPageAsArray(1, 3, null, null, null);
+		assertEquals(3, page.length);
+		assertEquals(3, page[0][IssueManager.ID_POS]);
+		assertEquals(14, page[2][IssueManager.ID_POS]);
+		assertEquals(2, manager.getLoadedShardCount());
+		
+		page = manager.getIssueListPageAsArrayAfter(14, 2, null, null, null);
+		assertEquals(15, page[0][IssueManager.ID_POS]);
+		assertEquals(16, page[1][IssueManager.ID_POS]);
+		assertEquals(3, manager.getLoadedShardCount());
+		
+		manager.deleteIssueById(3);
+		assertEquals(5, manager.getIssueListAsArray().length);
+		assertEquals(3, manager.getLoadedShardCount());
+	}
+	
+	/**
+	 * Tests a lenient load keeps the valid issues of a file with invalid records and reports the rest.
+	 */
+	@Test
+	void testLoadIssuesFromFileLeniently() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		
+		IssueLoadReport report = manager.loadIssuesFromFileLeniently("test-files/invalid_issues.txt");
+		
+		assertEquals(12, report.getErrors().size());
+		assertEquals(4, manager.getIssueCount());
+		assertEquals(31, manager.addIssueToList(IssueType.BUG, "New problem", "note"));
+	}
+	
+	/**
+	 * Tests saving a file loaded leniently writes every issue again, so the records which were
+	 * rejected are not copied into the saved file.
+	 * 
+	 * @throws IOException if the file can not be written
+	 */
+	@Test
+	void testSaveAfterLenientLoad() throws IOException {
+		
+		IssueManager manager = IssueManager.getInstance();
+		String file = "test-files/lenient_save_act.txt";
+		
+		Files.write(Paths.get(file), ("*1,New,Enhancement,Issue description,,false,\n"
+				+ "-[New] Note 1\n"
+				+ "*5,Bogus,Bug,Issue description,,false,\n"
+				+ "-[New] Note 1\n"
+				+ "*7,New,Bug,Issue description,,false,\n"
+				+ "-[New] Note 1\n").getBytes(StandardCharsets.UTF_8));
+		
+		assertEquals(1, manager.loadIssuesFromFileLeniently(file).getErrors().size());
+		
+		manager.addIssueToList(IssueType.BUG, "New problem", "note");
+		manager.saveIssuesToFile(file);
+		
+		assertFalse(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8).contains("Bogus"));
+		
+		manager.loadIssuesFromFile(file);
+		
+		assertEquals(3, manager.getIssueCount());
+		assertNull(manager.getIssueById(5));
+		assertNotNull(manager.getIssueById(8));
+	}
+	
+	/**
+	 * Tests merging two issue files which hold the same ids, the second holding one id twice, under
+	 * each conflict policy, and that a file which can not be read leaves the list unchanged.
+	 */
+	@Test
+	void testMergeIssuesFromFiles() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		List<String> files = List.of("test-files/issue1.txt", "test-files/issue2.txt");
+		
+		assertEquals(6, manager.mergeIssuesFromFiles(files, IssueList.ConflictPolicy.KEEP_FIRST));
+		assertEquals(5, manager.getIssueCount());
+		assertEquals("Closed", manager.getIssueById(15).getStateName());
+		
+		assertEquals(6, manager.mergeIssuesFromFiles(files, IssueList.ConflictPolicy.KEEP_LAST));
+		assertEquals(5, manager.getIssueCount());
+		assertEquals("Working", manager.getIssueById(15).getStateName());
+		
+		assertEquals(6, manager.mergeIssuesFromFiles(files, IssueList.ConflictPolicy.REMAP));
+		assertEquals(11, manager.getIssueCount());
+		assertEquals("Closed", manager.getIssueById(15).getStateName());
+		assertEquals("Closed", manager.getIssueById(20).getStateName());
+		assertEquals("Working", manager.getIssueById(21).getStateName());
+		assertEquals(22, manager.addIssueToList(IssueType.BUG, "New problem", "note"));
+		
+		assertThrows(IllegalArgumentException.class, () -> manager.mergeIssuesFromFiles(
+				List.of("test-files/issue1.txt", "test-files/missing.txt"), IssueList.ConflictPolicy.KEEP_FIRST));
+		assertEquals(12, manager.getIssueCount());
+	}
+	
 	/**
 	 * Tests the createNewIssueList by adding issues to the list, and then removing all issues.
 	 */
@@ -150,6 +445,37 @@ class IssueManagerTest {
 		
 	}
 
+	/**
+	 * Tests the getIssueListPageAsArray and getIssueListPageAsArrayAfter methods by paging through
+	 * a loaded file with offsets and with cursors.
+	 */
+	@Test
+	void testGetIssueListPageAsArray() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		
+		Object[][] page = manager.getIssueListPageAsArray(2, 2, null, null, null);
+		
+		assertEquals(2, page.length);
+		assertEquals(7, (int) page[0][IssueManager.ID_POS]);
+		assertEquals("Working", page[0][IssueManager.STATE_POS]);
+		assertEquals(14, (int) page[1][IssueManager.ID_POS]);
+		
+		page = manager.getIssueListPageAsArrayAfter(14, 2, null, null, null);
+		
+		assertEquals(1, page.length);
+		assertEquals(15, (int) page[0][IssueManager.ID_POS]);
+		
+		page = manager.getIssueListPageAsArrayAfter(0, 2, "Bug", null, null);
+		
+		assertEquals(2, page.length);
+		assertEquals(3, (int) page[0][IssueManager.ID_POS]);
+		assertEquals(7, (int) page[1][IssueManager.ID_POS]);
+		
+	}
+
 	/**
 	 * Tests the getIssueById method by retrieving valid issue id's and invalid issue id's
 	 * and asserting null.
@@ -234,6 +560,82 @@ class IssueManagerTest {
 		
 	}
 	
+	/**
+	 * Tests the manager exports its issue list as JSON Lines.
+	 * 
+	 * @throws IOException if the exported file can not be read
+	 */
+	@Test
+	void testExportIssuesToFile() throws IOException {
+		
+		IssueManager manager = IssueManager.getInstance();
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		
+		assertEquals(5, manager.exportIssuesToFile("test-files/export_act.jsonl", IssueExporter.Format.JSON_LINES));
+		assertEquals(5, Files.readAllLines(Paths.get("test-files/export_act.jsonl")).size());
+	}
+	
+	/**
+	 * Tests importing issues gives them ids after every issue in the list, even when ids were held
+	 * back for rows which were rejected.
+	 * 
+	 * @throws IOException if the test file can not be written
+	 */
+	@Test
+	void testImportIssuesFromFile() throws IOException {
+		
+		IssueManager manager = IssueManager.getInstance();
+		manager.loadIssuesFromFile("test-files/issue1.txt");
+		
+		Files.write(Paths.get("test-files/import_act.csv"),
+				"type,summary,note\nBug,Imported problem,Note\nBug,,Note\nEnhancement,Imported idea,Note\n".getBytes());
+		
+		IssueLoadReport report = manager.importIssuesFromFile("test-files/import_act.csv", IssueImporter.Format.CSV);
+		
+		assertEquals(2, report.getIssues().size());
+		assertEquals(1, report.getErrors().size());
+		assertEquals(7, manager.getIssueListAsArray().length);
+		assertEquals("Imported problem", manager.getIssueById(16).getSummary());
+		assertEquals("Imported idea", manager.getIssueById(18).getSummary());
+		assertEquals(19, manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem"));
+	}
+	
+	/**
+	 * Tests listeners added to the manager follow it onto new issue lists until they are removed.
+	 */
+	@Test
+	void testAddIssueListener() {
+		
+		IssueManager manager = IssueManager.getInstance();
+		
+		int[] events = new int[2];
+		IssueListener listener = new IssueListener() {
+			@Override
+			public void issueAdded(Issue issue) {
+				events[0]++;
+			}
+			@Override
+			public void issuesCleared() {
+				events[1]++;
+			}
+		};
+		
+		manager.addIssueListener(listener);
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		manager.createNewIssueList();
+		manager.addIssueToList(IssueType.BUG, "Found another problem", "Problem");
+		
+		assertEquals(2, events[0]);
+		assertEquals(1, events[1]);
+		
+		manager.removeIssueListener(listener);
+		manager.addIssueToList(IssueType.BUG, "Found a third problem", "Problem");
+		manager.createNewIssueList();
+		
+		assertEquals(2, events[0]);
+		assertEquals(1, events[1]);
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,192 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the IssueSortOrder class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueSortOrderTest {
+
+	/** issues are the issues sorted in each test, in ascending id order */
+	private List<Issue> issues;
+
+	/**
+	 * Creates four issues in different states before each test case.
+	 */
+	@BeforeEach
+	public void setUp() {
+		issues = new ArrayList<Issue>();
+
+		issues.add(new Issue(1, IssueType.ENHANCEMENT, "zoom controls", "note"));
+		issues.add(new Issue(2, IssueType.BUG, "Crash on load", "note"));
+		issues.add(new Issue(3, IssueType.BUG, "crash on save", "note"));
+		issues.add(new Issue(7, IssueType.ENHANCEMENT, "Menu shortcuts", "note"));
+
+		issues.get(0).update(new Command(CommandValue.ASSIGN, "owner", null, "note"));
+		issues.get(1).update(new Command(CommandValue.CONFIRM, null, null, "note"));
+	}
+
+	/**
+	 * Gets the ids of every row in an order.
+	 *
+	 * @param order is the order
+	 *
+	 * @return the ids from the first row to the last
+	 */
+	private static int[] ids(IssueSortOrder order) {
+
+		int[] ids = new int[order.size()];
+
+		for(int i = 0; i < ids.length; i++) {
+			ids[i] = order.getIssueAt(i).getIssueId();
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Tests sorting by id in both directions.
+	 */
+	@Test
+	void testSortById() {
+
+		assertArrayEquals(new int[] {1, 2, 3, 7}, ids(new IssueSortOrder(issues, IssueManager.ID_POS, true)));
+		assertArrayEquals(new int[] {7, 3, 2, 1}, ids(new IssueSortOrder(issues, IssueManager.ID_POS, false)));
+	}
+
+	/**
+	 * Tests states sort in life cycle order with ties broken by id.
+	 */
+	@Test
+	void testSortByState() {
+
+		IssueSortOrder order = new IssueSortOrder(issues, IssueManager.STATE_POS, true);
+
+		assertArrayEquals(new int[] {3, 7, 1, 2}, ids(order));
+		assertEquals(Issue.NEW_NAME, order.getIssueAt(0).getStateName());
+		assertEquals(Issue.CONFIRMED_NAME, order.getIssueAt(3).getStateName());
+
+		assertEquals(0, IssueSortOrder.stateOrdinal(Issue.NEW_NAME));
+		assertEquals(4, IssueSortOrder.stateOrdinal(Issue.CLOSED_NAME));
+		assertThrows(IllegalArgumentException.class, () -> IssueSortOrder.stateOrdinal("Open"));
+	}
+
+	/**
+	 * Tests sorting by type puts bugs first, with ties in ascending id order in both directions.
+	 */
+	@Test
+	void testSortByType() {
+
+		assertArrayEquals(new int[] {2, 3, 1, 7}, ids(new IssueSortOrder(issues, IssueManager.TYPE_POS, true)));
+		assertArrayEquals(new int[] {1, 7, 2, 3}, ids(new IssueSortOrder(issues, IssueManager.TYPE_POS, false)));
+	}
+
+	/**
+	 * Tests summaries sort ignoring case, including summaries sharing their first characters.
+	 */
+	@Test
+	void testSortBySummary() {
+
+		assertArrayEquals(new int[] {2, 3, 7, 1}, ids(new IssueSortOrder(issues, IssueManager.SUMMARY_POS, true)));
+
+		issues.add(new Issue(8, IssueType.BUG, "CRASH", "note"));
+		issues.add(new Issue(9, IssueType.BUG, "Cr", "note"));
+
+		assertArrayEquals(new int[] {9, 8, 2, 3, 7, 1}, ids(new IssueSortOrder(issues, IssueManager.SUMMARY_POS, true)));
+	}
+
+	/**
+	 * Tests a changed issue moves to its new row and added and removed issues are placed.
+	 */
+	@Test
+	void testIncrementalUpdates() {
+
+		IssueSortOrder order = new IssueSortOrder(issues, IssueManager.STATE_POS, true);
+
+		Issue save = issues.get(2);
+		save.update(new Command(CommandValue.CONFIRM, null, null, "note"));
+		order.update(save);
+		assertArrayEquals(new int[] {7, 1, 2, 3}, ids(order));
+
+		order.add(new Issue(10, IssueType.BUG, "New bug", "note"));
+		assertArrayEquals(new int[] {7, 10, 1, 2, 3}, ids(order));
+
+		assertTrue(order.remove(1));
+		assertFalse(order.remove(1));
+		assertArrayEquals(new int[] {7, 10, 2, 3}, ids(order));
+
+		IssueSortOrder bySummary = new IssueSortOrder(issues, IssueManager.SUMMARY_POS, false);
+		bySummary.add(new Issue(11, IssueType.BUG, "crash on exit", "note"));
+		assertArrayEquals(new int[] {1, 7, 3, 2, 11}, ids(bySummary));
+	}
+
+	/**
+	 * Tests a descending order keeps ties in ascending id order as issues are changed, added, and
+	 * removed, including issues with the same summary.
+	 */
+	@Test
+	void testDescendingTies() {
+
+		IssueSortOrder order = new IssueSortOrder(issues, IssueManager.STATE_POS, false);
+		assertArrayEquals(new int[] {2, 1, 3, 7}, ids(order));
+
+		Issue menu = issues.get(3);
+		menu.update(new Command(CommandValue.ASSIGN, "owner", null, "note"));
+		order.update(menu);
+		assertArrayEquals(new int[] {2, 1, 7, 3}, ids(order));
+
+		order.add(new Issue(10, IssueType.BUG, "New bug", "note"));
+		order.add(new Issue(8, IssueType.BUG, "New bug", "note"));
+		assertArrayEquals(new int[] {2, 1, 7, 3, 8, 10}, ids(order));
+
+		assertTrue(order.remove(3));
+		assertTrue(order.remove(8));
+		assertFalse(order.remove(3));
+		assertArrayEquals(new int[] {2, 1, 7, 10}, ids(order));
+
+		issues.add(new Issue(8, IssueType.BUG, "crash on LOAD", "note"));
+		issues.add(new Issue(9, IssueType.BUG, "Crash on load", "note"));
+
+		IssueSortOrder bySummary = new IssueSortOrder(issues, IssueManager.SUMMARY_POS, false);
+		assertArrayEquals(new int[] {1, 7, 3, 2, 8, 9}, ids(bySummary));
+
+		bySummary.add(new Issue(11, IssueType.BUG, "CRASH ON LOAD", "note"));
+		assertArrayEquals(new int[] {1, 7, 3, 2, 8, 9, 11}, ids(bySummary));
+
+		assertTrue(bySummary.remove(8));
+		assertArrayEquals(new int[] {1, 7, 3, 2, 9, 11}, ids(bySummary));
+	}
+
+	/**
+	 * Tests invalid columns, unsorted input, and invalid rows are rejected.
+	 */
+	@Test
+	void testInvalid() {
+
+		assertThrows(IllegalArgumentException.class, () -> new IssueSortOrder(issues, IssueManager.COLUMNS, true));
+
+		issues.add(new Issue(5, IssueType.BUG, "Out of order", "note"));
+		assertThrows(IllegalArgumentException.class, () -> new IssueSortOrder(issues, IssueManager.ID_POS, true));
+
+		IssueSortOrder empty = new IssueSortOrder(new ArrayList<Issue>(), IssueManager.ID_POS, true);
+		assertEquals(0, empty.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> empty.getIssueAt(0));
+	}
+}
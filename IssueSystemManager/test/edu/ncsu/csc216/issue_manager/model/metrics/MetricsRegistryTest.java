@@ -0,0 +1,127 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the MetricsRegistry class and the metrics it exports
+ *
+ * @author michaelabrams
+ *
+ */
+class MetricsRegistryTest {
+
+	/** registry is the registry under test */
+	private MetricsRegistry registry;
+
+	/**
+	 * Creates an empty registry before each test case.
+	 */
+	@BeforeEach
+	public void setUp() {
+		registry = new MetricsRegistry();
+	}
+
+	/**
+	 * Tests counters are kept per label value and exported in label order.
+	 */
+	@Test
+	void testCounter() {
+
+		MetricFamily<Counter> files = registry.counter("files_total", "Files read.", "result");
+
+		files.labels("ok").increment();
+		files.labels("ok").add(2);
+		files.labels("error").increment();
+
+		assertEquals(3, files.labels("ok").get());
+		assertSame(files, registry.counter("files_total", "Files read.", "result"));
+
+		assertEquals("# HELP files_total Files read.\n"
+				+ "# TYPE files_total counter\n"
+				+ "files_total{result=\"error\"} 1\n"
+				+ "files_total{result=\"ok\"} 3\n", registry.toPrometheusText());
+
+		assertThrows(IllegalArgumentException.class, () -> files.labels("ok", "extra"));
+		assertThrows(IllegalArgumentException.class, () -> files.labels("ok").add(-1));
+		assertThrows(IllegalArgumentException.class, () -> registry.counter("files_total", "Files read."));
+		assertThrows(IllegalArgumentException.class, () -> registry.counter("bad name", "Bad."));
+	}
+
+	/**
+	 * Tests histograms export cumulative buckets, a sum in seconds, and a count.
+	 */
+	@Test
+	void testHistogram() {
+
+		Histogram load = registry.histogram("load_seconds", "Load time.").labels();
+
+		load.record(500);
+		load.record(2_000_000);
+		load.record(100_000_000_000L);
+
+		assertEquals(3, load.getCount());
+		assertEquals(100_002_000_500L, load.getSumNanos());
+
+		String text = registry.toPrometheusText();
+
+		assertTrue(text.contains("# TYPE load_seconds histogram\n"));
+		assertTrue(text.contains("load_seconds_bucket{le=\"1.0E-6\"} 1\n"));
+		assertTrue(text.contains("load_seconds_bucket{le=\"0.001\"} 1\n"));
+		assertTrue(text.contains("load_seconds_bucket{le=\"0.004\"} 2\n"));
+		assertTrue(text.contains("load_seconds_bucket{le=\"+Inf\"} 3\n"));
+		assertTrue(text.contains("load_seconds_count 3\n"));
+	}
+
+	/**
+	 * Tests gauges are read when exported and label values are escaped.
+	 */
+	@Test
+	void testGaugeAndEscaping() {
+
+		long[] value = {4};
+		registry.gauge("issues", "Issues.", () -> value[0]);
+		value[0] = 7;
+
+		registry.counter("owners_total", "Owner \\ count.", "owner").labels("a\"b\n").increment();
+
+		String text = registry.toPrometheusText();
+
+		assertTrue(text.contains("issues 7\n"));
+		assertTrue(text.contains("# HELP owners_total Owner \\\\ count.\n"));
+		assertTrue(text.contains("owners_total{owner=\"a\\\"b\\n\"} 1\n"));
+	}
+
+	/**
+	 * Tests issue updates are counted by state and command in the default registry.
+	 */
+	@Test
+	void testDefaultRegistryCountsTransitions() {
+
+		MetricFamily<Counter> transitions = MetricsRegistry.getDefault().counter("issue_transitions_total",
+				"Commands which updated an issue.", "from", "to", "command");
+		MetricFamily<Counter> rejected = MetricsRegistry.getDefault().counter("issue_commands_rejected_total",
+				"Commands rejected by an issue's state.", "state", "command");
+
+		long confirms = transitions.labels(Issue.NEW_NAME, Issue.CONFIRMED_NAME, "CONFIRM").get();
+		long verifies = rejected.labels(Issue.NEW_NAME, "VERIFY").get();
+
+		Issue issue = new Issue(1, IssueType.BUG, "Crash", "note");
+		assertThrows(UnsupportedOperationException.class,
+				() -> issue.update(new Command(CommandValue.VERIFY, null, null, "note")));
+		issue.update(new Command(CommandValue.CONFIRM, null, null, "note"));
+
+		assertEquals(confirms + 1, transitions.labels(Issue.NEW_NAME, Issue.CONFIRMED_NAME, "CONFIRM").get());
+		assertEquals(verifies + 1, rejected.labels(Issue.NEW_NAME, "VERIFY").get());
+	}
+}
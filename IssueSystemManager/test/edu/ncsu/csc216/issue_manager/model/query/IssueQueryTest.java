@@ -0,0 +1,93 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+
+/**
+ * Tests the IssueQuery class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueQueryTest {
+
+	/**
+	 * Tests each condition narrows the issues a query matches.
+	 */
+	@Test
+	void testConditions() {
+
+		Issue bug = new Issue(1, IssueType.BUG, "The app crashes", "Crash on start");
+		Issue enhancement = new Issue(2, IssueType.ENHANCEMENT, "Add a dark theme", "Theme");
+		enhancement.update(new Command(CommandValue.ASSIGN, "owner", null, "Assigned"));
+		enhancement.update(new Command(CommandValue.RESOLVE, null, Resolution.FIXED, "Fixed"));
+
+		assertTrue(IssueQuery.all().matches(bug));
+		assertTrue(IssueQuery.all().idRange(1, 1).matches(bug));
+		assertFalse(IssueQuery.all().idRange(1, 1).matches(enhancement));
+		assertTrue(IssueQuery.all().state(Issue.NEW_NAME).matches(bug));
+		assertTrue(IssueQuery.all().state(Issue.NEW_NAME, Issue.VERIFYING_NAME).matches(enhancement));
+		assertFalse(IssueQuery.all().state(Issue.WORKING_NAME).matches(enhancement));
+		assertTrue(IssueQuery.all().type(IssueType.BUG).matches(bug));
+		assertFalse(IssueQuery.all().type(IssueType.BUG).matches(enhancement));
+		assertTrue(IssueQuery.all().owner("owner").matches(enhancement));
+		assertFalse(IssueQuery.all().owner("owner").matches(bug));
+		assertTrue(IssueQuery.all().owner((String) null).matches(bug));
+		assertTrue(IssueQuery.all().confirmed(false).matches(bug));
+		assertFalse(IssueQuery.all().confirmed(true).matches(bug));
+		assertTrue(IssueQuery.all().resolution(Resolution.FIXED).matches(enhancement));
+		assertTrue(IssueQuery.all().resolution((Resolution) null).matches(bug));
+		assertFalse(IssueQuery.all().resolution(Resolution.WONTFIX).matches(enhancement));
+		assertTrue(IssueQuery.all().text("crash").matches(bug));
+		assertTrue(IssueQuery.all().text("dark OR crashes").matches(enhancement));
+		assertFalse(IssueQuery.all().text("dark crash").matches(enhancement));
+		assertTrue(IssueQuery.all().text("fixed").matches(enhancement));
+
+		assertThrows(IllegalArgumentException.class, () -> IssueQuery.all().state("Open"));
+		assertThrows(IllegalArgumentException.class, () -> IssueQuery.all().type((IssueType) null));
+		assertThrows(IllegalArgumentException.class, () -> IssueQuery.all().text(null));
+	}
+
+	/**
+	 * Tests joining queries with and and or, and that contradictions leave no alternatives.
+	 */
+	@Test
+	void testAndOr() {
+
+		Issue bug = new Issue(1, IssueType.BUG, "The app crashes", "Crash on start");
+		Issue enhancement = new Issue(2, IssueType.ENHANCEMENT, "Add a dark theme", "Theme");
+
+		IssueQuery either = IssueQuery.all().type(IssueType.BUG).or(IssueQuery.all().text("theme"));
+		assertEquals(2, either.getFilters().size());
+		assertTrue(either.matches(bug));
+		assertTrue(either.matches(enhancement));
+
+		IssueQuery both = either.and(IssueQuery.all().idRange(2, 10));
+		assertFalse(both.matches(bug));
+		assertTrue(both.matches(enhancement));
+
+		assertTrue(IssueQuery.all().type(IssueType.BUG).type(IssueType.ENHANCEMENT).getFilters().isEmpty());
+		assertTrue(IssueQuery.all().confirmed(true).confirmed(false).getFilters().isEmpty());
+		assertTrue(IssueQuery.all().owner("a").owner("b").getFilters().isEmpty());
+		assertTrue(IssueQuery.all().idRange(5, 1).getFilters().isEmpty());
+		assertFalse(IssueQuery.all().idRange(5, 1).matches(bug));
+		assertEquals("none", IssueQuery.all().idRange(5, 1).toString());
+
+		assertEquals("any", IssueQuery.all().toString());
+		assertEquals("id 2..10 AND confirmed false",
+				IssueQuery.all().idRange(2, 10).confirmed(false).toString());
+		assertEquals("(type in [BUG]) OR (text \"theme\")", either.toString());
+		assertEquals("state in [New, Closed] AND resolution in [null, FIXED]",
+				IssueQuery.all().state(Issue.CLOSED_NAME, Issue.NEW_NAME).resolution(null, Resolution.FIXED).toString());
+	}
+}
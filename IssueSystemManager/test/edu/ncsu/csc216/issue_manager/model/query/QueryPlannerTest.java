@@ -0,0 +1,157 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.model.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.command.Command;
+import edu.ncsu.csc216.issue_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.issue_manager.model.command.Command.Resolution;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue.IssueType;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueList;
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+import edu.ncsu.csc216.issue_manager.model.query.QueryPlan.Access;
+
+/**
+ * Tests the QueryPlanner class
+ *
+ * @author michaelabrams
+ *
+ */
+class QueryPlannerTest {
+
+	/** SIZE is the number of issues in the test list, enough for a parallel scan */
+	private static final int SIZE = 2 * QueryPlanner.PARALLEL_SCAN_MIN;
+
+	/**
+	 * Creates a list of issues where every hundredth mentions a crash and every third is assigned
+	 *
+	 * @return the list
+	 */
+	private static IssueList createList() {
+
+		IssueList list = new IssueList();
+
+		for(int i = 1; i <= SIZE; i++) {
+			if(i % 2 == 0) {
+				list.addIssue(IssueType.ENHANCEMENT, i % 100 == 0 ? "It crashes" : "An idea", "Note");
+				if(i % 3 == 0) {
+					list.executeCommand(i, new Command(CommandValue.ASSIGN, "owner", null, "Assigned"));
+				}
+			}
+			else {
+				list.addIssue(IssueType.BUG, "A problem", "Note");
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Checks a query finds the same issues as checking every issue in the list
+	 *
+	 * @param list is the list
+	 * @param query is the query
+	 */
+	private static void assertSameAsScan(IssueList list, IssueQuery query) {
+
+		List<Issue> expected = list.getIssues().stream().filter(query::matches).collect(Collectors.toList());
+
+		assertEquals(expected, list.queryIssues(query).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Tests the planner picks the id range, the text index, the attribute bitmaps, or a parallel scan, and that every access
+	 * path finds the same issues as checking each one.
+	 */
+	@Test
+	void testPlan() {
+
+		IssueList list = createList();
+
+		IssueQuery range = IssueQuery.all().idRange(10, 20).type(IssueType.BUG);
+		List<QueryPlan> plans = list.explainQuery(range);
+		assertEquals(1, plans.size());
+		assertEquals(Access.ID_RANGE, plans.get(0).getAccess());
+		assertEquals(11, plans.get(0).getEstimate());
+		assertSameAsScan(list, range);
+
+		IssueQuery text = IssueQuery.all().text("crashes").owner("owner");
+		assertEquals(Access.TEXT_INDEX, list.explainQuery(text).get(0).getAccess());
+		assertEquals(SIZE / 100, list.explainQuery(text).get(0).getEstimate());
+		assertSameAsScan(list, text);
+
+		IssueQuery scan = IssueQuery.all().type(IssueType.BUG).text("note");
+		assertEquals(Access.PARALLEL_SCAN, list.explainQuery(scan).get(0).getAccess());
+		assertSameAsScan(list, scan);
+		assertFalse(list.queryIssues(scan).isParallel());
+
+		//A parallel scan's matches still reach forEach in ascending id order
+		List<Integer> visited = new ArrayList<Integer>();
+		list.queryIssues(scan).forEach(issue -> visited.add(issue.getIssueId()));
+		assertEquals(list.queryIssues(scan).map(Issue::getIssueId).sorted().collect(Collectors.toList()), visited);
+
+		IssueQuery bitmap = IssueQuery.all().state(Issue.WORKING_NAME, Issue.CLOSED_NAME).confirmed(false).idRange(100, SIZE);
+		assertEquals(Access.BITMAP, list.explainQuery(bitmap).get(0).getAccess());
+		assertEquals((SIZE - 96) / 6, list.explainQuery(bitmap).get(0).getEstimate());
+		assertSameAsScan(list, bitmap);
+		assertSameAsScan(list, bitmap.text("note"));
+		assertSameAsScan(list, bitmap.resolution((Resolution) null).or(scan));
+
+		IssueQuery either = range.or(text).or(IssueQuery.all().idRange(15, 30));
+		assertEquals(3, list.explainQuery(either).size());
+		assertSameAsScan(list, either);
+
+		IssueQuery none = IssueQuery.all().confirmed(true).confirmed(false);
+		assertTrue(list.explainQuery(none).isEmpty());
+		assertEquals(0, list.queryIssues(none).count());
+
+		IssueFilter empty = IssueFilter.ANY.withIdRange(3, 2);
+		assertEquals(Access.EMPTY, new QueryPlanner(list.getIssues(), null, null).plan(empty, false).getAccess());
+
+		QueryPlanner noIndex = new QueryPlanner(list.getIssues(), null, null);
+		assertEquals(Access.PARALLEL_SCAN, noIndex.plan(text).get(0).getAccess());
+		assertEquals(list.queryIssues(text).collect(Collectors.toList()),
+				noIndex.stream(text).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Tests paging through a query's matches finds each match once, and that the manager runs queries.
+	 */
+	@Test
+	void testPage() {
+
+		IssueList list = createList();
+		IssueQuery query = IssueQuery.all().text("crashes").or(IssueQuery.all().idRange(1, 5));
+
+		List<Issue> paged = new ArrayList<Issue>();
+		List<Issue> page = list.queryIssuesAfter(query, 0, 7);
+		while(!page.isEmpty()) {
+			assertTrue(page.size() <= 7);
+			paged.addAll(page);
+			page = list.queryIssuesAfter(query, page.get(page.size() - 1).getIssueId(), 7);
+		}
+
+		assertEquals(list.queryIssues(query).collect(Collectors.toList()), paged);
+		assertEquals(5 + SIZE / 100, paged.size());
+		assertTrue(list.queryIssuesAfter(query, Integer.MAX_VALUE, 7).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> list.queryIssuesAfter(query, 0, -1));
+
+		IssueManager manager = IssueManager.getInstance();
+		manager.createNewIssueList();
+		manager.addIssueToList(IssueType.BUG, "Found a problem", "Problem");
+		manager.addIssueToList(IssueType.ENHANCEMENT, "An idea", "Idea");
+
+		assertEquals(1, manager.queryIssues(IssueQuery.all().type(IssueType.ENHANCEMENT)).size());
+		assertEquals(2, manager.getIssueListPageAsArrayAfter(IssueQuery.all(), 0, 5).length);
+		assertEquals(2, manager.getIssueListPageAsArrayAfter(IssueQuery.all(), 1, 5)[0][0]);
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.view.cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.io.IssueReader;
+import edu.ncsu.csc216.issue_manager.model.issue.Issue;
+
+/**
+ * Tests the IssueManagerCLI class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueManagerCLITest {
+
+	/** ISSUES is the issue file the pipelines load */
+	private static final String ISSUES = "test-files/issue1.txt";
+
+	/** SAVE is the file the pipelines save to */
+	private static final String SAVE = "test-files/cli_act.txt";
+
+	/** SCRIPT is the command script the pipelines apply */
+	private static final String SCRIPT = "test-files/cli_script_act.txt";
+
+	/** out collects what the pipeline prints */
+	private ByteArrayOutputStream out;
+
+	/** err collects what the pipeline reports */
+	private ByteArrayOutputStream err;
+
+	/**
+	 * Clears the printed output before each test case.
+	 */
+	@BeforeEach
+	public void setup() {
+		out = new ByteArrayOutputStream();
+		err = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Tests stats count every issue when the pipeline is not saved.
+	 */
+	@Test
+	void testStatsWithoutSave() {
+
+		assertEquals(5, run("load", ISSUES, "stats"));
+
+		String stats = printed(out);
+		assertTrue(stats.startsWith("issues: 5\n"));
+		assertTrue(stats.contains("  New: 1\n"));
+		assertTrue(stats.contains("  Closed: 1\n"));
+		assertTrue(stats.contains("  Bug: 2\n"));
+		assertTrue(stats.contains("  Enhancement: 3\n"));
+	}
+
+	/**
+	 * Tests a filter drops issues before the stats and the save.
+	 */
+	@Test
+	void testFilterAndSave() {
+
+		assertEquals(2, run("load", ISSUES, "filter", "type=bug", "stats", "save", SAVE));
+
+		assertTrue(printed(out).startsWith("issues: 2\n"));
+
+		List<Issue> saved = IssueReader.readIssuesFromFile(SAVE);
+		assertEquals(2, saved.size());
+		assertEquals(3, saved.get(0).getIssueId());
+		assertEquals(7, saved.get(1).getIssueId());
+
+		assertEquals(1, run("load", ISSUES, "filter", "id=3-14,state=working"));
+	}
+
+	/**
+	 * Tests files loaded without a merge stream through in turn and are saved in the order they
+	 * were read, and a file which can not be read fails the pipeline.
+	 */
+	@Test
+	void testConcatenateAndSave() {
+
+		assertEquals(6, run("load", ISSUES, "load", ISSUES, "filter", "type=enhancement", "save", SAVE));
+
+		List<Issue> saved = IssueReader.readIssuesFromFile(SAVE);
+		assertEquals(6, saved.size());
+		assertEquals(1, saved.get(0).getIssueId());
+		assertEquals(15, saved.get(2).getIssueId());
+		assertEquals(1, saved.get(3).getIssueId());
+
+		assertThrows(IllegalArgumentException.class, () -> run("load", ISSUES, "load", "test-files/no_such_file.txt"));
+	}
+
+	/**
+	 * Tests a script's commands run on their issues without a save, and rejected and unmatched
+	 * commands are reported.
+	 *
+	 * @throws IOException if the script can not be written
+	 */
+	@Test
+	void testApply() throws IOException {
+
+		Files.write(Paths.get(SCRIPT), ("# assign the confirmed bug\n"
+				+ "3,ASSIGN,dev,,Taking it\n"
+				+ "7,CONFIRM,,,Again\n"
+				+ "99,CONFIRM,,,No such issue\n").getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(5, run("load", ISSUES, "apply", SCRIPT, "stats"));
+
+		String printed = printed(out);
+		assertTrue(printed.contains(SCRIPT + ": 1 applied, 1 rejected, 1 unmatched issues.\n"));
+		assertTrue(printed.contains("  Working: 2\n"));
+		assertTrue(printed.contains("  Confirmed: 0\n"));
+
+		String reported = printed(err);
+		assertTrue(reported.contains("CONFIRM rejected for issue 7 in state Working."));
+		assertTrue(reported.contains("no issue 99."));
+	}
+
+	/**
+	 * Tests merged files are counted once per id when the pipeline is not saved.
+	 */
+	@Test
+	void testMergeStats() {
+
+		assertEquals(5, run("load", ISSUES, "load", ISSUES, "merge", "keep-first", "stats"));
+		assertTrue(printed(out).startsWith("issues: 5\n"));
+
+		out.reset();
+		assertEquals(10, run("load", ISSUES, "load", ISSUES, "merge", "remap", "stats"));
+		assertTrue(printed(out).startsWith("issues: 10\n"));
+	}
+
+	/**
+	 * Tests pipelines which can not be run are rejected.
+	 */
+	@Test
+	void testInvalidArguments() {
+
+		assertThrows(IllegalArgumentException.class, () -> cli("stats"));
+		assertThrows(IllegalArgumentException.class, () -> cli("load"));
+		assertThrows(IllegalArgumentException.class, () -> cli("load", ISSUES, "save", SAVE, "stats"));
+		assertThrows(IllegalArgumentException.class, () -> cli("load", ISSUES, "stats", "load", ISSUES));
+		assertThrows(IllegalArgumentException.class, () -> cli("load", ISSUES, "sort", "id"));
+		assertThrows(IllegalArgumentException.class, () -> cli("load", ISSUES, "filter", "color=red"));
+		assertThrows(IllegalArgumentException.class, () -> cli("load", ISSUES, "merge", "newest"));
+	}
+
+	/**
+	 * Builds a pipeline printing to the test's output
+	 *
+	 * @param args are the command line arguments
+	 *
+	 * @return the pipeline
+	 */
+	private IssueManagerCLI cli(String... args) {
+		return new IssueManagerCLI(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+				new PrintStream(err, true, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Builds and runs a pipeline
+	 *
+	 * @param args are the command line arguments
+	 *
+	 * @return the number of issues which left the last stage
+	 */
+	private int run(String... args) {
+		return cli(args).run();
+	}
+
+	/**
+	 * Gets what was printed to a stream with line separators as line feeds
+	 *
+	 * @param printed is the stream
+	 *
+	 * @return the printed text
+	 */
+	private static String printed(ByteArrayOutputStream printed) {
+		return new String(printed.toByteArray(), StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+	}
+}
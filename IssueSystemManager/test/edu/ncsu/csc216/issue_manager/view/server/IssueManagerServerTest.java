@@ -0,0 +1,255 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.issue_manager.view.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.issue_manager.model.manager.IssueManager;
+
+/**
+ * Tests the IssueManagerServer class
+ *
+ * @author michaelabrams
+ *
+ */
+class IssueManagerServerTest {
+
+	/** server is the server under test, listening on a free port */
+	private IssueManagerServer server;
+
+	/**
+	 * Loads a known issue list and starts a server before each test case.
+	 *
+	 * @throws IOException if the server can not be started
+	 */
+	@BeforeEach
+	public void setup() throws IOException {
+		IssueManager.getInstance().loadIssuesFromFile("test-files/issue1.txt");
+		server = new IssueManagerServer(0);
+		server.start();
+	}
+
+	/**
+	 * Stops the server after each test case.
+	 */
+	@AfterEach
+	public void tearDown() {
+		server.stop();
+	}
+
+	/**
+	 * Tests listing every issue and the issues of one type.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	void testListIssues() throws IOException {
+
+		Response all = request("GET", "/issues", null);
+		assertEquals(200, all.status);
+		assertTrue(all.body.startsWith("[{\"id\":1,\"state\":\"New\",\"type\":\"Enhancement\""));
+		assertEquals(5, count(all.body, "\"id\":"));
+
+		Response bugs = request("GET", "/issues?type=Bug", null);
+		assertEquals(200, bugs.status);
+		assertEquals(count(bugs.body, "\"id\":"), count(bugs.body, "\"type\":\"Bug\""));
+		assertFalse(bugs.body.contains("\"id\":1,"));
+
+		Response page = request("GET", "/issues?limit=2&after=1", null);
+		assertEquals(200, page.status);
+		assertTrue(page.body.startsWith("[{\"id\":3,"));
+		assertEquals(2, count(page.body, "\"id\":"));
+	}
+
+	/**
+	 * Tests getting an issue by id, a missing issue, and an id which is not a number.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	void testGetIssue() throws IOException {
+
+		Response issue = request("GET", "/issues/3", null);
+		assertEquals(200, issue.status);
+		assertTrue(issue.body.startsWith("{\"id\":3,\"state\":\"Confirmed\",\"type\":\"Bug\""));
+		assertTrue(issue.body.contains("\"confirmed\":true"));
+		assertTrue(issue.body.contains("\"[Confirmed] Note 2\\nthat goes on a new line\""));
+
+		assertEquals(404, request("GET", "/issues/99", null).status);
+		assertEquals(400, request("GET", "/issues/abc", null).status);
+		assertEquals(404, request("GET", "/issues/3/notes/1", null).status);
+	}
+
+	/**
+	 * Tests adding an issue and rejecting one with an invalid type.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	void testAddIssue() throws IOException {
+
+		Response added = request("POST", "/issues", "type=Bug&summary=Crash+on+save&note=First+note");
+		assertEquals(201, added.status);
+		assertTrue(added.body.contains("\"state\":\"New\",\"type\":\"Bug\",\"summary\":\"Crash on save\""));
+		assertTrue(added.body.contains("\"notes\":[\"[New] First note\"]"));
+		assertEquals(6, IssueManager.getInstance().getIssueCount());
+
+		Response invalid = request("POST", "/issues", "type=Task&summary=s&note=n");
+		assertEquals(400, invalid.status);
+		assertEquals("{\"error\":\"Invalid information.\"}", invalid.body);
+		assertEquals(6, IssueManager.getInstance().getIssueCount());
+	}
+
+	/**
+	 * Tests executing commands on an issue, including one its state does not allow.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	void testExecuteCommand() throws IOException {
+
+		Response assigned = request("POST", "/issues/3/command", "command=assign&owner=dev&note=Taking+it");
+		assertEquals(200, assigned.status);
+		assertTrue(assigned.body.contains("\"state\":\"Working\""));
+		assertTrue(assigned.body.contains("\"owner\":\"dev\""));
+
+		Response resolved = request("POST", "/issues/3/command", "command=resolve&resolution=fixed&note=Done");
+		assertEquals(200, resolved.status);
+		assertTrue(resolved.body.contains("\"state\":\"Verifying\""));
+		assertTrue(resolved.body.contains("\"resolution\":\"Fixed\""));
+
+		assertEquals(409, request("POST", "/issues/3/command", "command=confirm&note=Again").status);
+		assertEquals(400, request("POST", "/issues/3/command", "command=bogus&note=n").status);
+		assertEquals(404, request("POST", "/issues/99/command", "command=assign&owner=dev&note=n").status);
+		assertEquals(405, request("GET", "/issues/3/command", null).status);
+	}
+
+	/**
+	 * Tests deleting an issue and deleting one which does not exist.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	void testDeleteIssue() throws IOException {
+
+		assertEquals(204, request("DELETE", "/issues/7", null).status);
+		assertNull(IssueManager.getInstance().getIssueById(7));
+		assertEquals(4, IssueManager.getInstance().getIssueCount());
+
+		assertEquals(404, request("DELETE", "/issues/7", null).status);
+		assertEquals(405, request("DELETE", "/issues", null).status);
+	}
+
+	/**
+	 * Tests parsing form encoded parameters.
+	 */
+	@Test
+	void testParseForm() {
+
+		Map<String, String> params = IssueManagerServer.parseForm("type=Bug&summary=a+b%26c&flag");
+
+		assertEquals(3, params.size());
+		assertEquals("Bug", params.get("type"));
+		assertEquals("a b&c", params.get("summary"));
+		assertEquals("", params.get("flag"));
+		assertTrue(IssueManagerServer.parseForm(null).isEmpty());
+	}
+
+	/**
+	 * Sends a request to the server
+	 *
+	 * @param method is the request method
+	 * @param path is the path and query string
+	 * @param form is the form encoded body, or null for none
+	 *
+	 * @return the response
+	 *
+	 * @throws IOException if the request fails
+	 */
+	private Response request(String method, String path, String form) throws IOException {
+
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+				.openConnection();
+		connection.setRequestMethod(method);
+
+		if(form != null) {
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(form.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		int status = connection.getResponseCode();
+		InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+		String body = "";
+
+		if(in != null) {
+			try (InputStream stream = in) {
+				body = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+			}
+		}
+
+		connection.disconnect();
+
+		return new Response(status, body);
+	}
+
+	/**
+	 * Counts the times a string appears in another
+	 *
+	 * @param text is the text to search
+	 * @param part is the string to count
+	 *
+	 * @return the number of times part appears in text
+	 */
+	private static int count(String text, String part) {
+
+		int count = 0;
+
+		for(int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Response is a response's status and body.
+	 *
+	 * @author michaelabrams
+	 *
+	 */
+	private static class Response {
+
+		/** status is the HTTP status code */
+		private final int status;
+
+		/** body is the response body */
+		private final String body;
+
+		/**
+		 * Constructs a response
+		 *
+		 * @param status is the HTTP status code
+		 * @param body is the response body
+		 */
+		Response(int status, String body) {
+			this.status = status;
+			this.body = body;
+		}
+	}
+}